@@ -99,8 +99,8 @@ class BootloaderTest {
 
   // ⚠️ This line should change with every new migration to show that you meant to make a new
   // migration to the prod database
-  private static final String CURRENT_CONFIGS_MIGRATION_VERSION = "1.1.1.001";
-  private static final String CURRENT_JOBS_MIGRATION_VERSION = "1.1.0.001";
+  private static final String CURRENT_CONFIGS_MIGRATION_VERSION = "1.1.1.002";
+  private static final String CURRENT_JOBS_MIGRATION_VERSION = "1.1.0.002";
 
   @BeforeEach
   void setup() {
@@ -210,7 +210,11 @@ public class JobConverter {
   }
 
   public AttemptInfoRead getAttemptInfoRead(final Attempt attempt) {
-    final AttemptInfoReadLogs attemptInfoReadLogs = getAttemptLogs(attempt.getLogPath(), attempt.getJobId());
+    return getAttemptInfoRead(attempt, 0);
+  }
+
+  public AttemptInfoRead getAttemptInfoRead(final Attempt attempt, final int logOffset) {
+    final AttemptInfoReadLogs attemptInfoReadLogs = getAttemptLogs(attempt.getLogPath(), attempt.getJobId(), logOffset);
     return new AttemptInfoRead()
         .attempt(getAttemptRead(attempt))
         .logType(CollectionUtils.isNotEmpty(attemptInfoReadLogs.getEvents()) ? LogFormatType.STRUCTURED : LogFormatType.FORMATTED)
@@ -306,9 +310,24 @@ public class JobConverter {
   }
 
   public AttemptInfoReadLogs getAttemptLogs(final Path logPath, final Long jobId) {
-    final LogEvents logEvents = logClientManager.getLogs(logPath);
+    return getAttemptLogs(logPath, jobId, 0);
+  }
+
+  /**
+   * Retrieves the logs of an attempt. Only structured logs can be paged, the formatted logs of an
+   * attempt without structured logs are only returned for the first page.
+   *
+   * @param logPath log path of the attempt
+   * @param jobId job id of the attempt
+   * @param logOffset number of newest structured log events to skip
+   * @return the logs of the attempt
+   */
+  public AttemptInfoReadLogs getAttemptLogs(final Path logPath, final Long jobId, final int logOffset) {
+    final LogEvents logEvents = logClientManager.getLogs(logPath, logOffset);
     if (CollectionUtils.isNotEmpty(logEvents.getEvents())) {
       return new AttemptInfoReadLogs().events(toModelLogEvents(logEvents.getEvents(), logUtils)).version(logEvents.getVersion());
+    } else if (logOffset > 0) {
+      return new AttemptInfoReadLogs().events(List.of()).version(logEvents.getVersion());
     } else {
       return new AttemptInfoReadLogs().logLines(getLogRead(logPath).getLogLines());
     }
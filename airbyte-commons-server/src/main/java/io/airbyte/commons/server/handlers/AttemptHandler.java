@@ -229,8 +229,22 @@ public class AttemptHandler {
   }
 
   public AttemptInfoRead getAttemptForJob(final long jobId, final int attemptNo) throws IOException {
+    return getAttemptForJob(jobId, attemptNo, 0);
+  }
+
+  /**
+   * Retrieves an attempt with its logs.
+   *
+   * @param jobId job id
+   * @param attemptNo attempt number
+   * @param logOffset number of newest structured log events to skip, to page backwards through the
+   *        logs
+   * @return the attempt with its logs
+   * @throws IOException exception while accessing the attempt
+   */
+  public AttemptInfoRead getAttemptForJob(final long jobId, final int attemptNo, final int logOffset) throws IOException {
     final Optional<AttemptInfoRead> read = jobPersistence.getAttemptForJob(jobId, attemptNo)
-        .map(jobConverter::getAttemptInfoRead);
+        .map(attempt -> jobConverter.getAttemptInfoRead(attempt, logOffset));
 
     if (read.isEmpty()) {
       throw new IdNotFoundKnownException(
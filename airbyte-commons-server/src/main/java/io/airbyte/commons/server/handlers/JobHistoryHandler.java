@@ -454,6 +454,11 @@ public class JobHistoryHandler {
         .collect(Collectors.toList());
   }
 
+  @Trace
+  public List<JobStatusSummary> getRunningSyncJobStatusForConnections(final List<UUID> connectionIds) throws IOException {
+    return jobPersistence.getRunningSyncJobStatusForConnections(connectionIds);
+  }
+
   private SourceRead getSourceRead(final ConnectionRead connectionRead)
       throws JsonValidationException, IOException, ConfigNotFoundException, io.airbyte.data.exceptions.ConfigNotFoundException {
     final SourceIdRequestBody sourceIdRequestBody = new SourceIdRequestBody().sourceId(connectionRead.getSourceId());
@@ -59,7 +59,9 @@ import io.airbyte.data.services.SourceService;
 import io.airbyte.data.services.shared.NetworkSecurityTokenKey;
 import io.airbyte.featureflag.Connection;
 import io.airbyte.featureflag.Context;
+import io.airbyte.featureflag.DiscoverCacheTtlMinutes;
 import io.airbyte.featureflag.FeatureFlagClient;
+import io.airbyte.featureflag.Multi;
 import io.airbyte.featureflag.Workspace;
 import io.airbyte.metrics.lib.ApmTraceUtils;
 import io.airbyte.persistence.job.JobPersistence;
@@ -230,6 +232,7 @@ public class JobInputHandler {
           .withConnectionContext(connectionContext)
           .withUseAsyncReplicate(true)
           .withUseAsyncActivities(true)
+          .withUseDiscoverCache(featureFlagClient.intVariation(DiscoverCacheTtlMinutes.INSTANCE, new Multi(featureFlagContext)) > 0)
           .withNetworkSecurityTokens(getNetworkSecurityTokens(config.getWorkspaceId()));
 
       saveAttemptSyncConfig(jobId, attempt, connectionId, attemptSyncConfig);
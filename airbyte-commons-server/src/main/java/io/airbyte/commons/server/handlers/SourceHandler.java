@@ -15,6 +15,8 @@ import io.airbyte.api.model.generated.ConnectionRead;
 import io.airbyte.api.model.generated.DiscoverCatalogResult;
 import io.airbyte.api.model.generated.ListResourcesForWorkspacesRequestBody;
 import io.airbyte.api.model.generated.PartialSourceUpdate;
+import io.airbyte.api.model.generated.SourceCachedCatalogRead;
+import io.airbyte.api.model.generated.SourceCachedCatalogRequestBody;
 import io.airbyte.api.model.generated.SourceCloneConfiguration;
 import io.airbyte.api.model.generated.SourceCloneRequestBody;
 import io.airbyte.api.model.generated.SourceCreate;
@@ -33,6 +35,7 @@ import io.airbyte.commons.server.converters.ConfigurationUpdate;
 import io.airbyte.commons.server.handlers.helpers.ActorDefinitionHandlerHelper;
 import io.airbyte.commons.server.handlers.helpers.CatalogConverter;
 import io.airbyte.commons.server.handlers.helpers.OAuthSecretHelper;
+import io.airbyte.config.ActorCatalogFetchEvent;
 import io.airbyte.config.ActorDefinitionVersion;
 import io.airbyte.config.ScopeType;
 import io.airbyte.config.SecretPersistenceConfig;
@@ -62,6 +65,7 @@ import io.airbyte.validation.json.JsonValidationException;
 import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 import java.io.IOException;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -266,6 +270,24 @@ public class SourceHandler {
     }
   }
 
+  /**
+   * Get the catalog most recently discovered for the source with the given connector version and
+   * configuration, if it was discovered at most maxAgeSeconds ago. Lets the sync skip its discover
+   * when the source can't have changed since the last one.
+   */
+  public SourceCachedCatalogRead getCachedSourceCatalog(final SourceCachedCatalogRequestBody sourceCachedCatalogRequestBody)
+      throws IOException {
+    final Optional<ActorCatalogFetchEvent> fetchEvent = catalogService.getMostRecentActorCatalogFetchEvent(
+        sourceCachedCatalogRequestBody.getSourceId(),
+        sourceCachedCatalogRequestBody.getConnectorVersion(),
+        sourceCachedCatalogRequestBody.getConfigHash());
+    final long oldestFetchedAt = Instant.now().getEpochSecond() - sourceCachedCatalogRequestBody.getMaxAgeSeconds();
+    if (fetchEvent.isEmpty() || fetchEvent.get().getCreatedAt() < oldestFetchedAt) {
+      return new SourceCachedCatalogRead();
+    }
+    return new SourceCachedCatalogRead().catalogId(fetchEvent.get().getActorCatalogId()).fetchedAt(fetchEvent.get().getCreatedAt());
+  }
+
   public SourceRead cloneSource(final SourceCloneRequestBody sourceCloneRequestBody)
       throws JsonValidationException, IOException, ConfigNotFoundException, io.airbyte.config.persistence.ConfigNotFoundException {
     // read source configuration from db
@@ -46,6 +46,11 @@ public class StateHandler {
     return StateConverter.toApi(connectionId, newInternalState.orElse(null));
   }
 
+  public void createOrUpdateStateStreams(final ConnectionStateCreateOrUpdate connectionStateCreateOrUpdate) throws IOException {
+    final StateWrapper convertedCreateOrUpdate = StateConverter.toInternal(connectionStateCreateOrUpdate.getConnectionState());
+    statePersistence.updateOrCreateState(connectionStateCreateOrUpdate.getConnectionId(), convertedCreateOrUpdate);
+  }
+
   public ConnectionState createOrUpdateStateSafe(final ConnectionStateCreateOrUpdate connectionStateCreateOrUpdate) throws IOException {
     if (jobHistoryHandler.getLatestRunningSyncJob(connectionStateCreateOrUpdate.getConnectionId()).isPresent()) {
       throw new SyncIsRunningException("State cannot be updated while a sync is running for this connection.");
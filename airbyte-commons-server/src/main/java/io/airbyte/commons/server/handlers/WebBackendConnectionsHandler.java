@@ -192,7 +192,8 @@ public class WebBackendConnectionsHandler {
         // passing 'false' so that deleted connections are not included
         false);
 
-    final List<StandardSync> standardSyncs = connectionService.listWorkspaceStandardSyncs(query);
+    // The list items don't show the catalogs, only the connection summaries are fetched
+    final List<StandardSync> standardSyncs = connectionService.listWorkspaceStandardSyncSummaries(query);
     final List<UUID> sourceIds = standardSyncs.stream().map(StandardSync::getSourceId).toList();
     final List<UUID> destinationIds = standardSyncs.stream().map(StandardSync::getDestinationId).toList();
     final List<UUID> connectionIds = standardSyncs.stream().map(StandardSync::getConnectionId).toList();
@@ -203,7 +204,7 @@ public class WebBackendConnectionsHandler {
     final Map<UUID, JobStatusSummary> latestJobByConnectionId = getLatestJobByConnectionId(connectionIds);
     // This call could be removed, running jobs should be a subset of latest jobs, need to expose the
     // right status filtering for this.
-    final Map<UUID, JobRead> runningJobByConnectionId = getRunningJobByConnectionId(connectionIds);
+    final Map<UUID, JobStatusSummary> runningJobByConnectionId = getRunningJobByConnectionId(connectionIds);
     final Map<UUID, ActorCatalogFetchEvent> newestFetchEventsByActorId =
         catalogService.getMostRecentActorCatalogFetchEventForSources(sourceIds);
 
@@ -228,9 +229,10 @@ public class WebBackendConnectionsHandler {
         .collect(Collectors.toMap(JobStatusSummary::connectionId, Function.identity()));
   }
 
-  private Map<UUID, JobRead> getRunningJobByConnectionId(final List<UUID> connectionIds) throws IOException {
-    return jobHistoryHandler.getRunningSyncJobForConnections(connectionIds).stream()
-        .collect(Collectors.toMap(j -> UUID.fromString(j.getConfigId()), Function.identity()));
+  private Map<UUID, JobStatusSummary> getRunningJobByConnectionId(final List<UUID> connectionIds) throws IOException {
+    // Only the presence of a running job is shown, its config and attempts are not needed
+    return jobHistoryHandler.getRunningSyncJobStatusForConnections(connectionIds).stream()
+        .collect(Collectors.toMap(JobStatusSummary::connectionId, Function.identity()));
   }
 
   private Map<UUID, SourceSnippetRead> getSourceSnippetReadById(final List<UUID> sourceIds) throws IOException {
@@ -289,18 +291,17 @@ public class WebBackendConnectionsHandler {
                                                                          final Map<UUID, SourceSnippetRead> sourceReadById,
                                                                          final Map<UUID, DestinationSnippetRead> destinationReadById,
                                                                          final Map<UUID, JobStatusSummary> latestJobByConnectionId,
-                                                                         final Map<UUID, JobRead> runningJobByConnectionId,
+                                                                         final Map<UUID, JobStatusSummary> runningJobByConnectionId,
                                                                          final Optional<ActorCatalogFetchEvent> latestFetchEvent)
       throws JsonValidationException, IOException, ConfigNotFoundException, io.airbyte.config.persistence.ConfigNotFoundException {
 
     final SourceSnippetRead source = sourceReadById.get(standardSync.getSourceId());
     final DestinationSnippetRead destination = destinationReadById.get(standardSync.getDestinationId());
     final Optional<JobStatusSummary> latestSyncJob = Optional.ofNullable(latestJobByConnectionId.get(standardSync.getConnectionId()));
-    final Optional<JobRead> latestRunningSyncJob = Optional.ofNullable(runningJobByConnectionId.get(standardSync.getConnectionId()));
-    final ConnectionRead connectionRead = apiPojoConverters.internalToConnectionRead(standardSync);
-    final Optional<UUID> currentCatalogId = connectionRead == null ? Optional.empty() : Optional.ofNullable(connectionRead.getSourceCatalogId());
+    final Optional<JobStatusSummary> latestRunningSyncJob = Optional.ofNullable(runningJobByConnectionId.get(standardSync.getConnectionId()));
+    final Optional<UUID> currentCatalogId = Optional.ofNullable(standardSync.getSourceCatalogId());
 
-    final SchemaChange schemaChange = getSchemaChange(connectionRead, currentCatalogId, latestFetchEvent);
+    final SchemaChange schemaChange = getSchemaChangeForBreakingChange(standardSync.getBreakingChange(), currentCatalogId, latestFetchEvent);
 
     // find any scheduled or past breaking changes to the connectors
     final ActorDefinitionVersionRead sourceActorDefinitionVersionRead = actorDefinitionVersionHandler
@@ -345,11 +346,22 @@ public class WebBackendConnectionsHandler {
                                       final ConnectionRead connectionRead,
                                       final Optional<UUID> currentSourceCatalogId,
                                       final Optional<ActorCatalogFetchEvent> mostRecentFetchEvent) {
-    if (connectionRead == null || currentSourceCatalogId.isEmpty()) {
+    if (connectionRead == null) {
+      return SchemaChange.NO_CHANGE;
+    }
+
+    return getSchemaChangeForBreakingChange(connectionRead.getBreakingChange(), currentSourceCatalogId, mostRecentFetchEvent);
+  }
+
+  private static SchemaChange getSchemaChangeForBreakingChange(
+                                                               final Boolean breakingChange,
+                                                               final Optional<UUID> currentSourceCatalogId,
+                                                               final Optional<ActorCatalogFetchEvent> mostRecentFetchEvent) {
+    if (currentSourceCatalogId.isEmpty()) {
       return SchemaChange.NO_CHANGE;
     }
 
-    if (connectionRead.getBreakingChange() != null && connectionRead.getBreakingChange()) {
+    if (breakingChange != null && breakingChange) {
       return SchemaChange.BREAKING;
     }
 
@@ -8,7 +8,10 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import io.airbyte.api.model.generated.AttemptFailureSummary;
@@ -64,6 +67,7 @@ import io.airbyte.config.StandardSyncSummary;
 import io.airbyte.config.StreamSyncStats;
 import io.airbyte.config.SyncMode;
 import io.airbyte.config.SyncStats;
+import java.io.IOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -271,7 +275,7 @@ class JobConverterTest {
 
     @Test
     void testGetJobInfoRead() {
-      when(logClientManager.getLogs(any())).thenReturn(new LogEvents(List.of(), "1"));
+      when(logClientManager.getLogs(any(), anyInt())).thenReturn(new LogEvents(List.of(), "1"));
       assertEquals(JOB_INFO_UNSTRUCTURED_LOGS, jobConverter.getJobInfoRead(job));
     }
 
@@ -295,7 +299,7 @@ class JobConverterTest {
     @Test
     void testGetJobWithAttemptsReadStructuredLogs() {
       final String logEventVersion = "1";
-      when(logClientManager.getLogs(any())).thenReturn(
+      when(logClientManager.getLogs(any(), anyInt())).thenReturn(
           new LogEvents(List.of(new LogEvent(System.currentTimeMillis(), "message", "INFO", LogSource.PLATFORM, null, null)), logEventVersion));
       final JobInfoRead jobInfoRead = jobConverter.getJobInfoRead(job);
       assertEquals(LogFormatType.STRUCTURED, jobInfoRead.getAttempts().getFirst().getLogType());
@@ -303,6 +307,14 @@ class JobConverterTest {
       assertEquals(1, jobInfoRead.getAttempts().getFirst().getLogs().getEvents().size());
     }
 
+    @Test
+    void testGetAttemptLogsPastTheFirstPage() throws IOException {
+      when(logClientManager.getLogs(LOG_PATH, 10)).thenReturn(new LogEvents(List.of(), "1"));
+      final AttemptInfoReadLogs logs = jobConverter.getAttemptLogs(LOG_PATH, JOB_ID, 10);
+      assertTrue(logs.getEvents().isEmpty());
+      verify(logClientManager, never()).getJobLogFile(any());
+    }
+
     // this test intentionally only looks at the reset config as the rest is the same here.
     @Test
     void testResetJobIncludesResetConfig() {
@@ -395,7 +407,7 @@ class JobConverterTest {
 
     @Test
     void testSynchronousJobRead() {
-      when(logClientManager.getLogs(any())).thenReturn(new LogEvents(List.of(), "1"));
+      when(logClientManager.getLogs(any(), anyInt())).thenReturn(new LogEvents(List.of(), "1"));
       assertEquals(SYNCHRONOUS_JOB_INFO_UNSTRUCTURED_LOGS, jobConverter.getSynchronousJobRead(metadata));
     }
 
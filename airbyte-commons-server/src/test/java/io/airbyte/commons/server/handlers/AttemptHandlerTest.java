@@ -518,7 +518,7 @@ class AttemptHandlerTest {
     infoRead.setLogs(logs);
 
     when(jobPersistence.getAttemptForJob(anyLong(), anyInt())).thenReturn(Optional.of(attempt));
-    when(jobConverter.getAttemptInfoRead(attempt)).thenReturn(infoRead);
+    when(jobConverter.getAttemptInfoRead(attempt, 0)).thenReturn(infoRead);
 
     final AttemptInfoRead result = handler.getAttemptForJob(1L, 2);
     assertEquals(attempt.getAttemptNumber(), result.getAttempt().getId());
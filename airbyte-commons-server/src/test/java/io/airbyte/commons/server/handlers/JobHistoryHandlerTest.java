@@ -561,7 +561,7 @@ class JobHistoryHandlerTest {
     Job job = new Job(JOB_ID, JOB_CONFIG.getConfigType(), JOB_CONFIG_ID, JOB_CONFIG, List.of(testJobAttempt), JOB_STATUS, null, CREATED_AT,
         CREATED_AT, true);
     when(jobPersistence.getJob(JOB_ID)).thenReturn(job);
-    when(logClientManager.getLogs(any())).thenReturn(new LogEvents(List.of(), "1"));
+    when(logClientManager.getLogs(any(), anyInt())).thenReturn(new LogEvents(List.of(), "1"));
 
     final JobIdRequestBody requestBody = new JobIdRequestBody().id(JOB_ID);
     final JobInfoRead jobInfoActual = jobHistoryHandler.getJobInfo(requestBody);
@@ -617,7 +617,7 @@ class JobHistoryHandlerTest {
     when(destinationHandler.getDestination(destinationIdRequestBody)).thenReturn(destinationRead);
     when(jobPersistence.getJob(JOB_ID)).thenReturn(job);
     when(jobPersistence.getAttemptStats(anyLong(), anyInt())).thenReturn(FIRST_ATTEMPT_STATS);
-    when(logClientManager.getLogs(any())).thenReturn(new LogEvents(List.of(), "1"));
+    when(logClientManager.getLogs(any(), anyInt())).thenReturn(new LogEvents(List.of(), "1"));
 
     final JobIdRequestBody requestBody = new JobIdRequestBody().id(JOB_ID);
     final JobDebugInfoRead jobDebugInfoActual = jobHistoryHandler.getJobDebugInfo(requestBody);
@@ -12,6 +12,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.doReturn;
@@ -324,7 +325,7 @@ class SchedulerHandlerTest {
     logClientManager = mock(LogClientManager.class);
     logUtils = mock(LogUtils.class);
 
-    when(logClientManager.getLogs(any())).thenReturn(new LogEvents(List.of(), "1"));
+    when(logClientManager.getLogs(any(), anyInt())).thenReturn(new LogEvents(List.of(), "1"));
     jobConverter = spy(new JobConverter(logClientManager, logUtils));
 
     featureFlagClient = mock(TestClient.class);
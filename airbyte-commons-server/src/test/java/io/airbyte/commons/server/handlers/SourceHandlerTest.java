@@ -6,6 +6,7 @@ package io.airbyte.commons.server.handlers;
 
 import static io.airbyte.protocol.models.CatalogHelpers.createAirbyteStream;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
@@ -22,6 +23,8 @@ import io.airbyte.api.model.generated.AirbyteStreamConfiguration;
 import io.airbyte.api.model.generated.ConnectionRead;
 import io.airbyte.api.model.generated.ConnectionReadList;
 import io.airbyte.api.model.generated.DiscoverCatalogResult;
+import io.airbyte.api.model.generated.SourceCachedCatalogRead;
+import io.airbyte.api.model.generated.SourceCachedCatalogRequestBody;
 import io.airbyte.api.model.generated.SourceCloneConfiguration;
 import io.airbyte.api.model.generated.SourceCloneRequestBody;
 import io.airbyte.api.model.generated.SourceCreate;
@@ -43,6 +46,7 @@ import io.airbyte.commons.server.handlers.helpers.CatalogConverter;
 import io.airbyte.commons.server.helpers.ConnectionHelpers;
 import io.airbyte.commons.server.helpers.ConnectorSpecificationHelpers;
 import io.airbyte.commons.server.helpers.SourceHelpers;
+import io.airbyte.config.ActorCatalogFetchEvent;
 import io.airbyte.config.ActorDefinitionVersion;
 import io.airbyte.config.SourceConnection;
 import io.airbyte.config.StandardSourceDefinition;
@@ -70,8 +74,10 @@ import io.airbyte.protocol.models.JsonSchemaType;
 import io.airbyte.validation.json.JsonSchemaValidator;
 import io.airbyte.validation.json.JsonValidationException;
 import java.io.IOException;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Supplier;
 import org.junit.jupiter.api.BeforeEach;
@@ -539,6 +545,34 @@ class SourceHandlerTest {
     assert (result.getCatalogId()).equals(catalogId);
   }
 
+  @Test
+  void testGetCachedSourceCatalog() throws IOException {
+    final UUID sourceId = UUID.randomUUID();
+    final UUID catalogId = UUID.randomUUID();
+    final long fetchedAt = Instant.now().minusSeconds(60).getEpochSecond();
+    when(catalogService.getMostRecentActorCatalogFetchEvent(sourceId, "0.0.1", "0123456789abcd"))
+        .thenReturn(Optional.of(new ActorCatalogFetchEvent().withActorId(sourceId).withActorCatalogId(catalogId).withCreatedAt(fetchedAt)));
+
+    final SourceCachedCatalogRead recentEnough = sourceHandler.getCachedSourceCatalog(new SourceCachedCatalogRequestBody()
+        .sourceId(sourceId).connectorVersion("0.0.1").configHash("0123456789abcd").maxAgeSeconds(3600L));
+    assertEquals(catalogId, recentEnough.getCatalogId());
+    assertEquals(fetchedAt, recentEnough.getFetchedAt());
+
+    final SourceCachedCatalogRead tooOld = sourceHandler.getCachedSourceCatalog(new SourceCachedCatalogRequestBody()
+        .sourceId(sourceId).connectorVersion("0.0.1").configHash("0123456789abcd").maxAgeSeconds(10L));
+    assertNull(tooOld.getCatalogId());
+  }
+
+  @Test
+  void testGetCachedSourceCatalogWithoutCatalog() throws IOException {
+    final UUID sourceId = UUID.randomUUID();
+    when(catalogService.getMostRecentActorCatalogFetchEvent(sourceId, "0.0.1", "0123456789abcd")).thenReturn(Optional.empty());
+
+    final SourceCachedCatalogRead result = sourceHandler.getCachedSourceCatalog(new SourceCachedCatalogRequestBody()
+        .sourceId(sourceId).connectorVersion("0.0.1").configHash("0123456789abcd").maxAgeSeconds(3600L));
+    assertNull(result.getCatalogId());
+  }
+
   @Test
   @SuppressWarnings("PMD")
   void testCatalogResultSelectedStreams() {
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.logging
+
+import io.airbyte.commons.logging.logback.COMPRESSED_LOG_CHUNK_EXTENSION
+
+private val LOG_CHUNK_ID_PATTERN = Regex("""^.*_(\d+)_(\d+)_(\d+)${Regex.escape(COMPRESSED_LOG_CHUNK_EXTENSION)}$""")
+
+/**
+ * Manifest entry of a compressed chunk of structured log events.
+ * <p>
+ * The entry is encoded in the storage ID of the chunk so that listing a log path is enough to know
+ * how many lines each chunk holds and which time range they cover, without reading any chunk and
+ * without a shared manifest document that concurrent writers would have to update.
+ *
+ * @param id The storage ID of the chunk
+ * @param firstTimestamp The timestamp of the oldest event in the chunk
+ * @param lastTimestamp The timestamp of the newest event in the chunk
+ * @param lineCount The number of events in the chunk
+ */
+data class LogChunk(
+  val id: String,
+  val firstTimestamp: Long,
+  val lastTimestamp: Long,
+  val lineCount: Int,
+) {
+  companion object {
+    /**
+     * Parses the manifest entry out of a chunk storage ID.
+     *
+     * @param id The storage ID of the chunk
+     * @return The manifest entry or null if the ID is not the ID of a compressed chunk.
+     */
+    fun parse(id: String): LogChunk? =
+      LOG_CHUNK_ID_PATTERN.matchEntire(id)?.let { match ->
+        val (firstTimestamp, lastTimestamp, lineCount) = match.destructured
+        LogChunk(id = id, firstTimestamp = firstTimestamp.toLong(), lastTimestamp = lastTimestamp.toLong(), lineCount = lineCount.toInt())
+      }
+  }
+}
@@ -7,6 +7,7 @@ package io.airbyte.commons.logging
 import com.fasterxml.jackson.databind.ObjectMapper
 import com.fasterxml.jackson.databind.module.SimpleModule
 import com.fasterxml.jackson.module.kotlin.readValue
+import com.google.common.util.concurrent.ThreadFactoryBuilder
 import io.airbyte.commons.logging.logback.STRUCTURED_LOG_FILE_EXTENSION
 import io.airbyte.commons.storage.DocumentType
 import io.airbyte.commons.storage.StorageClientFactory
@@ -18,8 +19,15 @@ import io.micrometer.core.instrument.Counter
 import io.micrometer.core.instrument.MeterRegistry
 import io.micrometer.core.instrument.Tag
 import io.micrometer.core.instrument.Timer
+import io.micronaut.context.annotation.Value
+import jakarta.annotation.PreDestroy
 import jakarta.inject.Singleton
+import org.apache.commons.io.input.CountingInputStream
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executors
 import java.util.regex.Pattern
+import java.util.zip.GZIPInputStream
 
 private val logger = KotlinLogging.logger {}
 
@@ -60,8 +68,36 @@ private fun MeterRegistry?.createTimer(
       .register(it)
   }
 
+/**
+ * Selects the log chunks that can hold the given number of newest log events.  These are the newest
+ * chunks that hold at least that many events, plus any older chunk whose time range overlaps them.
+ *
+ * @param chunks The chunks of a log path
+ * @param lineCount The number of newest log events to cover
+ * @return The selected chunks, oldest first.
+ */
+internal fun selectTailChunks(
+  chunks: List<LogChunk>,
+  lineCount: Int,
+): List<LogChunk> {
+  val newestFirst = chunks.sortedByDescending { it.lastTimestamp }
+  var selectedLineCount = 0
+  var cutoff: Long? = null
+  for (chunk in newestFirst) {
+    if (selectedLineCount >= lineCount) {
+      break
+    }
+    selectedLineCount += chunk.lineCount
+    cutoff = minOf(cutoff ?: chunk.firstTimestamp, chunk.firstTimestamp)
+  }
+  return cutoff?.let { newestFirst.filter { chunk -> chunk.lastTimestamp >= it }.sortedBy { chunk -> chunk.firstTimestamp } } ?: emptyList()
+}
+
 /**
  * Client that retrieves operation job logs from storage.
+ * <p>
+ * Structured logs are read as a tail: only the compressed chunks that can hold the requested lines
+ * are fetched, in parallel, based on the manifest entry of each chunk (see [LogChunk]).
  */
 @Singleton
 class LogClient(
@@ -69,9 +105,16 @@ class LogClient(
   val mapper: ObjectMapper,
   private val logEventLayout: LogEventLayout,
   private val meterRegistry: MeterRegistry?,
+  @Value("\${airbyte.logging.client.read-parallelism:8}") private val readParallelism: Int = 8,
 ) {
   private val client = storageClientFactory.create(DocumentType.LOGS)
 
+  private val readExecutor =
+    Executors.newFixedThreadPool(
+      readParallelism,
+      ThreadFactoryBuilder().setNameFormat("log-client-reader-%d").setDaemon(true).build(),
+    )
+
   // Copy the mapper to avoid changing deserialization for all usages in the containing application
   private val objectMapper = mapper.copy()
 
@@ -81,18 +124,32 @@ class LogClient(
     objectMapper.registerModule(structuredLogEventModule)
   }
 
+  @PreDestroy
+  fun close() {
+    readExecutor.shutdownNow()
+  }
+
   fun deleteLogs(logPath: String) {
     logger.debug { "Deleting logs from path '$logPath' using ${client.storageType} storage client..." }
     client.delete(id = logPath)
     logger.debug { "Log delete request complete." }
   }
 
+  /**
+   * Returns the newest structured log events of the given log path.
+   *
+   * @param logPath The log path
+   * @param numLines The maximum number of log events to return
+   * @param offset The number of newest log events to skip, to page backwards through the logs
+   * @return The log events, oldest first.
+   */
   fun getLogs(
     logPath: String,
     numLines: Int,
+    offset: Int = 0,
   ): LogEvents {
     logger.debug { "Tailing $numLines line(s) from logs from path '$logPath' using ${client.storageType} storage client..." }
-    val files = client.list(id = logPath).filter { it.endsWith(STRUCTURED_LOG_FILE_EXTENSION) }
+    val files = client.list(id = logPath).filter { isStructuredLogFile(it) }
     logger.debug { "Found ${files.size} files from path '$logPath' using ${client.storageType} storage client." }
 
     val instrumentedFiles =
@@ -120,10 +177,10 @@ class LogClient(
     val events =
       if (timer != null) {
         timer.recordCallable {
-          readStructuredLogs(files = instrumentedFiles, numLines = numLines, lineCounter = lineCounter, byteCounter = byteCounter)
+          readStructuredLogs(files = instrumentedFiles, numLines = numLines, offset = offset, lineCounter = lineCounter, byteCounter = byteCounter)
         } ?: emptyList()
       } else {
-        readStructuredLogs(files = instrumentedFiles, numLines = numLines, lineCounter = lineCounter, byteCounter = byteCounter)
+        readStructuredLogs(files = instrumentedFiles, numLines = numLines, offset = offset, lineCounter = lineCounter, byteCounter = byteCounter)
       }
     return LogEvents(events = events)
   }
@@ -170,7 +227,7 @@ class LogClient(
         logClientType = client.storageType,
       )
 
-    val isStructured = files.all { it.endsWith(suffix = STRUCTURED_LOG_FILE_EXTENSION) }
+    val isStructured = files.all { isStructuredLogFile(it) }
 
     /*
      * This logic is here to handle logs created before the introduction of structured logs.  If any of the log files
@@ -178,7 +235,9 @@ class LogClient(
      * as structured events.
      */
     return if (isStructured) {
-      formatStructuredLogs(events = readStructuredLogs(files = files, numLines = numLines, lineCounter = lineCounter, byteCounter = byteCounter))
+      formatStructuredLogs(
+        events = readStructuredLogs(files = files, numLines = numLines, offset = 0, lineCounter = lineCounter, byteCounter = byteCounter),
+      )
     } else {
       handleUnstructuredLogs(files = files, numLines = numLines, lineCounter = lineCounter, byteCounter = byteCounter)
     }
@@ -186,30 +245,70 @@ class LogClient(
 
   private fun formatStructuredLogs(events: List<LogEvent>): List<String> = events.map { logEventLayout.doLayout(logEvent = it) }
 
+  /**
+   * Reads the newest structured log events.  Uncompressed files written before log chunks were
+   * introduced don't have a manifest entry and are always read.
+   */
   private fun readStructuredLogs(
     files: List<String>,
     numLines: Int,
+    offset: Int,
     lineCounter: Counter?,
     byteCounter: Counter?,
   ): List<LogEvent> {
-    var count = 0
+    val legacyFiles = files.filter { it.endsWith(suffix = STRUCTURED_LOG_FILE_EXTENSION) }
+    val chunks = selectTailChunks(chunks = files.mapNotNull(LogChunk::parse), lineCount = numLines + offset)
+    logger.debug { "Reading ${chunks.size} log chunk(s) and ${legacyFiles.size} uncompressed file(s)..." }
+
+    val events =
+      readInParallel(legacyFiles) { readUncompressedEvents(file = it, byteCounter = byteCounter) } +
+        readInParallel(chunks.map(LogChunk::id)) { readChunkEvents(chunkId = it, byteCounter = byteCounter) }
     val logLines =
-      files
-        .asSequence()
-        .map { file ->
-          val events = client.read(id = file)
-          byteCounter?.increment(events?.length?.toDouble() ?: 0.0)
-          extractEvents(events = events)
-        }.flatMap { it.events }
-        .takeWhile {
-          count++
-          lineCounter?.increment()
-          count <= numLines
-        }.sortedBy { it.timestamp }
-        .toList()
+      events
+        .flatten()
+        .sortedBy { it.timestamp }
+        .dropLast(offset)
+        .takeLast(numLines)
+    lineCounter?.increment(logLines.size.toDouble())
     return logLines
   }
 
+  private fun <T> readInParallel(
+    ids: List<String>,
+    read: (String) -> T,
+  ): List<T> =
+    ids
+      .map { id -> readExecutor.submit(Callable { read(id) }) }
+      .map { future ->
+        try {
+          future.get()
+        } catch (e: ExecutionException) {
+          throw e.cause ?: e
+        }
+      }
+
+  private fun readUncompressedEvents(
+    file: String,
+    byteCounter: Counter?,
+  ): List<LogEvent> {
+    val events = client.read(id = file)
+    byteCounter?.increment(events?.length?.toDouble() ?: 0.0)
+    return extractEvents(events = events).events
+  }
+
+  private fun readChunkEvents(
+    chunkId: String,
+    byteCounter: Counter?,
+  ): List<LogEvent> {
+    // Decompress and parse the chunk as it is downloaded instead of holding it in memory
+    val chunk = client.readStream(id = chunkId)?.let { CountingInputStream(it) } ?: return emptyList()
+    val events = GZIPInputStream(chunk).use { objectMapper.readValue<LogEvents>(it) }.events
+    byteCounter?.increment(chunk.byteCount.toDouble())
+    return events
+  }
+
+  private fun isStructuredLogFile(file: String): Boolean = file.endsWith(suffix = STRUCTURED_LOG_FILE_EXTENSION) || LogChunk.parse(file) != null
+
   private fun handleUnstructuredLogs(
     files: List<String>,
     numLines: Int,
@@ -225,6 +324,8 @@ class LogClient(
           if (file.endsWith(suffix = STRUCTURED_LOG_FILE_EXTENSION)) {
             val logEvents = extractEvents(events = client.read(id = file))
             logEvents.events.map(logEventLayout::doLayout)
+          } else if (LogChunk.parse(file) != null) {
+            readChunkEvents(chunkId = file, byteCounter = null).map(logEventLayout::doLayout)
           } else {
             extractLogLines(fileContents = client.read(id = file))
           }
@@ -42,12 +42,17 @@ class LogClientManager(
    * Returns the structured logs associated with the given log path.
    *
    * @param logPath log path
+   * @param offset number of newest log events to skip, to page backwards through the logs
    * @return The structured log events associated with the given log path (may be empty).
    */
-  fun getLogs(logPath: Path?): LogEvents {
+  @JvmOverloads
+  fun getLogs(
+    logPath: Path?,
+    offset: Int = 0,
+  ): LogEvents {
     return when {
       logPath == null || logPath == EMPTY_PATH -> LogEvents(events = emptyList())
-      else -> logClient.getLogs(logPath = logPath.toString(), numLines = logTailSize)
+      else -> logClient.getLogs(logPath = logPath.toString(), numLines = logTailSize, offset = offset)
     }
   }
 
@@ -10,6 +10,7 @@ import com.fasterxml.jackson.databind.module.SimpleModule
 import com.google.common.util.concurrent.ThreadFactoryBuilder
 import io.airbyte.commons.envvar.EnvVar
 import io.airbyte.commons.jackson.MoreMappers
+import io.airbyte.commons.logging.LogEvent
 import io.airbyte.commons.logging.LogEvents
 import io.airbyte.commons.logging.StackTraceElementSerializer
 import io.airbyte.commons.logging.toLogEvent
@@ -26,6 +27,7 @@ import io.airbyte.commons.storage.S3StorageClient
 import io.airbyte.commons.storage.S3StorageConfig
 import io.airbyte.commons.storage.StorageBucketConfig
 import io.airbyte.commons.storage.StorageClient
+import java.io.ByteArrayOutputStream
 import java.net.InetAddress
 import java.time.LocalDateTime
 import java.time.format.DateTimeFormatter
@@ -33,6 +35,9 @@ import java.util.UUID
 import java.util.concurrent.Executors
 import java.util.concurrent.LinkedBlockingQueue
 import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicLong
+import java.util.zip.GZIPOutputStream
 
 private val objectMapper = MoreMappers.initMapper()
 
@@ -46,6 +51,17 @@ private val executorService =
     ThreadFactoryBuilder().setNameFormat("airbyte-cloud-storage-appender-%d").build(),
   )
 
+/**
+ * Maximum number of log events buffered by each appender between uploads.
+ */
+private val defaultBufferCapacity = EnvVar.CLOUD_STORAGE_APPENDER_BUFFER_SIZE.fetch(default = "10000")!!.toInt()
+
+/**
+ * Whether log events are uploaded as compressed chunks instead of uncompressed files.  Log clients that
+ * predate compressed chunks can't read them, so they are only written once every reader has been upgraded.
+ */
+private val defaultCompressedChunks = EnvVar.CLOUD_STORAGE_APPENDER_COMPRESSED_CHUNKS.fetch(default = "false")!!.toBoolean()
+
 /**
  * Builds the ID of the uploaded file.  This is typically the path in blob storage.
  *
@@ -65,6 +81,32 @@ fun createFileId(
   return "${baseId.trim('/')}/${timestamp}_${hostname}_${uniqueIdentifier.replace("-", "")}$STRUCTURED_LOG_FILE_EXTENSION"
 }
 
+/**
+ * Builds the ID of an uploaded compressed chunk of log events.  The ID embeds the manifest entry of the
+ * chunk, see [io.airbyte.commons.logging.LogChunk].
+ *
+ * @param baseId The base path/ID of the file location
+ * @param firstTimestamp The timestamp of the oldest event in the chunk
+ * @param lastTimestamp The timestamp of the newest event in the chunk
+ * @param lineCount The number of events in the chunk
+ * @param timestamp A timestamp as a string for uniqueness
+ * @param hostname The hostname of the machine executing this method
+ * @param uniqueIdentifier A random UUID as a string for uniqueness
+ * @return The chunk ID.
+ */
+fun createChunkId(
+  baseId: String,
+  firstTimestamp: Long,
+  lastTimestamp: Long,
+  lineCount: Int,
+  timestamp: String = LocalDateTime.now().format(DATE_FORMAT),
+  hostname: String = InetAddress.getLocalHost().hostName,
+  uniqueIdentifier: String = UUID.randomUUID().toString(),
+): String =
+  createFileId(baseId = baseId, timestamp = timestamp, hostname = hostname, uniqueIdentifier = uniqueIdentifier)
+    .removeSuffix(STRUCTURED_LOG_FILE_EXTENSION)
+    .plus("_${firstTimestamp}_${lastTimestamp}_$lineCount$COMPRESSED_LOG_CHUNK_EXTENSION")
+
 /**
  * Stops the shared executor service.  This method should be called from a JVM shutdown hook
  * to ensure that the thread pool is stopped prior to exit/stopping the appenders.
@@ -76,8 +118,13 @@ fun stopAirbyteCloudStorageAppenderExecutorService() {
 
 /**
  * Custom Logback [AppenderBase] that uploads log events to remove storage.  Log data
- * is uploaded on a scheduled cadence that produces a new remote storage file each time.
- * This is necessary because most cloud storage systems do not support an append mode.
+ * is uploaded on a scheduled cadence that produces a new remote storage file each time, a compressed
+ * chunk if [compressedChunks] is set.  This is necessary because most cloud storage systems do not
+ * support an append mode.
+ * <p>
+ * Events are buffered in a bounded queue.  When the queue is full, an upload is started right away
+ * and events appended until it drains are dropped.  The number of dropped events is recorded as a
+ * warning in the next chunk.
  */
 class AirbyteCloudStorageAppender(
   val baseStorageId: String,
@@ -85,9 +132,12 @@ class AirbyteCloudStorageAppender(
   val storageClient: StorageClient = buildStorageClient(storageConfig = buildStorageConfig(), documentType = documentType),
   val period: Long = 60L,
   val unit: TimeUnit = TimeUnit.SECONDS,
+  val bufferCapacity: Int = defaultBufferCapacity,
+  val compressedChunks: Boolean = defaultCompressedChunks,
 ) : AppenderBase<ILoggingEvent>() {
-  private val buffer = LinkedBlockingQueue<ILoggingEvent>()
-  private var currentStorageId: String = createFileId(baseId = baseStorageId)
+  private val buffer = LinkedBlockingQueue<ILoggingEvent>(bufferCapacity)
+  private val droppedEvents = AtomicLong()
+  private val flushPending = AtomicBoolean(false)
   private val uploadLock = Any()
 
   override fun start() {
@@ -108,23 +158,64 @@ class AirbyteCloudStorageAppender(
   }
 
   override fun append(eventObject: ILoggingEvent) {
-    buffer.offer(eventObject)
+    if (!buffer.offer(eventObject)) {
+      droppedEvents.incrementAndGet()
+    }
+    if (buffer.remainingCapacity() == 0 && flushPending.compareAndSet(false, true)) {
+      executorService.execute(this::flush)
+    }
+  }
+
+  private fun flush() {
+    try {
+      upload()
+    } finally {
+      flushPending.set(false)
+    }
   }
 
   private fun upload() {
     synchronized(uploadLock) {
-      val events = mutableListOf<ILoggingEvent>()
-      buffer.drainTo(events)
+      val drained = mutableListOf<ILoggingEvent>()
+      buffer.drainTo(drained)
+
+      val events = drained.map(ILoggingEvent::toLogEvent).toMutableList()
+      val dropped = droppedEvents.getAndSet(0)
+      if (dropped > 0) {
+        events.add(
+          LogEvent(
+            timestamp = events.lastOrNull()?.timestamp ?: System.currentTimeMillis(),
+            message = "Dropped $dropped log line(s) because the log buffer of $bufferCapacity line(s) was full.",
+            level = "WARN",
+          ),
+        )
+      }
 
-      if (events.isNotEmpty()) {
-        val document = objectMapper.writeValueAsString(LogEvents(events = events.map(ILoggingEvent::toLogEvent)))
-        storageClient.write(id = currentStorageId, document = document)
+      if (events.isEmpty()) {
+        return
+      }
 
-        // Move to next file to avoid overwriting in log storage that doesn't support append mode
-        this.currentStorageId = createFileId(baseId = baseStorageId)
+      // A new file is written on every upload to avoid overwriting in log storage that doesn't support append mode
+      if (compressedChunks) {
+        val chunkId =
+          createChunkId(
+            baseId = baseStorageId,
+            firstTimestamp = events.minOf { it.timestamp },
+            lastTimestamp = events.maxOf { it.timestamp },
+            lineCount = events.size,
+          )
+        storageClient.writeBytes(id = chunkId, document = compress(LogEvents(events = events)))
+      } else {
+        storageClient.write(id = createFileId(baseId = baseStorageId), document = objectMapper.writeValueAsString(LogEvents(events = events)))
       }
     }
   }
+
+  private fun compress(logEvents: LogEvents): ByteArray {
+    val output = ByteArrayOutputStream()
+    GZIPOutputStream(output).use { objectMapper.writeValue(it, logEvents) }
+    return output.toByteArray()
+  }
 }
 
 internal fun buildStorageClient(
@@ -187,6 +278,7 @@ internal fun buildStorageClient(
 }
 
 const val STRUCTURED_LOG_FILE_EXTENSION = ".json"
+const val COMPRESSED_LOG_CHUNK_EXTENSION = "$STRUCTURED_LOG_FILE_EXTENSION.gz"
 private val DATE_FORMAT: DateTimeFormatter = DateTimeFormatter.ofPattern("yyyyMMddHHmmss")
 
 internal fun buildBucketConfig(storageConfig: Map<EnvVar, String>): StorageBucketConfig =
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.storage
+
+import java.io.OutputStream
+
+/**
+ * [OutputStream] of a document written with [StorageClient.writeStream].
+ * <p>
+ * Closing the stream stores the document.  Aborting it discards what was written instead, so that a
+ * write that failed halfway doesn't leave a truncated document behind.  Once the stream is closed or
+ * aborted, both are no-ops.
+ *
+ * @param out the stream the document is written to, compressed or not
+ * @param onClose stores the document once [out] is closed
+ * @param onAbort discards the document, [out] is not closed so that nothing gets flushed to the store
+ */
+class AbortableOutputStream internal constructor(
+  private val out: OutputStream,
+  private val onClose: () -> Unit = {},
+  private val onAbort: () -> Unit,
+) : OutputStream() {
+  private var done = false
+
+  override fun write(b: Int) {
+    out.write(b)
+  }
+
+  override fun write(
+    b: ByteArray,
+    off: Int,
+    len: Int,
+  ) {
+    out.write(b, off, len)
+  }
+
+  override fun flush() {
+    out.flush()
+  }
+
+  override fun close() {
+    if (done) {
+      return
+    }
+    done = true
+    out.close()
+    onClose()
+  }
+
+  /**
+   * Discards the document instead of storing it.
+   */
+  fun abort() {
+    if (done) {
+      return
+    }
+    done = true
+    onAbort()
+  }
+}
+
+/**
+ * Writes the document with the given id with [block].  The document is stored once [block]
+ * returns; if it throws, the document is discarded and the exception is rethrown.
+ *
+ * @param id of the document to write
+ * @param compress whether to gzip the document while it is written
+ * @param block writes the document to the stream it is given
+ * @return the result of [block]
+ */
+fun <T> StorageClient.writeStream(
+  id: String,
+  compress: Boolean = false,
+  block: (OutputStream) -> T,
+): T {
+  val output = writeStream(id, compress)
+  val result =
+    try {
+      block(output)
+    } catch (e: Throwable) {
+      runCatching { output.abort() }.exceptionOrNull()?.let { e.addSuppressed(it) }
+      throw e
+    }
+  output.close()
+  return result
+}
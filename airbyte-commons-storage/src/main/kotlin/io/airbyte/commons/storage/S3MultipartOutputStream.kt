@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.storage
+
+import software.amazon.awssdk.core.sync.RequestBody
+import software.amazon.awssdk.services.s3.S3Client
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload
+import software.amazon.awssdk.services.s3.model.CompletedPart
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest
+import software.amazon.awssdk.services.s3.model.PutObjectRequest
+import software.amazon.awssdk.services.s3.model.UploadPartRequest
+import java.io.ByteArrayInputStream
+import java.io.IOException
+import java.io.OutputStream
+
+/** Default size of the parts of a multipart upload. S3 requires at least 5 MiB for every part but the last. */
+internal const val DEFAULT_MULTIPART_PART_SIZE = 16 * 1024 * 1024
+
+/**
+ * [OutputStream] that uploads an object to an S3-compatible store.
+ * <p>
+ * At most one part of the object is held in memory.  Objects that fit in a single part are uploaded
+ * with a single put request when the stream is closed.  Larger objects are uploaded with a multipart
+ * upload, one part each time the buffer fills up, and the upload is completed when the stream is
+ * closed.  If a part fails to upload, or the stream is aborted with [abort], the multipart upload is
+ * aborted and nothing is stored.
+ *
+ * @param s3Client the [S3Client] to upload with
+ * @param bucket the bucket to upload to
+ * @param key the key of the uploaded object
+ * @param partSize the size of the parts of a multipart upload
+ */
+internal class S3MultipartOutputStream(
+  private val s3Client: S3Client,
+  private val bucket: String,
+  private val key: String,
+  private val partSize: Int = DEFAULT_MULTIPART_PART_SIZE,
+) : OutputStream() {
+  private val buffer = ByteArray(partSize)
+  private var bufferSize = 0
+  private var uploadId: String? = null
+  private val completedParts = mutableListOf<CompletedPart>()
+  private var closed = false
+
+  override fun write(b: Int) {
+    write(byteArrayOf(b.toByte()), 0, 1)
+  }
+
+  override fun write(
+    b: ByteArray,
+    off: Int,
+    len: Int,
+  ) {
+    if (closed) {
+      throw IOException("Stream closed")
+    }
+    var offset = off
+    var remaining = len
+    while (remaining > 0) {
+      val copied = minOf(remaining, partSize - bufferSize)
+      System.arraycopy(b, offset, buffer, bufferSize, copied)
+      bufferSize += copied
+      offset += copied
+      remaining -= copied
+      if (bufferSize == partSize) {
+        uploadPart()
+      }
+    }
+  }
+
+  override fun close() {
+    if (closed) {
+      return
+    }
+    closed = true
+
+    val currentUploadId = uploadId
+    if (currentUploadId == null) {
+      s3Client.putObject(
+        PutObjectRequest.builder().bucket(bucket).key(key).build(),
+        bufferedRequestBody(),
+      )
+      return
+    }
+
+    abortOnFailure(currentUploadId) {
+      if (bufferSize > 0) {
+        uploadPart()
+      }
+      s3Client.completeMultipartUpload(
+        CompleteMultipartUploadRequest
+          .builder()
+          .bucket(bucket)
+          .key(key)
+          .uploadId(currentUploadId)
+          .multipartUpload(CompletedMultipartUpload.builder().parts(completedParts).build())
+          .build(),
+      )
+    }
+  }
+
+  /**
+   * Discards the object instead of storing it: the parts uploaded so far are deleted.
+   */
+  fun abort() {
+    if (closed) {
+      return
+    }
+    closed = true
+    uploadId?.let {
+      s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder().bucket(bucket).key(key).uploadId(it).build())
+    }
+  }
+
+  private fun uploadPart() {
+    val currentUploadId =
+      uploadId
+        ?: s3Client
+          .createMultipartUpload(CreateMultipartUploadRequest.builder().bucket(bucket).key(key).build())
+          .uploadId()
+          .also { uploadId = it }
+
+    abortOnFailure(currentUploadId) {
+      val partNumber = completedParts.size + 1
+      val response =
+        s3Client.uploadPart(
+          UploadPartRequest
+            .builder()
+            .bucket(bucket)
+            .key(key)
+            .uploadId(currentUploadId)
+            .partNumber(partNumber)
+            .build(),
+          bufferedRequestBody(),
+        )
+      completedParts.add(CompletedPart.builder().partNumber(partNumber).eTag(response.eTag()).build())
+      bufferSize = 0
+    }
+  }
+
+  // Streams the buffer instead of copying it, a copy of a full part would double the memory held
+  private fun bufferedRequestBody(): RequestBody = RequestBody.fromInputStream(ByteArrayInputStream(buffer, 0, bufferSize), bufferSize.toLong())
+
+  private fun abortOnFailure(
+    currentUploadId: String,
+    block: () -> Unit,
+  ) {
+    try {
+      block()
+    } catch (e: Exception) {
+      closed = true
+      runCatching {
+        s3Client.abortMultipartUpload(
+          AbortMultipartUploadRequest.builder().bucket(bucket).key(key).uploadId(currentUploadId).build(),
+        )
+      }
+      throw e
+    }
+  }
+}
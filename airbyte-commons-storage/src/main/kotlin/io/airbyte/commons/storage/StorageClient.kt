@@ -4,9 +4,12 @@
 
 package io.airbyte.commons.storage
 
+import com.azure.core.util.BinaryData
 import com.azure.storage.blob.BlobServiceClient
 import com.azure.storage.blob.BlobServiceClientBuilder
+import com.azure.storage.blob.models.BlobRange
 import com.google.auth.oauth2.ServiceAccountCredentials
+import com.google.cloud.ReadChannel
 import com.google.cloud.storage.BlobId
 import com.google.cloud.storage.BlobInfo
 import com.google.cloud.storage.BucketInfo
@@ -21,6 +24,7 @@ import io.micronaut.context.annotation.Value
 import io.micronaut.kotlin.context.createBean
 import jakarta.inject.Inject
 import jakarta.inject.Singleton
+import org.apache.commons.io.input.BoundedInputStream
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials
 import software.amazon.awssdk.core.sync.RequestBody
 import software.amazon.awssdk.regions.Region
@@ -33,18 +37,39 @@ import software.amazon.awssdk.services.s3.model.HeadObjectRequest
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Request
 import software.amazon.awssdk.services.s3.model.NoSuchKeyException
 import software.amazon.awssdk.services.s3.model.PutObjectRequest
+import software.amazon.awssdk.services.s3.model.S3Exception
 import java.io.ByteArrayInputStream
+import java.io.InputStream
+import java.io.OutputStream
 import java.net.URI
+import java.nio.channels.Channels
+import java.nio.channels.FileChannel
 import java.nio.charset.StandardCharsets
 import java.nio.file.Files
 import java.nio.file.Path
+import java.nio.file.StandardCopyOption
+import java.util.zip.GZIPInputStream
+import java.util.zip.GZIPOutputStream
 import kotlin.io.path.createParentDirectories
 import kotlin.io.path.deleteIfExists
 import kotlin.io.path.exists
+import kotlin.io.path.inputStream
 import kotlin.io.path.isDirectory
 import kotlin.io.path.listDirectoryEntries
+import kotlin.io.path.outputStream
 import kotlin.io.path.pathString
+import kotlin.io.path.readBytes
 import kotlin.io.path.relativeTo
+import kotlin.io.path.writeBytes
+
+private const val HTTP_RANGE_NOT_SATISFIABLE = 416
+
+/** Suffix of the files that documents are written to until their stream is closed, see [LocalStorageClient.writeStream]. */
+private const val TEMP_FILE_SUFFIX = ".tmp"
+
+private fun OutputStream.compressIf(compress: Boolean): OutputStream = if (compress) GZIPOutputStream(this) else this
+
+private fun InputStream.decompressIf(decompress: Boolean): InputStream = if (decompress) GZIPInputStream(this) else this
 
 private fun prependIfMissing(
   prefix: String,
@@ -133,6 +158,18 @@ interface StorageClient {
     document: String,
   )
 
+  /**
+   * Writes a binary document with a given id. If a document already exists at this id it will be
+   * overwritten.
+   *
+   * @param id of the document to write
+   * @param document to write
+   */
+  fun writeBytes(
+    id: String,
+    document: ByteArray,
+  )
+
   /**
    * Reads document with a given id.
    *
@@ -141,6 +178,55 @@ interface StorageClient {
    */
   fun read(id: String): String?
 
+  /**
+   * Reads the binary document with a given id.
+   *
+   * @param id of the document to read.
+   * @return the document
+   */
+  fun readBytes(id: String): ByteArray?
+
+  /**
+   * Opens a stream to write a document with a given id without holding the whole document in memory.
+   * The document is stored when the stream is closed, or discarded if the stream is aborted. If a
+   * document already exists at this id it will be overwritten. See [writeStream] with a block to
+   * abort the stream when the write fails.
+   *
+   * @param id of the document to write
+   * @param compress whether to gzip the document while it is written
+   * @return the stream to write the document to
+   */
+  fun writeStream(
+    id: String,
+    compress: Boolean = false,
+  ): AbortableOutputStream
+
+  /**
+   * Opens a stream to read the document with a given id without holding the whole document in memory.
+   *
+   * @param id of the document to read
+   * @param decompress whether to gunzip the document while it is read
+   * @return the stream to read the document from, or null if the document does not exist
+   */
+  fun readStream(
+    id: String,
+    decompress: Boolean = false,
+  ): InputStream?
+
+  /**
+   * Opens a stream to read a range of bytes of the document with a given id.
+   *
+   * @param id of the document to read
+   * @param offset of the first byte to read
+   * @param length of the range, fewer bytes are read if the document ends before the range does
+   * @return the stream to read the range from, or null if the document does not exist
+   */
+  fun readRange(
+    id: String,
+    offset: Long,
+    length: Long,
+  ): InputStream?
+
   /**
    * Deletes the document with provided id.
    *
@@ -206,6 +292,16 @@ class AzureStorageClient(
       .upload(document.byteInputStream(StandardCharsets.UTF_8))
   }
 
+  override fun writeBytes(
+    id: String,
+    document: ByteArray,
+  ) {
+    azureClient
+      .getBlobContainerClient(bucketName)
+      .getBlobClient(key(id))
+      .upload(BinaryData.fromBytes(document), true)
+  }
+
   override fun read(id: String): String? =
     azureClient
       .getBlobContainerClient(bucketName)
@@ -215,6 +311,54 @@ class AzureStorageClient(
       ?.downloadContent()
       ?.toString()
 
+  override fun readBytes(id: String): ByteArray? =
+    azureClient
+      .getBlobContainerClient(bucketName)
+      .getBlobClient(key(id))
+      // ensure the blob exists before downloading it
+      .takeIf { it.exists() }
+      ?.downloadContent()
+      ?.toBytes()
+
+  override fun writeStream(
+    id: String,
+    compress: Boolean,
+  ): AbortableOutputStream =
+    AbortableOutputStream(
+      out =
+        azureClient
+          .getBlobContainerClient(bucketName)
+          .getBlobClient(key(id))
+          .blockBlobClient
+          // uploads the blob in blocks as the stream is written, they are committed when it is closed
+          .getBlobOutputStream(true)
+          .compressIf(compress),
+      // the uploaded blocks are never committed, Azure discards uncommitted blocks after a week
+      onAbort = {},
+    )
+
+  override fun readStream(
+    id: String,
+    decompress: Boolean,
+  ): InputStream? =
+    azureClient
+      .getBlobContainerClient(bucketName)
+      .getBlobClient(key(id))
+      .takeIf { it.exists() }
+      ?.openInputStream()
+      ?.decompressIf(decompress)
+
+  override fun readRange(
+    id: String,
+    offset: Long,
+    length: Long,
+  ): InputStream? =
+    azureClient
+      .getBlobContainerClient(bucketName)
+      .getBlobClient(key(id))
+      .takeIf { it.exists() }
+      ?.let { if (length <= 0) InputStream.nullInputStream() else it.openInputStream(BlobRange(offset, length), null) }
+
   override fun delete(id: String): Boolean =
     azureClient
       .getBlobContainerClient(bucketName)
@@ -272,13 +416,61 @@ class GcsStorageClient(
     gcsClient.create(blobInfo, document.toByteArray(StandardCharsets.UTF_8))
   }
 
-  override fun read(id: String): String? {
+  override fun writeBytes(
+    id: String,
+    document: ByteArray,
+  ) {
+    val blobInfo = BlobInfo.newBuilder(blobId(id)).build()
+    gcsClient.create(blobInfo, document)
+  }
+
+  override fun read(id: String): String? = readBytes(id)?.toString(StandardCharsets.UTF_8)
+
+  override fun readBytes(id: String): ByteArray? {
+    val blobId = blobId(key(id))
+
+    return gcsClient
+      .get(blobId)
+      ?.takeIf { it.exists() }
+      ?.let { gcsClient.readAllBytes(blobId) }
+  }
+
+  override fun writeStream(
+    id: String,
+    compress: Boolean,
+  ): AbortableOutputStream {
+    val blobInfo = BlobInfo.newBuilder(blobId(id)).build()
+    // the write channel uploads the blob in chunks with a resumable upload, which is finalized when it is closed
+    return AbortableOutputStream(
+      out = Channels.newOutputStream(gcsClient.writer(blobInfo)).compressIf(compress),
+      // the resumable upload is never finalized, GCS discards it once the upload session expires
+      onAbort = {},
+    )
+  }
+
+  override fun readStream(
+    id: String,
+    decompress: Boolean,
+  ): InputStream? = reader(id)?.let { Channels.newInputStream(it) }?.decompressIf(decompress)
+
+  override fun readRange(
+    id: String,
+    offset: Long,
+    length: Long,
+  ): InputStream? =
+    reader(id)
+      ?.apply {
+        seek(offset)
+        limit(offset + length)
+      }?.let { Channels.newInputStream(it) }
+
+  private fun reader(id: String): ReadChannel? {
     val blobId = blobId(key(id))
 
     return gcsClient
       .get(blobId)
       ?.takeIf { it.exists() }
-      ?.let { gcsClient.readAllBytes(blobId).toString(StandardCharsets.UTF_8) }
+      ?.let { gcsClient.reader(blobId) }
   }
 
   override fun delete(id: String): Boolean = gcsClient.delete(BlobId.of(bucketName, key(id)))
@@ -313,7 +505,7 @@ class LocalStorageClient(
       toPath(id)
         .takeIf { it.exists() }
         ?.listDirectoryEntries()
-        ?.filter { !it.isDirectory() }
+        ?.filter { !it.isDirectory() && !isTempFile(it) }
         ?.map { toId(it) }
         ?: emptyList()
     return res.sorted()
@@ -328,11 +520,66 @@ class LocalStorageClient(
     IOs.writeFile(path, document)
   }
 
+  override fun writeBytes(
+    id: String,
+    document: ByteArray,
+  ) {
+    val path =
+      toPath(id).also { it.createParentDirectories() }
+    path.writeBytes(document)
+  }
+
   override fun read(id: String): String? =
     toPath(id)
       .takeIf { it.exists() }
       ?.let { IOs.readFile(it) }
 
+  override fun readBytes(id: String): ByteArray? =
+    toPath(id)
+      .takeIf { it.exists() }
+      ?.readBytes()
+
+  override fun writeStream(
+    id: String,
+    compress: Boolean,
+  ): AbortableOutputStream {
+    val path = toPath(id).also { it.createParentDirectories() }
+    // the document is written to a temporary file, which replaces the document once it is complete
+    val tempPath = Files.createTempFile(path.parent, ".${path.fileName}.", TEMP_FILE_SUFFIX)
+    val fileOutput = tempPath.outputStream().buffered()
+    return AbortableOutputStream(
+      out = fileOutput.compressIf(compress),
+      onClose = { Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE) },
+      onAbort = {
+        try {
+          fileOutput.close()
+        } finally {
+          tempPath.deleteIfExists()
+        }
+      },
+    )
+  }
+
+  override fun readStream(
+    id: String,
+    decompress: Boolean,
+  ): InputStream? =
+    toPath(id)
+      .takeIf { it.exists() }
+      ?.inputStream()
+      ?.buffered()
+      ?.decompressIf(decompress)
+
+  override fun readRange(
+    id: String,
+    offset: Long,
+    length: Long,
+  ): InputStream? =
+    toPath(id)
+      .takeIf { it.exists() }
+      ?.let { FileChannel.open(it).position(offset) }
+      ?.let { BoundedInputStream(Channels.newInputStream(it).buffered(), length) }
+
   override fun delete(id: String): Boolean =
     toPath(id)
       .deleteIfExists()
@@ -342,6 +589,9 @@ class LocalStorageClient(
 
   /** Converts an absolute [Path] to an ID [String]. */
   private fun toId(abspath: Path): String = abspath.relativeTo(Path.of(config.root, type.prefix.toString())).pathString
+
+  /** Whether the file is a document that is still being written, see [writeStream]. */
+  private fun isTempFile(path: Path): Boolean = path.fileName.toString().let { it.startsWith(".") && it.endsWith(TEMP_FILE_SUFFIX) }
 }
 
 /**
@@ -439,6 +689,20 @@ abstract class AbstractS3StorageClient internal constructor(
     s3Client.putObject(request, RequestBody.fromString(document))
   }
 
+  override fun writeBytes(
+    id: String,
+    document: ByteArray,
+  ) {
+    val request =
+      PutObjectRequest
+        .builder()
+        .bucket(bucketName)
+        .key(key(id))
+        .build()
+
+    s3Client.putObject(request, RequestBody.fromBytes(document))
+  }
+
   override fun read(id: String): String? =
     try {
       s3Client
@@ -453,20 +717,74 @@ abstract class AbstractS3StorageClient internal constructor(
       null
     }
 
-  override fun delete(id: String): Boolean {
-    val exists =
-      try {
-        s3Client.headObject(
-          HeadObjectRequest
+  override fun readBytes(id: String): ByteArray? =
+    try {
+      s3Client
+        .getObjectAsBytes(
+          GetObjectRequest
             .builder()
             .bucket(bucketName)
             .key(key(id))
             .build(),
-        )
-        true
-      } catch (e: NoSuchKeyException) {
-        false
-      }
+        ).asByteArray()
+    } catch (e: NoSuchKeyException) {
+      null
+    }
+
+  override fun writeStream(
+    id: String,
+    compress: Boolean,
+  ): AbortableOutputStream {
+    val s3Output = S3MultipartOutputStream(s3Client = s3Client, bucket = bucketName, key = key(id))
+    return AbortableOutputStream(out = s3Output.compressIf(compress), onAbort = s3Output::abort)
+  }
+
+  override fun readStream(
+    id: String,
+    decompress: Boolean,
+  ): InputStream? =
+    try {
+      s3Client
+        .getObject(
+          GetObjectRequest
+            .builder()
+            .bucket(bucketName)
+            .key(key(id))
+            .build(),
+        ).decompressIf(decompress)
+    } catch (e: NoSuchKeyException) {
+      null
+    }
+
+  override fun readRange(
+    id: String,
+    offset: Long,
+    length: Long,
+  ): InputStream? {
+    // An empty range is invalid, S3 would ignore it and return the whole object
+    if (length <= 0) {
+      return if (exists(id)) InputStream.nullInputStream() else null
+    }
+
+    return try {
+      s3Client.getObject(
+        GetObjectRequest
+          .builder()
+          .bucket(bucketName)
+          .key(key(id))
+          .range("bytes=$offset-${offset + length - 1}")
+          .build(),
+      )
+    } catch (e: NoSuchKeyException) {
+      null
+    } catch (e: S3Exception) {
+      // the range starts after the end of the object
+      if (e.statusCode() == HTTP_RANGE_NOT_SATISFIABLE) InputStream.nullInputStream() else throw e
+    }
+  }
+
+  override fun delete(id: String): Boolean {
+    val exists = exists(id)
 
     s3Client.deleteObject(
       DeleteObjectRequest
@@ -478,6 +796,20 @@ abstract class AbstractS3StorageClient internal constructor(
     return exists
   }
 
+  private fun exists(id: String): Boolean =
+    try {
+      s3Client.headObject(
+        HeadObjectRequest
+          .builder()
+          .bucket(bucketName)
+          .key(key(id))
+          .build(),
+      )
+      true
+    } catch (e: NoSuchKeyException) {
+      false
+    }
+
   private fun createBucketIfNotExists() {
     if (!doesBucketExist(bucketName=bucketName)) {
       val createBucketRequest = CreateBucketRequest.builder().bucket(bucketName).build()
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.storage.performance;
+
+import io.airbyte.commons.storage.DocumentType;
+import io.airbyte.commons.storage.LocalStorageClient;
+import io.airbyte.commons.storage.LocalStorageConfig;
+import io.airbyte.commons.storage.StorageBucketConfig;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the peak heap use of copying a large object with the {@link LocalStorageClient}, either
+ * by reading and writing it as a String or by streaming it, with and without compression.
+ *
+ * The peak heap use of each iteration is reported as a secondary result. Run the main method.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx3g"})
+public class StorageClientStreamingBenchmark {
+
+  private static final String SOURCE_ID = "source";
+  private static final String COPY_ID = "copy";
+  private static final int LINE_LENGTH = 100;
+
+  @Param({"500"})
+  public int objectSizeInMegabytes;
+
+  private Path root;
+  private LocalStorageClient client;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    root = Files.createTempDirectory("storage-client-benchmark");
+    client = new LocalStorageClient(
+        new LocalStorageConfig(new StorageBucketConfig("log", "state", "workload", "payload", null), root.toString()),
+        DocumentType.WORKLOAD_OUTPUT);
+
+    final byte[] line = new byte[LINE_LENGTH];
+    Arrays.fill(line, (byte) 'a');
+    line[LINE_LENGTH - 1] = '\n';
+    try (OutputStream output = client.writeStream(SOURCE_ID, false)) {
+      for (long written = 0; written < objectSizeInMegabytes * 1024L * 1024L; written += LINE_LENGTH) {
+        output.write(line);
+      }
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    try (Stream<Path> paths = Files.walk(root)) {
+      paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+    }
+  }
+
+  /**
+   * The peak heap use of the iteration, read by JMH once the iteration is over. The used heap is
+   * sampled every millisecond: the peaks of the heap pools are reached at different times, their sum
+   * would overstate the peak of the whole heap.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class HeapUsage {
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final AtomicLong peakUsedHeap = new AtomicLong();
+    private ScheduledExecutorService sampler;
+
+    @Setup(Level.Trial)
+    public void startSampling() {
+      sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "heap-usage-sampler");
+        thread.setDaemon(true);
+        return thread;
+      });
+      sampler.scheduleAtFixedRate(() -> peakUsedHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max), 0, 1,
+          TimeUnit.MILLISECONDS);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetPeakHeapUsage() {
+      System.gc();
+      peakUsedHeap.set(memory.getHeapMemoryUsage().getUsed());
+    }
+
+    @TearDown(Level.Trial)
+    public void stopSampling() {
+      sampler.shutdownNow();
+    }
+
+    public long peakHeapMegabytes() {
+      return peakUsedHeap.get() / (1024 * 1024);
+    }
+
+  }
+
+  @Benchmark
+  public void copyAsString(final HeapUsage heapUsage) {
+    client.write(COPY_ID, client.read(SOURCE_ID));
+  }
+
+  @Benchmark
+  public void copyAsBytes(final HeapUsage heapUsage) {
+    client.writeBytes(COPY_ID, client.readBytes(SOURCE_ID));
+  }
+
+  @Benchmark
+  public long copyAsStream(final HeapUsage heapUsage) throws IOException {
+    try (InputStream input = client.readStream(SOURCE_ID, false); OutputStream output = client.writeStream(COPY_ID, false)) {
+      return input.transferTo(output);
+    }
+  }
+
+  @Benchmark
+  public long copyAsCompressedStream(final HeapUsage heapUsage) throws IOException {
+    try (InputStream input = client.readStream(SOURCE_ID, false); OutputStream output = client.writeStream(COPY_ID, true)) {
+      return input.transferTo(output);
+    }
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(StorageClientStreamingBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+
+}
@@ -75,7 +75,7 @@ internal class LogClientManagerTest {
     val logEvents = LogEvents(events = events)
     val logClient =
       mockk<LogClient> {
-        every { getLogs(any(), any()) } returns logEvents
+        every { getLogs(any(), any(), any()) } returns logEvents
       }
     val logMdcHelper = mockk<LogMdcHelper> {}
     val logClientManager =
@@ -9,26 +9,45 @@ import com.fasterxml.jackson.databind.ObjectMapper
 import com.fasterxml.jackson.databind.module.SimpleModule
 import io.airbyte.commons.jackson.MoreMappers
 import io.airbyte.commons.logging.logback.STRUCTURED_LOG_FILE_EXTENSION
+import io.airbyte.commons.logging.logback.createChunkId
 import io.airbyte.commons.storage.DocumentType
+import io.airbyte.commons.storage.LocalStorageClient
+import io.airbyte.commons.storage.LocalStorageConfig
+import io.airbyte.commons.storage.StorageBucketConfig
 import io.airbyte.commons.storage.StorageClient
 import io.airbyte.commons.storage.StorageClientFactory
 import io.airbyte.commons.storage.StorageType
 import io.mockk.every
 import io.mockk.mockk
+import io.mockk.spyk
 import io.mockk.verify
 import org.junit.jupiter.api.AfterEach
 import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNull
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
 import org.junit.jupiter.params.ParameterizedTest
 import org.junit.jupiter.params.provider.EnumSource
+import java.io.ByteArrayOutputStream
+import java.nio.file.Path
 import java.time.Instant
 import java.time.LocalDateTime
 import java.time.ZoneId
 import java.time.format.DateTimeFormatter
+import java.util.zip.GZIPOutputStream
 import kotlin.io.path.createTempFile
 import kotlin.io.path.pathString
 
+private val buckets =
+  StorageBucketConfig(
+    log = "log",
+    state = "state",
+    workloadOutput = "workload",
+    activityPayload = "payload",
+    auditLogging = null,
+  )
+
 internal class LogClientTest {
   private lateinit var logUtils: LogUtils
   private lateinit var logEventLayout: LogEventLayout
@@ -107,10 +126,10 @@ internal class LogClientTest {
 
     val result = logClient.getLogs(logPath = logPath, numLines = numLines)
     assertEquals(numLines, result.events.size)
-    assertEquals("log line 1", result.events.first().message)
-    assertEquals(1000L, result.events.first().timestamp)
-    assertEquals("log line $numLines", result.events.last().message)
-    assertEquals((numLines * 1000).toLong(), result.events.last().timestamp)
+    assertEquals("log line ${numLines + 1}", result.events.first().message)
+    assertEquals(((numLines + 1) * 1000).toLong(), result.events.first().timestamp)
+    assertEquals("log line ${numLines * 2}", result.events.last().message)
+    assertEquals((numLines * 2 * 1000).toLong(), result.events.last().timestamp)
     verify(exactly = 1) { storageClient.list(logPath) }
   }
 
@@ -187,8 +206,8 @@ internal class LogClientTest {
 
     val logs = logClient.tailCloudLogs(logPath = logPath, numLines = numLines)
     assertEquals(numLines, logs.size)
-    assertEquals(logEventLayout.doLayout(logEvents.events.first()), logs.first())
-    assertEquals(logEventLayout.doLayout(logEvents.events.take(numLines).last()), logs.last())
+    assertEquals(logEventLayout.doLayout(logEvents.events.takeLast(numLines).first()), logs.first())
+    assertEquals(logEventLayout.doLayout(logEvents.events.last()), logs.last())
     verify(exactly = 1) { storageClient.list(logPath) }
   }
 
@@ -627,6 +646,88 @@ internal class LogClientTest {
     verify(exactly = 1) { storageClient.list(logPath) }
   }
 
+  @Test
+  fun testGetLogsFromCompressedChunks(
+    @TempDir tempDir: Path,
+  ) {
+    val logPath = "job/0"
+    val chunkSize = 100
+    val chunkCount = 5
+    val storageClient =
+      spyk(
+        LocalStorageClient(
+          config = LocalStorageConfig(buckets = buckets, root = tempDir.pathString),
+          type = DocumentType.LOGS,
+        ),
+      )
+    val chunkIds =
+      (0 until chunkCount).map { chunk ->
+        val logEvents = buildLogEvents(numLines = chunkSize, startingTimestamp = (chunk * chunkSize * 1000).toLong())
+        val chunkId =
+          createChunkId(
+            baseId = logPath,
+            firstTimestamp = logEvents.events.first().timestamp,
+            lastTimestamp = logEvents.events.last().timestamp,
+            lineCount = logEvents.events.size,
+          )
+        storageClient.writeBytes(id = chunkId, document = compress(logEvents))
+        chunkId
+      }
+    val storageClientFactory =
+      mockk<StorageClientFactory> {
+        every { create(DocumentType.LOGS) } returns storageClient
+      }
+    val logClient =
+      LogClient(
+        storageClientFactory = storageClientFactory,
+        mapper = objectMapper,
+        logEventLayout = logEventLayout,
+        meterRegistry = null,
+      )
+
+    val tail = logClient.getLogs(logPath = logPath, numLines = 150)
+    assertEquals(150, tail.events.size)
+    assertEquals(351_000L, tail.events.first().timestamp)
+    assertEquals(500_000L, tail.events.last().timestamp)
+    verify(exactly = 2) { storageClient.readStream(any(), any()) }
+    verify(exactly = 0) { storageClient.readStream(chunkIds[2], any()) }
+
+    val page = logClient.getLogs(logPath = logPath, numLines = 100, offset = 150)
+    assertEquals(100, page.events.size)
+    assertEquals(251_000L, page.events.first().timestamp)
+    assertEquals(350_000L, page.events.last().timestamp)
+
+    val all = logClient.getLogs(logPath = logPath, numLines = chunkSize * chunkCount * 2)
+    assertEquals(chunkSize * chunkCount, all.events.size)
+    assertEquals(all.events.sortedBy { it.timestamp }, all.events)
+  }
+
+  @Test
+  fun testSelectTailChunksIncludesOverlappingChunks() {
+    val oldest = LogChunk(id = "oldest", firstTimestamp = 0L, lastTimestamp = 100L, lineCount = 10)
+    val overlapping = LogChunk(id = "overlapping", firstTimestamp = 50L, lastTimestamp = 250L, lineCount = 10)
+    val newest = LogChunk(id = "newest", firstTimestamp = 200L, lastTimestamp = 300L, lineCount = 10)
+    val chunks = listOf(newest, oldest, overlapping)
+
+    assertEquals(listOf(overlapping, newest), selectTailChunks(chunks = chunks, lineCount = 10))
+    assertEquals(listOf(oldest, overlapping, newest), selectTailChunks(chunks = chunks, lineCount = 15))
+    assertEquals(emptyList<LogChunk>(), selectTailChunks(chunks = chunks, lineCount = 0))
+  }
+
+  @Test
+  fun testParseLogChunk() {
+    val chunkId = createChunkId(baseId = "/job/0/", firstTimestamp = 1000L, lastTimestamp = 2000L, lineCount = 42, hostname = "host_name")
+
+    assertEquals(LogChunk(id = chunkId, firstTimestamp = 1000L, lastTimestamp = 2000L, lineCount = 42), LogChunk.parse(chunkId))
+    assertNull(LogChunk.parse("job/0/20240101000000_host_id$STRUCTURED_LOG_FILE_EXTENSION"))
+  }
+
+  private fun compress(logEvents: LogEvents): ByteArray {
+    val output = ByteArrayOutputStream()
+    GZIPOutputStream(output).use { objectMapper.writeValue(it, logEvents) }
+    return output.toByteArray()
+  }
+
   private fun buildLogEvents(
     numLines: Int,
     startingTimestamp: Long,
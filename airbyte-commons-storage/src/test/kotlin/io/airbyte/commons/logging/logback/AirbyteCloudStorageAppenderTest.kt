@@ -11,6 +11,8 @@ import ch.qos.logback.core.Context
 import ch.qos.logback.core.status.Status
 import ch.qos.logback.core.status.StatusManager
 import io.airbyte.commons.envvar.EnvVar
+import io.airbyte.commons.jackson.MoreMappers
+import io.airbyte.commons.logging.LogChunk
 import io.airbyte.commons.resources.MoreResources
 import io.airbyte.commons.storage.AzureStorageClient
 import io.airbyte.commons.storage.DocumentType
@@ -24,10 +26,13 @@ import io.mockk.mockk
 import io.mockk.verify
 import org.junit.jupiter.api.AfterEach
 import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
 import org.junit.jupiter.api.Test
 import java.nio.file.Files
 import java.util.UUID
+import java.util.concurrent.CountDownLatch
 import java.util.concurrent.TimeUnit
+import java.util.zip.GZIPInputStream
 import kotlin.io.path.Path
 
 private class AirbyteCloudStorageAppenderTest {
@@ -206,6 +211,82 @@ private class AirbyteCloudStorageAppenderTest {
     Thread.sleep(TimeUnit.SECONDS.toMillis(period * 2))
 
     verify(exactly = 1) { storageClient.write(any<String>(), any<String>()) }
+    verify(exactly = 0) { storageClient.writeBytes(any<String>(), any<ByteArray>()) }
+  }
+
+  @Test
+  fun testFullBufferDropsEvents() {
+    val uploadStarted = CountDownLatch(1)
+    val releaseUpload = CountDownLatch(1)
+    val chunkIds = mutableListOf<String>()
+    val chunks = mutableListOf<ByteArray>()
+    val storageClient =
+      mockk<StorageClient> {
+        every { writeBytes(capture(chunkIds), capture(chunks)) } answers {
+          uploadStarted.countDown()
+          releaseUpload.await(10, TimeUnit.SECONDS)
+        }
+      }
+    val statusManager =
+      mockk<StatusManager> {
+        every { add(any<Status>()) } returns Unit
+      }
+    val loggingContext =
+      mockk<Context> {
+        every { getStatusManager() } returns statusManager
+      }
+
+    val appender =
+      AirbyteCloudStorageAppender(
+        documentType = DocumentType.LOGS,
+        storageClient = storageClient,
+        baseStorageId = "/path/to/logs",
+        period = 1L,
+        unit = TimeUnit.HOURS,
+        bufferCapacity = 2,
+        compressedChunks = true,
+      )
+    appender.context = loggingContext
+    appender.start()
+
+    // Filling the buffer starts an upload right away
+    appender.doAppend(buildEvent(message = "line 1", timestamp = 1000L))
+    appender.doAppend(buildEvent(message = "line 2", timestamp = 2000L))
+    assertTrue(uploadStarted.await(10, TimeUnit.SECONDS))
+
+    // The buffer fills up again while the upload is in progress and the next events are dropped
+    (3..6).forEach { appender.doAppend(buildEvent(message = "line $it", timestamp = it * 1000L)) }
+    releaseUpload.countDown()
+    appender.stop()
+
+    assertEquals(2, chunks.size)
+    assertEquals(listOf("line 1", "line 2"), readMessages(chunks[0]))
+    assertEquals(
+      listOf("line 3", "line 4", "Dropped 2 log line(s) because the log buffer of 2 line(s) was full."),
+      readMessages(chunks[1]),
+    )
+    assertEquals(LogChunk(id = chunkIds[1], firstTimestamp = 3000L, lastTimestamp = 4000L, lineCount = 3), LogChunk.parse(chunkIds[1]))
+  }
+
+  @Test
+  fun testChunkIdScrubbing() {
+    val baseStorageId = "/path/to/logs/"
+    val timestamp = "2024-01-01 00:00:00"
+    val hostname = "localhost"
+    val uniqueId = UUID.randomUUID().toString()
+
+    val id =
+      createChunkId(
+        baseId = baseStorageId,
+        firstTimestamp = 1L,
+        lastTimestamp = 2L,
+        lineCount = 3,
+        timestamp = timestamp,
+        hostname = hostname,
+        uniqueIdentifier = uniqueId,
+      )
+
+    assertEquals("${baseStorageId.trim('/')}/${timestamp}_${hostname}_${uniqueId.replace("-","")}_1_2_3$COMPRESSED_LOG_CHUNK_EXTENSION", id)
   }
 
   @Test
@@ -219,4 +300,24 @@ private class AirbyteCloudStorageAppenderTest {
 
     assertEquals("${baseStorageId.trim('/')}/${timestamp}_${hostname}_${uniqueId.replace("-","")}$STRUCTURED_LOG_FILE_EXTENSION", id)
   }
+
+  private fun buildEvent(
+    message: String,
+    timestamp: Long,
+  ): ILoggingEvent =
+    mockk<ILoggingEvent> {
+      every { callerData } returns arrayOf(StackTraceElement("io.airbyte.TestClass", "testMethod", "TestClass.kt", 12345))
+      every { formattedMessage } returns message
+      every { level } returns Level.INFO
+      every { loggerName } returns PLATFORM_LOGGER_NAME
+      every { mdcPropertyMap } returns emptyMap()
+      every { threadName } returns "Test Thread"
+      every { throwableProxy } returns null
+      every { timeStamp } returns timestamp
+    }
+
+  private fun readMessages(chunk: ByteArray): List<String> =
+    GZIPInputStream(chunk.inputStream()).use { input ->
+      MoreMappers.initMapper().readTree(input)["events"].map { it["message"].asText() }
+    }
 }
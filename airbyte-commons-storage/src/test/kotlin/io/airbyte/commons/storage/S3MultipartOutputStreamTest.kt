@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.storage
+
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.slot
+import io.mockk.verify
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import software.amazon.awssdk.core.sync.RequestBody
+import software.amazon.awssdk.services.s3.S3Client
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest
+import software.amazon.awssdk.services.s3.model.PutObjectRequest
+import software.amazon.awssdk.services.s3.model.S3Exception
+import software.amazon.awssdk.services.s3.model.UploadPartRequest
+
+private const val BUCKET = "bucket"
+private const val OBJECT_KEY = "key"
+private const val UPLOAD_ID = "upload-id"
+private const val PART_SIZE = 10
+
+internal class S3MultipartOutputStreamTest {
+  @Test
+  fun `small objects are uploaded with a single put`() {
+    val body = slot<RequestBody>()
+    val s3Client =
+      mockk<S3Client> {
+        every { putObject(any<PutObjectRequest>(), capture(body)) } returns mockk()
+      }
+
+    S3MultipartOutputStream(s3Client = s3Client, bucket = BUCKET, key = OBJECT_KEY, partSize = PART_SIZE).use {
+      it.write("hello".toByteArray())
+    }
+
+    assertEquals("hello", body.captured.read())
+    verify(exactly = 0) { s3Client.createMultipartUpload(any<CreateMultipartUploadRequest>()) }
+  }
+
+  @Test
+  fun `large objects are uploaded in parts`() {
+    val partRequests = mutableListOf<UploadPartRequest>()
+    val parts = mutableListOf<String>()
+    val completeRequest = slot<CompleteMultipartUploadRequest>()
+    val s3Client =
+      mockk<S3Client> {
+        every { createMultipartUpload(any<CreateMultipartUploadRequest>()) } returns mockk { every { uploadId() } returns UPLOAD_ID }
+        every { uploadPart(capture(partRequests), any<RequestBody>()) } answers {
+          parts.add(secondArg<RequestBody>().read())
+          mockk { every { eTag() } returns "etag-${parts.size}" }
+        }
+        every { completeMultipartUpload(capture(completeRequest)) } returns mockk()
+      }
+
+    S3MultipartOutputStream(s3Client = s3Client, bucket = BUCKET, key = OBJECT_KEY, partSize = PART_SIZE).use {
+      it.write("0123456789abcdefghij".toByteArray())
+      it.write('k'.code)
+    }
+
+    assertEquals(listOf("0123456789", "abcdefghij", "k"), parts)
+    assertEquals(listOf(1, 2, 3), partRequests.map { it.partNumber() })
+    assertEquals(listOf(UPLOAD_ID), partRequests.map { it.uploadId() }.distinct())
+    assertEquals(listOf("etag-1", "etag-2", "etag-3"), completeRequest.captured.multipartUpload().parts().map { it.eTag() })
+    verify(exactly = 0) { s3Client.putObject(any<PutObjectRequest>(), any<RequestBody>()) }
+  }
+
+  @Test
+  fun `failed uploads are aborted`() {
+    val s3Client =
+      mockk<S3Client> {
+        every { createMultipartUpload(any<CreateMultipartUploadRequest>()) } returns mockk { every { uploadId() } returns UPLOAD_ID }
+        every { uploadPart(any<UploadPartRequest>(), any<RequestBody>()) } throws S3Exception.builder().build()
+        every { abortMultipartUpload(any<AbortMultipartUploadRequest>()) } returns mockk()
+      }
+
+    val stream = S3MultipartOutputStream(s3Client = s3Client, bucket = BUCKET, key = OBJECT_KEY, partSize = PART_SIZE)
+    assertThrows<S3Exception> { stream.write("0123456789".toByteArray()) }
+    stream.close()
+
+    verify { s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder().bucket(BUCKET).key(OBJECT_KEY).uploadId(UPLOAD_ID).build()) }
+    verify(exactly = 0) { s3Client.completeMultipartUpload(any<CompleteMultipartUploadRequest>()) }
+  }
+
+  @Test
+  fun `aborted uploads are not stored`() {
+    val s3Client =
+      mockk<S3Client> {
+        every { createMultipartUpload(any<CreateMultipartUploadRequest>()) } returns mockk { every { uploadId() } returns UPLOAD_ID }
+        every { uploadPart(any<UploadPartRequest>(), any<RequestBody>()) } returns mockk { every { eTag() } returns "etag" }
+        every { abortMultipartUpload(any<AbortMultipartUploadRequest>()) } returns mockk()
+      }
+
+    val stream = S3MultipartOutputStream(s3Client = s3Client, bucket = BUCKET, key = OBJECT_KEY, partSize = PART_SIZE)
+    stream.write("0123456789abc".toByteArray())
+    stream.abort()
+    stream.close()
+
+    verify { s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder().bucket(BUCKET).key(OBJECT_KEY).uploadId(UPLOAD_ID).build()) }
+    verify(exactly = 0) { s3Client.completeMultipartUpload(any<CompleteMultipartUploadRequest>()) }
+    verify(exactly = 0) { s3Client.putObject(any<PutObjectRequest>(), any<RequestBody>()) }
+  }
+
+  private fun RequestBody.read(): String = contentStreamProvider().newStream().use { String(it.readAllBytes()) }
+}
@@ -25,9 +25,12 @@ import org.junit.jupiter.api.Assertions.assertNotNull
 import org.junit.jupiter.api.Assertions.assertNull
 import org.junit.jupiter.api.Assertions.assertTrue
 import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
 import org.junit.jupiter.api.io.TempDir
 import software.amazon.awssdk.core.ResponseBytes
+import software.amazon.awssdk.core.ResponseInputStream
 import software.amazon.awssdk.core.sync.RequestBody
+import software.amazon.awssdk.http.AbortableInputStream
 import software.amazon.awssdk.services.s3.S3Client
 import software.amazon.awssdk.services.s3.model.CreateBucketRequest
 import software.amazon.awssdk.services.s3.model.CreateBucketResponse
@@ -50,6 +53,7 @@ import java.nio.file.Path
 import kotlin.io.path.createTempDirectory
 import kotlin.io.path.createTempFile
 import kotlin.io.path.exists
+import kotlin.io.path.listDirectoryEntries
 import kotlin.io.path.pathString
 import com.google.cloud.storage.Bucket as GcsBucket
 
@@ -198,6 +202,27 @@ internal class AzureStorageClientTest {
     assertTrue(client.delete(KEY))
   }
 
+  @Test
+  fun `failed stream writes are discarded`(
+    @TempDir tempDir: Path,
+  ) {
+    val config = LocalStorageConfig(buckets = buckets, root = tempDir.toString())
+    val client = LocalStorageClient(config = config, type = DocumentType.LOGS)
+    client.writeStream(KEY) { it.write("complete".toByteArray()) }
+
+    assertThrows<IllegalStateException> {
+      client.writeStream(KEY) {
+        it.write("trunc".toByteArray())
+        assertEquals(listOf(KEY), client.list("/"))
+        throw IllegalStateException("write failed")
+      }
+    }
+
+    assertEquals("complete", client.read(KEY))
+    assertEquals(listOf(KEY), client.list("/"))
+    assertEquals(1, client.toPath(KEY).parent.listDirectoryEntries().size)
+  }
+
   @Test
   fun `list docs`() {
     val files = listOf("file1", "file2", "file3")
@@ -384,6 +409,42 @@ internal class LocalStorageClientTest {
     }
   }
 
+  @Test
+  fun `it can write and read binary docs`(
+    @TempDir tempDir: Path,
+  ) {
+    val config = LocalStorageConfig(buckets = buckets, root = tempDir.toString())
+    val client = LocalStorageClient(config = config, type = DocumentType.LOGS)
+    val document = byteArrayOf(0x1f, 0x8b.toByte(), 0, -1)
+
+    assertNull(client.readBytes(KEY), "key $KEY should not exist")
+
+    client.writeBytes(KEY, document)
+    assertTrue(document.contentEquals(client.readBytes(KEY)))
+  }
+
+  @Test
+  fun `it can stream docs and read ranges`(
+    @TempDir tempDir: Path,
+  ) {
+    val config = LocalStorageConfig(buckets = buckets, root = tempDir.toString())
+    val client = LocalStorageClient(config = config, type = DocumentType.LOGS)
+    val document = (0 until 10_000).joinToString(separator = "\n") { "line $it" }
+
+    assertNull(client.readStream(KEY), "key $KEY should not exist")
+    assertNull(client.readRange(KEY, 0, 1), "key $KEY should not exist")
+
+    client.writeStream(KEY).use { it.write(document.toByteArray()) }
+    assertEquals(document, client.readStream(KEY)!!.use { String(it.readAllBytes()) })
+    assertEquals(document.substring(5, 15), client.readRange(KEY, 5, 10)!!.use { String(it.readAllBytes()) })
+    assertEquals(document.takeLast(3), client.readRange(KEY, document.length - 3L, 10)!!.use { String(it.readAllBytes()) })
+    assertEquals("", client.readRange(KEY, 5, 0)!!.use { String(it.readAllBytes()) })
+
+    client.writeStream(id = KEY, compress = true).use { it.write(document.toByteArray()) }
+    assertTrue(client.readBytes(KEY)!!.size < document.length)
+    assertEquals(document, client.readStream(id = KEY, decompress = true)!!.use { String(it.readAllBytes()) })
+  }
+
   @Test
   fun `list docs`() {
     val root = createTempDirectory(prefix = "local-test")
@@ -569,6 +630,54 @@ internal class MinioStorageClientTest {
     client.write(KEY, DOC1)
   }
 
+  @Test
+  fun `read doc range`() {
+    val s3Client: S3Client =
+      mockk {
+        every { createBucket(any<CreateBucketRequest>()) } returns mockk<CreateBucketResponse>()
+        every { headBucket(any<HeadBucketRequest>()) } throws NoSuchBucketException.builder().build()
+      }
+    val client = MinioStorageClient(config = config, type = DocumentType.STATE, s3Client = s3Client)
+
+    val request =
+      GetObjectRequest
+        .builder()
+        .bucket(buckets.state)
+        .key(client.key(KEY))
+        .range("bytes=1-3")
+        .build()
+    every { s3Client.getObject(request) } returns
+      ResponseInputStream(mockk<GetObjectResponse>(), AbortableInputStream.create(DOC1.substring(1, 4).byteInputStream()))
+
+    assertEquals(DOC1.substring(1, 4), client.readRange(KEY, 1, 3)!!.use { String(it.readAllBytes()) })
+  }
+
+  @Test
+  fun `read empty doc range`() {
+    val s3Client: S3Client =
+      mockk {
+        every { createBucket(any<CreateBucketRequest>()) } returns mockk<CreateBucketResponse>()
+        every { headBucket(any<HeadBucketRequest>()) } throws NoSuchBucketException.builder().build()
+      }
+    val client = MinioStorageClient(config = config, type = DocumentType.STATE, s3Client = s3Client)
+
+    val existsRequest =
+      HeadObjectRequest
+        .builder()
+        .bucket(buckets.state)
+        .key(client.key(KEY))
+        .build()
+
+    // doc does not exist
+    every { s3Client.headObject(existsRequest) } throws NoSuchKeyException.builder().build()
+    assertNull(client.readRange(KEY, 1, 0))
+
+    // an empty range reads nothing rather than the whole doc
+    every { s3Client.headObject(existsRequest) } returns mockk()
+    assertEquals(0, client.readRange(KEY, 1, 0)!!.use { it.readAllBytes().size })
+    verify(exactly = 0) { s3Client.getObject(any<GetObjectRequest>()) }
+  }
+
   @Test
   fun `delete doc`() {
     val s3Client: S3Client =
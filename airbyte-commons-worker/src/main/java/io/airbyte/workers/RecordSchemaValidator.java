@@ -12,12 +12,18 @@ import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
 import io.airbyte.validation.json.JsonSchemaValidator;
 import java.io.Closeable;
 import java.io.IOException;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import kotlin.Pair;
@@ -25,12 +31,33 @@ import kotlin.Pair;
 /**
  * Validates that AirbyteRecordMessage data conforms to the JSON schema defined by the source's
  * configured catalog.
+ *
+ * <p>
+ * The validation happens asynchronously on a fixed size pool so that it never slows down the sync. Only
+ * one record every {@code sampleRate} records of a stream is validated, callers check
+ * {@link #isSampled} before doing any work for a record. With shedding, the pool has a bounded queue
+ * and records are dropped from the validation when it can't keep up, the queue is unbounded otherwise.
+ * The data of a record is only copied before being queued when the caller is about to modify it (e.g.
+ * when mappers apply to its stream), it is validated in place otherwise.
  */
 public class RecordSchemaValidator implements Closeable {
 
+  public static final int DEFAULT_VALIDATION_THREADS = 1;
+  public static final int DEFAULT_VALIDATION_QUEUE_SIZE = 1000;
+  public static final int DEFAULT_SAMPLE_RATE = 1;
+  // avoid noise by validating only until a stream has this many records with validation errors
+  public static final int MAX_RECORDS_WITH_ERRORS_PER_STREAM = 10;
+
   private final JsonSchemaValidator validator;
   private final ExecutorService validationExecutor;
   private final Map<AirbyteStreamNameNamespacePair, JsonNode> streams;
+  private final int sampleRate;
+
+  private final ConcurrentMap<AirbyteStreamNameNamespacePair, AtomicLong> recordsPerStream = new ConcurrentHashMap<>();
+  private final ConcurrentMap<AirbyteStreamNameNamespacePair, AtomicLong> droppedRecordsPerStream = new ConcurrentHashMap<>();
+  private final AtomicLong validatedRecords = new AtomicLong();
+  private final AtomicLong totalValidationLagNanos = new AtomicLong();
+  private final AtomicLong maxValidationLagNanos = new AtomicLong();
 
   /**
    * Creates a RecordSchemaValidator.
@@ -38,7 +65,23 @@ public class RecordSchemaValidator implements Closeable {
    * @param streamNamesToSchemas Name of streams.
    */
   public RecordSchemaValidator(final Map<AirbyteStreamNameNamespacePair, JsonNode> streamNamesToSchemas) {
-    this(streamNamesToSchemas, Executors.newFixedThreadPool(1));
+    this(streamNamesToSchemas, DEFAULT_VALIDATION_THREADS, DEFAULT_SAMPLE_RATE, false);
+  }
+
+  /**
+   * Creates a RecordSchemaValidator.
+   *
+   * @param streamNamesToSchemas Name of streams.
+   * @param validationThreads number of threads validating the records.
+   * @param sampleRate validate one record every sampleRate records of each stream.
+   * @param shedding drop the validation of the records the threads can't keep up with rather than
+   *        queueing them.
+   */
+  public RecordSchemaValidator(final Map<AirbyteStreamNameNamespacePair, JsonNode> streamNamesToSchemas,
+                               final int validationThreads,
+                               final int sampleRate,
+                               final boolean shedding) {
+    this(streamNamesToSchemas, newValidationExecutor(validationThreads, shedding), new JsonSchemaValidator(), sampleRate);
   }
 
   @VisibleForTesting
@@ -50,11 +93,20 @@ public class RecordSchemaValidator implements Closeable {
   public RecordSchemaValidator(final Map<AirbyteStreamNameNamespacePair, JsonNode> streamNamesToSchemas,
                                final ExecutorService validationExecutor,
                                final JsonSchemaValidator jsonSchemaValidator) {
+    this(streamNamesToSchemas, validationExecutor, jsonSchemaValidator, DEFAULT_SAMPLE_RATE);
+  }
+
+  @VisibleForTesting
+  public RecordSchemaValidator(final Map<AirbyteStreamNameNamespacePair, JsonNode> streamNamesToSchemas,
+                               final ExecutorService validationExecutor,
+                               final JsonSchemaValidator jsonSchemaValidator,
+                               final int sampleRate) {
     // streams is Map of a stream source namespace + name mapped to the stream schema
     // for easy access when we check each record's schema
     this.streams = streamNamesToSchemas;
     this.validationExecutor = validationExecutor;
     this.validator = jsonSchemaValidator;
+    this.sampleRate = Math.max(sampleRate, 1);
     // initialize schema validator to avoid creating validators each time.
     for (final AirbyteStreamNameNamespacePair stream : streamNamesToSchemas.keySet()) {
       // We must choose a JSON validator version for validating the schema
@@ -70,16 +122,45 @@ public class RecordSchemaValidator implements Closeable {
     }
   }
 
+  /**
+   * Whether the next record of the stream is to be validated. It must be called once per record, the
+   * validation of the records it returns false for is skipped.
+   */
+  public boolean isSampled(final AirbyteStreamNameNamespacePair airbyteStream) {
+    if (sampleRate == 1) {
+      return true;
+    }
+    return recordsPerStream.computeIfAbsent(airbyteStream, k -> new AtomicLong()).getAndIncrement() % sampleRate == 0;
+  }
+
   /**
    * Takes an AirbyteRecordMessage and uses the JsonSchemaValidator to validate that its data conforms
-   * to the stream's schema. If it does not, an error is added to the validationErrors map.
+   * to the stream's schema. If it does not, an error is added to the validationErrors map. Records of
+   * streams which already have {@link #MAX_RECORDS_WITH_ERRORS_PER_STREAM} records with errors are not
+   * validated. The data of the record must not be modified afterward.
    */
   public void validateSchema(
                              final AirbyteRecordMessage message,
                              final AirbyteStreamNameNamespacePair airbyteStream,
                              final ConcurrentMap<AirbyteStreamNameNamespacePair, Pair<Set<String>, Integer>> validationErrors) {
-    validationExecutor.execute(() -> {
-      Set<String> errorMessages = validator.validateInitializedSchema(airbyteStream.toString(), message.getData());
+    validateSchema(message, airbyteStream, validationErrors, false);
+  }
+
+  /**
+   * See {@link #validateSchema(AirbyteRecordMessage, AirbyteStreamNameNamespacePair, ConcurrentMap)},
+   * the data of the record is copied first if copyData is set.
+   */
+  public void validateSchema(
+                             final AirbyteRecordMessage message,
+                             final AirbyteStreamNameNamespacePair airbyteStream,
+                             final ConcurrentMap<AirbyteStreamNameNamespacePair, Pair<Set<String>, Integer>> validationErrors,
+                             final boolean copyData) {
+    submitValidation(message, airbyteStream, copyData, data -> {
+      // Records queued before the stream reached the limit don't need to be validated anymore.
+      if (hasReachedErrorLimit(airbyteStream, validationErrors)) {
+        return;
+      }
+      final Set<String> errorMessages = validator.validateInitializedSchema(airbyteStream.toString(), data);
       if (!errorMessages.isEmpty()) {
         updateValidationErrors(errorMessages, airbyteStream, validationErrors);
       }
@@ -88,20 +169,105 @@ public class RecordSchemaValidator implements Closeable {
 
   /**
    * Takes an AirbyteRecordMessage and uses the JsonSchemaValidator to validate that its data conforms
-   * to the stream's schema. If it does not, an error is added to the validationErrors map.
+   * to the stream's schema. If it does not, an error is added to the validationErrors map. The data of
+   * the record must not be modified afterward.
    */
   public void validateSchemaWithoutCounting(
                                             final AirbyteRecordMessage message,
                                             final AirbyteStreamNameNamespacePair airbyteStream,
                                             final ConcurrentMap<AirbyteStreamNameNamespacePair, Set<String>> validationErrors) {
-    validationExecutor.execute(() -> {
-      final Set<String> errorMessages = validator.validateInitializedSchema(airbyteStream.toString(), message.getData());
+    validateSchemaWithoutCounting(message, airbyteStream, validationErrors, false);
+  }
+
+  /**
+   * See
+   * {@link #validateSchemaWithoutCounting(AirbyteRecordMessage, AirbyteStreamNameNamespacePair, ConcurrentMap)},
+   * the data of the record is copied first if copyData is set.
+   */
+  public void validateSchemaWithoutCounting(
+                                            final AirbyteRecordMessage message,
+                                            final AirbyteStreamNameNamespacePair airbyteStream,
+                                            final ConcurrentMap<AirbyteStreamNameNamespacePair, Set<String>> validationErrors,
+                                            final boolean copyData) {
+    submitValidation(message, airbyteStream, copyData, data -> {
+      final Set<String> errorMessages = validator.validateInitializedSchema(airbyteStream.toString(), data);
       if (!errorMessages.isEmpty()) {
-        validationErrors.computeIfAbsent(airbyteStream, k -> new HashSet<>()).addAll(errorMessages);
+        validationErrors.computeIfAbsent(airbyteStream, k -> ConcurrentHashMap.newKeySet()).addAll(errorMessages);
       }
     });
   }
 
+  /**
+   * Whether a stream already has the maximum number of records with errors, see
+   * {@link #validateSchema}.
+   */
+  public static boolean hasReachedErrorLimit(final AirbyteStreamNameNamespacePair airbyteStream,
+                                             final ConcurrentMap<AirbyteStreamNameNamespacePair, Pair<Set<String>, Integer>> validationErrors) {
+    final Pair<Set<String>, Integer> streamErrors = validationErrors.get(airbyteStream);
+    return streamErrors != null && streamErrors.getSecond() >= MAX_RECORDS_WITH_ERRORS_PER_STREAM;
+  }
+
+  /**
+   * Number of records of each stream which were not validated because the validation couldn't keep
+   * up with the sync.
+   */
+  public Map<AirbyteStreamNameNamespacePair, Long> getDroppedRecordsPerStream() {
+    return droppedRecordsPerStream.entrySet().stream()
+        .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().get()));
+  }
+
+  /**
+   * Number of records validated so far.
+   */
+  public long getValidatedRecordCount() {
+    return validatedRecords.get();
+  }
+
+  /**
+   * Average time records waited in the queue before being validated.
+   */
+  public double getAverageValidationLagMs() {
+    final long count = validatedRecords.get();
+    return count == 0 ? 0 : (double) TimeUnit.NANOSECONDS.toMicros(totalValidationLagNanos.get()) / count / 1000;
+  }
+
+  /**
+   * Longest time a record waited in the queue before being validated.
+   */
+  public double getMaxValidationLagMs() {
+    return (double) TimeUnit.NANOSECONDS.toMicros(maxValidationLagNanos.get()) / 1000;
+  }
+
+  private void submitValidation(final AirbyteRecordMessage message,
+                                final AirbyteStreamNameNamespacePair airbyteStream,
+                                final boolean copyData,
+                                final Consumer<JsonNode> validation) {
+    // Shed the validation when the queue is bounded and full, and don't bother copying the data if it
+    // can't be queued.
+    if (validationExecutor instanceof final ThreadPoolExecutor executor && executor.getQueue().remainingCapacity() == 0) {
+      recordDropped(airbyteStream);
+      return;
+    }
+
+    final JsonNode data = copyData && message.getData() != null ? message.getData().deepCopy() : message.getData();
+    final long queuedAt = System.nanoTime();
+    try {
+      validationExecutor.execute(() -> {
+        final long lag = System.nanoTime() - queuedAt;
+        validatedRecords.incrementAndGet();
+        totalValidationLagNanos.addAndGet(lag);
+        maxValidationLagNanos.accumulateAndGet(lag, Math::max);
+        validation.accept(data);
+      });
+    } catch (final RejectedExecutionException e) {
+      recordDropped(airbyteStream);
+    }
+  }
+
+  private void recordDropped(final AirbyteStreamNameNamespacePair airbyteStream) {
+    droppedRecordsPerStream.computeIfAbsent(airbyteStream, k -> new AtomicLong()).incrementAndGet();
+  }
+
   private void updateValidationErrors(final Set<String> errorMessages,
                                       final AirbyteStreamNameNamespacePair airbyteStream,
                                       final ConcurrentMap<AirbyteStreamNameNamespacePair, Pair<Set<String>, Integer>> validationErrors) {
@@ -124,6 +290,18 @@ public class RecordSchemaValidator implements Closeable {
     validationExecutor.shutdownNow();
   }
 
+  /**
+   * Fixed size pool, rejecting the tasks submitted when its queue is full if shedding and queueing
+   * them all otherwise.
+   */
+  private static ExecutorService newValidationExecutor(final int threads, final boolean shedding) {
+    final int poolSize = Math.max(threads, 1);
+    if (!shedding) {
+      return Executors.newFixedThreadPool(poolSize);
+    }
+    return new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(DEFAULT_VALIDATION_QUEUE_SIZE));
+  }
+
   /**
    * Migrates the reserved property name <code>id</code> in JSON Schema to its escaped equivalent
    * <code>$id</code>. The <code>id</code> keyword has been reserved since <a href=
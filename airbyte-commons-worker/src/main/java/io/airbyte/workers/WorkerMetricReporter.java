@@ -61,6 +61,27 @@ public class WorkerMetricReporter {
     metricClient.count(OssMetricsRegistry.NUM_UNEXPECTED_FIELDS_IN_STREAMS, unexpectedFieldNames.size(), attributesArr);
   }
 
+  /**
+   * Given a AirbyteStreamNameNamespacePair and the number of its records which were not validated
+   * because the validation was lagging, produce a DataDog count.
+   */
+  public void trackSchemaValidationDroppedRecords(final AirbyteStreamNameNamespacePair stream, final long droppedRecords) {
+    metricClient.count(OssMetricsRegistry.SCHEMA_VALIDATION_DROPPED_RECORDS, droppedRecords,
+        new MetricAttribute("docker_repo", dockerRepo),
+        new MetricAttribute("docker_version", dockerVersion),
+        new MetricAttribute("stream", stream.toString()));
+  }
+
+  /**
+   * Report how long records waited before being validated.
+   */
+  public void trackSchemaValidationLag(final double averageLagMs, final double maxLagMs) {
+    metricClient.gauge(OssMetricsRegistry.SCHEMA_VALIDATION_LAG, averageLagMs, new MetricAttribute("docker_repo", dockerRepo),
+        new MetricAttribute("docker_version", dockerVersion), new MetricAttribute("aggregation", "avg"));
+    metricClient.gauge(OssMetricsRegistry.SCHEMA_VALIDATION_LAG, maxLagMs, new MetricAttribute("docker_repo", dockerRepo),
+        new MetricAttribute("docker_version", dockerVersion), new MetricAttribute("aggregation", "max"));
+  }
+
   public void trackStateMetricTrackerError() {
     metricClient.count(OssMetricsRegistry.STATE_METRIC_TRACKER_ERROR, 1, new MetricAttribute("docker_repo", dockerRepo),
         new MetricAttribute("docker_version", dockerVersion));
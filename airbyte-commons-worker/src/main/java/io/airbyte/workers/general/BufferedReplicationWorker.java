@@ -7,9 +7,9 @@ package io.airbyte.workers.general;
 import static io.airbyte.metrics.lib.ApmTraceConstants.WORKER_OPERATION_NAME;
 
 import datadog.trace.api.Trace;
-import io.airbyte.commons.concurrency.ClosableLinkedBlockingQueue;
-import io.airbyte.commons.concurrency.ClosableQueue;
+import io.airbyte.commons.concurrency.ClosableSpscByteBoundedQueue;
 import io.airbyte.commons.io.LineGobbler;
+import io.airbyte.commons.timer.LatencyHistogram;
 import io.airbyte.commons.timer.Stopwatch;
 import io.airbyte.config.PerformanceMetrics;
 import io.airbyte.config.ReplicationOutput;
@@ -22,6 +22,7 @@ import io.airbyte.metrics.lib.OssMetricsRegistry;
 import io.airbyte.persistence.job.models.ReplicationInput;
 import io.airbyte.protocol.models.AirbyteMessage;
 import io.airbyte.protocol.models.AirbyteMessage.Type;
+import io.airbyte.protocol.models.AirbyteRecordMessage;
 import io.airbyte.protocol.models.AirbyteTraceMessage;
 import io.airbyte.workers.RecordSchemaValidator;
 import io.airbyte.workers.context.ReplicationContext;
@@ -32,13 +33,20 @@ import io.airbyte.workers.internal.AirbyteDestination;
 import io.airbyte.workers.internal.AirbyteSource;
 import io.airbyte.workers.internal.DestinationTimeoutMonitor;
 import io.airbyte.workers.internal.HeartbeatTimeoutChaperone;
+import io.airbyte.workers.internal.MessageSizeEstimator;
 import io.airbyte.workers.internal.exception.DestinationException;
 import io.airbyte.workers.internal.exception.SourceException;
 import io.airbyte.workers.internal.syncpersistence.SyncPersistence;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
@@ -46,6 +54,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
@@ -55,11 +64,20 @@ import org.slf4j.MDC;
  * <p>
  * There is one thread per IO/Transform and buffers in between the different steps to apply
  * backpressure.
+ * <p>
+ * When the processing parallelism is greater than one, the part of the processing of the records
+ * that only depends on the record itself (field selection, schema validation and mappers) runs on
+ * a pool of processing threads. Records of a stream always go to the same processing thread and the
+ * rest of the processing completes in the order messages were read, which means that a STATE message
+ * is only processed once all the records read before it have been.
  */
 @SuppressWarnings({"PMD.UnusedLocalVariable", "PMD.ExceptionAsFlowControl"})
 public class BufferedReplicationWorker {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(BufferedReplicationWorker.class);
+  // Number of streams whose latencies are part of the performance metrics of the sync, the ones which
+  // spent the most time in the record level stages.
+  private static final int MAX_STREAMS_IN_PERFORMANCE_METRICS = 10;
 
   private final String jobId;
   private final Integer attempt;
@@ -70,17 +88,20 @@ public class BufferedReplicationWorker {
   private final RecordSchemaValidator recordSchemaValidator;
   private final SyncPersistence syncPersistence;
   private final HeartbeatTimeoutChaperone srcHeartbeatTimeoutChaperone;
-  private final ClosableQueue<AirbyteMessage> messagesFromSourceQueue;
-  private final ClosableQueue<AirbyteMessage> messagesForDestinationQueue;
+  private final ClosableSpscByteBoundedQueue<AirbyteMessage> messagesFromSourceQueue;
+  private final ClosableSpscByteBoundedQueue<AirbyteMessage> messagesForDestinationQueue;
+  private final ClosableSpscByteBoundedQueue<PendingMessage> pendingMessagesQueue;
   private final ExecutorService executors;
+  private final List<ExecutorService> processingExecutors;
   private final DestinationTimeoutMonitor destinationTimeoutMonitor;
 
   private volatile boolean isReadFromDestRunning;
   private volatile boolean writeToDestFailed;
 
   private final Stopwatch readFromSourceStopwatch;
-  private final Stopwatch processFromSourceStopwatch;
-  private final Stopwatch writeToDestStopwatch;
+  private final StreamStopwatch processFromSourceStopwatch;
+  private final StreamStopwatch transformFromSourceStopwatch;
+  private final StreamStopwatch writeToDestStopwatch;
   private final Stopwatch readFromDestStopwatch;
   private final Stopwatch processFromDestStopwatch;
   private final StreamStatusCompletionTracker streamStatusCompletionTracker;
@@ -88,6 +109,7 @@ public class BufferedReplicationWorker {
   private final ReplicationInput replicationInput;
 
   private static final int executorShutdownGracePeriodInSeconds = 10;
+  private static final int DESTINATION_WRITE_BATCH_SIZE = 100;
 
   public BufferedReplicationWorker(final String jobId,
                                    final int attempt,
@@ -113,19 +135,29 @@ public class BufferedReplicationWorker {
     this.recordSchemaValidator = recordSchemaValidator;
     this.syncPersistence = syncPersistence;
     this.srcHeartbeatTimeoutChaperone = srcHeartbeatTimeoutChaperone;
-    this.messagesFromSourceQueue =
-        new ClosableLinkedBlockingQueue<>(bufferConfiguration.getSourceMaxBufferSize(), bufferConfiguration.getPollTimeoutDuration());
-    this.messagesForDestinationQueue =
-        new ClosableLinkedBlockingQueue<>(bufferConfiguration.getDestinationMaxBufferSize(), bufferConfiguration.getPollTimeoutDuration());
+    // Each queue has a single producer and a single consumer thread, they are bounded by the estimated
+    // size of the messages as well so that large records do not exhaust the memory.
+    this.messagesFromSourceQueue = new ClosableSpscByteBoundedQueue<>(bufferConfiguration.getSourceMaxBufferSize(),
+        bufferConfiguration.getMaxBufferSizeInBytes(), MessageSizeEstimator::estimate, bufferConfiguration.getPollTimeoutDuration());
+    this.messagesForDestinationQueue = new ClosableSpscByteBoundedQueue<>(bufferConfiguration.getDestinationMaxBufferSize(),
+        bufferConfiguration.getMaxBufferSizeInBytes(), MessageSizeEstimator::estimate, bufferConfiguration.getPollTimeoutDuration());
+    this.pendingMessagesQueue = new ClosableSpscByteBoundedQueue<>(bufferConfiguration.getSourceMaxBufferSize(),
+        bufferConfiguration.getMaxBufferSizeInBytes(), PendingMessage::sizeInBytes, bufferConfiguration.getPollTimeoutDuration());
     // readFromSource + processMessage + writeToDestination + readFromDestination +
     // source heartbeat + dest timeout monitor + workload heartbeat = 7 threads
-    this.executors = Executors.newFixedThreadPool(7);
+    // processMessage is split in dispatchMessagesFromSource + processTransformedMessages when processing in parallel.
+    final int processingParallelism = bufferConfiguration.getProcessingParallelism();
+    this.executors = Executors.newFixedThreadPool(processingParallelism > 1 ? 8 : 7);
+    this.processingExecutors = processingParallelism > 1
+        ? IntStream.range(0, processingParallelism).mapToObj(i -> Executors.newSingleThreadExecutor()).toList()
+        : List.of();
     this.isReadFromDestRunning = true;
     this.writeToDestFailed = false;
 
     this.readFromSourceStopwatch = new Stopwatch();
-    this.processFromSourceStopwatch = new Stopwatch();
-    this.writeToDestStopwatch = new Stopwatch();
+    this.processFromSourceStopwatch = new StreamStopwatch();
+    this.transformFromSourceStopwatch = new StreamStopwatch();
+    this.writeToDestStopwatch = new StreamStopwatch();
     this.readFromDestStopwatch = new Stopwatch();
     this.processFromDestStopwatch = new Stopwatch();
     this.streamStatusCompletionTracker = streamStatusCompletionTracker;
@@ -160,7 +192,7 @@ public class BufferedReplicationWorker {
 
         CompletableFuture.allOf(
             runAsyncWithHeartbeatCheck(this::readFromSource, mdc),
-            runAsync(this::processMessage, mdc),
+            processingExecutors.isEmpty() ? runAsync(this::processMessage, mdc) : runProcessingInParallel(mdc),
             flags.isDestinationTimeoutEnabled() ? runAsyncWithTimeout(this::writeToDestination, mdc) : runAsync(this::writeToDestination, mdc),
             runAsync(this::readFromDestination, mdc)).join();
 
@@ -175,6 +207,7 @@ public class BufferedReplicationWorker {
         replicationWorkerHelper.markFailed();
       } finally {
         executors.shutdownNow();
+        processingExecutors.forEach(ExecutorService::shutdownNow);
 
         try {
           // Best effort to mark as complete when the Worker is actually done.
@@ -195,12 +228,18 @@ public class BufferedReplicationWorker {
         replicationWorkerHelper.endOfReplication();
       }
 
-      final var perfMetrics = new PerformanceMetrics()
-          .withAdditionalProperty("readFromSource", readFromSourceStopwatch)
-          .withAdditionalProperty("processFromSource", processFromSourceStopwatch)
-          .withAdditionalProperty("writeToDest", writeToDestStopwatch)
-          .withAdditionalProperty("readFromDest", readFromDestStopwatch)
-          .withAdditionalProperty("processFromDest", processFromDestStopwatch);
+      final Map<String, Stopwatch> stageStopwatches = new LinkedHashMap<>();
+      stageStopwatches.put("readFromSource", readFromSourceStopwatch);
+      stageStopwatches.put("processFromSource", processFromSourceStopwatch.getTotal());
+      stageStopwatches.put("transformFromSource", transformFromSourceStopwatch.getTotal());
+      stageStopwatches.put("writeToDest", writeToDestStopwatch.getTotal());
+      stageStopwatches.put("readFromDest", readFromDestStopwatch);
+      stageStopwatches.put("processFromDest", processFromDestStopwatch);
+      reportStageLatencies(stageStopwatches);
+
+      final var perfMetrics = new PerformanceMetrics();
+      stageStopwatches.forEach(perfMetrics::setAdditionalProperty);
+      perfMetrics.setAdditionalProperty("streams", getSlowestStreamsLatencies());
       return replicationWorkerHelper.getReplicationOutput(perfMetrics);
     } catch (final Exception e) {
       ApmTraceUtils.addExceptionToTrace(e);
@@ -283,6 +322,7 @@ public class BufferedReplicationWorker {
 
     LOGGER.info("Cancelling replication worker...");
     executors.shutdownNow();
+    processingExecutors.forEach(ExecutorService::shutdownNow);
     try {
       executors.awaitTermination(executorShutdownGracePeriodInSeconds, TimeUnit.SECONDS);
     } catch (final InterruptedException e) {
@@ -343,7 +383,7 @@ public class BufferedReplicationWorker {
 
           while (!replicationWorkerHelper.getShouldAbort() && !messagesFromSourceQueue.add(message)
               && !messagesFromSourceQueue.isClosed()) {
-            Thread.sleep(100);
+            // add waits for room up to the poll timeout
           }
         }
       }
@@ -391,19 +431,16 @@ public class BufferedReplicationWorker {
           continue;
         }
 
+        final AirbyteRecordMessage sourceRecord = message.getType() == Type.RECORD ? message.getRecord() : null;
+        final String sourceNamespace = sourceRecord != null ? sourceRecord.getNamespace() : null;
+        final String sourceName = sourceRecord != null ? sourceRecord.getStream() : null;
+        final TransformedRecord transformedRecord;
         final Optional<AirbyteMessage> processedMessageOpt;
-        try (final var t = processFromSourceStopwatch.start()) {
-          processedMessageOpt = replicationWorkerHelper.processMessageFromSource(message);
-        }
-        if (processedMessageOpt.isPresent()) {
-          final AirbyteMessage m = processedMessageOpt.get();
-          // TODO this check should move to the processMessageFromSource
-          if (m.getType() == Type.RECORD || m.getType() == Type.STATE) {
-            while (!messagesForDestinationQueue.add(m) && !messagesForDestinationQueue.isClosed()) {
-              Thread.sleep(100);
-            }
-          }
+        try (final var t = processFromSourceStopwatch.start(message)) {
+          transformedRecord = message.getType() == Type.RECORD ? replicationWorkerHelper.transformRecordFromSource(message) : null;
+          processedMessageOpt = replicationWorkerHelper.processMessageFromSource(message, transformedRecord);
         }
+        addToDestinationQueue(processedMessageOpt, transformedRecord, sourceNamespace, sourceName);
       }
 
     } catch (final InterruptedException e) {
@@ -421,22 +458,166 @@ public class BufferedReplicationWorker {
     }
   }
 
+  private CompletableFuture<?> runProcessingInParallel(final Map<String, String> mdc) {
+    // The processing executors are single threaded, setting the MDC once is enough.
+    processingExecutors.forEach(executor -> executor.execute(() -> MDC.setContextMap(mdc)));
+    return CompletableFuture.allOf(
+        runAsync(this::dispatchMessagesFromSource, mdc),
+        runAsync(this::processTransformedMessages, mdc));
+  }
+
+  /**
+   * Hands the records to the processing executors and queues every message with its pending
+   * transformation in the order they were read.
+   */
+  private void dispatchMessagesFromSource() {
+    try {
+      LOGGER.info("dispatchMessagesFromSource: start");
+
+      while (!replicationWorkerHelper.getShouldAbort() && !messagesFromSourceQueue.isDone() && !pendingMessagesQueue.isClosed()) {
+        final AirbyteMessage message;
+        message = messagesFromSourceQueue.poll();
+        if (message == null) {
+          continue;
+        }
+
+        // The size is estimated before the message is handed to a processing executor, which modifies it.
+        final long sizeInBytes = MessageSizeEstimator.estimate(message);
+        final CompletableFuture<TransformedRecord> transformedRecord = message.getType() == Type.RECORD
+            ? CompletableFuture.supplyAsync(() -> transformRecordFromSource(message), getProcessingExecutor(message.getRecord()))
+            : CompletableFuture.completedFuture(null);
+        final PendingMessage pendingMessage = new PendingMessage(message, transformedRecord, sizeInBytes);
+        while (!pendingMessagesQueue.add(pendingMessage, sizeInBytes) && !pendingMessagesQueue.isClosed()) {
+          // add waits for room up to the poll timeout
+        }
+      }
+
+    } catch (final InterruptedException e) {
+      // Getting interrupted during sleep, rethrowing to fail fast
+      LOGGER.info("dispatchMessagesFromSource: interrupted", e);
+      throw new RuntimeException(e);
+    } catch (final Exception e) {
+      LOGGER.info("dispatchMessagesFromSource: exception caught", e);
+      throw e;
+    } finally {
+      LOGGER.info("dispatchMessagesFromSource: done. (fromSource.isDone:{}, pending.isClosed:{})",
+          messagesFromSourceQueue.isDone(), pendingMessagesQueue.isClosed());
+      messagesFromSourceQueue.close();
+      pendingMessagesQueue.close();
+    }
+  }
+
+  /**
+   * Completes the processing of the messages in the order they were read, waiting for the
+   * transformation of each record to be done.
+   */
+  private void processTransformedMessages() {
+    try {
+      LOGGER.info("processTransformedMessages: start");
+
+      while (!replicationWorkerHelper.getShouldAbort() && !pendingMessagesQueue.isDone() && !messagesForDestinationQueue.isClosed()) {
+        final PendingMessage pendingMessage;
+        pendingMessage = pendingMessagesQueue.poll();
+        if (pendingMessage == null) {
+          continue;
+        }
+
+        final TransformedRecord transformedRecord;
+        try {
+          // get rather than join so that the thread can be interrupted while waiting
+          transformedRecord = pendingMessage.transformedRecord().get();
+        } catch (final ExecutionException e) {
+          throw new CompletionException(e.getCause());
+        }
+        final AirbyteRecordMessage sourceRecord = pendingMessage.message().getType() == Type.RECORD ? pendingMessage.message().getRecord() : null;
+        final String sourceNamespace = sourceRecord != null ? sourceRecord.getNamespace() : null;
+        final String sourceName = sourceRecord != null ? sourceRecord.getStream() : null;
+        final Optional<AirbyteMessage> processedMessageOpt;
+        try (final var t = processFromSourceStopwatch.start(pendingMessage.message())) {
+          processedMessageOpt = replicationWorkerHelper.processMessageFromSource(pendingMessage.message(), transformedRecord);
+        }
+        addToDestinationQueue(processedMessageOpt, transformedRecord, sourceNamespace, sourceName);
+      }
+
+    } catch (final InterruptedException e) {
+      // Getting interrupted during sleep, rethrowing to fail fast
+      LOGGER.info("processTransformedMessages: interrupted", e);
+      throw new RuntimeException(e);
+    } catch (final Exception e) {
+      LOGGER.info("processTransformedMessages: exception caught", e);
+      throw e;
+    } finally {
+      LOGGER.info("processTransformedMessages: done. (pending.isDone:{}, forDest.isClosed:{})",
+          pendingMessagesQueue.isDone(), messagesForDestinationQueue.isClosed());
+      messagesFromSourceQueue.close();
+      pendingMessagesQueue.close();
+      messagesForDestinationQueue.close();
+    }
+  }
+
+  private TransformedRecord transformRecordFromSource(final AirbyteMessage message) {
+    try (final var t = transformFromSourceStopwatch.start(message)) {
+      return replicationWorkerHelper.transformRecordFromSource(message);
+    }
+  }
+
+  /**
+   * Records of a stream always go to the same executor so that they are transformed in order.
+   */
+  private ExecutorService getProcessingExecutor(final AirbyteRecordMessage record) {
+    return processingExecutors.get(Math.floorMod(Objects.hash(record.getNamespace(), record.getStream()), processingExecutors.size()));
+  }
+
+  /**
+   * @param transformedRecord the transformation of the message if it is a record, its size is the one
+   *        tracked in the stats and is reused rather than estimated again from the processed record.
+   * @param sourceNamespace the namespace of the record as read from the source, before it was renamed
+   *        for the destination.
+   * @param sourceName the stream of the record as read from the source.
+   */
+  private void addToDestinationQueue(final Optional<AirbyteMessage> processedMessageOpt,
+                                     final TransformedRecord transformedRecord,
+                                     final String sourceNamespace,
+                                     final String sourceName)
+      throws InterruptedException {
+    if (processedMessageOpt.isPresent()) {
+      final AirbyteMessage m = processedMessageOpt.get();
+      // TODO this check should move to the processMessageFromSource
+      if (m.getType() == Type.RECORD || m.getType() == Type.STATE) {
+        if (m.getType() == Type.RECORD) {
+          // The destination stage sees the destination stream, its latencies are reported under the source one like the other stages.
+          writeToDestStopwatch.setSourceStream(m.getRecord().getNamespace(), m.getRecord().getStream(), sourceNamespace, sourceName);
+        }
+        final long sizeInBytes = transformedRecord != null ? transformedRecord.getSerializedSizeInBytes() : MessageSizeEstimator.estimate(m);
+        while (!messagesForDestinationQueue.add(m, sizeInBytes) && !messagesForDestinationQueue.isClosed()) {
+          // add waits for room up to the poll timeout
+        }
+      }
+    }
+  }
+
   private void writeToDestination() {
     try {
       LOGGER.info("writeToDestination: start");
       try {
+        final List<AirbyteMessage> batch = new ArrayList<>(DESTINATION_WRITE_BATCH_SIZE);
         while (!replicationWorkerHelper.getShouldAbort() && !messagesForDestinationQueue.isDone() && isReadFromDestRunning) {
-          final AirbyteMessage message;
-          message = messagesForDestinationQueue.poll();
-          if (message == null) {
+          // Draining a batch releases the room of all its messages to the producer at once.
+          if (messagesForDestinationQueue.drainTo(batch, DESTINATION_WRITE_BATCH_SIZE) == 0) {
             continue;
           }
-          if (replicationInput.getUseFileTransfer()) {
-            LOGGER.info("writeToDestination: writing message to transfer file");
-          }
-          try (final var t = writeToDestStopwatch.start()) {
-            destination.accept(message);
+          for (final AirbyteMessage message : batch) {
+            if (replicationWorkerHelper.getShouldAbort() || !isReadFromDestRunning) {
+              break;
+            }
+            if (replicationInput.getUseFileTransfer()) {
+              LOGGER.info("writeToDestination: writing message to transfer file");
+            }
+            try (final var t = writeToDestStopwatch.start(message)) {
+              destination.accept(message);
+            }
           }
+          batch.clear();
         }
 
         final List<AirbyteMessage> statusMessageToSend = replicationWorkerHelper.getStreamStatusToSend(source.getExitValue());
@@ -554,6 +735,53 @@ public class BufferedReplicationWorker {
 
   }
 
+  private record PendingMessage(AirbyteMessage message, CompletableFuture<TransformedRecord> transformedRecord, long sizeInBytes) {}
+
+  /**
+   * The latencies of the record level stages of the streams which spent the most time in them, keyed
+   * by stream then stage. The output of the attempt is persisted, it only holds a bounded number of
+   * streams.
+   */
+  private Map<String, Map<String, LatencyHistogram.Percentiles>> getSlowestStreamsLatencies() {
+    final Map<String, Map<String, Stopwatch>> perStream = new HashMap<>();
+    Map.of("processFromSource", processFromSourceStopwatch,
+        "transformFromSource", transformFromSourceStopwatch,
+        "writeToDest", writeToDestStopwatch)
+        .forEach((stage, stopwatch) -> stopwatch.getPerStream()
+            .forEach((stream, streamStopwatch) -> perStream.computeIfAbsent(stream, k -> new TreeMap<>()).put(stage, streamStopwatch)));
+
+    final Map<String, Map<String, LatencyHistogram.Percentiles>> slowestStreams = new LinkedHashMap<>();
+    perStream.entrySet().stream()
+        .sorted(Comparator.comparingLong(
+            (Map.Entry<String, Map<String, Stopwatch>> e) -> e.getValue().values().stream().mapToLong(Stopwatch::getElapsedTimeInNanos).sum())
+            .reversed())
+        .limit(MAX_STREAMS_IN_PERFORMANCE_METRICS)
+        .forEach(e -> {
+          final Map<String, LatencyHistogram.Percentiles> latencies = new TreeMap<>();
+          e.getValue().forEach((stage, stopwatch) -> latencies.put(stage, stopwatch.getLatencies()));
+          slowestStreams.put(e.getKey(), latencies);
+        });
+    return slowestStreams;
+  }
+
+  private void reportStageLatencies(final Map<String, Stopwatch> stageStopwatches) {
+    stageStopwatches.forEach((stage, stopwatch) -> {
+      if (stopwatch.getExecutionCount() == 0) {
+        return;
+      }
+      final LatencyHistogram.Percentiles latencies = stopwatch.getLatencies();
+      Map.of("p50", latencies.getP50InNanos(),
+          "p99", latencies.getP99InNanos(),
+          "p999", latencies.getP999InNanos(),
+          "max", latencies.getMaxInNanos())
+          .forEach((percentile, valueInNanos) -> metricClient.gauge(OssMetricsRegistry.REPLICATION_STAGE_LATENCY_MICROS,
+              TimeUnit.NANOSECONDS.toMicros(valueInNanos),
+              new MetricAttribute(MetricTags.CONNECTION_ID, String.valueOf(replicationInput.getConnectionId())),
+              new MetricAttribute(MetricTags.REPLICATION_STAGE, stage),
+              new MetricAttribute(MetricTags.PERCENTILE, percentile)));
+    });
+  }
+
   private void recordErrorExitValue(final String connectionId, final String connectorType, final String connectorImage, final String exitValue) {
     metricClient.count(OssMetricsRegistry.CONNECTOR_FAILURE_EXIT_VALUE, 1L,
         new MetricAttribute("connection_id", connectionId),
@@ -28,10 +28,16 @@ import io.airbyte.featureflag.Multi;
 import io.airbyte.featureflag.PrintLongRecordPks;
 import io.airbyte.featureflag.RemoveValidationLimit;
 import io.airbyte.featureflag.ReplicationBufferOverride;
+import io.airbyte.featureflag.ReplicationProcessingParallelism;
+import io.airbyte.featureflag.SchemaValidationSampleRate;
+import io.airbyte.featureflag.SchemaValidationShedding;
+import io.airbyte.featureflag.SchemaValidationThreads;
 import io.airbyte.featureflag.ShouldFailSyncOnDestinationTimeout;
 import io.airbyte.featureflag.Source;
 import io.airbyte.featureflag.SourceDefinition;
 import io.airbyte.featureflag.SourceType;
+import io.airbyte.featureflag.UseByteChannelStreamFactory;
+import io.airbyte.featureflag.UseRecordPassthrough;
 import io.airbyte.featureflag.Workspace;
 import io.airbyte.mappers.application.RecordMapper;
 import io.airbyte.mappers.transformations.DestinationCatalogGenerator;
@@ -50,6 +56,7 @@ import io.airbyte.workers.internal.AirbyteMessageBufferedWriterFactory;
 import io.airbyte.workers.internal.AirbyteSource;
 import io.airbyte.workers.internal.AirbyteStreamFactory;
 import io.airbyte.workers.internal.AnalyticsMessageTracker;
+import io.airbyte.workers.internal.ByteChannelAirbyteStreamFactory;
 import io.airbyte.workers.internal.ContainerIOHandle;
 import io.airbyte.workers.internal.DestinationTimeoutMonitor;
 import io.airbyte.workers.internal.EmptyAirbyteSource;
@@ -160,7 +167,7 @@ public class ReplicationWorkerFactory {
     final HeartbeatTimeoutChaperone heartbeatTimeoutChaperone = createHeartbeatTimeoutChaperone(heartbeatMonitor,
         featureFlagClient, replicationInput, sourceLauncherConfig.getDockerImage(), metricClient);
     final DestinationTimeoutMonitor destinationTimeout = createDestinationTimeout(featureFlagClient, replicationInput, metricClient);
-    final RecordSchemaValidator recordSchemaValidator = createRecordSchemaValidator(replicationInput);
+    final RecordSchemaValidator recordSchemaValidator = createRecordSchemaValidator(replicationInput, featureFlagClient);
 
     log.info("Setting up source with image {}.", replicationInput.getSourceLauncherConfig().getDockerImage());
     final boolean printLongRecordPks = featureFlagClient.boolVariation(PrintLongRecordPks.INSTANCE,
@@ -168,13 +175,18 @@ public class ReplicationWorkerFactory {
             new Connection(sourceLauncherConfig.getConnectionId()),
             new Workspace(sourceLauncherConfig.getWorkspaceId()))));
     final var invalidLineConfig = new VersionedAirbyteStreamFactory.InvalidLineFailureConfiguration(printLongRecordPks);
+    final boolean useByteChannelStreamFactory = featureFlagClient.boolVariation(UseByteChannelStreamFactory.INSTANCE,
+        new Connection(sourceLauncherConfig.getConnectionId()));
+    final boolean useRecordPassthrough = featureFlagClient.boolVariation(UseRecordPassthrough.INSTANCE,
+        new Connection(sourceLauncherConfig.getConnectionId()));
 
     // reset jobs use an empty source to induce resetting all data in destination.
     final var airbyteSource = replicationInput.getIsReset()
         ? new EmptyAirbyteSource(replicationInput.getNamespaceDefinition() == JobSyncConfig.NamespaceDefinitionType.CUSTOMFORMAT)
         : new LocalContainerAirbyteSource(
             heartbeatMonitor,
-            getStreamFactory(sourceLauncherConfig, replicationInput.getCatalog(), SOURCE_LOG_MDC_BUILDER, invalidLineConfig),
+            getStreamFactory(sourceLauncherConfig, replicationInput.getCatalog(), SOURCE_LOG_MDC_BUILDER, invalidLineConfig, true,
+                useRecordPassthrough, useByteChannelStreamFactory),
             new MessageMetricsTracker(metricClient),
             ContainerIOHandle.source());
 
@@ -184,7 +196,8 @@ public class ReplicationWorkerFactory {
             Optional.of(replicationInput.getCatalog()));
 
     final var airbyteDestination = new LocalContainerAirbyteDestination(
-        getStreamFactory(destinationLauncherConfig, replicationInput.getCatalog(), DESTINATION_LOG_MDC_BUILDER, invalidLineConfig),
+        getStreamFactory(destinationLauncherConfig, replicationInput.getCatalog(), DESTINATION_LOG_MDC_BUILDER, invalidLineConfig, false,
+            false, useByteChannelStreamFactory),
         new MessageMetricsTracker(metricClient),
         messageWriterFactory,
         destinationTimeout,
@@ -280,8 +293,13 @@ public class ReplicationWorkerFactory {
   /**
    * Create RecordSchemaValidator.
    */
-  private static RecordSchemaValidator createRecordSchemaValidator(final ReplicationInput replicationInput) {
-    return new RecordSchemaValidator(WorkerUtils.mapStreamNamesToSchemas(replicationInput.getCatalog()));
+  private static RecordSchemaValidator createRecordSchemaValidator(final ReplicationInput replicationInput,
+                                                                  final FeatureFlagClient featureFlagClient) {
+    final Context flagContext = getFeatureFlagContext(replicationInput);
+    return new RecordSchemaValidator(WorkerUtils.mapStreamNamesToSchemas(replicationInput.getCatalog()),
+        featureFlagClient.intVariation(SchemaValidationThreads.INSTANCE, flagContext),
+        featureFlagClient.intVariation(SchemaValidationSampleRate.INSTANCE, flagContext),
+        featureFlagClient.boolVariation(SchemaValidationShedding.INSTANCE, flagContext));
   }
 
   private static FieldSelector createFieldSelector(final RecordSchemaValidator recordSchemaValidator,
@@ -324,8 +342,10 @@ public class ReplicationWorkerFactory {
     final Context flagContext = getFeatureFlagContext(replicationInput);
 
     final int bufferSize = featureFlagClient.intVariation(ReplicationBufferOverride.INSTANCE, flagContext);
+    final int processingParallelism = featureFlagClient.intVariation(ReplicationProcessingParallelism.INSTANCE, flagContext);
     final BufferConfiguration bufferConfiguration =
-        bufferSize > 0 ? BufferConfiguration.withBufferSize(bufferSize) : BufferConfiguration.withDefaultConfiguration();
+        (bufferSize > 0 ? BufferConfiguration.withBufferSize(bufferSize) : BufferConfiguration.withDefaultConfiguration())
+            .withProcessingParallelism(Math.max(processingParallelism, 1));
 
     return buildReplicationWorkerInstance(
         jobRunConfig.getJobId(),
@@ -433,10 +453,18 @@ public class ReplicationWorkerFactory {
   private AirbyteStreamFactory getStreamFactory(final IntegrationLauncherConfig launcherConfig,
                                                 final ConfiguredAirbyteCatalog configuredAirbyteCatalog,
                                                 final MdcScope.Builder mdcScopeBuilder,
-                                                final VersionedAirbyteStreamFactory.InvalidLineFailureConfiguration invalidLineFailureConfiguration) {
-    return new VersionedAirbyteStreamFactory<>(serDeProvider, migratorFactory, launcherConfig.getProtocolVersion(),
-        Optional.of(launcherConfig.getConnectionId()), Optional.of(configuredAirbyteCatalog), mdcScopeBuilder,
-        invalidLineFailureConfiguration, gsonPksExtractor);
+                                                final VersionedAirbyteStreamFactory.InvalidLineFailureConfiguration invalidLineFailureConfiguration,
+                                                final boolean attachRecordSize,
+                                                final boolean attachSourceLine,
+                                                final boolean useByteChannelStreamFactory) {
+    final VersionedAirbyteStreamFactory<?> streamFactory = useByteChannelStreamFactory
+        ? new ByteChannelAirbyteStreamFactory<>(serDeProvider, migratorFactory, launcherConfig.getProtocolVersion(),
+            Optional.of(launcherConfig.getConnectionId()), Optional.of(configuredAirbyteCatalog), mdcScopeBuilder,
+            invalidLineFailureConfiguration, gsonPksExtractor)
+        : new VersionedAirbyteStreamFactory<>(serDeProvider, migratorFactory, launcherConfig.getProtocolVersion(),
+            Optional.of(launcherConfig.getConnectionId()), Optional.of(configuredAirbyteCatalog), mdcScopeBuilder,
+            invalidLineFailureConfiguration, gsonPksExtractor);
+    return streamFactory.withAttachRecordSize(attachRecordSize).withAttachSourceLine(attachSourceLine);
   }
 
 }
@@ -5,6 +5,7 @@
 package io.airbyte.workers.internal;
 
 import java.io.BufferedWriter;
+import java.io.OutputStream;
 
 /**
  * Factory for creating airbyte message writers. Base class that the versioned writers build upon.
@@ -13,4 +14,12 @@ public interface AirbyteMessageBufferedWriterFactory {
 
   AirbyteMessageBufferedWriter createWriter(BufferedWriter bufferedWriter);
 
+  /**
+   * Create a writer which can write the lines records were read from straight to the stream the
+   * bufferedWriter encodes to.
+   */
+  default AirbyteMessageBufferedWriter createWriter(BufferedWriter bufferedWriter, OutputStream output) {
+    return createWriter(bufferedWriter);
+  }
+
 }
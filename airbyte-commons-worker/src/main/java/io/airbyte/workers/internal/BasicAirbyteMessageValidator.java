@@ -4,13 +4,9 @@
 
 package io.airbyte.workers.internal;
 
-import com.google.common.collect.Iterables;
-import io.airbyte.commons.protocol.CatalogDiffHelpers;
-import io.airbyte.config.ConfiguredAirbyteCatalog;
-import io.airbyte.config.ConfiguredAirbyteStream;
 import io.airbyte.config.SyncMode;
 import io.airbyte.protocol.models.AirbyteMessage;
-import io.airbyte.workers.helper.AirbyteMessageExtractor;
+import io.airbyte.workers.internal.CatalogStreamIndex.IndexedStream;
 import io.airbyte.workers.internal.exception.SourceException;
 import java.util.List;
 import java.util.Optional;
@@ -34,8 +30,8 @@ import java.util.Optional;
  */
 public class BasicAirbyteMessageValidator {
 
-  static Optional<AirbyteMessage> validate(final AirbyteMessage message,
-                                           final Optional<ConfiguredAirbyteCatalog> catalog) {
+  public static Optional<AirbyteMessage> validate(final AirbyteMessage message,
+                                                  final Optional<CatalogStreamIndex> catalog) {
     if (message.getType() == null) {
       return Optional.empty();
     }
@@ -57,24 +53,20 @@ public class BasicAirbyteMessageValidator {
           return Optional.empty();
         }
         if (catalog.isPresent()) {
-          final Optional<ConfiguredAirbyteStream> catalogStream = AirbyteMessageExtractor.getCatalogStreamFromMessage(catalog.get(), record);
+          final Optional<IndexedStream> catalogStream = catalog.get().find(record.getStream(), record.getNamespace());
 
           if (catalogStream.isEmpty()) {
             throw new SourceException(String.format("Missing catalog stream for the stream (namespace: %s, name: %s",
                 record.getStream(), record.getNamespace()));
-          } else if (catalogStream.get().getSyncMode().equals(SyncMode.INCREMENTAL)
-              && CatalogDiffHelpers.isDedup(catalogStream.get().getDestinationSyncMode())) {
+          } else if (catalogStream.get().syncMode() == SyncMode.INCREMENTAL && catalogStream.get().dedup()) {
             // required PKs
-            final List<List<String>> pksList = AirbyteMessageExtractor.getPks(catalogStream);
+            final List<List<String>> pksList = catalogStream.get().primaryKeys();
             if (pksList.isEmpty()) {
               throw new SourceException(String.format("Primary keys not found in catalog for the stream (namespace: %s, name: %s",
                   record.getStream(), record.getNamespace()));
             }
 
-            final boolean containsAtLeastOneNonNullPk = Iterables.tryFind(pksList,
-                pks -> AirbyteMessageExtractor.containsNonNullPK(pks, record.getData())).isPresent();
-
-            if (!containsAtLeastOneNonNullPk) {
+            if (!catalogStream.get().containsAtLeastOnePrimaryKey(record.getData())) {
               throw new SourceException(String.format("All the defined primary keys are null, the primary keys are: %s",
                   String.join(", ", pksList.stream().map(pks -> String.join(".", pks)).toList())));
             }
@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.airbyte.commons.io.IOs;
+import io.airbyte.commons.logging.MdcScope;
+import io.airbyte.commons.protocol.AirbyteMessageSerDeProvider;
+import io.airbyte.commons.protocol.AirbyteProtocolVersionedMigratorFactory;
+import io.airbyte.commons.version.Version;
+import io.airbyte.config.ConfiguredAirbyteCatalog;
+import io.airbyte.metrics.lib.MetricClient;
+import io.airbyte.metrics.lib.MetricClientFactory;
+import io.airbyte.metrics.lib.OssMetricsRegistry;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.workers.helper.GsonPksExtractor;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Byte level counterpart of {@link VersionedAirbyteStreamFactory}.
+ *
+ * Rather than decoding every line to a String, this factory reads the connector output from a
+ * {@link ReadableByteChannel} into a reusable direct buffer, looks for line terminators at the byte
+ * level and hands the UTF-8 bytes of each line to Jackson. Lines are only decoded to a String when
+ * they need to be logged, i.e. when they are too long or are not valid Airbyte messages.
+ *
+ * Log filtering, validation and protocol migration are the ones of
+ * {@link VersionedAirbyteStreamFactory}. Protocol version detection relies on the mark/reset
+ * features of a {@link java.io.BufferedReader}, when it is enabled the channel is read through a
+ * BufferedReader.
+ */
+public class ByteChannelAirbyteStreamFactory<T> extends VersionedAirbyteStreamFactory<T> {
+
+  private static final Logger DEFAULT_LOGGER = LoggerFactory.getLogger(ByteChannelAirbyteStreamFactory.class);
+
+  @VisibleForTesting
+  static final int READ_BUFFER_SIZE = 64 * 1024;
+
+  public ByteChannelAirbyteStreamFactory(final AirbyteMessageSerDeProvider serDeProvider,
+                                         final AirbyteProtocolVersionedMigratorFactory migratorFactory,
+                                         final Version protocolVersion,
+                                         final Optional<UUID> connectionId,
+                                         final Optional<ConfiguredAirbyteCatalog> configuredAirbyteCatalog,
+                                         final MdcScope.Builder containerLogMdcBuilder,
+                                         final InvalidLineFailureConfiguration invalidLineFailureConfiguration,
+                                         final GsonPksExtractor gsonPksExtractor) {
+    this(serDeProvider, migratorFactory, protocolVersion, connectionId, configuredAirbyteCatalog, DEFAULT_LOGGER, containerLogMdcBuilder,
+        invalidLineFailureConfiguration, gsonPksExtractor);
+  }
+
+  public ByteChannelAirbyteStreamFactory(final AirbyteMessageSerDeProvider serDeProvider,
+                                         final AirbyteProtocolVersionedMigratorFactory migratorFactory,
+                                         final Version protocolVersion,
+                                         final Optional<UUID> connectionId,
+                                         final Optional<ConfiguredAirbyteCatalog> configuredAirbyteCatalog,
+                                         final Logger logger,
+                                         final MdcScope.Builder containerLogMdcBuilder,
+                                         final InvalidLineFailureConfiguration invalidLineFailureConfiguration,
+                                         final GsonPksExtractor gsonPksExtractor) {
+    super(serDeProvider, migratorFactory, protocolVersion, connectionId, configuredAirbyteCatalog, logger, containerLogMdcBuilder,
+        invalidLineFailureConfiguration, gsonPksExtractor);
+  }
+
+  /**
+   * Create the AirbyteMessage stream from a channel.
+   */
+  public Stream<AirbyteMessage> create(final ReadableByteChannel channel) {
+    if (shouldDetectVersion()) {
+      return create(IOs.newBufferedReader(Channels.newInputStream(channel)));
+    }
+
+    logProtocolVersion();
+    return StreamSupport.stream(new MessageSpliterator(new LineReader(channel, READ_BUFFER_SIZE)), false);
+  }
+
+  /**
+   * Pulls lines from the channel until one of them produces a message that should be emitted. A line
+   * can produce several messages, the ones that follow the first are emitted by the next calls.
+   */
+  private final class MessageSpliterator extends Spliterators.AbstractSpliterator<AirbyteMessage> {
+
+    private final LineReader lineReader;
+    private final MetricClient metricClient = MetricClientFactory.getMetricClient();
+    private final boolean attachSourceLine = shouldAttachSourceLine();
+    private Iterator<AirbyteMessage> pendingMessages = Collections.emptyIterator();
+
+    MessageSpliterator(final LineReader lineReader) {
+      super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+      this.lineReader = lineReader;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super AirbyteMessage> action) {
+      try {
+        while (!pendingMessages.hasNext()) {
+          if (!lineReader.readLine()) {
+            return false;
+          }
+          pendingMessages = readMessages();
+        }
+        action.accept(pendingMessages.next());
+        return true;
+      } catch (final IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    /**
+     * The messages of the current line, with the same attachments as the ones of
+     * {@link VersionedAirbyteStreamFactory#create(java.io.BufferedReader)}.
+     */
+    private Iterator<AirbyteMessage> readMessages() {
+      final int length = lineReader.getLineLength();
+      metricClient.distribution(OssMetricsRegistry.JSON_STRING_LENGTH, length);
+
+      final boolean attachRecordSize = shouldAttachRecordSize();
+      // The line buffer is reused, the records keep a copy of its bytes
+      final byte[] sourceLine = attachSourceLine ? Arrays.copyOf(lineReader.getLine(), length) : null;
+      return toAirbyteMessage(lineReader.getLine(), length)
+          .peek(message -> {
+            if (attachRecordSize) {
+              RecordSerializedSize.attach(message, length);
+            }
+            if (sourceLine != null) {
+              SourceRecordLine.attach(message, sourceLine);
+            }
+          })
+          .filter(m -> filterLog(m))
+          .iterator();
+    }
+
+  }
+
+  /**
+   * Splits the content of a channel into lines, the same way {@link java.io.BufferedReader#readLine()}
+   * does: a line is terminated by a line feed, a carriage return or a carriage return followed by a
+   * line feed.
+   *
+   * The bytes of the current line are exposed through a buffer that is reused from one line to the
+   * next, they are only valid until the next call to {@link #readLine()}.
+   */
+  @VisibleForTesting
+  static final class LineReader {
+
+    private static final int INITIAL_LINE_BUFFER_SIZE = 8 * 1024;
+    // Avoid holding on to the memory of an exceptionally large line for the rest of the sync.
+    private static final int MAX_RETAINED_LINE_BUFFER_SIZE = 4 * 1024 * 1024;
+    private static final long EMPTY_READ_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer readBuffer;
+    private byte[] line = new byte[INITIAL_LINE_BUFFER_SIZE];
+    private int lineLength = 0;
+    private boolean skipLineFeed = false;
+    private boolean endOfStream = false;
+
+    LineReader(final ReadableByteChannel channel, final int readBufferSize) {
+      this.channel = channel;
+      this.readBuffer = ByteBuffer.allocateDirect(readBufferSize);
+      // Start with an empty buffer
+      this.readBuffer.flip();
+    }
+
+    /**
+     * Read the next line.
+     *
+     * @return true if a line was read, false if the end of the stream was reached.
+     */
+    boolean readLine() throws IOException {
+      if (line.length > MAX_RETAINED_LINE_BUFFER_SIZE) {
+        line = new byte[INITIAL_LINE_BUFFER_SIZE];
+      }
+      lineLength = 0;
+      boolean hasData = false;
+
+      while (true) {
+        if (!readBuffer.hasRemaining()) {
+          if (endOfStream || !fill()) {
+            return hasData;
+          }
+          continue;
+        }
+
+        int position = readBuffer.position();
+        final int limit = readBuffer.limit();
+
+        if (skipLineFeed) {
+          skipLineFeed = false;
+          if (readBuffer.get(position) == '\n') {
+            readBuffer.position(++position);
+            continue;
+          }
+        }
+
+        int end = position;
+        byte b = 0;
+        while (end < limit) {
+          b = readBuffer.get(end);
+          if (b == '\n' || b == '\r') {
+            break;
+          }
+          end++;
+        }
+
+        append(end - position);
+        hasData = true;
+
+        if (end < limit) {
+          // consume the line terminator
+          readBuffer.position(end + 1);
+          skipLineFeed = b == '\r';
+          return true;
+        }
+      }
+    }
+
+    byte[] getLine() {
+      return line;
+    }
+
+    int getLineLength() {
+      return lineLength;
+    }
+
+    /**
+     * Copy the next count bytes of the read buffer to the line.
+     */
+    private void append(final int count) {
+      if (lineLength + count > line.length) {
+        line = Arrays.copyOf(line, Math.max(line.length * 2, lineLength + count));
+      }
+      readBuffer.get(line, lineLength, count);
+      lineLength += count;
+    }
+
+    /**
+     * Refill the read buffer from the channel.
+     *
+     * @return false if the end of the stream was reached.
+     */
+    private boolean fill() throws IOException {
+      readBuffer.clear();
+      int read = channel.read(readBuffer);
+      while (read == 0) {
+        // A non-blocking channel has no data yet, give the connector some time to write it
+        // rather than spinning on the channel.
+        LockSupport.parkNanos(EMPTY_READ_BACKOFF_NANOS);
+        read = channel.read(readBuffer);
+      }
+      readBuffer.flip();
+      if (read < 0) {
+        endOfStream = true;
+        return false;
+      }
+      return true;
+    }
+
+  }
+
+}
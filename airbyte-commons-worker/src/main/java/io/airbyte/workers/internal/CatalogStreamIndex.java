@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.airbyte.commons.protocol.CatalogDiffHelpers;
+import io.airbyte.config.ConfiguredAirbyteCatalog;
+import io.airbyte.config.ConfiguredAirbyteStream;
+import io.airbyte.config.SyncMode;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Index of the streams of a configured catalog by namespace and name, built once per sync so that
+ * the stream of each record can be resolved without scanning the catalog.
+ */
+public class CatalogStreamIndex {
+
+  /**
+   * What the message validation needs to know about a configured stream.
+   *
+   * @param syncMode the sync mode of the stream
+   * @param dedup whether the destination deduplicates the stream
+   * @param primaryKeys the primary key paths of the stream
+   * @param primaryKeyPointers the primary key paths of the stream as JSON pointers
+   */
+  public record IndexedStream(SyncMode syncMode, boolean dedup, List<List<String>> primaryKeys, List<JsonPointer> primaryKeyPointers) {
+
+    /**
+     * Whether the record data holds at least one of the primary keys.
+     */
+    public boolean containsAtLeastOnePrimaryKey(final JsonNode data) {
+      for (final JsonPointer pointer : primaryKeyPointers) {
+        if (!data.at(pointer).isMissingNode()) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+  }
+
+  // Keyed by namespace, then name. Either may be null.
+  private final Map<String, Map<String, IndexedStream>> streams = new HashMap<>();
+
+  public CatalogStreamIndex(final ConfiguredAirbyteCatalog catalog) {
+    for (final ConfiguredAirbyteStream configuredStream : catalog.getStreams()) {
+      final List<List<String>> primaryKeys = configuredStream.getPrimaryKey() == null ? List.of() : configuredStream.getPrimaryKey();
+      final IndexedStream indexedStream = new IndexedStream(
+          configuredStream.getSyncMode(),
+          CatalogDiffHelpers.isDedup(configuredStream.getDestinationSyncMode()),
+          primaryKeys,
+          primaryKeys.stream().map(CatalogStreamIndex::toPointer).toList());
+      // Keep the first stream on duplicates, like the catalog scan it replaces
+      streams.computeIfAbsent(configuredStream.getStream().getNamespace(), namespace -> new HashMap<>())
+          .putIfAbsent(configuredStream.getStream().getName(), indexedStream);
+    }
+  }
+
+  /**
+   * Find the configured stream with the given name and namespace.
+   */
+  public Optional<IndexedStream> find(final String name, final String namespace) {
+    final Map<String, IndexedStream> streamsInNamespace = streams.get(namespace);
+    return streamsInNamespace == null ? Optional.empty() : Optional.ofNullable(streamsInNamespace.get(name));
+  }
+
+  private static JsonPointer toPointer(final List<String> path) {
+    JsonPointer pointer = JsonPointer.empty();
+    for (final String field : path) {
+      pointer = pointer.appendProperty(field);
+    }
+    return pointer;
+  }
+
+}
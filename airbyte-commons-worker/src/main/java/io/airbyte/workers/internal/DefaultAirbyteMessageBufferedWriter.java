@@ -8,27 +8,70 @@ import io.airbyte.commons.json.Jsons;
 import io.airbyte.protocol.models.AirbyteMessage;
 import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Default writer that serializes airbyte messages to JSON.
  */
 public class DefaultAirbyteMessageBufferedWriter implements AirbyteMessageBufferedWriter {
 
+  private static final byte[] NEW_LINE = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+
   protected final BufferedWriter writer;
+  private final OutputStream output;
+  // Whether the writer holds characters which haven't reached the output yet.
+  private boolean hasPendingChars;
 
   public DefaultAirbyteMessageBufferedWriter(final BufferedWriter writer) {
+    this(writer, null);
+  }
+
+  /**
+   * @param output the stream the writer encodes to, the lines records were read from are written to
+   *        it as they are rather than decoded and encoded again, see {@link SourceRecordLine}. Null if
+   *        the lines must go through the writer.
+   */
+  public DefaultAirbyteMessageBufferedWriter(final BufferedWriter writer, final OutputStream output) {
     this.writer = writer;
+    this.output = output;
   }
 
   @Override
   public void write(final AirbyteMessage message) throws IOException {
-    writer.write(Jsons.serialize(message));
+    final byte[] sourceLine = SourceRecordLine.detach(message);
+    if (sourceLine != null) {
+      writeSourceLine(sourceLine);
+    } else {
+      writeLine(Jsons.serialize(message));
+    }
+  }
+
+  protected void writeLine(final String line) throws IOException {
+    writer.write(line);
     writer.newLine();
+    hasPendingChars = true;
+  }
+
+  protected void writeSourceLine(final byte[] sourceLine) throws IOException {
+    if (output == null) {
+      writeLine(new String(sourceLine, StandardCharsets.UTF_8));
+      return;
+    }
+    // The messages written through the writer before this line must reach the output first.
+    if (hasPendingChars) {
+      writer.flush();
+      hasPendingChars = false;
+    }
+    output.write(sourceLine);
+    output.write(NEW_LINE);
   }
 
   @Override
   public void flush() throws IOException {
+    // Flushing the writer flushes the output it encodes to as well.
     writer.flush();
+    hasPendingChars = false;
   }
 
   @Override
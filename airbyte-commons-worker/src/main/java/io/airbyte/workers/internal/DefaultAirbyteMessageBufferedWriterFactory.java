@@ -5,6 +5,7 @@
 package io.airbyte.workers.internal;
 
 import java.io.BufferedWriter;
+import java.io.OutputStream;
 
 /**
  * Factory that provides the default writer.
@@ -16,4 +17,9 @@ public class DefaultAirbyteMessageBufferedWriterFactory implements AirbyteMessag
     return new DefaultAirbyteMessageBufferedWriter(writer);
   }
 
+  @Override
+  public AirbyteMessageBufferedWriter createWriter(BufferedWriter writer, OutputStream output) {
+    return new DefaultAirbyteMessageBufferedWriter(writer, output);
+  }
+
 }
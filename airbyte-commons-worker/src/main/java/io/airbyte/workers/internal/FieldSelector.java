@@ -40,14 +40,14 @@ public class FieldSelector {
   private static final Regex PROTECTED_JSON_SCHEMA_KEYS = new Regex("^\\$(id|comment|schema)$");
 
   /*
-   * validationErrors must be a ConcurrentHashMap as they are updated and read in different threads
-   * concurrently for performance.
+   * validationErrors and unexpectedFields must be ConcurrentHashMaps as they are updated and read in
+   * different threads concurrently for performance.
    */
   private final ConcurrentMap<AirbyteStreamNameNamespacePair, Pair<Set<String>, Integer>> validationErrors = new ConcurrentHashMap<>();
   private final ConcurrentMap<AirbyteStreamNameNamespacePair, Set<String>> uncountedValidationErrors = new ConcurrentHashMap<>();
   private final Map<AirbyteStreamNameNamespacePair, List<String>> streamToSelectedFields = new HashMap<>();
   private final Map<AirbyteStreamNameNamespacePair, Set<String>> streamToAllFields = new HashMap<>();
-  private final Map<AirbyteStreamNameNamespacePair, Set<String>> unexpectedFields = new HashMap<>();
+  private final ConcurrentMap<AirbyteStreamNameNamespacePair, Set<String>> unexpectedFields = new ConcurrentHashMap<>();
 
   private final RecordSchemaValidator recordSchemaValidator;
   private final WorkerMetricReporter metricReporter;
@@ -80,10 +80,31 @@ public class FieldSelector {
    * @param airbyteMessage message to validate.
    */
   public void validateSchema(final AirbyteMessage airbyteMessage) {
+    validateSchema(airbyteMessage, false);
+  }
+
+  /**
+   * Validate the AirbyteMessage according to the field configuration. Nothing is done for the records
+   * the validator doesn't sample.
+   *
+   * @param airbyteMessage message to validate.
+   * @param dataModifiedLater whether the data of the record is modified after this call (e.g. by the
+   *        mappers), it is then copied for the validation.
+   */
+  public void validateSchema(final AirbyteMessage airbyteMessage, final boolean dataModifiedLater) {
+    final AirbyteRecordMessage record = airbyteMessage.getRecord();
+    if (record == null) {
+      return;
+    }
+
+    final AirbyteStreamNameNamespacePair messageStream = AirbyteStreamNameNamespacePair.fromRecordMessage(record);
+    if (!recordSchemaValidator.isSampled(messageStream)) {
+      return;
+    }
     if (removeValidationLimit) {
-      validateSchemaUncounted(airbyteMessage);
+      validateSchemaUncounted(record, messageStream, dataModifiedLater);
     } else {
-      validateSchemaWithCount(airbyteMessage);
+      validateSchemaWithCount(record, messageStream, dataModifiedLater);
     }
   }
 
@@ -114,6 +135,10 @@ public class FieldSelector {
     }
   }
 
+  public boolean isFieldSelectionEnabled() {
+    return fieldSelectionEnabled;
+  }
+
   /**
    * report metrics.
    *
@@ -127,12 +152,20 @@ public class FieldSelector {
         metricReporter.trackSchemaValidationErrors(stream, errors);
       });
     } else {
-      log.info("Schema validation was performed to a max of 10 records with errors per stream.");
+      log.info("Schema validation was performed to a max of {} records with errors per stream.",
+          RecordSchemaValidator.MAX_RECORDS_WITH_ERRORS_PER_STREAM);
       validationErrors.forEach((stream, errorPair) -> {
         log.warn("Schema validation errors found for stream {}. Error messages: {}", stream, errorPair.getFirst());
         metricReporter.trackSchemaValidationErrors(stream, errorPair.getFirst());
       });
     }
+    recordSchemaValidator.getDroppedRecordsPerStream().forEach((stream, droppedRecords) -> {
+      log.info("Schema validation skipped {} records of stream {} because it couldn't keep up with the sync.", droppedRecords, stream);
+      metricReporter.trackSchemaValidationDroppedRecords(stream, droppedRecords);
+    });
+    if (recordSchemaValidator.getValidatedRecordCount() > 0) {
+      metricReporter.trackSchemaValidationLag(recordSchemaValidator.getAverageValidationLagMs(), recordSchemaValidator.getMaxValidationLagMs());
+    }
     unexpectedFields.forEach((stream, unexpectedFieldNames) -> {
       if (!unexpectedFieldNames.isEmpty()) {
         log.warn("Source {} has unexpected fields [{}] in stream {}", sourceId, String.join(", ", unexpectedFieldNames), stream);
@@ -184,35 +217,25 @@ public class FieldSelector {
     return new AirbyteStreamNameNamespacePair(stream.getStream().getName(), stream.getStream().getNamespace());
   }
 
-  private void validateSchemaUncounted(final AirbyteMessage message) {
-    if (message.getRecord() == null) {
-      return;
-    }
-
-    final AirbyteRecordMessage record = message.getRecord();
-    final AirbyteStreamNameNamespacePair messageStream = AirbyteStreamNameNamespacePair.fromRecordMessage(record);
-
-    recordSchemaValidator.validateSchemaWithoutCounting(record, messageStream, uncountedValidationErrors);
+  private void validateSchemaUncounted(final AirbyteRecordMessage record,
+                                       final AirbyteStreamNameNamespacePair messageStream,
+                                       final boolean dataModifiedLater) {
+    recordSchemaValidator.validateSchemaWithoutCounting(record, messageStream, uncountedValidationErrors, dataModifiedLater);
     final Set<String> unexpectedFieldNames = getUnexpectedFieldNames(record, streamToAllFields.get(messageStream));
     if (!unexpectedFieldNames.isEmpty()) {
       unexpectedFields.computeIfAbsent(messageStream, k -> ConcurrentHashMap.newKeySet()).addAll(unexpectedFieldNames);
     }
   }
 
-  private void validateSchemaWithCount(final AirbyteMessage message) {
-    if (message.getRecord() == null) {
-      return;
-    }
-
-    final AirbyteRecordMessage record = message.getRecord();
-    final AirbyteStreamNameNamespacePair messageStream = AirbyteStreamNameNamespacePair.fromRecordMessage(record);
+  private void validateSchemaWithCount(final AirbyteRecordMessage record,
+                                       final AirbyteStreamNameNamespacePair messageStream,
+                                       final boolean dataModifiedLater) {
     // avoid noise by validating only if the stream has less than 10 records with validation errors
-    final boolean streamHasLessThenTenErrs = validationErrors.get(messageStream) == null || validationErrors.get(messageStream).getSecond() < 10;
-    if (streamHasLessThenTenErrs) {
-      recordSchemaValidator.validateSchema(record, messageStream, validationErrors);
+    if (!RecordSchemaValidator.hasReachedErrorLimit(messageStream, validationErrors)) {
+      recordSchemaValidator.validateSchema(record, messageStream, validationErrors, dataModifiedLater);
       final Set<String> unexpectedFieldNames = getUnexpectedFieldNames(record, streamToAllFields.get(messageStream));
       if (!unexpectedFieldNames.isEmpty()) {
-        unexpectedFields.computeIfAbsent(messageStream, k -> new HashSet<>()).addAll(unexpectedFieldNames);
+        unexpectedFields.computeIfAbsent(messageStream, k -> ConcurrentHashMap.newKeySet()).addAll(unexpectedFieldNames);
       }
     }
   }
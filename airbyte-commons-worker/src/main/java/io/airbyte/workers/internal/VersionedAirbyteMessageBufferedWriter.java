@@ -10,6 +10,7 @@ import io.airbyte.config.ConfiguredAirbyteCatalog;
 import io.airbyte.protocol.models.AirbyteMessage;
 import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Optional;
 
 /**
@@ -22,22 +23,44 @@ public class VersionedAirbyteMessageBufferedWriter<T> extends DefaultAirbyteMess
   private final AirbyteMessageSerializer<T> serializer;
   private final AirbyteMessageVersionedMigrator<T> migrator;
   private final Optional<ConfiguredAirbyteCatalog> configuredAirbyteCatalog;
+  private final boolean canWriteSourceLines;
 
   public VersionedAirbyteMessageBufferedWriter(final BufferedWriter writer,
                                                final AirbyteMessageSerializer<T> serializer,
                                                final AirbyteMessageVersionedMigrator<T> migrator,
                                                final Optional<ConfiguredAirbyteCatalog> configuredAirbyteCatalog) {
-    super(writer);
+    this(writer, null, serializer, migrator, configuredAirbyteCatalog, false);
+  }
+
+  /**
+   * @param output the stream the writer encodes to, see
+   *        {@link DefaultAirbyteMessageBufferedWriter#DefaultAirbyteMessageBufferedWriter(BufferedWriter, OutputStream)}.
+   * @param canWriteSourceLines whether the line a record was read from can be written as is, see
+   *        {@link SourceRecordLine}. This is only true if messages do not need to be downgraded.
+   */
+  public VersionedAirbyteMessageBufferedWriter(final BufferedWriter writer,
+                                               final OutputStream output,
+                                               final AirbyteMessageSerializer<T> serializer,
+                                               final AirbyteMessageVersionedMigrator<T> migrator,
+                                               final Optional<ConfiguredAirbyteCatalog> configuredAirbyteCatalog,
+                                               final boolean canWriteSourceLines) {
+    super(writer, output);
     this.serializer = serializer;
     this.migrator = migrator;
     this.configuredAirbyteCatalog = configuredAirbyteCatalog;
+    this.canWriteSourceLines = canWriteSourceLines;
   }
 
   @Override
   public void write(final AirbyteMessage message) throws IOException {
+    final byte[] sourceLine = SourceRecordLine.detach(message);
+    if (sourceLine != null && canWriteSourceLines) {
+      writeSourceLine(sourceLine);
+      return;
+    }
+
     final T downgradedMessage = migrator.downgrade(message, configuredAirbyteCatalog);
-    writer.write(serializer.serialize(downgradedMessage));
-    writer.newLine();
+    writeLine(serializer.serialize(downgradedMessage));
   }
 
 }
@@ -9,6 +9,7 @@ import io.airbyte.commons.protocol.AirbyteProtocolVersionedMigratorFactory;
 import io.airbyte.commons.version.Version;
 import io.airbyte.config.ConfiguredAirbyteCatalog;
 import java.io.BufferedWriter;
+import java.io.OutputStream;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,6 +38,11 @@ public class VersionedAirbyteMessageBufferedWriterFactory implements AirbyteMess
 
   @Override
   public AirbyteMessageBufferedWriter createWriter(BufferedWriter bufferedWriter) {
+    return createWriter(bufferedWriter, null);
+  }
+
+  @Override
+  public AirbyteMessageBufferedWriter createWriter(BufferedWriter bufferedWriter, OutputStream output) {
     final boolean needMigration = !protocolVersion.getMajorVersion().equals(migratorFactory.getMostRecentVersion().getMajorVersion());
     LOGGER.info(
         "Writing messages to protocol version {}{}",
@@ -44,9 +50,11 @@ public class VersionedAirbyteMessageBufferedWriterFactory implements AirbyteMess
         needMigration ? ", messages will be downgraded from protocol version " + migratorFactory.getMostRecentVersion().serialize() : "");
     return new VersionedAirbyteMessageBufferedWriter<>(
         bufferedWriter,
+        output,
         serDeProvider.getSerializer(protocolVersion).orElseThrow(),
         migratorFactory.getAirbyteMessageMigrator(protocolVersion),
-        configuredAirbyteCatalog);
+        configuredAirbyteCatalog,
+        !needMigration);
   }
 
 }
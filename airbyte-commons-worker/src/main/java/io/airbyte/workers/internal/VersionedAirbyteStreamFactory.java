@@ -38,6 +38,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -89,11 +90,14 @@ public class VersionedAirbyteStreamFactory<T> implements AirbyteStreamFactory {
   private final AirbyteMessageSerDeProvider serDeProvider;
   private final AirbyteProtocolVersionedMigratorFactory migratorFactory;
   private final Optional<ConfiguredAirbyteCatalog> configuredAirbyteCatalog;
+  private final Optional<CatalogStreamIndex> catalogStreamIndex;
   private AirbyteMessageDeserializer<AirbyteMessage> deserializer;
   private AirbyteMessageVersionedMigrator<AirbyteMessage> migrator;
   private Version protocolVersion;
 
   private boolean shouldDetectVersion = false;
+  private boolean shouldAttachRecordSize = false;
+  private boolean shouldAttachSourceLine = false;
 
   private final InvalidLineFailureConfiguration invalidLineFailureConfiguration;
   private final GsonPksExtractor gsonPksExtractor;
@@ -177,6 +181,7 @@ public class VersionedAirbyteStreamFactory<T> implements AirbyteStreamFactory {
     this.serDeProvider = serDeProvider;
     this.migratorFactory = migratorFactory;
     this.configuredAirbyteCatalog = configuredAirbyteCatalog;
+    this.catalogStreamIndex = configuredAirbyteCatalog.map(CatalogStreamIndex::new);
     this.initializeForProtocolVersion(protocolVersion);
     this.connectionId = connectionId;
     this.invalidLineFailureConfiguration = invalidLineFailureConfiguration;
@@ -191,13 +196,20 @@ public class VersionedAirbyteStreamFactory<T> implements AirbyteStreamFactory {
   @Override
   public Stream<AirbyteMessage> create(final BufferedReader bufferedReader) {
     detectAndInitialiseMigrators(bufferedReader);
-    final boolean needMigration = !protocolVersion.getMajorVersion().equals(migratorFactory.getMostRecentVersion().getMajorVersion());
+    logProtocolVersion();
+
+    return addLineReadLogic(bufferedReader);
+  }
+
+  protected void logProtocolVersion() {
     logger.info(
         "Reading messages from protocol version {}{}",
         protocolVersion.serialize(),
-        needMigration ? ", messages will be upgraded to protocol version " + migratorFactory.getMostRecentVersion().serialize() : "");
+        needMigration() ? ", messages will be upgraded to protocol version " + migratorFactory.getMostRecentVersion().serialize() : "");
+  }
 
-    return addLineReadLogic(bufferedReader);
+  private boolean needMigration() {
+    return !protocolVersion.getMajorVersion().equals(migratorFactory.getMostRecentVersion().getMajorVersion());
   }
 
   private void detectAndInitialiseMigrators(final BufferedReader bufferedReader) {
@@ -221,13 +233,23 @@ public class VersionedAirbyteStreamFactory<T> implements AirbyteStreamFactory {
 
   private Stream<AirbyteMessage> addLineReadLogic(final BufferedReader bufferedReader) {
     final var metricClient = MetricClientFactory.getMetricClient();
+    final boolean attachSourceLine = shouldAttachSourceLine();
     return bufferedReader
         .lines()
-        .peek(str -> {
-          final long messageSize = str.getBytes(StandardCharsets.UTF_8).length;
+        .flatMap(line -> {
+          final byte[] lineBytes = line.getBytes(StandardCharsets.UTF_8);
+          final long messageSize = lineBytes.length;
           metricClient.distribution(OssMetricsRegistry.JSON_STRING_LENGTH, messageSize);
+          return toAirbyteMessage(line).peek(message -> {
+            // The size is carried with the record so that the stats do not have to serialize it again.
+            if (shouldAttachRecordSize) {
+              RecordSerializedSize.attach(message, messageSize);
+            }
+            if (attachSourceLine) {
+              SourceRecordLine.attach(message, lineBytes);
+            }
+          });
         })
-        .flatMap(this::toAirbyteMessage)
         .filter(this::filterLog);
   }
 
@@ -276,6 +298,22 @@ public class VersionedAirbyteStreamFactory<T> implements AirbyteStreamFactory {
     return json.has(TYPE_FIELD_NAME) && "spec".equalsIgnoreCase(json.get(TYPE_FIELD_NAME).asText());
   }
 
+  protected boolean shouldDetectVersion() {
+    return shouldDetectVersion;
+  }
+
+  protected boolean shouldAttachRecordSize() {
+    return shouldAttachRecordSize;
+  }
+
+  /**
+   * The original line is only a valid representation of the message if the message doesn't need to
+   * be upgraded.
+   */
+  protected boolean shouldAttachSourceLine() {
+    return shouldAttachSourceLine && !needMigration();
+  }
+
   public boolean setDetectVersion(final boolean detectVersion) {
     return this.shouldDetectVersion = detectVersion;
   }
@@ -285,6 +323,26 @@ public class VersionedAirbyteStreamFactory<T> implements AirbyteStreamFactory {
     return this;
   }
 
+  /**
+   * Attach the size of the line each record was read from to the record, see
+   * {@link RecordSerializedSize}. This should only be enabled when the consumer of the stream detaches
+   * the size before forwarding the records.
+   */
+  public VersionedAirbyteStreamFactory<T> withAttachRecordSize(final boolean attachRecordSize) {
+    this.shouldAttachRecordSize = attachRecordSize;
+    return this;
+  }
+
+  /**
+   * Attach the line each record was read from to the record, see {@link SourceRecordLine}. This
+   * should only be enabled when the consumer of the stream detaches the line before forwarding the
+   * records.
+   */
+  public VersionedAirbyteStreamFactory<T> withAttachSourceLine(final boolean attachSourceLine) {
+    this.shouldAttachSourceLine = attachSourceLine;
+    return this;
+  }
+
   protected final void initializeForProtocolVersion(final Version protocolVersion) {
     this.deserializer = (AirbyteMessageDeserializer<AirbyteMessage>) serDeProvider.getDeserializer(protocolVersion).orElseThrow();
     this.migrator = migratorFactory.getAirbyteMessageMigrator(protocolVersion);
@@ -327,23 +385,52 @@ public class VersionedAirbyteStreamFactory<T> implements AirbyteStreamFactory {
   protected Stream<AirbyteMessage> toAirbyteMessage(final String line) {
     logLargeRecordWarning(line);
 
-    Optional<AirbyteMessage> m = deserializer.deserializeExact(line);
+    final Optional<AirbyteMessage> m = deserializer.deserializeExact(line);
 
     if (m.isPresent()) {
-      m = BasicAirbyteMessageValidator.validate(m.get(), configuredAirbyteCatalog);
+      return validateAndUpgrade(m.get(), () -> line);
+    }
 
-      if (m.isEmpty()) {
-        logger.error("Validation failed: {}", Jsons.serialize(line));
-        return m.stream();
-      }
+    logMalformedLogMessage(line);
+    return m.stream();
+  }
 
-      return upgradeMessage(m.get());
+  /**
+   * Same as {@link #toAirbyteMessage(String)} for a line that hasn't been decoded. The line is only
+   * decoded to a String if it is too long or cannot be deserialized, which are the cases where it
+   * needs to be logged.
+   *
+   * @param line buffer containing the UTF-8 encoded line
+   * @param length length of the line in the buffer
+   */
+  protected Stream<AirbyteMessage> toAirbyteMessage(final byte[] line, final int length) {
+    if (length >= MAXIMUM_CHARACTERS_ALLOWED) {
+      // The byte length is an upper bound of the number of characters, the String based path takes care
+      // of the large record reporting.
+      return toAirbyteMessage(new String(line, 0, length, StandardCharsets.UTF_8));
     }
 
-    logMalformedLogMessage(line);
+    final Optional<AirbyteMessage> m = deserializer.deserializeExact(line, 0, length);
+
+    if (m.isPresent()) {
+      return validateAndUpgrade(m.get(), () -> new String(line, 0, length, StandardCharsets.UTF_8));
+    }
+
+    logMalformedLogMessage(new String(line, 0, length, StandardCharsets.UTF_8));
     return m.stream();
   }
 
+  private Stream<AirbyteMessage> validateAndUpgrade(final AirbyteMessage message, final Supplier<String> line) {
+    final Optional<AirbyteMessage> m = BasicAirbyteMessageValidator.validate(message, catalogStreamIndex);
+
+    if (m.isEmpty()) {
+      logger.error("Validation failed: {}", Jsons.serialize(line.get()));
+      return m.stream();
+    }
+
+    return upgradeMessage(m.get());
+  }
+
   private void logLargeRecordWarning(final String line) {
     try (final MdcScope ignored = containerLogMdcBuilder.build()) {
       if (line.length() >= MAXIMUM_CHARACTERS_ALLOWED) {
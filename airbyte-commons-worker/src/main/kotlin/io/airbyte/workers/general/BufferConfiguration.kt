@@ -6,11 +6,19 @@ data class BufferConfiguration(
   val sourceMaxBufferSize: Int = DEFAULT_SOURCE_MAX_BUFFER_SIZE,
   val destinationMaxBufferSize: Int = DEFAULT_DESTINATION_MAX_BUFFER_SIZE,
   val pollTimeoutDuration: Int = DEFAULT_POLL_TIME_OUT_DURATION_SECONDS,
+  // Number of threads transforming the records from the source, records are processed on the replication thread when it is 1.
+  val processingParallelism: Int = DEFAULT_PROCESSING_PARALLELISM,
+  // Total estimated size of the messages each buffer can hold on top of the number of messages.
+  val maxBufferSizeInBytes: Long = DEFAULT_MAX_BUFFER_SIZE_IN_BYTES,
 ) {
+  fun withProcessingParallelism(processingParallelism: Int): BufferConfiguration = copy(processingParallelism = processingParallelism)
+
   companion object {
     const val DEFAULT_SOURCE_MAX_BUFFER_SIZE = 1000
     const val DEFAULT_DESTINATION_MAX_BUFFER_SIZE = 1000
     const val DEFAULT_POLL_TIME_OUT_DURATION_SECONDS = ClosableLinkedBlockingQueue.DEFAULT_POLL_TIME_OUT_DURATION_SECONDS
+    const val DEFAULT_PROCESSING_PARALLELISM = 1
+    const val DEFAULT_MAX_BUFFER_SIZE_IN_BYTES = 64L * 1024 * 1024
 
     // Helpers for Java due to the lack of named parameters
 
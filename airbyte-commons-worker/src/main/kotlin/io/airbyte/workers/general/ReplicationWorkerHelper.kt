@@ -30,6 +30,7 @@ import io.airbyte.config.WorkerDestinationConfig
 import io.airbyte.config.adapters.AirbyteJsonRecordAdapter
 import io.airbyte.config.adapters.AirbyteRecord
 import io.airbyte.featureflag.FeatureFlagClient
+import io.airbyte.mappers.application.CompiledMappers
 import io.airbyte.mappers.application.RecordMapper
 import io.airbyte.mappers.transformations.DestinationCatalogGenerator
 import io.airbyte.metrics.lib.ApmTraceUtils
@@ -56,6 +57,9 @@ import io.airbyte.workers.internal.AnalyticsMessageTracker
 import io.airbyte.workers.internal.DestinationTimeoutMonitor
 import io.airbyte.workers.internal.FieldSelector
 import io.airbyte.workers.internal.HeartbeatTimeoutChaperone
+import io.airbyte.workers.internal.MessageSizeEstimator
+import io.airbyte.workers.internal.RecordSerializedSize
+import io.airbyte.workers.internal.SourceRecordLine
 import io.airbyte.workers.internal.bookkeeping.AirbyteMessageOrigin
 import io.airbyte.workers.internal.bookkeeping.AirbyteMessageTracker
 import io.airbyte.workers.internal.bookkeeping.events.ReplicationAirbyteMessageEvent
@@ -125,6 +129,7 @@ class ReplicationWorkerHelper(
   private lateinit var streamStatusTracker: StreamStatusTracker
   private var supportRefreshes by Delegates.notNull<Boolean>()
   private lateinit var mappersPerStreamDescriptor: Map<StreamDescriptor, List<out MapperConfig>>
+  private lateinit var compiledMappersPerStreamDescriptor: Map<StreamDescriptor, CompiledMappers>
 
   fun markCancelled(): Unit = _cancelled.set(true)
 
@@ -238,6 +243,11 @@ class ReplicationWorkerHelper(
       catalogWithoutInvalidMappers.catalog.streams.associate { stream ->
         stream.streamDescriptor to stream.mappers
       }
+    // Preparing the mappers once per sync avoids rebuilding their state (ciphers, digests...) for every record.
+    compiledMappersPerStreamDescriptor =
+      mappersPerStreamDescriptor
+        .filterValues { it.isNotEmpty() }
+        .mapValues { (_, mappers) -> recordMapper.compile(mappers) }
   }
 
   fun startDestination(
@@ -386,13 +396,38 @@ class ReplicationWorkerHelper(
     return finalMetrics
   }
 
+  /**
+   * The part of the processing of a record that only depends on the record itself: field selection,
+   * schema validation and mappers. It can run concurrently for records of different streams, the rest
+   * of the processing must then happen in order through [processMessageFromSource].
+   */
+  fun transformRecordFromSource(sourceRawMessage: AirbyteMessage): TransformedRecord {
+    // The bytes emitted are the size of the line the source emitted for the record, whether or not its fields are selected or
+    // mapped afterward. It must always be detached so that it doesn't reach the destination.
+    // When the stream factory didn't attach it, the size of the line is estimated from the record, before anything modifies it.
+    val sizeInBytes = RecordSerializedSize.detach(sourceRawMessage) ?: MessageSizeEstimator.estimateSerializedSize(sourceRawMessage.record)
+
+    fieldSelector.filterSelectedFields(sourceRawMessage)
+    val airbyteJsonRecordAdapter = AirbyteJsonRecordAdapter(sourceRawMessage)
+    // The validation happens asynchronously, the data only needs to be copied for it if the mappers modify it afterward.
+    fieldSelector.validateSchema(sourceRawMessage, compiledMappersPerStreamDescriptor.containsKey(airbyteJsonRecordAdapter.streamDescriptor))
+
+    applyTransformationMappers(airbyteJsonRecordAdapter)
+
+    return TransformedRecord(serializedSizeInBytes = sizeInBytes, shouldInclude = airbyteJsonRecordAdapter.shouldInclude())
+  }
+
+  @JvmOverloads
   @VisibleForTesting
-  fun internalProcessMessageFromSource(sourceRawMessage: AirbyteMessage): AirbyteMessage? {
+  fun internalProcessMessageFromSource(
+    sourceRawMessage: AirbyteMessage,
+    transformedRecord: TransformedRecord? = null,
+  ): AirbyteMessage? {
     val context = requireNotNull(ctx)
 
-    fieldSelector.filterSelectedFields(sourceRawMessage)
-    fieldSelector.validateSchema(sourceRawMessage)
-    messageTracker.acceptFromSource(sourceRawMessage)
+    val transformed = transformedRecord ?: sourceRawMessage.takeIf { it.type == Type.RECORD }?.let { transformRecordFromSource(it) }
+
+    messageTracker.acceptFromSource(sourceRawMessage, transformed?.serializedSizeInBytes)
     streamStatusTracker.track(sourceRawMessage)
     if (isAnalyticsMessage(sourceRawMessage)) {
       analyticsMessageTracker.addMessage(sourceRawMessage, AirbyteMessageOrigin.SOURCE)
@@ -412,13 +447,9 @@ class ReplicationWorkerHelper(
       metricClient.count(OssMetricsRegistry.STATE_PROCESSED_FROM_SOURCE, 1, *metricAttrs.toTypedArray())
     }
 
-    if (sourceRawMessage.type == Type.RECORD) {
-      val airbyteJsonRecordAdapter = AirbyteJsonRecordAdapter(sourceRawMessage)
-      applyTransformationMappers(airbyteJsonRecordAdapter)
-      if (!airbyteJsonRecordAdapter.shouldInclude()) {
-        messageTracker.syncStatsTracker.updateFilteredOutRecordsStats(sourceRawMessage.record)
-        return null
-      }
+    if (transformed != null && !transformed.shouldInclude) {
+      messageTracker.syncStatsTracker.updateFilteredOutRecordsStats(sourceRawMessage.record, transformed.serializedSizeInBytes)
+      return null
     }
 
     return sourceRawMessage
@@ -458,15 +489,46 @@ class ReplicationWorkerHelper(
   }
 
   // TODO convert to AirbyteMessage? when fully converted to kotlin
-  fun processMessageFromSource(sourceRawMessage: AirbyteMessage): Optional<AirbyteMessage> {
+  /**
+   * Process a message from the source. Messages must be processed in the order they were read.
+   *
+   * @param transformedRecord the result of [transformRecordFromSource] if it was already called for
+   * this record, it is called as part of the processing otherwise.
+   */
+  @JvmOverloads
+  fun processMessageFromSource(
+    sourceRawMessage: AirbyteMessage,
+    transformedRecord: TransformedRecord? = null,
+  ): Optional<AirbyteMessage> {
+    // The line the record was read from is detached before any processing, it is only attached back if
+    // the record reaches the destination unchanged.
+    val sourceLine = SourceRecordLine.detach(sourceRawMessage)
+    val sourceStreamDescriptor = sourceLine?.let { getStreamDescriptor(sourceRawMessage) }
+
     // internally we always want to deal with the state message we got from the
     // source, so we only modify the state message after processing it, right before we send it to the
     // destination
-    return internalProcessMessageFromSource(attachIdToStateMessageFromSource(sourceRawMessage))
+    return internalProcessMessageFromSource(attachIdToStateMessageFromSource(sourceRawMessage), transformedRecord)
       ?.let { mapper.mapMessage(it) }
-      ?.let { Optional.ofNullable(it) } ?: Optional.empty()
+      ?.also { message ->
+        if (sourceLine != null && isUnchangedRecord(message, sourceStreamDescriptor)) {
+          SourceRecordLine.attach(message, sourceLine)
+        }
+      }?.let { Optional.ofNullable(it) } ?: Optional.empty()
   }
 
+  /**
+   * A record is unchanged if its fields were not filtered, no mapper applies to its stream and the
+   * namespacing didn't rename its stream.
+   */
+  private fun isUnchangedRecord(
+    message: AirbyteMessage,
+    sourceStreamDescriptor: StreamDescriptor?,
+  ): Boolean =
+    !fieldSelector.isFieldSelectionEnabled &&
+      mappersPerStreamDescriptor[sourceStreamDescriptor].isNullOrEmpty() &&
+      getStreamDescriptor(message) == sourceStreamDescriptor
+
   fun getSourceDefinitionIdForSourceId(sourceId: UUID): UUID =
     airbyteApiClient.sourceApi.getSource(SourceIdRequestBody(sourceId = sourceId)).sourceDefinitionId
 
@@ -474,13 +536,7 @@ class ReplicationWorkerHelper(
     airbyteApiClient.destinationApi.getDestination(DestinationIdRequestBody(destinationId = destinationId)).destinationDefinitionId
 
   fun applyTransformationMappers(message: AirbyteRecord) {
-    val mappersForStream: List<MapperConfig> =
-      mappersPerStreamDescriptor[message.streamDescriptor] ?: listOf()
-
-    if (mappersForStream.isEmpty()) {
-      return
-    }
-    recordMapper.applyMappers(message, mappersForStream)
+    compiledMappersPerStreamDescriptor[message.streamDescriptor]?.apply(message)
   }
 
   private fun getTotalStats(
@@ -548,6 +604,23 @@ class ReplicationWorkerHelper(
   }
 }
 
+/**
+ * Result of [ReplicationWorkerHelper.transformRecordFromSource].
+ *
+ * @param serializedSizeInBytes size of the line the source emitted for the record, or the estimated size of its data as
+ * emitted if the line size is unknown. It is the size of the record in the stats and in the replication buffers.
+ * @param shouldInclude false if the mappers filtered the record out
+ */
+data class TransformedRecord(
+  val serializedSizeInBytes: Long,
+  val shouldInclude: Boolean,
+)
+
+private fun getStreamDescriptor(msg: AirbyteMessage): StreamDescriptor =
+  StreamDescriptor()
+    .withNamespace(msg.record.namespace)
+    .withName(msg.record.stream)
+
 private fun isAnalyticsMessage(msg: AirbyteMessage): Boolean = msg.type == Type.TRACE && msg.trace.type == AirbyteTraceMessage.Type.ANALYTICS
 
 private fun toConnectionAttrs(ctx: ReplicationContext?): List<MetricAttribute> {
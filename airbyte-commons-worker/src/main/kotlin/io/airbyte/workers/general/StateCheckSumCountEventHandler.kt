@@ -38,6 +38,10 @@ import java.time.Duration
 import java.time.Instant
 import java.util.Optional
 import java.util.UUID
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.TimeUnit
 import java.util.function.Supplier
 
 private val logger = KotlinLogging.logger { }
@@ -45,6 +49,7 @@ private val logger = KotlinLogging.logger { }
 private const val MAX_MISSING_EVENTS = 25
 private const val MAX_MISMATCH_EVENTS = 25
 private const val MAX_SUCCESS_EVENTS = 3
+private const val EVENT_PUBLISHER_TERMINATION_TIMEOUT_MINUTES = 1L
 
 @Singleton
 class StateCheckSumCountEventHandler(
@@ -104,6 +109,25 @@ class StateCheckSumCountEventHandler(
   @Volatile
   private var totalMismatchEvents = 0
 
+  // Publishing the events and reporting the errors calls external services, do it off the thread processing the messages.
+  // A single thread keeps the events in order and the event counts consistent.
+  private val eventPublisher: ExecutorService =
+    Executors.newSingleThreadExecutor { runnable -> Thread(runnable, "state-checksum-event-publisher").apply { isDaemon = true } }
+
+  private fun publishAsync(task: () -> Unit) {
+    try {
+      eventPublisher.execute {
+        try {
+          task()
+        } catch (e: Exception) {
+          logger.error(e) { "Exception while publishing state checksum events" }
+        }
+      }
+    } catch (e: RejectedExecutionException) {
+      logger.warn { "Dropping state checksum events published after the handler was closed" }
+    }
+  }
+
   fun getCurrentTimeInMicroSecond() = epochMilliSupplier!!.get() * 1000
 
   private fun trackStateCountMetrics(
@@ -149,6 +173,7 @@ class StateCheckSumCountEventHandler(
     stateMessage: AirbyteStateMessage,
     stateOrigin: String,
     validData: Boolean,
+    timestampInMicroSecond: Long,
   ): StateCheckSumCountEvent {
     var streamName: String? = null
     var streamNamespace: String? = null
@@ -178,7 +203,7 @@ class StateCheckSumCountEventHandler(
         stateMessage.type.toString(),
         streamName,
         streamNamespace,
-        getCurrentTimeInMicroSecond(),
+        timestampInMicroSecond,
         validData,
       )
     return stateCheckSumCountEvent
@@ -191,7 +216,7 @@ class StateCheckSumCountEventHandler(
     failOnInvalidChecksum: Boolean,
     checksumValidationEnabled: Boolean,
     includeStreamInLogs: Boolean = true,
-    streamPlatformRecordCounts: Map<AirbyteStreamNameNamespacePair, Long> = emptyMap(),
+    streamPlatformRecordCounts: () -> Map<AirbyteStreamNameNamespacePair, Long> = { emptyMap() },
     filteredOutRecords: Double = 0.0,
   ) {
     if (!isStateTypeSupported(stateMessage)) {
@@ -286,12 +311,15 @@ class StateCheckSumCountEventHandler(
     validData: Boolean,
   ) {
     noCheckSumError = false
-    trackStateCountMetrics(
-      listOf(
-        stateCheckSumCountEvent(platformRecordCount, stateMessage, AirbyteMessageOrigin.INTERNAL.toString(), validData),
-      ),
-      EventType.MISSING,
-    )
+    val timestamp = getCurrentTimeInMicroSecond()
+    publishAsync {
+      trackStateCountMetrics(
+        listOf(
+          stateCheckSumCountEvent(platformRecordCount, stateMessage, AirbyteMessageOrigin.INTERNAL.toString(), validData, timestamp),
+        ),
+        EventType.MISSING,
+      )
+    }
   }
 
   private fun destinationIsMissingButSourceIsPresent(
@@ -301,13 +329,16 @@ class StateCheckSumCountEventHandler(
     validData: Boolean,
   ) {
     noCheckSumError = false
-    trackStateCountMetrics(
-      listOf(
-        stateCheckSumCountEvent(sourceRecordCount, stateMessage, AirbyteMessageOrigin.SOURCE.toString(), validData),
-        stateCheckSumCountEvent(platformRecordCount, stateMessage, AirbyteMessageOrigin.INTERNAL.toString(), validData),
-      ),
-      EventType.MISSING,
-    )
+    val timestamp = getCurrentTimeInMicroSecond()
+    publishAsync {
+      trackStateCountMetrics(
+        listOf(
+          stateCheckSumCountEvent(sourceRecordCount, stateMessage, AirbyteMessageOrigin.SOURCE.toString(), validData, timestamp),
+          stateCheckSumCountEvent(platformRecordCount, stateMessage, AirbyteMessageOrigin.INTERNAL.toString(), validData, timestamp),
+        ),
+        EventType.MISSING,
+      )
+    }
   }
 
   private fun sourceIsMissingButDestinationIsPresent(
@@ -317,13 +348,16 @@ class StateCheckSumCountEventHandler(
     validData: Boolean,
   ) {
     noCheckSumError = false
-    trackStateCountMetrics(
-      listOf(
-        stateCheckSumCountEvent(platformRecordCount, stateMessage, AirbyteMessageOrigin.INTERNAL.toString(), validData),
-        stateCheckSumCountEvent(destinationRecordCount, stateMessage, AirbyteMessageOrigin.DESTINATION.toString(), validData),
-      ),
-      EventType.MISSING,
-    )
+    val timestamp = getCurrentTimeInMicroSecond()
+    publishAsync {
+      trackStateCountMetrics(
+        listOf(
+          stateCheckSumCountEvent(platformRecordCount, stateMessage, AirbyteMessageOrigin.INTERNAL.toString(), validData, timestamp),
+          stateCheckSumCountEvent(destinationRecordCount, stateMessage, AirbyteMessageOrigin.DESTINATION.toString(), validData, timestamp),
+        ),
+        EventType.MISSING,
+      )
+    }
   }
 
   private fun misMatchWhenAllThreeCountsArePresent(
@@ -337,14 +371,17 @@ class StateCheckSumCountEventHandler(
     validData: Boolean,
   ) {
     noCheckSumError = false
-    trackStateCountMetrics(
-      listOf(
-        stateCheckSumCountEvent(sourceRecordCount, stateMessage, AirbyteMessageOrigin.SOURCE.toString(), validData),
-        stateCheckSumCountEvent(platformRecordCount, stateMessage, AirbyteMessageOrigin.INTERNAL.toString(), validData),
-        stateCheckSumCountEvent(destinationRecordCount, stateMessage, AirbyteMessageOrigin.DESTINATION.toString(), validData),
-      ),
-      EventType.MISMATCH,
-    )
+    val timestamp = getCurrentTimeInMicroSecond()
+    publishAsync {
+      trackStateCountMetrics(
+        listOf(
+          stateCheckSumCountEvent(sourceRecordCount, stateMessage, AirbyteMessageOrigin.SOURCE.toString(), validData, timestamp),
+          stateCheckSumCountEvent(platformRecordCount, stateMessage, AirbyteMessageOrigin.INTERNAL.toString(), validData, timestamp),
+          stateCheckSumCountEvent(destinationRecordCount, stateMessage, AirbyteMessageOrigin.DESTINATION.toString(), validData, timestamp),
+        ),
+        EventType.MISMATCH,
+      )
+    }
 
     logAndFailIfRequired(
       misMatchMessageWhenAllCountsThreeArePresent(
@@ -371,7 +408,7 @@ class StateCheckSumCountEventHandler(
     stateMessage: AirbyteStateMessage,
     failOnInvalidChecksum: Boolean,
     validData: Boolean,
-    streamPlatformRecordCounts: Map<AirbyteStreamNameNamespacePair, Long>,
+    streamPlatformRecordCounts: () -> Map<AirbyteStreamNameNamespacePair, Long>,
   ) {
     noCheckSumError = false
     logAndFailIfRequired(
@@ -409,17 +446,19 @@ class StateCheckSumCountEventHandler(
           AirbyteMessageOrigin.DESTINATION -> FailureReason.FailureOrigin.DESTINATION
           else -> FailureReason.FailureOrigin.AIRBYTE_PLATFORM
         }
-      stateCheckSumReporter.reportError(
-        workspaceId,
-        connectionId,
-        jobId,
-        attemptNumber,
-        failureOrigin,
-        errorMessage,
-        "The sync appears to have dropped records",
-        InvalidChecksumException(errorMessage),
-        stateMessage,
-      )
+      publishAsync {
+        stateCheckSumReporter.reportError(
+          workspaceId,
+          connectionId,
+          jobId,
+          attemptNumber,
+          failureOrigin,
+          errorMessage,
+          "The sync appears to have dropped records",
+          InvalidChecksumException(errorMessage),
+          stateMessage,
+        )
+      }
     }
   }
 
@@ -428,16 +467,28 @@ class StateCheckSumCountEventHandler(
     if (completedSuccessfully && !isClosed && sourceStateMessageSeen && destinationStateMessageSeen && noCheckSumError) {
       logger.info { "No checksum errors were reported in the entire sync." }
       val dummyState = DUMMY_STATE_MESSAGE
-      trackStateCountMetrics(
-        listOf(
-          stateCheckSumCountEvent(1.0, dummyState, AirbyteMessageOrigin.SOURCE.toString(), true),
-          stateCheckSumCountEvent(1.0, dummyState, AirbyteMessageOrigin.INTERNAL.toString(), true),
-          stateCheckSumCountEvent(1.0, dummyState, AirbyteMessageOrigin.DESTINATION.toString(), true),
-        ),
-        EventType.SUCCESS,
-      )
+      val timestamp = getCurrentTimeInMicroSecond()
+      publishAsync {
+        trackStateCountMetrics(
+          listOf(
+            stateCheckSumCountEvent(1.0, dummyState, AirbyteMessageOrigin.SOURCE.toString(), true, timestamp),
+            stateCheckSumCountEvent(1.0, dummyState, AirbyteMessageOrigin.INTERNAL.toString(), true, timestamp),
+            stateCheckSumCountEvent(1.0, dummyState, AirbyteMessageOrigin.DESTINATION.toString(), true, timestamp),
+          ),
+          EventType.SUCCESS,
+        )
+      }
       isClosed = true
     }
+    // Let the pending events go out before closing the writer
+    eventPublisher.shutdown()
+    try {
+      if (!eventPublisher.awaitTermination(EVENT_PUBLISHER_TERMINATION_TIMEOUT_MINUTES, TimeUnit.MINUTES)) {
+        logger.warn { "Timed out waiting for the state checksum events to be published" }
+      }
+    } catch (e: InterruptedException) {
+      Thread.currentThread().interrupt()
+    }
     pubSubWriter.ifPresent { it.close() }
   }
 
@@ -449,7 +500,7 @@ class StateCheckSumCountEventHandler(
       includeStreamInLogs: Boolean,
       stateMessage: AirbyteStateMessage,
       validData: Boolean,
-      streamPlatformRecordCounts: Map<AirbyteStreamNameNamespacePair, Long>,
+      streamPlatformRecordCounts: () -> Map<AirbyteStreamNameNamespacePair, Long>,
     ): String =
       "${origin.name.lowercase().replaceFirstChar { it.uppercase() }} state message checksum is invalid: state " +
         "record count $stateRecordCount does not equal platform tracked record count $platformRecordCount" +
@@ -465,7 +516,7 @@ class StateCheckSumCountEventHandler(
         } +
         if (includeStreamInLogs) {
           val namesAndCounts =
-            streamPlatformRecordCounts.map { (name, count) ->
+            streamPlatformRecordCounts().map { (name, count) ->
               " $name : $count"
             }.joinToString("\n")
           " Observed the following record counts per stream: \n$namesAndCounts"
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.general
+
+import io.airbyte.commons.timer.LatencyHistogram
+import io.airbyte.commons.timer.Stopwatch
+import io.airbyte.protocol.models.AirbyteMessage
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Times a stage of the replication separately for each stream.
+ *
+ * Records are timed by the stopwatch of their stream and the other messages by a shared one, so a
+ * message is only recorded once on the hot path. The stage total is the sum of all of them.
+ *
+ * The stopwatches of the streams use a coarser histogram than the stage ones, and only the first
+ * [MAX_TRACKED_STREAMS] streams get their own, the records of the others share a stopwatch, so that
+ * syncs with many streams don't hold on to a histogram per stream.
+ *
+ * Stages that see the records once they were renamed for the destination report them under the
+ * name of their source stream, see [setSourceStream], so that the latencies of a stream have the
+ * same key in every stage.
+ */
+class StreamStopwatch {
+  private val otherMessages = Stopwatch()
+  private val untrackedStreams = Stopwatch(LatencyHistogram.COARSE_SUB_BUCKET_BITS)
+  private val trackedStreams = AtomicInteger()
+
+  // Keyed by namespace then name to look the stopwatch of a record up without allocating a key.
+  private val streams = ConcurrentHashMap<String, ConcurrentHashMap<String, Stopwatch>>()
+
+  // Key of the source stream of the streams that were renamed for the destination, keyed like the stopwatches.
+  private val sourceStreamKeys = ConcurrentHashMap<String, ConcurrentHashMap<String, String>>()
+
+  fun start(message: AirbyteMessage): Stopwatch.StopwatchInstance =
+    if (message.type == AirbyteMessage.Type.RECORD && message.record != null) {
+      getStreamStopwatch(message.record.namespace, message.record.stream).start()
+    } else {
+      otherMessages.start()
+    }
+
+  fun getTotal(): Stopwatch =
+    Stopwatch().also { total ->
+      total.add(otherMessages)
+      total.add(untrackedStreams)
+      streams.values.forEach { byName -> byName.values.forEach { total.add(it) } }
+    }
+
+  /**
+   * Report the records of the stream namespace.name under the key of the source stream they come from. Only the first
+   * source stream is kept when several of them are written to the same destination stream.
+   */
+  fun setSourceStream(
+    namespace: String?,
+    name: String?,
+    sourceNamespace: String?,
+    sourceName: String?,
+  ) {
+    val byName = sourceStreamKeys[namespace ?: NO_NAMESPACE] ?: sourceStreamKeys.computeIfAbsent(namespace ?: NO_NAMESPACE) { ConcurrentHashMap() }
+    if (!byName.containsKey(name ?: "")) {
+      byName.putIfAbsent(name ?: "", toKey(sourceNamespace ?: NO_NAMESPACE, sourceName ?: ""))
+    }
+  }
+
+  /**
+   * The stopwatch of each tracked stream that had records, keyed by namespace.name or by name when the stream
+   * doesn't have a namespace. Streams renamed for the destination are keyed by their source stream.
+   */
+  fun getPerStream(): Map<String, Stopwatch> =
+    streams.flatMap { (namespace, byName) ->
+      byName.map { (name, stopwatch) -> (sourceStreamKeys[namespace]?.get(name) ?: toKey(namespace, name)) to stopwatch }
+    }.toMap()
+
+  private fun toKey(
+    namespace: String,
+    name: String,
+  ): String = if (namespace == NO_NAMESPACE) name else "$namespace.$name"
+
+  private fun getStreamStopwatch(
+    namespace: String?,
+    name: String?,
+  ): Stopwatch {
+    val byName = streams[namespace ?: NO_NAMESPACE] ?: streams.computeIfAbsent(namespace ?: NO_NAMESPACE) { ConcurrentHashMap() }
+    return byName[name ?: ""] ?: if (trackedStreams.get() >= MAX_TRACKED_STREAMS) {
+      untrackedStreams
+    } else {
+      byName.computeIfAbsent(name ?: "") {
+        trackedStreams.incrementAndGet()
+        Stopwatch(LatencyHistogram.COARSE_SUB_BUCKET_BITS)
+      }
+    }
+  }
+
+  companion object {
+    const val MAX_TRACKED_STREAMS = 200
+    private const val NO_NAMESPACE = ""
+  }
+}
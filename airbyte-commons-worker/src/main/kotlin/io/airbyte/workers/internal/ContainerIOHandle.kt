@@ -4,6 +4,8 @@
 
 package io.airbyte.workers.internal
 
+import io.airbyte.commons.io.IOs
+import io.airbyte.protocol.models.AirbyteMessage
 import io.airbyte.workers.pod.FileConstants
 import io.github.oshai.kotlinlogging.KotlinLogging
 import org.apache.tools.ant.util.NullOutputStream
@@ -12,6 +14,7 @@ import java.io.InputStream
 import java.io.OutputStream
 import java.nio.channels.Channels
 import java.nio.channels.FileChannel
+import java.nio.channels.ReadableByteChannel
 import java.nio.file.FileSystems
 import java.nio.file.Files
 import java.nio.file.Path
@@ -19,6 +22,7 @@ import java.nio.file.StandardOpenOption
 import java.nio.file.StandardWatchEventKinds
 import java.util.concurrent.CompletableFuture
 import java.util.concurrent.TimeUnit
+import java.util.stream.Stream
 
 private val logger = KotlinLogging.logger {}
 
@@ -28,6 +32,7 @@ data class ContainerIOHandle(
   private val errInputStream: InputStream,
   private val exitValueFile: File,
   private val terminationFile: File,
+  private val inputChannel: ReadableByteChannel? = null,
 ) {
   companion object {
     const val EXIT_CODE_CHECK_EXISTS_FAILURE = "No exit code found."
@@ -44,10 +49,8 @@ data class ContainerIOHandle(
         Channels.newInputStream(
           FileChannel.open(Path.of(FileConstants.DEST_DIR, FileConstants.STDERR_PIPE_FILE), StandardOpenOption.READ),
         )
-      val stdOutPipe =
-        Channels.newInputStream(
-          FileChannel.open(Path.of(FileConstants.DEST_DIR, FileConstants.STDOUT_PIPE_FILE), StandardOpenOption.READ),
-        )
+      val stdOutChannel = FileChannel.open(Path.of(FileConstants.DEST_DIR, FileConstants.STDOUT_PIPE_FILE), StandardOpenOption.READ)
+      val stdOutPipe = Channels.newInputStream(stdOutChannel)
       val stdInPipe = Files.newOutputStream(Path.of(FileConstants.DEST_DIR, FileConstants.STDIN_PIPE_FILE))
       val exitValueFile = Path.of(FileConstants.DEST_DIR, FileConstants.EXIT_CODE_FILE).toFile()
       val terminationFile = Path.of(FileConstants.DEST_DIR, FileConstants.TERMINATION_MARKER_FILE).toFile()
@@ -58,6 +61,7 @@ data class ContainerIOHandle(
         errInputStream = stdErrPipe,
         exitValueFile = exitValueFile,
         terminationFile = terminationFile,
+        inputChannel = stdOutChannel,
       )
     }
 
@@ -68,10 +72,8 @@ data class ContainerIOHandle(
         Channels.newInputStream(
           FileChannel.open(Path.of(FileConstants.SOURCE_DIR, FileConstants.STDERR_PIPE_FILE), StandardOpenOption.READ),
         )
-      val stdOutPipe =
-        Channels.newInputStream(
-          FileChannel.open(Path.of(FileConstants.SOURCE_DIR, FileConstants.STDOUT_PIPE_FILE), StandardOpenOption.READ),
-        )
+      val stdOutChannel = FileChannel.open(Path.of(FileConstants.SOURCE_DIR, FileConstants.STDOUT_PIPE_FILE), StandardOpenOption.READ)
+      val stdOutPipe = Channels.newInputStream(stdOutChannel)
       val nullPipe = NullOutputStream.INSTANCE
       val exitValueFile = Path.of(FileConstants.SOURCE_DIR, FileConstants.EXIT_CODE_FILE).toFile()
       val terminationFile = Path.of(FileConstants.SOURCE_DIR, FileConstants.TERMINATION_MARKER_FILE).toFile()
@@ -82,6 +84,7 @@ data class ContainerIOHandle(
         errInputStream = stdErrPipe,
         exitValueFile = exitValueFile,
         terminationFile = terminationFile,
+        inputChannel = stdOutChannel,
       )
     }
   }
@@ -94,6 +97,14 @@ data class ContainerIOHandle(
     return inputStream
   }
 
+  /**
+   * Channel backing the input stream, for consumers that read the connector output at the byte level.
+   * Only one of the input stream or the input channel should be consumed.
+   */
+  fun getInputChannel(): ReadableByteChannel {
+    return inputChannel ?: Channels.newChannel(inputStream)
+  }
+
   fun getOutputStream(): OutputStream {
     return outputStream
   }
@@ -146,3 +157,14 @@ data class ContainerIOHandle(
     }
   }
 }
+
+/**
+ * Create the stream of messages emitted by the container, reading its output at the byte level when
+ * the factory supports it.
+ */
+fun AirbyteStreamFactory.createMessageStream(containerIOHandle: ContainerIOHandle): Stream<AirbyteMessage> =
+  if (this is ByteChannelAirbyteStreamFactory<*>) {
+    create(containerIOHandle.getInputChannel())
+  } else {
+    create(IOs.newBufferedReader(containerIOHandle.getInputStream()))
+  }
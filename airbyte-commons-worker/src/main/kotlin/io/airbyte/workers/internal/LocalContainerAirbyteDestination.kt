@@ -7,7 +7,6 @@ package io.airbyte.workers.internal
 import com.google.common.annotations.VisibleForTesting
 import dev.failsafe.Failsafe
 import dev.failsafe.function.CheckedRunnable
-import io.airbyte.commons.io.IOs
 import io.airbyte.commons.io.LineGobbler
 import io.airbyte.commons.logging.LogSource
 import io.airbyte.commons.logging.MdcScope
@@ -18,6 +17,7 @@ import io.airbyte.workers.internal.LocalContainerConstants.ACCEPTED_MESSAGE_TYPE
 import io.airbyte.workers.internal.LocalContainerConstants.IGNORED_EXIT_CODES
 import io.airbyte.workers.internal.LocalContainerConstants.LOCAL_CONTAINER_RETRY_POLICY
 import io.github.oshai.kotlinlogging.KotlinLogging
+import java.io.BufferedOutputStream
 import java.io.BufferedWriter
 import java.io.IOException
 import java.io.OutputStreamWriter
@@ -76,13 +76,15 @@ class LocalContainerAirbyteDestination(
     LineGobbler.gobble(containerIOHandle.getErrInputStream(), { msg: String -> logger.error { msg } }, CALLER, containerLogMdcBuilder)
 
     // TODO are these the correct pipes?
-    writer = messageWriterFactory.createWriter(BufferedWriter(OutputStreamWriter(containerIOHandle.getOutputStream(), Charsets.UTF_8)))
+    // The lines records were read from are written to the output as they are, it is buffered as well.
+    val output = BufferedOutputStream(containerIOHandle.getOutputStream())
+    writer = messageWriterFactory.createWriter(BufferedWriter(OutputStreamWriter(output, Charsets.UTF_8)), output)
 
     Failsafe.with(LOCAL_CONTAINER_RETRY_POLICY).run(
       CheckedRunnable {
         messageIterator =
           streamFactory
-            .create(IOs.newBufferedReader(containerIOHandle.getInputStream()))
+            .createMessageStream(containerIOHandle)
             .filter { message: AirbyteMessage -> ACCEPTED_MESSAGE_TYPES.contains(message.type) }
             .iterator()
       },
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal
+
+import com.fasterxml.jackson.databind.node.TextNode
+import io.airbyte.commons.json.Jsons
+import io.airbyte.protocol.models.AirbyteMessage
+import io.airbyte.protocol.models.AirbyteRecordMessage
+
+/**
+ * Estimates how much memory a message holds in the replication buffers.
+ *
+ * Records use the size of the line they were read from when the stream factory attached it, see
+ * [RecordSerializedSize] and [SourceRecordLine], and fall back to [estimateSerializedSize]. Other
+ * messages are rare and small enough to be counted as a fixed size.
+ *
+ * The size is detached from the records once they are processed, the processed records are queued
+ * for the destination with the size tracked in the stats rather than estimated again here.
+ */
+object MessageSizeEstimator {
+  const val NON_RECORD_MESSAGE_SIZE_IN_BYTES = 1024L
+
+  @JvmStatic
+  fun estimate(message: AirbyteMessage): Long {
+    if (message.type != AirbyteMessage.Type.RECORD || message.record == null) {
+      return NON_RECORD_MESSAGE_SIZE_IN_BYTES
+    }
+    val additionalProperties = message.record.additionalProperties
+    (additionalProperties[RecordSerializedSize.ADDITIONAL_PROPERTY_KEY] as? Long)?.let { return it }
+    (additionalProperties[SourceRecordLine.ADDITIONAL_PROPERTY_KEY] as? ByteArray)?.let { return it.size.toLong() }
+    return estimateSerializedSize(message.record)
+  }
+
+  /**
+   * Estimated size of the line a record message is serialized to, without serializing it, so that it can stand in for the size of
+   * the line the source emitted when the stream factory didn't attach it. It includes the message envelope, the stream, namespace,
+   * data, emitted_at and meta of the record, but not its additional properties: the ones of the platform are detached before the
+   * record is written.
+   */
+  @JvmStatic
+  fun estimateSerializedSize(record: AirbyteRecordMessage): Long {
+    var size = RECORD_ENVELOPE.length.toLong() + quotedLength(record.stream ?: "")
+    record.namespace?.let { size += NAMESPACE_FIELD.length + quotedLength(it) }
+    record.data?.let { size += DATA_FIELD.length + Jsons.getEstimatedByteSize(it) }
+    record.emittedAt?.let { size += EMITTED_AT_FIELD.length + it.toString().length }
+    record.meta?.let { size += META_FIELD.length + Jsons.getEstimatedByteSize(Jsons.jsonNode(it)) }
+    return size
+  }
+
+  private fun quotedLength(value: String): Long = Jsons.getEstimatedByteSize(TextNode.valueOf(value)).toLong()
+
+  // The parts of the serialization of a record message that don't depend on its content, the stream name being mandatory.
+  private const val RECORD_ENVELOPE = """{"type":"RECORD","record":{"stream":}}"""
+  private const val NAMESPACE_FIELD = ""","namespace":"""
+  private const val DATA_FIELD = ""","data":"""
+  private const val EMITTED_AT_FIELD = ""","emitted_at":"""
+  private const val META_FIELD = ""","meta":"""
+}
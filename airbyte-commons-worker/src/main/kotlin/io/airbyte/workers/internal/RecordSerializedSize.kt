@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal
+
+import io.airbyte.protocol.models.AirbyteMessage
+
+/**
+ * Carries the size of the line a record was deserialized from alongside the record itself.
+ *
+ * The stream factories already know how many bytes a message took on the wire. Rather than
+ * serializing the record again to compute its size for the stats, the size is stashed as a platform
+ * reserved additional property of the record and removed as soon as the message is processed by the
+ * replication, before it can reach a destination.
+ */
+object RecordSerializedSize {
+  const val ADDITIONAL_PROPERTY_KEY = "_airbyte_platform_serialized_size_in_bytes"
+
+  @JvmStatic
+  fun attach(
+    message: AirbyteMessage,
+    sizeInBytes: Long,
+  ) {
+    if (message.type == AirbyteMessage.Type.RECORD && message.record != null) {
+      message.record.setAdditionalProperty(ADDITIONAL_PROPERTY_KEY, sizeInBytes)
+    }
+  }
+
+  /**
+   * Remove the size from the record and return it.
+   *
+   * @return the size of the original line in bytes, null if the message is not a record or if no size
+   * was attached.
+   */
+  @JvmStatic
+  fun detach(message: AirbyteMessage): Long? {
+    if (message.type != AirbyteMessage.Type.RECORD) {
+      return null
+    }
+    return message.record?.additionalProperties?.remove(ADDITIONAL_PROPERTY_KEY) as? Long
+  }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal
+
+import io.airbyte.protocol.models.AirbyteMessage
+
+/**
+ * Carries the line a record was read from alongside the record itself.
+ *
+ * When a record reaches the destination unchanged, the writer can send the original line instead of
+ * serializing the record again. The line is kept as its UTF-8 bytes, it is only decoded when it is
+ * written rather than for every record as it is read. The line is stashed as a platform reserved additional property of the
+ * record, the replication removes it as soon as it processes the message and only puts it back if the
+ * record wasn't modified. The destination writer always removes it before writing.
+ */
+object SourceRecordLine {
+  const val ADDITIONAL_PROPERTY_KEY = "_airbyte_platform_source_line"
+
+  @JvmStatic
+  fun attach(
+    message: AirbyteMessage,
+    line: ByteArray,
+  ) {
+    if (message.type == AirbyteMessage.Type.RECORD && message.record != null) {
+      message.record.setAdditionalProperty(ADDITIONAL_PROPERTY_KEY, line)
+    }
+  }
+
+  /**
+   * Remove the line from the record and return it.
+   *
+   * @return the UTF-8 bytes of the line the record was read from, null if the message is not a record or if no line was
+   * attached.
+   */
+  @JvmStatic
+  fun detach(message: AirbyteMessage): ByteArray? {
+    if (message.type != AirbyteMessage.Type.RECORD) {
+      return null
+    }
+    return message.record?.additionalProperties?.remove(ADDITIONAL_PROPERTY_KEY) as? ByteArray
+  }
+}
@@ -35,13 +35,23 @@ class AirbyteMessageTracker(
    * by the Platform.
    *
    * @param msg message to derive metadata from.
+   * @param serializedSizeInBytes size of the message as read from the source, if known.
    */
-  fun acceptFromSource(msg: AirbyteMessage) {
+  @JvmOverloads
+  fun acceptFromSource(
+    msg: AirbyteMessage,
+    serializedSizeInBytes: Long? = null,
+  ) {
     logMsgAsJson("source", msg)
 
     when (msg.type) {
       AirbyteMessage.Type.TRACE -> handleEmittedTrace(msg.trace, AirbyteMessageOrigin.SOURCE)
-      AirbyteMessage.Type.RECORD -> syncStatsTracker.updateStats(msg.record)
+      AirbyteMessage.Type.RECORD ->
+        if (serializedSizeInBytes != null) {
+          syncStatsTracker.updateStats(msg.record, serializedSizeInBytes)
+        } else {
+          syncStatsTracker.updateStats(msg.record)
+        }
       AirbyteMessage.Type.STATE -> syncStatsTracker.updateSourceStatesStats(msg.state)
       AirbyteMessage.Type.CONTROL -> logger.debug { "Control message not currently tracked." }
       else -> logger.warn { "Invalid message type for message: $msg" }
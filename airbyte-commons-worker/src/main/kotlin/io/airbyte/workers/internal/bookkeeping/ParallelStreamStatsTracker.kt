@@ -18,6 +18,7 @@ import io.micronaut.context.annotation.Prototype
 import io.micronaut.context.annotation.Value
 import jakarta.inject.Named
 import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentLinkedQueue
 import java.util.concurrent.atomic.AtomicLong
 
 private val logger = KotlinLogging.logger { }
@@ -27,6 +28,58 @@ private data class SyncStatsCounters(
   val estimatedBytesCount: AtomicLong = AtomicLong(),
 )
 
+/**
+ * Record counts for the checksum validation of global states.
+ *
+ * A global state covers the records of every stream since the previous global state. Counting them
+ * as they are tracked makes validating a global state cost the same no matter how many streams the
+ * sync has, instead of summing the counters of every [StreamStatsTracker]. The counters are staged
+ * with the id of the state when the source emits it, until the destination acks it.
+ */
+private class GlobalStateStatsCounters {
+  @Volatile
+  private var emittedStats = EmittedStatsCounters()
+  private val stagedStats = ConcurrentHashMap<Int, EmittedStatsCounters>()
+  private val stagedStateIds = ConcurrentLinkedQueue<Int>()
+
+  fun trackRecord() {
+    emittedStats.remittedRecordsCount.incrementAndGet()
+  }
+
+  fun trackFilteredOutRecord() {
+    emittedStats.filteredOutRecords.incrementAndGet()
+  }
+
+  /**
+   * Stage the records counted since the previous global state with the given state and start counting
+   * anew.
+   */
+  fun stage(stateId: Int): EmittedStatsCounters {
+    val staged = emittedStats
+    emittedStats = EmittedStatsCounters()
+    if (stagedStats.put(stateId, staged) == null) {
+      stagedStateIds.add(stateId)
+    }
+    return staged
+  }
+
+  /**
+   * Un-stage the counters of the given state, along with the ones of the states staged before it that
+   * the destination skipped. Returns null if the state isn't staged.
+   */
+  fun unstage(stateId: Int): EmittedStatsCounters? {
+    val staged = stagedStats[stateId] ?: return null
+    while (true) {
+      val stagedStateId = stagedStateIds.poll() ?: break
+      stagedStats.remove(stagedStateId)
+      if (stagedStateId == stateId) {
+        break
+      }
+    }
+    return staged
+  }
+}
+
 @Prototype
 @Named("parallelStreamStatsTracker")
 class ParallelStreamStatsTracker(
@@ -36,6 +89,7 @@ class ParallelStreamStatsTracker(
 ) : SyncStatsTracker {
   private val streamTrackers: MutableMap<AirbyteStreamNameNamespacePair, StreamStatsTracker> = ConcurrentHashMap()
   private val syncStatsCounters = SyncStatsCounters()
+  private val globalStateStatsCounters = GlobalStateStatsCounters()
   private var expectedEstimateType: Type? = null
   private var replicationFeatureFlags: ReplicationFeatureFlags? = null
 
@@ -47,11 +101,30 @@ class ParallelStreamStatsTracker(
 
   override fun updateFilteredOutRecordsStats(recordMessage: AirbyteRecordMessage) {
     getOrCreateStreamStatsTracker(getNameNamespacePair(recordMessage)).updateFilteredOutRecordsStats(recordMessage)
+    globalStateStatsCounters.trackFilteredOutRecord()
+  }
+
+  override fun updateFilteredOutRecordsStats(
+    recordMessage: AirbyteRecordMessage,
+    serializedSizeInBytes: Long,
+  ) {
+    getOrCreateStreamStatsTracker(getNameNamespacePair(recordMessage)).updateFilteredOutRecordsStats(recordMessage, serializedSizeInBytes)
+    globalStateStatsCounters.trackFilteredOutRecord()
   }
 
   override fun updateStats(recordMessage: AirbyteRecordMessage) {
     getOrCreateStreamStatsTracker(getNameNamespacePair(recordMessage))
       .trackRecord(recordMessage)
+    globalStateStatsCounters.trackRecord()
+  }
+
+  override fun updateStats(
+    recordMessage: AirbyteRecordMessage,
+    serializedSizeInBytes: Long,
+  ) {
+    getOrCreateStreamStatsTracker(getNameNamespacePair(recordMessage))
+      .trackRecord(recordMessage, serializedSizeInBytes)
+    globalStateStatsCounters.trackRecord()
   }
 
   override fun updateEstimates(estimate: AirbyteEstimateTraceMessage) {
@@ -110,7 +183,7 @@ class ParallelStreamStatsTracker(
           origin = AirbyteMessageOrigin.SOURCE,
           failOnInvalidChecksum = failOnInvalidChecksum,
           checksumValidationEnabled = checksumValidationEnabled,
-          streamPlatformRecordCounts = getStreamToEmittedRecords(),
+          streamPlatformRecordCounts = { getStreamToEmittedRecords() },
         )
       }
     }
@@ -147,7 +220,7 @@ class ParallelStreamStatsTracker(
           origin = AirbyteMessageOrigin.DESTINATION,
           failOnInvalidChecksum = failOnInvalidChecksum,
           checksumValidationEnabled = checksumValidationEnabled,
-          streamPlatformRecordCounts = getStreamToCommittedRecords(),
+          streamPlatformRecordCounts = { getStreamToCommittedRecords() },
           filteredOutRecords = filteredOutRecords.toDouble(),
         )
         statsTracker.trackStateFromDestination(stateMessage)
@@ -179,37 +252,32 @@ class ParallelStreamStatsTracker(
     origin: AirbyteMessageOrigin,
     failOnInvalidChecksum: Boolean,
   ) {
-    val expectedRecordCount = streamTrackers.values.sumOf { getEmittedCount(origin, stateMessage, it).toDouble() }
+    val stateId = stateMessage.getStateIdForStatsTracking()
+    val stateStats =
+      when (origin) {
+        AirbyteMessageOrigin.SOURCE -> globalStateStatsCounters.stage(stateId)
+        AirbyteMessageOrigin.DESTINATION ->
+          globalStateStatsCounters.unstage(stateId)
+            ?: EmittedStatsCounters().also { logger.warn { "Could not find the global state message with id $stateId in the staged stats" } }
+        AirbyteMessageOrigin.INTERNAL -> EmittedStatsCounters()
+      }
     val filteredOutRecords =
       if (origin == AirbyteMessageOrigin.DESTINATION) {
-        streamTrackers.values.sumOf { it.getTrackedFilteredOutRecordsSinceLastStateMessage(stateMessage) }
+        stateStats.filteredOutRecords.get()
       } else {
         0
       }
     stateCheckSumEventHandler.validateStateChecksum(
       stateMessage = stateMessage,
-      platformRecordCount = expectedRecordCount,
+      platformRecordCount = stateStats.remittedRecordsCount.get().toDouble(),
       origin = origin,
       failOnInvalidChecksum = failOnInvalidChecksum,
       checksumValidationEnabled = checksumValidationEnabled,
       includeStreamInLogs = false,
-      streamPlatformRecordCounts = getStreamToEmittedRecords(),
       filteredOutRecords = filteredOutRecords.toDouble(),
     )
   }
 
-  private fun getEmittedCount(
-    origin: AirbyteMessageOrigin,
-    stateMessage: AirbyteStateMessage,
-    tracker: StreamStatsTracker,
-  ): Long {
-    return when (origin) {
-      AirbyteMessageOrigin.SOURCE -> tracker.getTrackedEmittedRecordsSinceLastStateMessage()
-      AirbyteMessageOrigin.DESTINATION -> tracker.getTrackedEmittedRecordsSinceLastStateMessage(stateMessage)
-      AirbyteMessageOrigin.INTERNAL -> 0
-    }
-  }
-
   /**
    * Return [SyncStats] for the sync. SyncStats is the sum of the stats of all the streams.
    *
@@ -10,6 +10,7 @@ import io.airbyte.protocol.models.AirbyteEstimateTraceMessage
 import io.airbyte.protocol.models.AirbyteRecordMessage
 import io.airbyte.protocol.models.AirbyteStateMessage
 import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair
+import io.airbyte.workers.internal.MessageSizeEstimator
 import io.airbyte.workers.models.StateWithId
 import io.github.oshai.kotlinlogging.KotlinLogging
 import java.time.LocalDateTime
@@ -108,9 +109,18 @@ class StreamStatsTracker(
   private var previousEmittedStats = EmittedStatsCounters()
   private var previousStateMessageReceivedAt: LocalDateTime? = null
 
-  fun updateFilteredOutRecordsStats(recordMessage: AirbyteRecordMessage) {
+  /**
+   * Bookkeeping for when a record is filtered out by the mappers.
+   *
+   * @param serializedSizeInBytes size of the record as it was read from the source, see [trackRecord].
+   */
+  @JvmOverloads
+  fun updateFilteredOutRecordsStats(
+    recordMessage: AirbyteRecordMessage,
+    serializedSizeInBytes: Long? = null,
+  ) {
     val emittedStatsToUpdate = emittedStats
-    val filteredOutByteSize = Jsons.getEstimatedByteSize(recordMessage.data).toLong()
+    val filteredOutByteSize = serializedSizeInBytes ?: MessageSizeEstimator.estimateSerializedSize(recordMessage)
     with(emittedStatsToUpdate) {
       filteredOutRecords.incrementAndGet()
       filteredOutBytesCount.addAndGet(filteredOutByteSize)
@@ -127,18 +137,28 @@ class StreamStatsTracker(
    * We update emitted records count on both emittedStats and streamStats. emittedStats is the tracker
    * for what is going to become committed once the state is acked. We update the global count to
    * avoid having to traverse the map to get the global count.
+   *
+   * @param serializedSizeInBytes size of the line the source emitted for the record, if known. When
+   * null, it is estimated from the record, see [MessageSizeEstimator.estimateSerializedSize]. The
+   * replication always provides it: the size attached by the stream factory, or the same estimate
+   * when it wasn't attached. In both cases it is measured before the fields are selected or the
+   * mappers modify the record, so that the bytes emitted don't depend on the configuration.
    */
-  fun trackRecord(recordMessage: AirbyteRecordMessage) {
+  @JvmOverloads
+  fun trackRecord(
+    recordMessage: AirbyteRecordMessage,
+    serializedSizeInBytes: Long? = null,
+  ) {
     // TODO: we can probably wrap this in an extension method and encapsulate the keys somewhere as constants.
     val estimatedBytesSize: Long =
       if (!useFileTransfer) {
-        Jsons.getEstimatedByteSize(recordMessage.data).toLong()
+        serializedSizeInBytes ?: MessageSizeEstimator.estimateSerializedSize(recordMessage)
       } else {
         recordMessage.additionalProperties["file"]?.let {
           logger.info { "Received a file transfer record: $it" }
           val fileTransferInformations = Jsons.deserialize(Jsons.serialize(it), FileTransferInformations::class.java)
           fileTransferInformations.bytes
-        } ?: Jsons.getEstimatedByteSize(recordMessage.data).toLong()
+        } ?: MessageSizeEstimator.estimateSerializedSize(recordMessage)
       }
 
     // Update the current emitted stats
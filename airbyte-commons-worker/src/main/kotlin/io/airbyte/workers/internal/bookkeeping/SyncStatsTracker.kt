@@ -15,11 +15,29 @@ import io.airbyte.workers.context.ReplicationFeatureFlags
 interface SyncStatsTracker {
   fun updateFilteredOutRecordsStats(recordMessage: AirbyteRecordMessage)
 
+  /**
+   * Update the filtered out stats with data from recordMessage, using the provided size rather than
+   * estimating it from the record data.
+   */
+  fun updateFilteredOutRecordsStats(
+    recordMessage: AirbyteRecordMessage,
+    serializedSizeInBytes: Long,
+  )
+
   /**
    * Update the stats count with data from recordMessage.
    */
   fun updateStats(recordMessage: AirbyteRecordMessage)
 
+  /**
+   * Update the stats count with data from recordMessage, using the provided size rather than
+   * estimating it from the record data.
+   */
+  fun updateStats(
+    recordMessage: AirbyteRecordMessage,
+    serializedSizeInBytes: Long,
+  )
+
   /**
    * There are several assumptions here:
    *
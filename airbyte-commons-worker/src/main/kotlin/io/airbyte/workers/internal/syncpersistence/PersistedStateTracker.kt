@@ -0,0 +1,76 @@
+package io.airbyte.workers.internal.syncpersistence
+
+import com.fasterxml.jackson.databind.JsonNode
+import io.airbyte.config.StateType
+import io.airbyte.config.StateWrapper
+import io.airbyte.protocol.models.AirbyteGlobalState
+import io.airbyte.protocol.models.AirbyteStateMessage
+import io.airbyte.protocol.models.AirbyteStreamState
+import io.airbyte.protocol.models.StreamDescriptor
+
+/**
+ * Keeps track of the states that were successfully persisted for a connection in order to only send the
+ * streams whose state changed since the last successful flush.
+ *
+ * States are compared by value, a stream emitting the same state again isn't sent again. Since the
+ * tracker is only updated once a flush succeeds, the changes of a failed flush are computed again from
+ * the merged states on the next attempt.
+ */
+internal class PersistedStateTracker {
+  private val persistedStreamStates = mutableMapOf<StreamDescriptor, JsonNode?>()
+  private var persistedSharedState: JsonNode? = null
+  private var hasPersistedSharedState = false
+
+  /**
+   * Return the part of the state that changed since the last persisted state, null if nothing changed.
+   *
+   * Legacy states are not split by stream and are always returned as is.
+   */
+  fun getChanges(stateWrapper: StateWrapper): StateWrapper? =
+    when (stateWrapper.stateType) {
+      StateType.STREAM -> {
+        val changedStreams = stateWrapper.stateMessages.filter { hasChanged(it.stream) }
+        if (changedStreams.isEmpty()) {
+          null
+        } else {
+          StateWrapper().withStateType(StateType.STREAM).withStateMessages(changedStreams)
+        }
+      }
+      StateType.GLOBAL -> {
+        val globalState = stateWrapper.global.global
+        val changedStreams = globalState.streamStates.filter { hasChanged(it) }
+        if (changedStreams.isEmpty() && hasPersistedSharedState && persistedSharedState == globalState.sharedState) {
+          null
+        } else {
+          // The shared state is always sent along with the streams to keep the global state consistent.
+          StateWrapper()
+            .withStateType(StateType.GLOBAL)
+            .withGlobal(
+              AirbyteStateMessage()
+                .withType(AirbyteStateMessage.AirbyteStateType.GLOBAL)
+                .withGlobal(AirbyteGlobalState().withSharedState(globalState.sharedState).withStreamStates(changedStreams)),
+            )
+        }
+      }
+      else -> stateWrapper
+    }
+
+  /**
+   * Record the states that have been successfully persisted.
+   */
+  fun markPersisted(stateWrapper: StateWrapper) {
+    when (stateWrapper.stateType) {
+      StateType.STREAM -> stateWrapper.stateMessages.forEach { persistedStreamStates[it.stream.streamDescriptor] = it.stream.streamState }
+      StateType.GLOBAL -> {
+        val globalState = stateWrapper.global.global
+        persistedSharedState = globalState.sharedState
+        hasPersistedSharedState = true
+        globalState.streamStates.forEach { persistedStreamStates[it.streamDescriptor] = it.streamState }
+      }
+      else -> {}
+    }
+  }
+
+  private fun hasChanged(streamState: AirbyteStreamState): Boolean =
+    !persistedStreamStates.containsKey(streamState.streamDescriptor) || persistedStreamStates[streamState.streamDescriptor] != streamState.streamState
+}
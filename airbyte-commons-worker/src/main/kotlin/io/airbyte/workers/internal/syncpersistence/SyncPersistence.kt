@@ -75,6 +75,7 @@ class SyncPersistenceImpl
     private var persistedStats: SaveStatsRequestBody? = null
     private var statsToPersist: SaveStatsRequestBody? = null
     private var retryWithJitterConfig: RetryWithJitterConfig? = null
+    private val persistedStateTracker = PersistedStateTracker()
 
     constructor(
       airbyteApiClient: AirbyteApiClient,
@@ -263,19 +264,27 @@ class SyncPersistenceImpl
       val state = stateToFlush?.getAggregated() ?: return
       val maybeStateWrapper = StateMessageHelper.getTypedState(state.state).getOrNull() ?: return
 
+      // Only the streams which changed since the last successful flush are sent, the other ones are already persisted.
+      val changedState = persistedStateTracker.getChanges(maybeStateWrapper)
+      if (changedState == null) {
+        stateToFlush = null
+        return
+      }
+
       metricClient.count(OssMetricsRegistry.STATE_COMMIT_ATTEMPT, 1)
 
       val stateApiRequest =
-        ConnectionStateCreateOrUpdate(connectionId = connectionId, connectionState = StateConverter.toClient(connectionId, maybeStateWrapper))
+        ConnectionStateCreateOrUpdate(connectionId = connectionId, connectionState = StateConverter.toClient(connectionId, changedState))
 
       try {
-        airbyteApiClient.stateApi.createOrUpdateState(stateApiRequest)
+        airbyteApiClient.stateApi.createOrUpdateStateStreams(stateApiRequest)
       } catch (e: Exception) {
         metricClient.count(OssMetricsRegistry.STATE_COMMIT_ATTEMPT_FAILED, 1)
         throw e
       }
 
       // Only reset stateToFlush if the API call was successful
+      persistedStateTracker.markPersisted(changedState)
       stateToFlush = null
       metricClient.count(OssMetricsRegistry.STATE_COMMIT_ATTEMPT_SUCCESSFUL, 1)
     }
@@ -307,6 +316,14 @@ class SyncPersistenceImpl
       syncStatsTracker.updateStats(recordMessage)
     }
 
+    override fun updateStats(
+      recordMessage: AirbyteRecordMessage,
+      serializedSizeInBytes: Long,
+    ) {
+      isReceivingStats = true
+      syncStatsTracker.updateStats(recordMessage, serializedSizeInBytes)
+    }
+
     override fun updateEstimates(estimate: AirbyteEstimateTraceMessage) {
       isReceivingStats = true
       syncStatsTracker.updateEstimates(estimate)
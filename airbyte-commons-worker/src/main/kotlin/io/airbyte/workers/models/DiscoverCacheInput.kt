@@ -0,0 +1,13 @@
+package io.airbyte.workers.models
+
+import java.util.UUID
+
+data class DiscoverCacheInput(
+  val sourceId: UUID?,
+  val connectionId: UUID?,
+  val workspaceId: UUID?,
+  val connectorVersion: String?,
+  val configHash: String?,
+) {
+  constructor() : this(null, null, null, null, null)
+}
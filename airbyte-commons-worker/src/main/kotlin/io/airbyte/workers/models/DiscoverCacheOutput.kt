@@ -0,0 +1,10 @@
+package io.airbyte.workers.models
+
+import java.util.UUID
+
+/**
+ * The catalog a sync can reuse instead of running a discover, null if it has to run one.
+ */
+data class DiscoverCacheOutput(val catalogId: UUID?) {
+  constructor() : this(null)
+}
@@ -2,6 +2,6 @@ package io.airbyte.workers.models
 
 import java.util.UUID
 
-data class PostprocessCatalogInput(val catalogId: UUID?, val connectionId: UUID?) {
-  constructor() : this(null, null)
+data class PostprocessCatalogInput(val catalogId: UUID?, val connectionId: UUID?, val discoverRunTimeMillis: Long? = null) {
+  constructor() : this(null, null, null)
 }
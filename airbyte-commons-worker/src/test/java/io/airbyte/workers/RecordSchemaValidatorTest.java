@@ -6,12 +6,14 @@ package io.airbyte.workers;
 
 import static org.junit.Assert.assertEquals;
 
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.airbyte.commons.resources.MoreResources;
 import io.airbyte.persistence.job.models.ReplicationInput;
 import io.airbyte.protocol.models.AirbyteMessage;
 import io.airbyte.protocol.models.AirbyteStream;
 import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
 import io.airbyte.protocol.models.Jsons;
+import io.airbyte.validation.json.JsonSchemaValidator;
 import io.airbyte.workers.testutils.AirbyteMessageUtils;
 import io.airbyte.workers.testutils.TestConfigHelpers;
 import java.io.IOException;
@@ -20,10 +22,14 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
 import kotlin.Pair;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -100,6 +106,107 @@ class RecordSchemaValidatorTest {
     assertEquals(2, uncountedValidationErrors.get(AIRBYTE_STREAM_NAME_NAMESPACE_PAIR).size());
   }
 
+  @Test
+  void testValidationStopsAtErrorLimit() throws InterruptedException {
+    final var executorService = Executors.newFixedThreadPool(1);
+    final var recordSchemaValidator = new RecordSchemaValidator(WorkerUtils.mapStreamNamesToSchemas(replicationInput.getCatalog()), executorService);
+
+    IntStream.range(0, RecordSchemaValidator.MAX_RECORDS_WITH_ERRORS_PER_STREAM + 5)
+        .forEach(i -> recordSchemaValidator.validateSchema(INVALID_RECORD_1.getRecord(), AIRBYTE_STREAM_NAME_NAMESPACE_PAIR, validationErrors));
+
+    executorService.shutdown();
+    executorService.awaitTermination(3, TimeUnit.SECONDS);
+    assertEquals(RecordSchemaValidator.MAX_RECORDS_WITH_ERRORS_PER_STREAM, (int) validationErrors.get(AIRBYTE_STREAM_NAME_NAMESPACE_PAIR).getSecond());
+  }
+
+  @Test
+  void testValidationIsSampled() throws InterruptedException {
+    final var executorService = Executors.newFixedThreadPool(1);
+    final var recordSchemaValidator = new RecordSchemaValidator(WorkerUtils.mapStreamNamesToSchemas(replicationInput.getCatalog()), executorService,
+        new JsonSchemaValidator(), 2);
+    final List<AirbyteMessage> messagesToValidate = List.of(INVALID_RECORD_1, VALID_RECORD, INVALID_RECORD_2, VALID_RECORD);
+
+    messagesToValidate.stream()
+        .filter(message -> recordSchemaValidator.isSampled(AIRBYTE_STREAM_NAME_NAMESPACE_PAIR))
+        .forEach(message -> recordSchemaValidator.validateSchema(
+            message.getRecord(),
+            AIRBYTE_STREAM_NAME_NAMESPACE_PAIR,
+            validationErrors));
+
+    executorService.shutdown();
+    executorService.awaitTermination(3, TimeUnit.SECONDS);
+    // Only the first and third records are validated.
+    assertEquals(2, (int) validationErrors.get(AIRBYTE_STREAM_NAME_NAMESPACE_PAIR).getSecond());
+  }
+
+  @Test
+  void testValidationIsDroppedWhenTheQueueIsFull() throws InterruptedException {
+    final var executorService = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+    final var recordSchemaValidator = new RecordSchemaValidator(WorkerUtils.mapStreamNamesToSchemas(replicationInput.getCatalog()), executorService);
+    final CountDownLatch validationStarted = new CountDownLatch(1);
+    final CountDownLatch validationBlocked = new CountDownLatch(1);
+    executorService.execute(() -> {
+      validationStarted.countDown();
+      try {
+        validationBlocked.await();
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    validationStarted.await();
+
+    final AirbyteMessage invalidRecord = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, 3);
+    List.of(invalidRecord, INVALID_RECORD_2, INVALID_RECORD_2).forEach(message -> recordSchemaValidator.validateSchemaWithoutCounting(
+        message.getRecord(),
+        AIRBYTE_STREAM_NAME_NAMESPACE_PAIR,
+        uncountedValidationErrors,
+        true));
+    // The queued record must be validated as it was when it was submitted.
+    ((ObjectNode) invalidRecord.getRecord().getData()).put(FIELD_NAME, "blue");
+    validationBlocked.countDown();
+
+    executorService.shutdown();
+    executorService.awaitTermination(3, TimeUnit.SECONDS);
+    assertEquals(1, uncountedValidationErrors.get(AIRBYTE_STREAM_NAME_NAMESPACE_PAIR).size());
+    assertEquals(Map.of(AIRBYTE_STREAM_NAME_NAMESPACE_PAIR, 2L), recordSchemaValidator.getDroppedRecordsPerStream());
+  }
+
+  @Test
+  void testValidationIsQueuedWithoutShedding() throws IOException {
+    final var recordSchemaValidator = new RecordSchemaValidator(WorkerUtils.mapStreamNamesToSchemas(replicationInput.getCatalog()), 1, 1, false);
+
+    for (int i = 0; i < RecordSchemaValidator.DEFAULT_VALIDATION_QUEUE_SIZE * 2; i++) {
+      recordSchemaValidator.validateSchemaWithoutCounting(VALID_RECORD.getRecord(), AIRBYTE_STREAM_NAME_NAMESPACE_PAIR, uncountedValidationErrors);
+    }
+
+    assertEquals(Map.of(), recordSchemaValidator.getDroppedRecordsPerStream());
+    recordSchemaValidator.close();
+  }
+
+  @Test
+  void testDataIsValidatedInPlaceWhenNotModifiedLater() throws InterruptedException {
+    final var executorService = Executors.newFixedThreadPool(1);
+    final var recordSchemaValidator = new RecordSchemaValidator(WorkerUtils.mapStreamNamesToSchemas(replicationInput.getCatalog()), executorService);
+    final CountDownLatch validationBlocked = new CountDownLatch(1);
+    executorService.execute(() -> {
+      try {
+        validationBlocked.await();
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+
+    final AirbyteMessage validRecord = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "blue");
+    recordSchemaValidator.validateSchemaWithoutCounting(validRecord.getRecord(), AIRBYTE_STREAM_NAME_NAMESPACE_PAIR, uncountedValidationErrors);
+    // Not copied, the validation sees the data as it is when it runs.
+    ((ObjectNode) validRecord.getRecord().getData()).put(FIELD_NAME, 3);
+    validationBlocked.countDown();
+
+    executorService.shutdown();
+    executorService.awaitTermination(3, TimeUnit.SECONDS);
+    assertEquals(1, uncountedValidationErrors.get(AIRBYTE_STREAM_NAME_NAMESPACE_PAIR).size());
+  }
+
   @Test
   void testMigrationOfIdPropertyToEscapedVersion() throws InterruptedException, IOException {
     final String jsonSchema = MoreResources.readResource("catalog-json-schema-with-id.json");
@@ -41,11 +41,15 @@ class BufferedReplicationWorkerTest extends ReplicationWorkerTest {
         replicationWorkerHelper,
         destinationTimeoutMonitor,
         streamStatusCompletionTracker,
-        BufferConfiguration.withPollTimeout(1),
+        getBufferConfiguration(),
         metricClient,
         replicationInput);
   }
 
+  BufferConfiguration getBufferConfiguration() {
+    return BufferConfiguration.withPollTimeout(1);
+  }
+
   // BufferedReplicationWorkerTests.
   // Tests in this class should be implementation specific, general behavior tests should be added to
   // the ReplicationWorkerTest.
@@ -72,7 +76,7 @@ class BufferedReplicationWorkerTest extends ReplicationWorkerTest {
   void testClosurePropagationWhenCrashInProcessMessage() throws Exception {
     setUpInfiniteSource();
 
-    doThrow(new RuntimeException("Failure in processMessage")).when(messageTracker).acceptFromSource(any());
+    doThrow(new RuntimeException("Failure in processMessage")).when(messageTracker).acceptFromSource(any(), any());
     final var worker = getDefaultReplicationWorker();
 
     final ReplicationOutput output = worker.run(replicationInput, jobRoot);
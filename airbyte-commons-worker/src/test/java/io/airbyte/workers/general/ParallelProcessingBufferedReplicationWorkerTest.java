@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.general;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.airbyte.config.ReplicationOutput;
+import io.airbyte.config.StandardSyncSummary.ReplicationStatus;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.workers.testutils.AirbyteMessageUtils;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs the BufferedReplicationWorker tests with the records transformed on several processing
+ * threads.
+ */
+class ParallelProcessingBufferedReplicationWorkerTest extends BufferedReplicationWorkerTest {
+
+  @Override
+  BufferConfiguration getBufferConfiguration() {
+    return BufferConfiguration.withPollTimeout(1).withProcessingParallelism(4);
+  }
+
+  @Test
+  void testClosurePropagationWhenCrashInTransformRecord() throws Exception {
+    setUpInfiniteSource();
+
+    final var worker = getDefaultReplicationWorker();
+    doThrow(new RuntimeException("Failure in transformRecordFromSource")).when(replicationWorkerHelper).transformRecordFromSource(any());
+
+    final ReplicationOutput output = worker.run(replicationInput, jobRoot);
+    assertEquals(ReplicationStatus.FAILED, output.getReplicationAttemptSummary().getStatus());
+  }
+
+  @Test
+  void testRecordsModifiedByTheTransformWhileQueued() throws Exception {
+    final int recordCount = 1_000;
+    sourceStub.setMessages(IntStream.range(0, recordCount)
+        .mapToObj(i -> AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "blue"))
+        .toArray(AirbyteMessage[]::new));
+
+    final var worker = getDefaultReplicationWorker();
+    // The transform keeps modifying the data of the record while the dispatching thread queues it.
+    doAnswer(invocation -> {
+      final ObjectNode data = (ObjectNode) ((AirbyteMessage) invocation.getArgument(0)).getRecord().getData();
+      for (int i = 0; i < 100; i++) {
+        data.put("field_" + i, i);
+      }
+      for (int i = 0; i < 100; i++) {
+        data.remove("field_" + i);
+      }
+      return invocation.callRealMethod();
+    }).when(replicationWorkerHelper).transformRecordFromSource(any());
+
+    final ReplicationOutput output = worker.run(replicationInput, jobRoot);
+    assertEquals(ReplicationStatus.COMPLETED, output.getReplicationAttemptSummary().getStatus());
+    verify(destination, times(recordCount)).accept(any());
+  }
+
+}
@@ -6,8 +6,11 @@ package io.airbyte.workers.general;
 
 import static io.airbyte.workers.testutils.TestConfigHelpers.DESTINATION_IMAGE;
 import static io.airbyte.workers.testutils.TestConfigHelpers.SOURCE_IMAGE;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
@@ -34,6 +37,7 @@ import io.airbyte.config.WorkerDestinationConfig;
 import io.airbyte.config.adapters.AirbyteJsonRecordAdapter;
 import io.airbyte.featureflag.FeatureFlagClient;
 import io.airbyte.featureflag.TestClient;
+import io.airbyte.mappers.application.CompiledMappers;
 import io.airbyte.mappers.application.RecordMapper;
 import io.airbyte.mappers.transformations.DestinationCatalogGenerator;
 import io.airbyte.persistence.job.models.ReplicationInput;
@@ -51,6 +55,8 @@ import io.airbyte.workers.internal.AirbyteMapper;
 import io.airbyte.workers.internal.AirbyteSource;
 import io.airbyte.workers.internal.AnalyticsMessageTracker;
 import io.airbyte.workers.internal.FieldSelector;
+import io.airbyte.workers.internal.RecordSerializedSize;
+import io.airbyte.workers.internal.SourceRecordLine;
 import io.airbyte.workers.internal.bookkeeping.AirbyteMessageOrigin;
 import io.airbyte.workers.internal.bookkeeping.AirbyteMessageTracker;
 import io.airbyte.workers.internal.bookkeeping.SyncStatsTracker;
@@ -61,6 +67,7 @@ import io.airbyte.workers.internal.syncpersistence.SyncPersistence;
 import io.airbyte.workload.api.client.WorkloadApiClient;
 import io.airbyte.workload.api.client.generated.WorkloadApi;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
@@ -94,6 +101,7 @@ class ReplicationWorkerHelperTest {
   private RecordMapper recordMapper;
   private FeatureFlagClient featureFlagClient;
   private DestinationCatalogGenerator destinationCatalogGenerator;
+  private FieldSelector fieldSelector;
 
   private final ReplicationContext replicationContext = new ReplicationContext(true, UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), 0L,
       1, UUID.randomUUID(), SOURCE_IMAGE, DESTINATION_IMAGE, UUID.randomUUID(), UUID.randomUUID());
@@ -121,8 +129,9 @@ class ReplicationWorkerHelperTest {
     recordMapper = mock(RecordMapper.class);
     featureFlagClient = mock(TestClient.class);
     destinationCatalogGenerator = mock(DestinationCatalogGenerator.class);
+    fieldSelector = mock(FieldSelector.class);
     replicationWorkerHelper = spy(new ReplicationWorkerHelper(
-        mock(FieldSelector.class),
+        fieldSelector,
         mapper,
         messageTracker,
         syncPersistence,
@@ -224,7 +233,7 @@ class ReplicationWorkerHelperTest {
     final AirbyteMessage sourceRawMessage = mock(AirbyteMessage.class);
     final AirbyteMessage mappedSourceMessage = mock(AirbyteMessage.class);
 
-    doReturn(sourceRawMessage).when(replicationWorkerHelper).internalProcessMessageFromSource(sourceRawMessage);
+    doReturn(sourceRawMessage).when(replicationWorkerHelper).internalProcessMessageFromSource(sourceRawMessage, null);
     when(mapper.mapMessage(sourceRawMessage)).thenReturn(mappedSourceMessage);
 
     final Optional<AirbyteMessage> processedMessageFromSource = replicationWorkerHelper.processMessageFromSource(sourceRawMessage);
@@ -232,6 +241,40 @@ class ReplicationWorkerHelperTest {
     assertEquals(Optional.of(mappedSourceMessage), processedMessageFromSource);
   }
 
+  @Test
+  void testSourceLineIsKeptForUnchangedRecords() throws IOException {
+    initializeWithoutMappers();
+    final AirbyteMessage recordMessage = new AirbyteMessage().withType(Type.RECORD)
+        .withRecord(new AirbyteRecordMessage().withStream("stream").withData(Jsons.jsonNode(Map.of("column", "value"))));
+    final byte[] sourceLine = Jsons.serialize(recordMessage).getBytes(StandardCharsets.UTF_8);
+    SourceRecordLine.attach(recordMessage, sourceLine);
+
+    doReturn(recordMessage).when(replicationWorkerHelper).internalProcessMessageFromSource(recordMessage, null);
+    when(mapper.mapMessage(recordMessage)).thenReturn(recordMessage);
+
+    final AirbyteMessage processedMessage = replicationWorkerHelper.processMessageFromSource(recordMessage).orElseThrow();
+
+    assertArrayEquals(sourceLine, SourceRecordLine.detach(processedMessage));
+  }
+
+  @Test
+  void testSourceLineIsDroppedWhenTheStreamIsRenamed() throws IOException {
+    initializeWithoutMappers();
+    final AirbyteMessage recordMessage = new AirbyteMessage().withType(Type.RECORD)
+        .withRecord(new AirbyteRecordMessage().withStream("stream").withData(Jsons.jsonNode(Map.of("column", "value"))));
+    SourceRecordLine.attach(recordMessage, Jsons.serialize(recordMessage).getBytes(StandardCharsets.UTF_8));
+
+    doReturn(recordMessage).when(replicationWorkerHelper).internalProcessMessageFromSource(recordMessage, null);
+    when(mapper.mapMessage(recordMessage)).thenAnswer(invocation -> {
+      recordMessage.getRecord().setStream("prefix_stream");
+      return recordMessage;
+    });
+
+    final AirbyteMessage processedMessage = replicationWorkerHelper.processMessageFromSource(recordMessage).orElseThrow();
+
+    assertNull(SourceRecordLine.detach(processedMessage));
+  }
+
   @Test
   void testMessageMapIsRevertedBeforeProcessing() {
     final AirbyteMessage destinationRawMessage = mock(AirbyteMessage.class);
@@ -312,6 +355,32 @@ class ReplicationWorkerHelperTest {
     assertEquals(supportRefreshes, configCaptor.getValue().getSupportRefreshes());
   }
 
+  @Test
+  void testRecordSizeDoesNotDependOnFieldSelection() throws IOException {
+    initializeWithoutMappers();
+    final AirbyteMessage recordMessage = new AirbyteMessage().withType(Type.RECORD)
+        .withRecord(new AirbyteRecordMessage().withStream("stream").withData(Jsons.jsonNode(Map.of("column", "value"))));
+    final long lineSize = Jsons.serialize(recordMessage).getBytes(StandardCharsets.UTF_8).length;
+    // Selecting the fields modifies the data, the size is the one the source emitted
+    doAnswer(invocation -> {
+      ((AirbyteMessage) invocation.getArgument(0)).getRecord().setData(Jsons.emptyObject());
+      return null;
+    }).when(fieldSelector).filterSelectedFields(any());
+
+    for (final boolean fieldSelectionEnabled : List.of(false, true)) {
+      when(fieldSelector.isFieldSelectionEnabled()).thenReturn(fieldSelectionEnabled);
+
+      final AirbyteMessage withLineSize = Jsons.clone(recordMessage);
+      RecordSerializedSize.attach(withLineSize, 42L);
+      final TransformedRecord transformed = replicationWorkerHelper.transformRecordFromSource(withLineSize);
+      assertEquals(42L, transformed.getSerializedSizeInBytes());
+      assertNull(RecordSerializedSize.detach(withLineSize));
+
+      // Without the line size, the line is estimated from the record as the source emitted it
+      assertEquals(lineSize, replicationWorkerHelper.transformRecordFromSource(Jsons.clone(recordMessage)).getSerializedSizeInBytes());
+    }
+  }
+
   @Test
   void testApplyTransformationNoMapper() throws IOException {
     mockSupportRefreshes(false);
@@ -375,6 +444,8 @@ class ReplicationWorkerHelperTest {
     when(catalog.getStreams()).thenReturn(List.of(stream));
     when(destinationCatalogGenerator.generateDestinationCatalog(any()))
         .thenReturn(new DestinationCatalogGenerator.CatalogGenerationResult(catalog, Map.of()));
+    final CompiledMappers compiledMappers = mock(CompiledMappers.class);
+    when(recordMapper.compile(mappers)).thenReturn(compiledMappers);
     // Need to pass in a replication context
     replicationWorkerHelper.initialize(
         replicationContext,
@@ -390,7 +461,21 @@ class ReplicationWorkerHelperTest {
 
     replicationWorkerHelper.applyTransformationMappers(recordAdapter);
 
-    verify(recordMapper).applyMappers(recordAdapter, mappers);
+    verify(recordMapper).compile(mappers);
+    verify(compiledMappers).apply(recordAdapter);
+  }
+
+  private void initializeWithoutMappers() throws IOException {
+    mockSupportRefreshes(false);
+    final ConfiguredAirbyteCatalog catalog = mock(ConfiguredAirbyteCatalog.class);
+    when(destinationCatalogGenerator.generateDestinationCatalog(any()))
+        .thenReturn(new DestinationCatalogGenerator.CatalogGenerationResult(catalog, Map.of()));
+    replicationWorkerHelper.initialize(
+        replicationContext,
+        mock(ReplicationFeatureFlags.class),
+        mock(Path.class),
+        catalog,
+        mock(State.class));
   }
 
   private void mockSupportRefreshes(final boolean supportsRefreshes) throws IOException {
@@ -227,6 +227,7 @@ abstract class ReplicationWorkerTest {
     syncStatsTracker = mock(SyncStatsTracker.class);
     syncPersistence = mock(SyncPersistence.class);
     recordSchemaValidator = mock(RecordSchemaValidator.class);
+    when(recordSchemaValidator.isSampled(any())).thenReturn(true);
     connectorConfigUpdater = mock(ConnectorConfigUpdater.class);
     metricClient = mock(MetricClient.class);
     workerMetricReporter = new WorkerMetricReporter(metricClient, "docker_image:v1.0.0");
@@ -335,11 +336,13 @@ abstract class ReplicationWorkerTest {
     verify(recordSchemaValidator).validateSchema(
         RECORD_MESSAGE1.getRecord(),
         AirbyteStreamNameNamespacePair.fromRecordMessage(RECORD_MESSAGE1.getRecord()),
-        new ConcurrentHashMap<>());
+        new ConcurrentHashMap<>(),
+        false);
     verify(recordSchemaValidator).validateSchema(
         RECORD_MESSAGE2.getRecord(),
         AirbyteStreamNameNamespacePair.fromRecordMessage(RECORD_MESSAGE2.getRecord()),
-        new ConcurrentHashMap<>());
+        new ConcurrentHashMap<>(),
+        false);
   }
 
   @Test
@@ -373,15 +376,18 @@ abstract class ReplicationWorkerTest {
     verify(recordSchemaValidator).validateSchema(
         RECORD_MESSAGE1.getRecord(),
         AirbyteStreamNameNamespacePair.fromRecordMessage(RECORD_MESSAGE1.getRecord()),
-        new ConcurrentHashMap<>());
+        new ConcurrentHashMap<>(),
+        false);
     verify(recordSchemaValidator).validateSchema(
         RECORD_MESSAGE2.getRecord(),
         AirbyteStreamNameNamespacePair.fromRecordMessage(RECORD_MESSAGE2.getRecord()),
-        new ConcurrentHashMap<>());
+        new ConcurrentHashMap<>(),
+        false);
     verify(recordSchemaValidator).validateSchema(
         RECORD_MESSAGE3.getRecord(),
         AirbyteStreamNameNamespacePair.fromRecordMessage(RECORD_MESSAGE3.getRecord()),
-        new ConcurrentHashMap<>());
+        new ConcurrentHashMap<>(),
+        false);
     verify(source).close();
     verify(destination).close();
   }
@@ -554,7 +560,7 @@ abstract class ReplicationWorkerTest {
   void testReplicationRunnableWorkerFailure() throws Exception {
     final String workerErrorMessage = "the worker had a failure";
 
-    doThrow(new RuntimeException(workerErrorMessage)).when(messageTracker).acceptFromSource(any());
+    doThrow(new RuntimeException(workerErrorMessage)).when(messageTracker).acceptFromSource(any(), any());
 
     final var worker = getDefaultReplicationWorker();
 
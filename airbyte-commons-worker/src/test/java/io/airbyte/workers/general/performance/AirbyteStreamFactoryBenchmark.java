@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.general.performance;
+
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.commons.logging.MdcScope;
+import io.airbyte.commons.protocol.AirbyteMessageMigrator;
+import io.airbyte.commons.protocol.AirbyteMessageSerDeProvider;
+import io.airbyte.commons.protocol.AirbyteProtocolVersionedMigratorFactory;
+import io.airbyte.commons.protocol.ConfiguredAirbyteCatalogMigrator;
+import io.airbyte.commons.protocol.serde.AirbyteMessageV0Deserializer;
+import io.airbyte.commons.protocol.serde.AirbyteMessageV0Serializer;
+import io.airbyte.commons.protocol.serde.AirbyteMessageV1Deserializer;
+import io.airbyte.commons.protocol.serde.AirbyteMessageV1Serializer;
+import io.airbyte.commons.version.AirbyteProtocolVersion;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteRecordMessage;
+import io.airbyte.workers.helper.GsonPksExtractor;
+import io.airbyte.workers.internal.ByteChannelAirbyteStreamFactory;
+import io.airbyte.workers.internal.VersionedAirbyteStreamFactory;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the String based {@link VersionedAirbyteStreamFactory} with the byte level
+ * {@link ByteChannelAirbyteStreamFactory} when reading records of different sizes.
+ *
+ * Run the main method, the gc profiler reports the allocation rate per operation alongside the
+ * throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AirbyteStreamFactoryBenchmark {
+
+  private static final int RECORDS_PER_OPERATION = 1_000;
+
+  @Param({"1024", "51200"})
+  public int recordSizeInBytes;
+
+  private byte[] input;
+  private VersionedAirbyteStreamFactory<?> lineFactory;
+  private ByteChannelAirbyteStreamFactory<?> byteChannelFactory;
+
+  @Setup
+  public void setup() {
+    final StringBuilder builder = new StringBuilder();
+    final String line = Jsons.serialize(createRecord(recordSizeInBytes));
+    for (int i = 0; i < RECORDS_PER_OPERATION; i++) {
+      builder.append(line).append('\n');
+    }
+    input = builder.toString().getBytes(StandardCharsets.UTF_8);
+
+    final AirbyteMessageSerDeProvider serDeProvider = new AirbyteMessageSerDeProvider(
+        List.of(new AirbyteMessageV0Deserializer(), new AirbyteMessageV1Deserializer()),
+        List.of(new AirbyteMessageV0Serializer(), new AirbyteMessageV1Serializer()));
+    serDeProvider.initialize();
+    final AirbyteMessageMigrator airbyteMessageMigrator = new AirbyteMessageMigrator(List.of());
+    airbyteMessageMigrator.initialize();
+    final ConfiguredAirbyteCatalogMigrator configuredAirbyteCatalogMigrator = new ConfiguredAirbyteCatalogMigrator(List.of());
+    configuredAirbyteCatalogMigrator.initialize();
+    final AirbyteProtocolVersionedMigratorFactory migratorFactory =
+        new AirbyteProtocolVersionedMigratorFactory(airbyteMessageMigrator, configuredAirbyteCatalogMigrator);
+    final var invalidLineFailureConfiguration = new VersionedAirbyteStreamFactory.InvalidLineFailureConfiguration(false);
+
+    lineFactory = new VersionedAirbyteStreamFactory<>(serDeProvider, migratorFactory, AirbyteProtocolVersion.DEFAULT_AIRBYTE_PROTOCOL_VERSION,
+        Optional.empty(), Optional.empty(), MdcScope.DEFAULT_BUILDER, invalidLineFailureConfiguration, new GsonPksExtractor());
+    byteChannelFactory = new ByteChannelAirbyteStreamFactory<>(serDeProvider, migratorFactory,
+        AirbyteProtocolVersion.DEFAULT_AIRBYTE_PROTOCOL_VERSION, Optional.empty(), Optional.empty(), MdcScope.DEFAULT_BUILDER,
+        invalidLineFailureConfiguration, new GsonPksExtractor());
+  }
+
+  @Benchmark
+  public void bufferedReader(final Blackhole blackhole) {
+    final BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(input), StandardCharsets.UTF_8));
+    lineFactory.create(reader).forEach(blackhole::consume);
+  }
+
+  @Benchmark
+  public void byteChannel(final Blackhole blackhole) {
+    byteChannelFactory.create(Channels.newChannel(new ByteArrayInputStream(input))).forEach(blackhole::consume);
+  }
+
+  private static AirbyteMessage createRecord(final int sizeInBytes) {
+    final Map<String, Object> data = new LinkedHashMap<>();
+    final int columnSize = 64;
+    for (int i = 0; i < sizeInBytes / (columnSize + 16); i++) {
+      data.put("column_" + i, "x".repeat(columnSize));
+    }
+    return new AirbyteMessage()
+        .withType(AirbyteMessage.Type.RECORD)
+        .withRecord(new AirbyteRecordMessage()
+            .withStream("benchmark")
+            .withEmittedAt(0L)
+            .withData(Jsons.jsonNode(data)));
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(AirbyteStreamFactoryBenchmark.class.getSimpleName())
+        .addProfiler("gc")
+        .build()).run();
+  }
+
+}
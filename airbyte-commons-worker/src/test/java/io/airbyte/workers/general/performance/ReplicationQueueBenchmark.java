@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.general.performance;
+
+import io.airbyte.commons.concurrency.ClosableLinkedBlockingQueue;
+import io.airbyte.commons.concurrency.ClosableQueue;
+import io.airbyte.commons.concurrency.ClosableSpscByteBoundedQueue;
+import io.airbyte.workers.general.BufferConfiguration;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the {@link ClosableLinkedBlockingQueue} with the {@link ClosableSpscByteBoundedQueue}
+ * used between the threads of the BufferedReplicationWorker, with one thread adding messages of a
+ * given size and another one polling them. A thread left waiting once the other one stopped at the
+ * end of an iteration is released by the poll timeout.
+ *
+ * Run the main method, the throughput mode reports the number of messages moved per second and the
+ * sample time mode reports the percentiles of the time each add and poll took.
+ */
+@State(Scope.Group)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ReplicationQueueBenchmark {
+
+  private static final int POLL_TIME_OUT_IN_SECONDS = 1;
+
+  @Param({"linkedBlocking", "spscByteBounded"})
+  public String queueType;
+
+  @Param({"100", "10240", "1048576"})
+  public int messageSizeInBytes;
+
+  private byte[] message;
+  private ClosableQueue<byte[]> queue;
+
+  @Setup(Level.Iteration)
+  public void setup() {
+    message = new byte[messageSizeInBytes];
+    queue = switch (queueType) {
+      case "linkedBlocking" -> new ClosableLinkedBlockingQueue<>(BufferConfiguration.DEFAULT_SOURCE_MAX_BUFFER_SIZE, POLL_TIME_OUT_IN_SECONDS);
+      case "spscByteBounded" -> new ClosableSpscByteBoundedQueue<>(BufferConfiguration.DEFAULT_SOURCE_MAX_BUFFER_SIZE,
+          BufferConfiguration.DEFAULT_MAX_BUFFER_SIZE_IN_BYTES, m -> m.length, POLL_TIME_OUT_IN_SECONDS);
+      default -> throw new IllegalArgumentException("Unknown queue type " + queueType);
+    };
+  }
+
+  @Benchmark
+  @Group("transfer")
+  @GroupThreads(1)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public boolean add() throws InterruptedException {
+    return queue.add(message);
+  }
+
+  @Benchmark
+  @Group("transfer")
+  @GroupThreads(1)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public byte[] poll() throws InterruptedException {
+    return queue.poll();
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(ReplicationQueueBenchmark.class.getSimpleName())
+        .addProfiler("gc")
+        .build()).run();
+  }
+
+}
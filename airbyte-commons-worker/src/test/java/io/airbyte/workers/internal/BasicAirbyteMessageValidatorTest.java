@@ -19,6 +19,7 @@ import io.airbyte.protocol.models.Config;
 import io.airbyte.workers.internal.exception.SourceException;
 import io.airbyte.workers.testutils.AirbyteMessageUtils;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
 
@@ -91,8 +92,8 @@ class BasicAirbyteMessageValidatorTest {
   void testValidPk() {
     final AirbyteMessage bad = AirbyteMessageUtils.createRecordMessage(STREAM_1, DATA_KEY_1, DATA_VALUE);
 
-    final var m = BasicAirbyteMessageValidator.validate(bad, Optional.of(
-        getCatalogWithPk(STREAM_1, List.of(List.of(DATA_KEY_1)))));
+    final var m = BasicAirbyteMessageValidator.validate(bad, Optional.of(new CatalogStreamIndex(
+        getCatalogWithPk(STREAM_1, List.of(List.of(DATA_KEY_1))))));
     assertTrue(m.isPresent());
   }
 
@@ -100,8 +101,8 @@ class BasicAirbyteMessageValidatorTest {
   void testValidPkWithOneMissingPk() {
     final AirbyteMessage bad = AirbyteMessageUtils.createRecordMessage(STREAM_1, DATA_KEY_1, DATA_VALUE);
 
-    final var m = BasicAirbyteMessageValidator.validate(bad, Optional.of(
-        getCatalogWithPk(STREAM_1, List.of(List.of(DATA_KEY_1), List.of("not_field_1")))));
+    final var m = BasicAirbyteMessageValidator.validate(bad, Optional.of(new CatalogStreamIndex(
+        getCatalogWithPk(STREAM_1, List.of(List.of(DATA_KEY_1), List.of("not_field_1"))))));
     assertTrue(m.isPresent());
   }
 
@@ -109,12 +110,12 @@ class BasicAirbyteMessageValidatorTest {
   void testNotIncrementalDedup() {
     final AirbyteMessage bad = AirbyteMessageUtils.createRecordMessage(STREAM_1, DATA_KEY_1, DATA_VALUE);
 
-    var m = BasicAirbyteMessageValidator.validate(bad, Optional.of(
-        getCatalogNonIncremental(STREAM_1)));
+    var m = BasicAirbyteMessageValidator.validate(bad, Optional.of(new CatalogStreamIndex(
+        getCatalogNonIncremental(STREAM_1))));
     assertTrue(m.isPresent());
 
-    m = BasicAirbyteMessageValidator.validate(bad, Optional.of(
-        getCatalogNonIncrementalDedup(STREAM_1)));
+    m = BasicAirbyteMessageValidator.validate(bad, Optional.of(new CatalogStreamIndex(
+        getCatalogNonIncrementalDedup(STREAM_1))));
     assertTrue(m.isPresent());
   }
 
@@ -122,16 +123,37 @@ class BasicAirbyteMessageValidatorTest {
   void testInvalidPk() {
     final AirbyteMessage bad = AirbyteMessageUtils.createRecordMessage(STREAM_1, DATA_KEY_1, DATA_VALUE);
 
-    assertThrows(SourceException.class, () -> BasicAirbyteMessageValidator.validate(bad, Optional.of(
-        getCatalogWithPk(STREAM_1, List.of(List.of("not_field_1"))))));
+    assertThrows(SourceException.class, () -> BasicAirbyteMessageValidator.validate(bad, Optional.of(new CatalogStreamIndex(
+        getCatalogWithPk(STREAM_1, List.of(List.of("not_field_1")))))));
   }
 
   @Test
   void testValidPkInAnotherStream() {
     final AirbyteMessage bad = AirbyteMessageUtils.createRecordMessage(STREAM_1, DATA_KEY_1, DATA_VALUE);
 
-    assertThrows(SourceException.class, () -> BasicAirbyteMessageValidator.validate(bad, Optional.of(
-        getCatalogWithPk("stream_2", List.of(List.of(DATA_KEY_1))))));
+    assertThrows(SourceException.class, () -> BasicAirbyteMessageValidator.validate(bad, Optional.of(new CatalogStreamIndex(
+        getCatalogWithPk("stream_2", List.of(List.of(DATA_KEY_1)))))));
+  }
+
+  @Test
+  void testStreamInAnotherNamespace() {
+    final AirbyteMessage rec = AirbyteMessageUtils.createRecordMessage(STREAM_1, DATA_KEY_1, DATA_VALUE);
+    rec.getRecord().setNamespace("namespace_1");
+
+    assertThrows(SourceException.class, () -> BasicAirbyteMessageValidator.validate(rec, Optional.of(new CatalogStreamIndex(
+        getCatalogWithPk(STREAM_1, List.of(List.of(DATA_KEY_1)))))));
+  }
+
+  @Test
+  void testNestedPk() {
+    final AirbyteMessage rec = AirbyteMessageUtils.createRecordMessage(STREAM_1, Map.of("parent", Map.of("child/key", DATA_VALUE)));
+    final Optional<CatalogStreamIndex> index = Optional.of(new CatalogStreamIndex(
+        getCatalogWithPk(STREAM_1, List.of(List.of("parent", "child/key")))));
+
+    assertTrue(BasicAirbyteMessageValidator.validate(rec, index).isPresent());
+
+    final AirbyteMessage missing = AirbyteMessageUtils.createRecordMessage(STREAM_1, Map.of("parent", Map.of("child", DATA_VALUE)));
+    assertThrows(SourceException.class, () -> BasicAirbyteMessageValidator.validate(missing, index));
   }
 
   private ConfiguredAirbyteCatalog getCatalogWithPk(final String streamName,
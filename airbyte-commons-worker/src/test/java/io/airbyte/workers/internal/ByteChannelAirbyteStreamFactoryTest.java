@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import static io.airbyte.workers.internal.VersionedAirbyteStreamFactory.CONNECTION_ID_NOT_PRESENT;
+import static io.airbyte.workers.internal.VersionedAirbyteStreamFactory.MALFORMED_NON_AIRBYTE_RECORD_LOG_MESSAGE;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.commons.logging.MdcScope.Builder;
+import io.airbyte.commons.protocol.AirbyteMessageMigrator;
+import io.airbyte.commons.protocol.AirbyteMessageSerDeProvider;
+import io.airbyte.commons.protocol.AirbyteProtocolVersionedMigratorFactory;
+import io.airbyte.commons.protocol.ConfiguredAirbyteCatalogMigrator;
+import io.airbyte.commons.protocol.serde.AirbyteMessageV0Deserializer;
+import io.airbyte.commons.protocol.serde.AirbyteMessageV0Serializer;
+import io.airbyte.commons.protocol.serde.AirbyteMessageV1Deserializer;
+import io.airbyte.commons.protocol.serde.AirbyteMessageV1Serializer;
+import io.airbyte.commons.version.AirbyteProtocolVersion;
+import io.airbyte.protocol.models.AirbyteLogMessage;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.workers.helper.GsonPksExtractor;
+import io.airbyte.workers.testutils.AirbyteMessageUtils;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+class ByteChannelAirbyteStreamFactoryTest {
+
+  private static final String STREAM_NAME = "user_preferences";
+  private static final String FIELD_NAME = "favorite_color";
+
+  private Logger logger;
+  private ByteChannelAirbyteStreamFactory<?> streamFactory;
+
+  @BeforeEach
+  void setup() {
+    logger = spy(LoggerFactory.getLogger(ByteChannelAirbyteStreamFactoryTest.class));
+
+    final AirbyteMessageSerDeProvider serDeProvider = new AirbyteMessageSerDeProvider(
+        List.of(new AirbyteMessageV0Deserializer(), new AirbyteMessageV1Deserializer()),
+        List.of(new AirbyteMessageV0Serializer(), new AirbyteMessageV1Serializer()));
+    serDeProvider.initialize();
+    final AirbyteMessageMigrator airbyteMessageMigrator = new AirbyteMessageMigrator(List.of());
+    airbyteMessageMigrator.initialize();
+    final ConfiguredAirbyteCatalogMigrator configuredAirbyteCatalogMigrator = new ConfiguredAirbyteCatalogMigrator(List.of());
+    configuredAirbyteCatalogMigrator.initialize();
+
+    streamFactory = new ByteChannelAirbyteStreamFactory<>(serDeProvider,
+        new AirbyteProtocolVersionedMigratorFactory(airbyteMessageMigrator, configuredAirbyteCatalogMigrator),
+        AirbyteProtocolVersion.DEFAULT_AIRBYTE_PROTOCOL_VERSION, Optional.empty(), Optional.empty(), logger, new Builder(),
+        new VersionedAirbyteStreamFactory.InvalidLineFailureConfiguration(false), mock(GsonPksExtractor.class));
+  }
+
+  @Test
+  void testValid() {
+    final AirbyteMessage record1 = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "green");
+    final AirbyteMessage record2 = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "vert émeraude");
+
+    final List<AirbyteMessage> messages = read(Jsons.serialize(record1) + "\n" + Jsons.serialize(record2) + "\n");
+
+    assertEquals(List.of(record1, record2), messages);
+  }
+
+  @Test
+  void testLastLineWithoutTerminatorAndCarriageReturns() {
+    final AirbyteMessage record1 = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "green");
+    final AirbyteMessage record2 = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "blue");
+    final AirbyteMessage record3 = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "red");
+
+    final List<AirbyteMessage> messages =
+        read(Jsons.serialize(record1) + "\r\n" + Jsons.serialize(record2) + "\r" + Jsons.serialize(record3));
+
+    assertEquals(List.of(record1, record2, record3), messages);
+  }
+
+  @Test
+  void testLogsAreFiltered() {
+    final AirbyteMessage record = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "green");
+    final AirbyteMessage log = AirbyteMessageUtils.createLogMessage(AirbyteLogMessage.Level.INFO, "a log");
+
+    final List<AirbyteMessage> messages = read(Jsons.serialize(log) + "\n" + Jsons.serialize(record) + "\n");
+
+    assertEquals(List.of(record), messages);
+    verify(logger).info("a log");
+  }
+
+  @Test
+  void testMalformedLinesAreLoggedAndSkipped() {
+    final AirbyteMessage record = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "green");
+    final String invalidLine = "this is not json";
+
+    final List<AirbyteMessage> messages = read(invalidLine + "\n" + Jsons.serialize(record) + "\n");
+
+    assertEquals(List.of(record), messages);
+    verify(logger).info(MALFORMED_NON_AIRBYTE_RECORD_LOG_MESSAGE, CONNECTION_ID_NOT_PRESENT, invalidLine);
+  }
+
+  @Test
+  void testAttachRecordSize() {
+    final AirbyteMessage record = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "vert émeraude");
+    final String line = Jsons.serialize(record);
+
+    streamFactory.withAttachRecordSize(true);
+    final List<AirbyteMessage> messages = read(line + "\n");
+
+    assertEquals(1, messages.size());
+    assertEquals((long) line.getBytes(StandardCharsets.UTF_8).length, RecordSerializedSize.detach(messages.get(0)));
+  }
+
+  @Test
+  void testAttachSourceLine() {
+    final AirbyteMessage first = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "vert émeraude");
+    final AirbyteMessage second = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "green");
+    final String firstLine = Jsons.serialize(first);
+    final String secondLine = Jsons.serialize(second);
+
+    streamFactory.withAttachSourceLine(true);
+    final List<AirbyteMessage> messages = read(firstLine + "\n" + secondLine + "\n");
+
+    // Each record keeps its own copy of the bytes of its line, the line buffer of the reader is reused
+    assertEquals(2, messages.size());
+    assertArrayEquals(firstLine.getBytes(StandardCharsets.UTF_8), SourceRecordLine.detach(messages.get(0)));
+    assertArrayEquals(secondLine.getBytes(StandardCharsets.UTF_8), SourceRecordLine.detach(messages.get(1)));
+  }
+
+  @Test
+  void testAllTheMessagesOfALineAreEmitted() {
+    final AirbyteMessage record = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "green");
+    final AirbyteMessage extra = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "blue");
+    final AirbyteMessage last = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "red");
+    // A migration can turn the message of a line into several messages
+    final ByteChannelAirbyteStreamFactory<?> splittingStreamFactory = spy(streamFactory);
+    doAnswer(invocation -> {
+      final AirbyteMessage message = invocation.getArgument(0);
+      return message.equals(record) ? Stream.of(message, extra) : Stream.of(message);
+    }).when(splittingStreamFactory).upgradeMessage(any());
+
+    final List<AirbyteMessage> messages =
+        splittingStreamFactory.create(toChannel(Jsons.serialize(record) + "\n" + Jsons.serialize(last) + "\n")).collect(Collectors.toList());
+
+    assertEquals(List.of(record, extra, last), messages);
+  }
+
+  @Test
+  void testLineReaderWaitsForANonBlockingChannel() throws IOException {
+    final ReadableByteChannel input = toChannel("abc\n");
+    final AtomicInteger emptyReads = new AtomicInteger(3);
+    // Reads nothing a few times before the data is available, like a non-blocking channel
+    final ReadableByteChannel nonBlockingChannel = new ReadableByteChannel() {
+
+      @Override
+      public int read(final ByteBuffer dst) throws IOException {
+        return emptyReads.getAndDecrement() > 0 ? 0 : input.read(dst);
+      }
+
+      @Override
+      public boolean isOpen() {
+        return input.isOpen();
+      }
+
+      @Override
+      public void close() throws IOException {
+        input.close();
+      }
+
+    };
+    final ByteChannelAirbyteStreamFactory.LineReader lineReader = new ByteChannelAirbyteStreamFactory.LineReader(nonBlockingChannel, 4);
+
+    assertTrue(lineReader.readLine());
+    assertEquals("abc", new String(lineReader.getLine(), 0, lineReader.getLineLength(), StandardCharsets.UTF_8));
+    assertFalse(lineReader.readLine());
+  }
+
+  @Test
+  void testLineReaderWithLinesSpanningReads() throws IOException {
+    final String input = "first line\r\nsecond line that is longer than the read buffer\n\nlast";
+    final ByteChannelAirbyteStreamFactory.LineReader lineReader = new ByteChannelAirbyteStreamFactory.LineReader(toChannel(input), 4);
+
+    final List<String> lines = new ArrayList<>();
+    while (lineReader.readLine()) {
+      lines.add(new String(lineReader.getLine(), 0, lineReader.getLineLength(), StandardCharsets.UTF_8));
+    }
+
+    assertEquals(List.of("first line", "second line that is longer than the read buffer", "", "last"), lines);
+    assertFalse(lineReader.readLine());
+  }
+
+  @Test
+  void testLineReaderOnEmptyInput() throws IOException {
+    final ByteChannelAirbyteStreamFactory.LineReader lineReader = new ByteChannelAirbyteStreamFactory.LineReader(toChannel(""), 4);
+
+    assertFalse(lineReader.readLine());
+  }
+
+  @Test
+  void testLineReaderWithCarriageReturnAtBufferBoundary() throws IOException {
+    final ByteChannelAirbyteStreamFactory.LineReader lineReader = new ByteChannelAirbyteStreamFactory.LineReader(toChannel("abc\r\ndef"), 4);
+
+    assertTrue(lineReader.readLine());
+    assertEquals("abc", new String(lineReader.getLine(), 0, lineReader.getLineLength(), StandardCharsets.UTF_8));
+    assertTrue(lineReader.readLine());
+    assertEquals("def", new String(lineReader.getLine(), 0, lineReader.getLineLength(), StandardCharsets.UTF_8));
+    assertFalse(lineReader.readLine());
+  }
+
+  private List<AirbyteMessage> read(final String input) {
+    return streamFactory.create(toChannel(input)).collect(Collectors.toList());
+  }
+
+  private static ReadableByteChannel toChannel(final String input) {
+    return Channels.newChannel(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)));
+  }
+
+}
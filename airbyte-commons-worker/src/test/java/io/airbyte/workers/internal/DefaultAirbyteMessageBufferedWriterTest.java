@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.workers.testutils.AirbyteMessageUtils;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class DefaultAirbyteMessageBufferedWriterTest {
+
+  // Formatted differently from the serialized record so that the test can tell them apart.
+  private static final String SOURCE_LINE = "{\"type\": \"RECORD\", \"record\": {\"stream\": \"s\", \"data\": {\"field\": \"é\"}, \"emitted_at\": 1}}";
+
+  @Test
+  void testSourceLinesAreWrittenInOrderWithTheOtherMessages() throws IOException {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    final DefaultAirbyteMessageBufferedWriter writer =
+        new DefaultAirbyteMessageBufferedWriter(new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8)), output);
+    final AirbyteMessage firstState = AirbyteMessageUtils.createStateMessage(1);
+    final AirbyteMessage record = AirbyteMessageUtils.createRecordMessage("s", "field", "é");
+    SourceRecordLine.attach(record, SOURCE_LINE.getBytes(StandardCharsets.UTF_8));
+    final AirbyteMessage secondState = AirbyteMessageUtils.createStateMessage(2);
+
+    writer.write(firstState);
+    writer.write(record);
+    writer.write(secondState);
+    writer.flush();
+
+    assertEquals(List.of(Jsons.serialize(firstState), SOURCE_LINE, Jsons.serialize(secondState)),
+        output.toString(StandardCharsets.UTF_8).lines().toList());
+    assertFalse(record.getRecord().getAdditionalProperties().containsKey(SourceRecordLine.ADDITIONAL_PROPERTY_KEY));
+  }
+
+}
@@ -7,6 +7,7 @@ package io.airbyte.workers.internal;
 import static io.airbyte.workers.internal.VersionedAirbyteStreamFactory.CONNECTION_ID_NOT_PRESENT;
 import static io.airbyte.workers.internal.VersionedAirbyteStreamFactory.MALFORMED_AIRBYTE_RECORD_LOG_MESSAGE;
 import static io.airbyte.workers.internal.VersionedAirbyteStreamFactory.MALFORMED_NON_AIRBYTE_RECORD_LOG_MESSAGE;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.atLeastOnce;
@@ -85,6 +86,48 @@ class VersionedAirbyteStreamFactoryTest {
       assertEquals(expectedStream.collect(Collectors.toList()), messageStream.collect(Collectors.toList()));
     }
 
+    @Test
+    void testAttachRecordSize() {
+      final AirbyteMessage record = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "vert émeraude");
+      final String line = Jsons.serialize(record);
+      final BufferedReader bufferedReader = new BufferedReader(new StringReader(line));
+
+      final List<AirbyteMessage> messages = VersionedAirbyteStreamFactory
+          .noMigrationVersionedAirbyteStreamFactory(
+              logger,
+              new Builder(),
+              new VersionedAirbyteStreamFactory.InvalidLineFailureConfiguration(false),
+              gsonPksExtractor)
+          .withAttachRecordSize(true)
+          .create(bufferedReader)
+          .collect(Collectors.toList());
+
+      assertEquals(1, messages.size());
+      assertEquals((long) line.getBytes(StandardCharsets.UTF_8).length, RecordSerializedSize.detach(messages.get(0)));
+      assertEquals(record, messages.get(0));
+    }
+
+    @Test
+    void testAttachSourceLine() {
+      final AirbyteMessage record = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "green");
+      final String line = Jsons.serialize(record);
+      final BufferedReader bufferedReader = new BufferedReader(new StringReader(line));
+
+      final List<AirbyteMessage> messages = VersionedAirbyteStreamFactory
+          .noMigrationVersionedAirbyteStreamFactory(
+              logger,
+              new Builder(),
+              new VersionedAirbyteStreamFactory.InvalidLineFailureConfiguration(false),
+              gsonPksExtractor)
+          .withAttachSourceLine(true)
+          .create(bufferedReader)
+          .collect(Collectors.toList());
+
+      assertEquals(1, messages.size());
+      assertArrayEquals(line.getBytes(StandardCharsets.UTF_8), SourceRecordLine.detach(messages.get(0)));
+      assertEquals(record, messages.get(0));
+    }
+
     @Test
     void testValidBigInteger() {
       final AirbyteMessage record = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME,
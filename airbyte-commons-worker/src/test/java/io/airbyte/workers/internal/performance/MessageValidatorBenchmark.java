@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal.performance;
+
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.config.AirbyteStream;
+import io.airbyte.config.ConfiguredAirbyteCatalog;
+import io.airbyte.config.ConfiguredAirbyteStream;
+import io.airbyte.config.DestinationSyncMode;
+import io.airbyte.config.SyncMode;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.workers.helper.AirbyteMessageExtractor;
+import io.airbyte.workers.internal.BasicAirbyteMessageValidator;
+import io.airbyte.workers.internal.CatalogStreamIndex;
+import io.airbyte.workers.testutils.AirbyteMessageUtils;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the per-record cost of resolving the catalog stream of a record and checking its primary
+ * keys, for catalogs of a growing number of streams. The record belongs to the last stream of the
+ * catalog, the worst case of the catalog scan the {@link CatalogStreamIndex} replaced.
+ *
+ * Run the main method, the cost of {@link #validateWithIndex()} should not grow with the number of
+ * streams while the one of {@link #resolveByCatalogScan()} does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MessageValidatorBenchmark {
+
+  private static final String NAMESPACE = "public";
+  private static final String PK = "id";
+
+  @Param({"10", "1000", "3000"})
+  public int streamCount;
+
+  private ConfiguredAirbyteCatalog catalog;
+  private Optional<CatalogStreamIndex> index;
+  private AirbyteMessage record;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    final List<ConfiguredAirbyteStream> streams = new ArrayList<>();
+    for (int i = 0; i < streamCount; i++) {
+      streams.add(new ConfiguredAirbyteStream(
+          new AirbyteStream("stream_" + i, Jsons.emptyObject(), List.of(SyncMode.INCREMENTAL)).withNamespace(NAMESPACE),
+          SyncMode.INCREMENTAL,
+          DestinationSyncMode.APPEND_DEDUP)
+              .withPrimaryKey(List.of(List.of(PK))));
+    }
+    catalog = new ConfiguredAirbyteCatalog().withStreams(streams);
+    index = Optional.of(new CatalogStreamIndex(catalog));
+
+    record = AirbyteMessageUtils.createRecordMessage("stream_" + (streamCount - 1), PK, 1);
+    record.getRecord().setNamespace(NAMESPACE);
+  }
+
+  @Benchmark
+  public boolean resolveByCatalogScan() {
+    final Optional<ConfiguredAirbyteStream> stream = AirbyteMessageExtractor.getCatalogStreamFromMessage(catalog, record.getRecord());
+    return AirbyteMessageExtractor.getPks(stream).stream()
+        .anyMatch(pks -> AirbyteMessageExtractor.containsNonNullPK(pks, record.getRecord().getData()));
+  }
+
+  @Benchmark
+  public Optional<AirbyteMessage> validateWithIndex() {
+    return BasicAirbyteMessageValidator.validate(record, index);
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(MessageValidatorBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+
+}
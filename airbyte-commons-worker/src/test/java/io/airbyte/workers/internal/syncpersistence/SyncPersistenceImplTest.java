@@ -4,6 +4,7 @@
 
 package io.airbyte.workers.internal.syncpersistence;
 
+import static io.airbyte.protocol.models.AirbyteStateMessage.AirbyteStateType.GLOBAL;
 import static io.airbyte.protocol.models.AirbyteStateMessage.AirbyteStateType.LEGACY;
 import static io.airbyte.protocol.models.AirbyteStateMessage.AirbyteStateType.STREAM;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -13,6 +14,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
@@ -29,6 +31,7 @@ import io.airbyte.api.client.model.generated.ConnectionStateType;
 import io.airbyte.api.client.model.generated.StreamState;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.protocol.models.AirbyteEstimateTraceMessage;
+import io.airbyte.protocol.models.AirbyteGlobalState;
 import io.airbyte.protocol.models.AirbyteRecordMessage;
 import io.airbyte.protocol.models.AirbyteStateMessage;
 import io.airbyte.protocol.models.AirbyteStreamState;
@@ -38,10 +41,13 @@ import io.airbyte.workers.internal.bookkeeping.SyncStatsTracker;
 import io.airbyte.workers.internal.stateaggregator.StateAggregatorFactory;
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import org.assertj.core.api.CollectionAssert;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -125,7 +131,7 @@ class SyncPersistenceImplTest {
 
     // Forcing another flush without data to flush
     actualFlushMethod.getValue().run();
-    verify(stateApi, never()).createOrUpdateState(any());
+    verify(stateApi, never()).createOrUpdateStateStreams(any());
     clearInvocations(stateApi);
 
     // scheduleAtFixedRate should not have received any other calls
@@ -138,7 +144,7 @@ class SyncPersistenceImplTest {
     syncPersistence.accept(connectionId, stateF1);
 
     // Set API call to fail
-    when(stateApi.createOrUpdateState(any())).thenThrow(new IOException());
+    doThrow(new IOException()).when(stateApi).createOrUpdateStateStreams(any());
 
     // Flushing
     actualFlushMethod.getValue().run();
@@ -174,7 +180,88 @@ class SyncPersistenceImplTest {
     // Sanity check Flushing again should not trigger an API call since all the data has been
     // successfully flushed
     actualFlushMethod.getValue().run();
-    verify(stateApi, never()).createOrUpdateState(any());
+    verify(stateApi, never()).createOrUpdateStateStreams(any());
+  }
+
+  @Test
+  void testOnlyChangedStreamsAreFlushed() throws IOException {
+    final AirbyteStateMessage stateA1 = getStreamState("A", 1);
+    final AirbyteStateMessage stateB1 = getStreamState("B", 1);
+    syncPersistence.accept(connectionId, stateA1);
+    syncPersistence.accept(connectionId, stateB1);
+    actualFlushMethod.getValue().run();
+    verifyStateUpdateApiCall(List.of(stateA1, stateB1));
+    clearInvocations(stateApi);
+
+    // A is emitted again with the same state, only B changed
+    final AirbyteStateMessage stateB2 = getStreamState("B", 2);
+    syncPersistence.accept(connectionId, getStreamState("A", 1));
+    syncPersistence.accept(connectionId, stateB2);
+    actualFlushMethod.getValue().run();
+    verifyStateUpdateApiCall(List.of(stateB2));
+    clearInvocations(stateApi);
+
+    // Nothing changed, no call should be made
+    syncPersistence.accept(connectionId, getStreamState("B", 2));
+    actualFlushMethod.getValue().run();
+    verify(stateApi, never()).createOrUpdateStateStreams(any());
+  }
+
+  @Test
+  void testFailedFlushesKeepTheChangesToFlush() throws IOException {
+    final AirbyteStateMessage stateA1 = getStreamState("A", 1);
+    final AirbyteStateMessage stateB1 = getStreamState("B", 1);
+    syncPersistence.accept(connectionId, stateA1);
+    syncPersistence.accept(connectionId, stateB1);
+    actualFlushMethod.getValue().run();
+    clearInvocations(stateApi);
+
+    // The flush of the changes of A fails
+    doThrow(new IOException()).when(stateApi).createOrUpdateStateStreams(any());
+    final AirbyteStateMessage stateA2 = getStreamState("A", 2);
+    syncPersistence.accept(connectionId, stateA2);
+    actualFlushMethod.getValue().run();
+    verifyStateUpdateApiCall(List.of(stateA2));
+    reset(stateApi);
+
+    // B goes back to an already persisted state while A changes again, the pending change of A is merged
+    final AirbyteStateMessage stateA3 = getStreamState("A", 3);
+    syncPersistence.accept(connectionId, getStreamState("B", 1));
+    syncPersistence.accept(connectionId, stateA3);
+    actualFlushMethod.getValue().run();
+    verifyStateUpdateApiCall(List.of(stateA3));
+  }
+
+  @Test
+  void testOnlyChangedStreamsOfTheGlobalStateAreFlushed() throws IOException {
+    final ArgumentCaptor<ConnectionStateCreateOrUpdate> captor = ArgumentCaptor.forClass(ConnectionStateCreateOrUpdate.class);
+
+    syncPersistence.accept(connectionId, getGlobalState(1, Map.of("A", 1, "B", 1)));
+    actualFlushMethod.getValue().run();
+    verify(stateApi).createOrUpdateStateStreams(captor.capture());
+    assertEquals(Set.of("A", "B"), getGlobalStreamNames(captor.getValue()));
+    clearInvocations(stateApi);
+
+    // Only B changed, the shared state is always sent
+    syncPersistence.accept(connectionId, getGlobalState(1, Map.of("A", 1, "B", 2)));
+    actualFlushMethod.getValue().run();
+    verify(stateApi).createOrUpdateStateStreams(captor.capture());
+    assertEquals(Set.of("B"), getGlobalStreamNames(captor.getValue()));
+    assertEquals(Jsons.jsonNode(1), captor.getValue().getConnectionState().getGlobalState().getSharedState());
+    clearInvocations(stateApi);
+
+    // Only the shared state changed
+    syncPersistence.accept(connectionId, getGlobalState(2, Map.of("A", 1, "B", 2)));
+    actualFlushMethod.getValue().run();
+    verify(stateApi).createOrUpdateStateStreams(captor.capture());
+    assertEquals(Set.of(), getGlobalStreamNames(captor.getValue()));
+    assertEquals(Jsons.jsonNode(2), captor.getValue().getConnectionState().getGlobalState().getSharedState());
+    clearInvocations(stateApi);
+
+    // Nothing changed
+    syncPersistence.accept(connectionId, getGlobalState(2, Map.of("A", 1, "B", 2)));
+    actualFlushMethod.getValue().run();
+    verify(stateApi, never()).createOrUpdateStateStreams(any());
   }
 
   @Test
@@ -183,14 +270,14 @@ class SyncPersistenceImplTest {
     syncPersistence.accept(connectionId, getStreamState("a", 1));
 
     actualFlushMethod.getValue().run();
-    verify(stateApi).createOrUpdateState(any());
+    verify(stateApi).createOrUpdateStateStreams(any());
     verify(attemptApi).saveStats(any());
     clearInvocations(stateApi, attemptApi);
 
     // We emit stats even if there is no state to persist
     syncPersistence.updateStats(new AirbyteRecordMessage().withStream("stream1"));
     actualFlushMethod.getValue().run();
-    verify(stateApi, never()).createOrUpdateState(any());
+    verify(stateApi, never()).createOrUpdateStateStreams(any());
     verify(attemptApi).saveStats(any());
   }
 
@@ -199,16 +286,16 @@ class SyncPersistenceImplTest {
     // We should not save stats if persist state failed
     syncPersistence.updateStats(new AirbyteRecordMessage());
     syncPersistence.accept(connectionId, getStreamState("b", 2));
-    when(stateApi.createOrUpdateState(any())).thenThrow(new IOException());
+    doThrow(new IOException()).when(stateApi).createOrUpdateStateStreams(any());
     actualFlushMethod.getValue().run();
-    verify(stateApi).createOrUpdateState(any());
+    verify(stateApi).createOrUpdateStateStreams(any());
     verify(attemptApi, never()).saveStats(any());
     clearInvocations(stateApi, attemptApi);
     reset(stateApi);
 
     // Next sync should attempt to flush everything
     actualFlushMethod.getValue().run();
-    verify(stateApi).createOrUpdateState(any());
+    verify(stateApi).createOrUpdateStateStreams(any());
     verify(attemptApi).saveStats(any());
   }
 
@@ -219,14 +306,14 @@ class SyncPersistenceImplTest {
     syncPersistence.accept(connectionId, getStreamState("a", 3));
     when(attemptApi.saveStats(any())).thenThrow(new IOException());
     actualFlushMethod.getValue().run();
-    verify(stateApi).createOrUpdateState(any());
+    verify(stateApi).createOrUpdateStateStreams(any());
     verify(attemptApi).saveStats(any());
 
     clearInvocations(stateApi, attemptApi);
     reset(attemptApi);
 
     actualFlushMethod.getValue().run();
-    verify(stateApi, never()).createOrUpdateState(any());
+    verify(stateApi, never()).createOrUpdateStateStreams(any());
     verify(attemptApi).saveStats(any());
   }
 
@@ -295,7 +382,7 @@ class SyncPersistenceImplTest {
     syncPersistence.accept(connectionId, stateA2);
 
     // Trigger a failure
-    when(stateApi.createOrUpdateState(any())).thenThrow(new IOException());
+    doThrow(new IOException()).when(stateApi).createOrUpdateStateStreams(any());
     actualFlushMethod.getValue().run();
 
     final AirbyteStateMessage stateB1 = getStreamState("closeB", 1);
@@ -314,20 +401,17 @@ class SyncPersistenceImplTest {
     syncPersistence.updateStats(new AirbyteRecordMessage());
     syncPersistence.accept(connectionId, state);
 
-    when(stateApi.createOrUpdateState(any()))
-        .thenReturn(mock(ConnectionState.class));
-
     // Final flush
     when(executorService.awaitTermination(anyLong(), any())).thenReturn(true);
     syncPersistence.close();
-    verify(stateApi, times(1)).createOrUpdateState(buildStateRequest(connectionId, List.of(state)));
+    verify(stateApi, times(1)).createOrUpdateStateStreams(buildStateRequest(connectionId, List.of(state)));
     verify(attemptApi, times(1)).saveStats(any());
   }
 
   @Test
   void testBadFinalStateFlushThrowsAnException() throws IOException, InterruptedException {
     // Setup some API failures
-    when(stateApi.createOrUpdateState(any())).thenThrow(new IOException());
+    doThrow(new IOException()).when(stateApi).createOrUpdateStateStreams(any());
 
     final AirbyteStateMessage state = getStreamState("final retry", 2);
     syncPersistence.updateStats(new AirbyteRecordMessage());
@@ -336,7 +420,7 @@ class SyncPersistenceImplTest {
     // Final flush
     when(executorService.awaitTermination(anyLong(), any())).thenReturn(true);
     assertThrows(Exception.class, syncPersistence::close);
-    verify(stateApi, times(1)).createOrUpdateState(buildStateRequest(connectionId, List.of(state)));
+    verify(stateApi, times(1)).createOrUpdateStateStreams(buildStateRequest(connectionId, List.of(state)));
     verify(attemptApi, never()).saveStats(any());
   }
 
@@ -352,7 +436,7 @@ class SyncPersistenceImplTest {
     // Final flush
     when(executorService.awaitTermination(anyLong(), any())).thenReturn(true);
     assertThrows(Exception.class, syncPersistence::close);
-    verify(stateApi).createOrUpdateState(buildStateRequest(connectionId, List.of(state)));
+    verify(stateApi).createOrUpdateStateStreams(buildStateRequest(connectionId, List.of(state)));
     verify(attemptApi, times(1)).saveStats(any());
   }
 
@@ -366,7 +450,7 @@ class SyncPersistenceImplTest {
     syncPersistence.close();
     verify(executorService).shutdown();
     // Since the previous write has an unknown state, we do not attempt to persist after the close
-    verify(stateApi, never()).createOrUpdateState(any());
+    verify(stateApi, never()).createOrUpdateStateStreams(any());
   }
 
   @Test
@@ -379,7 +463,7 @@ class SyncPersistenceImplTest {
     syncPersistence.close();
     verify(executorService).shutdown();
     // Since the previous write has an unknown state, we do not attempt to persist after the close
-    verify(stateApi, never()).createOrUpdateState(any());
+    verify(stateApi, never()).createOrUpdateStateStreams(any());
   }
 
   @Test
@@ -388,7 +472,7 @@ class SyncPersistenceImplTest {
     when(executorService.awaitTermination(anyLong(), any())).thenReturn(true);
     syncPersistence.close();
     verify(executorService).shutdown();
-    verify(stateApi, never()).createOrUpdateState(any());
+    verify(stateApi, never()).createOrUpdateStateStreams(any());
   }
 
   @Test
@@ -408,7 +492,7 @@ class SyncPersistenceImplTest {
 
     verify(executorService).scheduleAtFixedRate(any(), anyLong(), anyLong(), any());
     actualFlushMethod.getValue().run();
-    verify(stateApi).createOrUpdateState(captor.capture());
+    verify(stateApi).createOrUpdateStateStreams(captor.capture());
     assertTrue(Jsons.serialize(captor.getValue()).contains("myFirstState"));
     clearInvocations(stateApi);
 
@@ -418,7 +502,7 @@ class SyncPersistenceImplTest {
     syncPersistence.accept(connectionId, otherMessage2);
     when(executorService.awaitTermination(anyLong(), any())).thenReturn(true);
     syncPersistence.close();
-    verify(stateApi).createOrUpdateState(captor.capture());
+    verify(stateApi).createOrUpdateStateStreams(captor.capture());
     assertTrue(Jsons.serialize(captor.getValue()).contains("myOtherState2"));
   }
 
@@ -528,7 +612,7 @@ class SyncPersistenceImplTest {
     final ArgumentCaptor<ConnectionStateCreateOrUpdate> captor = ArgumentCaptor.forClass(ConnectionStateCreateOrUpdate.class);
 
     try {
-      verify(stateApi).createOrUpdateState(captor.capture());
+      verify(stateApi).createOrUpdateStateStreams(captor.capture());
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
@@ -572,6 +656,23 @@ class SyncPersistenceImplTest {
                 .withStreamState(Jsons.jsonNode(stateValue)));
   }
 
+  private AirbyteStateMessage getGlobalState(final int sharedStateValue, final Map<String, Integer> streamStateValues) {
+    return new AirbyteStateMessage().withType(GLOBAL)
+        .withGlobal(new AirbyteGlobalState()
+            .withSharedState(Jsons.jsonNode(sharedStateValue))
+            .withStreamStates(streamStateValues.entrySet().stream()
+                .map(e -> new AirbyteStreamState()
+                    .withStreamDescriptor(new StreamDescriptor().withName(e.getKey()))
+                    .withStreamState(Jsons.jsonNode(e.getValue())))
+                .toList()));
+  }
+
+  private Set<String> getGlobalStreamNames(final ConnectionStateCreateOrUpdate request) {
+    return request.getConnectionState().getGlobalState().getStreamStates().stream()
+        .map(s -> s.getStreamDescriptor().getName())
+        .collect(Collectors.toSet());
+  }
+
   private AirbyteStateMessage getLegacyState(final String stateValue) {
     return new AirbyteStateMessage().withType(LEGACY)
         .withData(Jsons.deserialize("{\"state\":\"" + stateValue + "\"}"));
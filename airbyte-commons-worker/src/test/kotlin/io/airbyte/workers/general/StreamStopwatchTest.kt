@@ -0,0 +1,39 @@
+package io.airbyte.workers.general
+
+import io.airbyte.protocol.models.AirbyteMessage
+import io.airbyte.protocol.models.AirbyteRecordMessage
+import org.junit.jupiter.api.Assertions
+import org.junit.jupiter.api.Test
+
+class StreamStopwatchTest {
+  @Test
+  fun keysTheStreamsByNamespaceAndName() {
+    val stopwatch = StreamStopwatch()
+
+    stopwatch.start(record("public", "users")).close()
+    stopwatch.start(record(null, "orders")).close()
+
+    Assertions.assertEquals(setOf("public.users", "orders"), stopwatch.getPerStream().keys)
+  }
+
+  @Test
+  fun keysTheRenamedStreamsByTheirSourceStream() {
+    val stopwatch = StreamStopwatch()
+
+    stopwatch.setSourceStream("destination", "prefix_users", "public", "users")
+    stopwatch.setSourceStream("destination", "prefix_users", "other", "users")
+    stopwatch.start(record("destination", "prefix_users")).close()
+    stopwatch.start(record(null, "orders")).close()
+
+    Assertions.assertEquals(setOf("public.users", "orders"), stopwatch.getPerStream().keys)
+    Assertions.assertEquals(2L, stopwatch.getTotal().getExecutionCount())
+  }
+
+  private fun record(
+    namespace: String?,
+    name: String,
+  ): AirbyteMessage =
+    AirbyteMessage()
+      .withType(AirbyteMessage.Type.RECORD)
+      .withRecord(AirbyteRecordMessage().withNamespace(namespace).withStream(name))
+}
@@ -13,12 +13,15 @@ import io.airbyte.config.SyncMode
 import io.airbyte.protocol.models.AirbyteMessage
 import io.airbyte.protocol.models.AirbyteRecordMessage
 import io.airbyte.workers.RecordSchemaValidator
+import io.airbyte.workers.WorkerMetricReporter
 import io.airbyte.workers.WorkerUtils
 import io.mockk.mockk
+import io.mockk.verify
 import org.junit.jupiter.api.Assertions.assertEquals
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.params.ParameterizedTest
 import org.junit.jupiter.params.provider.ValueSource
+import java.util.UUID
 
 internal class FieldSelectorTest {
   companion object {
@@ -196,6 +199,16 @@ internal class FieldSelectorTest {
     assertEquals(expectedMessage, message)
   }
 
+  @Test
+  internal fun `test the validation lag is not reported without validations`() {
+    val metricReporter = mockk<WorkerMetricReporter>(relaxed = true)
+    val fieldSelector = FieldSelector(RecordSchemaValidator(mapOf()), metricReporter, false, false)
+
+    fieldSelector.reportMetrics(UUID.randomUUID())
+
+    verify(exactly = 0) { metricReporter.trackSchemaValidationLag(any(), any()) }
+  }
+
   private fun createFieldSelector(
     configuredCatalog: ConfiguredAirbyteCatalog,
     fieldSelectionEnabled: Boolean,
@@ -73,7 +73,7 @@ internal class LocalContainerAirbyteDestinationTest {
     writer = mockk<AirbyteMessageBufferedWriter>()
     messageWriterFactory =
       mockk<AirbyteMessageBufferedWriterFactory> {
-        every { createWriter(any()) } returns writer
+        every { createWriter(any(), any()) } returns writer
       }
     stream =
       mockk<Stream<AirbyteMessage>> {
@@ -431,7 +431,7 @@ internal class LocalContainerAirbyteDestinationTest {
   @Test
   fun testFlushAfterWrite() {
     val writer = mockk<AirbyteMessageBufferedWriter>(relaxed = true)
-    every { messageWriterFactory.createWriter(any()) } returns writer
+    every { messageWriterFactory.createWriter(any(), any()) } returns writer
 
     val localContainerAirbyteDestinationWithForcePush =
       LocalContainerAirbyteDestination(
@@ -0,0 +1,48 @@
+package io.airbyte.workers.internal
+
+import io.airbyte.commons.json.Jsons
+import io.airbyte.protocol.models.AirbyteMessage
+import io.airbyte.protocol.models.AirbyteRecordMessage
+import io.airbyte.protocol.models.AirbyteRecordMessageMeta
+import io.airbyte.protocol.models.AirbyteRecordMessageMetaChange
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.params.ParameterizedTest
+import org.junit.jupiter.params.provider.MethodSource
+
+class MessageSizeEstimatorTest {
+  companion object {
+    @JvmStatic
+    fun records(): List<AirbyteRecordMessage> =
+      listOf(
+        AirbyteRecordMessage().withStream("users"),
+        AirbyteRecordMessage()
+          .withNamespace("public")
+          .withStream("users")
+          .withEmittedAt(1_700_000_000_000L)
+          .withData(Jsons.jsonNode(mapOf("id" to 1, "name" to "a \"quoted\" name", "tags" to listOf("a", "b")))),
+        AirbyteRecordMessage()
+          .withStream("users")
+          .withEmittedAt(0L)
+          .withData(Jsons.jsonNode(mapOf("id" to 1)))
+          .withMeta(
+            AirbyteRecordMessageMeta().withChanges(
+              listOf(
+                AirbyteRecordMessageMetaChange()
+                  .withField("name")
+                  .withChange(AirbyteRecordMessageMetaChange.Change.NULLED)
+                  .withReason(AirbyteRecordMessageMetaChange.Reason.PLATFORM_SERIALIZATION_ERROR),
+              ),
+            ),
+          ),
+      )
+  }
+
+  @ParameterizedTest
+  @MethodSource("records")
+  fun estimatesTheSizeOfTheSerializedRecordMessage(record: AirbyteRecordMessage) {
+    val message = AirbyteMessage().withType(AirbyteMessage.Type.RECORD).withRecord(record)
+
+    assertEquals(Jsons.serialize(message).length.toLong(), MessageSizeEstimator.estimateSerializedSize(record))
+    assertEquals(MessageSizeEstimator.estimateSerializedSize(record), MessageSizeEstimator.estimate(message))
+  }
+}
@@ -54,8 +54,8 @@ class ParallelStreamStatsTrackerTest {
     const val STREAM1_NAME = "stream1"
     const val STREAM2_NAME = "stream2"
 
-    // This is based of the current size of a record from createRecord
-    const val MESSAGE_SIZE = 16L
+    // This is based of the current size of the serialized message of a record from createRecord
+    const val MESSAGE_SIZE = 86L
 
     val CONNECTION_ID: UUID = UUID.randomUUID()
     val WORKSPACE_ID: UUID = UUID.randomUUID()
@@ -1018,6 +1018,32 @@ class ParallelStreamStatsTrackerTest {
     }
   }
 
+  @Test
+  internal fun `test that the global state checksum counts the records of every stream since the previous global state`() {
+    val replicationFeatureFlags: ReplicationFeatureFlags = mockk()
+    every { replicationFeatureFlags.failOnInvalidChecksum } returns true
+    every { replicationFeatureFlags.logStateMsgs } returns false
+    statsTracker.setReplicationFeatureFlags(replicationFeatureFlags)
+
+    // The state only lists some of the streams, the records of the other ones are part of it all the same
+    val globalState1 = createGlobalState(1, STREAM1_NAME).withSourceStats(AirbyteStateStats().withRecordCount(6.0))
+    val globalState2 = createGlobalState(2, STREAM1_NAME).withSourceStats(AirbyteStateStats().withRecordCount(3.0))
+
+    assertDoesNotThrow {
+      trackRecords(1, STREAM1_NAME, "")
+      trackRecords(2, STREAM2_NAME, "")
+      trackRecords(3, "stream3", "")
+      statsTracker.updateSourceStatesStats(globalState1)
+
+      trackRecords(3, STREAM2_NAME, "")
+      statsTracker.updateSourceStatesStats(globalState2)
+
+      statsTracker.updateDestinationStateStats(globalState1.withDestinationStats(AirbyteStateStats().withRecordCount(6.0)))
+      statsTracker.updateDestinationStateStats(globalState2.withDestinationStats(AirbyteStateStats().withRecordCount(3.0)))
+    }
+    assertTrue(statsTracker.isChecksumValidationEnabled())
+  }
+
   @Test
   internal fun `test that no exception is raised when the state message checksum comparison is disables for global state collision`() {
     val name1 = "name1"
@@ -1313,6 +1339,8 @@ class ParallelStreamStatsTrackerTest {
       every { record.data } returns Jsons.jsonNode(mapOf("col1" to "value"))
       every { record.namespace } returns streamNamespace
       every { record.stream } returns streamName
+      every { record.emittedAt } returns null
+      every { record.meta } returns null
       statsTracker.updateStats(record)
     }
   }
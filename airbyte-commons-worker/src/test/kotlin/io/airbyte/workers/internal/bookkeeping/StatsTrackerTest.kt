@@ -8,6 +8,7 @@ import com.google.common.hash.Hashing
 import io.airbyte.commons.json.Jsons
 import io.airbyte.config.FileTransferInformations
 import io.airbyte.protocol.models.AirbyteGlobalState
+import io.airbyte.protocol.models.AirbyteMessage
 import io.airbyte.protocol.models.AirbyteRecordMessage
 import io.airbyte.protocol.models.AirbyteStateMessage
 import io.airbyte.protocol.models.AirbyteStateStats
@@ -124,4 +125,54 @@ class StatsTrackerTest {
 
     assertNotEquals(size, streamStatsTracker.streamStats.emittedBytesCount.get())
   }
+
+  @Test
+  internal fun `test serialized size is used when provided`() {
+    val streamStatsTracker =
+      StreamStatsTracker(
+        mockk(),
+        mockk(),
+        false,
+      )
+
+    val data = Jsons.jsonNode(mapOf("id" to 1))
+    val record =
+      AirbyteRecordMessage()
+        .withStream("name")
+        .withNamespace("namespace")
+        .withData(data)
+
+    streamStatsTracker.trackRecord(record, 42L)
+    assertEquals(42L, streamStatsTracker.streamStats.emittedBytesCount.get())
+
+    streamStatsTracker.trackRecord(record)
+    assertEquals(42L + serializedSize(record), streamStatsTracker.streamStats.emittedBytesCount.get())
+  }
+
+  @Test
+  internal fun `test serialized size is used for filtered out records when provided`() {
+    val streamStatsTracker =
+      StreamStatsTracker(
+        mockk(),
+        mockk(),
+        false,
+      )
+
+    val data = Jsons.jsonNode(mapOf("id" to 1))
+    val record =
+      AirbyteRecordMessage()
+        .withStream("name")
+        .withNamespace("namespace")
+        .withData(data)
+
+    streamStatsTracker.updateFilteredOutRecordsStats(record, 42L)
+    assertEquals(42L, streamStatsTracker.streamStats.filteredOutBytesCount.get())
+
+    streamStatsTracker.updateFilteredOutRecordsStats(record)
+    assertEquals(42L + serializedSize(record), streamStatsTracker.streamStats.filteredOutBytesCount.get())
+  }
+
+  // Without the size of the source line, the record is counted as the line it serializes to.
+  private fun serializedSize(record: AirbyteRecordMessage): Long =
+    Jsons.serialize(AirbyteMessage().withType(AirbyteMessage.Type.RECORD).withRecord(record)).toByteArray().size.toLong()
 }
@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.concurrency;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.ToLongFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Single producer, single consumer queue bounded both by a number of elements and by the total size
+ * in bytes of the elements it holds.
+ * <p>
+ * The elements are stored in a ring buffer indexed by two counters, only the producer moves the
+ * tail and only the consumer moves the head, which means that adding and polling never take a lock.
+ * A thread waiting for room or for an element parks and is unparked by the other side as soon as
+ * the state changes. {@link #addAll(List)} and {@link #drainTo(Collection, int)} publish and
+ * release a whole batch at once.
+ * <p>
+ * An element larger than the byte limit is still accepted when the queue is empty so that a single
+ * large element cannot block the producer forever.
+ * <p>
+ * Only {@link #close()} and the read-only methods are safe to call from other threads than the
+ * producer and the consumer.
+ */
+public class ClosableSpscByteBoundedQueue<T> implements ClosableQueue<T> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ClosableSpscByteBoundedQueue.class);
+
+  private final Object[] elements;
+  private final long[] sizes;
+  private final int mask;
+  private final int maxQueueSize;
+  private final long maxSizeInBytes;
+  private final ToLongFunction<? super T> sizeEstimator;
+  private final long timeOutNanos;
+
+  // Index of the next element to poll, only written by the consumer.
+  private final AtomicLong head = new AtomicLong();
+  // Index of the next element to add, only written by the producer.
+  private final AtomicLong tail = new AtomicLong();
+  private final AtomicLong sizeInBytes = new AtomicLong();
+
+  private volatile boolean closed;
+  private volatile Thread waitingProducer;
+  private volatile Thread waitingConsumer;
+
+  public ClosableSpscByteBoundedQueue(final int maxQueueSize,
+                                      final long maxSizeInBytes,
+                                      final ToLongFunction<? super T> sizeEstimator,
+                                      final int pollTimeOutDurationInSeconds) {
+    if (maxQueueSize <= 0 || maxSizeInBytes <= 0) {
+      throw new IllegalArgumentException("The queue size and the queue size in bytes must be positive");
+    }
+    LOGGER.info("Using ClosableSpscByteBoundedQueue");
+    final int capacity = Integer.highestOneBit(Math.max(1, maxQueueSize - 1)) << 1;
+    this.elements = new Object[capacity];
+    this.sizes = new long[capacity];
+    this.mask = capacity - 1;
+    this.maxQueueSize = maxQueueSize;
+    this.maxSizeInBytes = maxSizeInBytes;
+    this.sizeEstimator = sizeEstimator;
+    this.timeOutNanos = TimeUnit.SECONDS.toNanos(pollTimeOutDurationInSeconds);
+  }
+
+  /**
+   * Wait up to the poll timeout for an element.
+   *
+   * @return the next element, null if none was added before the timeout or if the queue is closed
+   *         and empty.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public T poll() throws InterruptedException {
+    if (!awaitElements()) {
+      return null;
+    }
+    final long currentHead = head.get();
+    final int index = (int) (currentHead & mask);
+    final T element = (T) elements[index];
+    elements[index] = null;
+    release(currentHead + 1, sizes[index]);
+    return element;
+  }
+
+  /**
+   * Wait up to the poll timeout for elements and move up to maxElements of them to the given
+   * collection, releasing their room in a single step.
+   *
+   * @return the number of elements moved, 0 if none was added before the timeout or if the queue is
+   *         closed and empty.
+   */
+  @SuppressWarnings("unchecked")
+  public int drainTo(final Collection<? super T> target, final int maxElements) throws InterruptedException {
+    if (maxElements <= 0 || !awaitElements()) {
+      return 0;
+    }
+    final long currentHead = head.get();
+    final int count = (int) Math.min(tail.get() - currentHead, maxElements);
+    long releasedSizeInBytes = 0;
+    for (long i = currentHead; i < currentHead + count; i++) {
+      final int index = (int) (i & mask);
+      target.add((T) elements[index]);
+      elements[index] = null;
+      releasedSizeInBytes += sizes[index];
+    }
+    release(currentHead + count, releasedSizeInBytes);
+    return count;
+  }
+
+  /**
+   * Wait up to the poll timeout for room for the element.
+   *
+   * @return true if the element was added, false if the queue is closed or if there wasn't any room
+   *         before the timeout.
+   */
+  @Override
+  public boolean add(final T e) throws InterruptedException {
+    return add(e, sizeEstimator.applyAsLong(e));
+  }
+
+  /**
+   * Wait up to the poll timeout for room for the element, counting it with a size the producer
+   * already knows rather than estimating it.
+   *
+   * @return true if the element was added, false if the queue is closed or if there wasn't any room
+   *         before the timeout.
+   */
+  public boolean add(final T e, final long sizeInBytes) throws InterruptedException {
+    final long size = Math.max(0, sizeInBytes);
+    if (!awaitRoom(size)) {
+      return false;
+    }
+    final long currentTail = tail.get();
+    final int index = (int) (currentTail & mask);
+    elements[index] = e;
+    sizes[index] = size;
+    publish(currentTail + 1, size);
+    return true;
+  }
+
+  /**
+   * Add the elements in order, publishing as many of them as there is room for at once.
+   *
+   * @return the number of elements added, lower than the number of elements if the queue was closed
+   *         or if there wasn't any room before the timeout.
+   */
+  public int addAll(final List<? extends T> batch) throws InterruptedException {
+    int added = 0;
+    while (added < batch.size()) {
+      final long firstSize = Math.max(0, sizeEstimator.applyAsLong(batch.get(added)));
+      if (!awaitRoom(firstSize)) {
+        return added;
+      }
+      final long currentTail = tail.get();
+      final long freeSlots = maxQueueSize - (currentTail - head.get());
+      long availableBytes = maxSizeInBytes - sizeInBytes.get();
+      long publishedSizeInBytes = 0;
+      long nextTail = currentTail;
+      long size = firstSize;
+      // The first element is always published since there is room for it.
+      do {
+        final int index = (int) (nextTail & mask);
+        elements[index] = batch.get(added);
+        sizes[index] = size;
+        publishedSizeInBytes += size;
+        availableBytes -= size;
+        nextTail++;
+        added++;
+        size = added < batch.size() ? Math.max(0, sizeEstimator.applyAsLong(batch.get(added))) : 0;
+      } while (added < batch.size() && nextTail - currentTail < freeSlots && size <= availableBytes);
+      publish(nextTail, publishedSizeInBytes);
+    }
+    return added;
+  }
+
+  @Override
+  public int size() {
+    return (int) (tail.get() - head.get());
+  }
+
+  public long sizeInBytes() {
+    return sizeInBytes.get();
+  }
+
+  @Override
+  public boolean isDone() {
+    return closed && size() == 0;
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+    LockSupport.unpark(waitingProducer);
+    LockSupport.unpark(waitingConsumer);
+  }
+
+  @Override
+  public boolean isClosed() {
+    return closed;
+  }
+
+  private boolean hasRoom(final long size) {
+    final long used = tail.get() - head.get();
+    return used == 0 || (used < maxQueueSize && sizeInBytes.get() + size <= maxSizeInBytes);
+  }
+
+  private boolean awaitRoom(final long size) throws InterruptedException {
+    long remainingNanos = timeOutNanos;
+    final long deadline = System.nanoTime() + remainingNanos;
+    while (!closed && !hasRoom(size)) {
+      if (remainingNanos <= 0) {
+        return false;
+      }
+      waitingProducer = Thread.currentThread();
+      // Checking again after registering so that a release happening in between isn't missed.
+      if (!closed && !hasRoom(size)) {
+        LockSupport.parkNanos(this, remainingNanos);
+      }
+      waitingProducer = null;
+      if (Thread.interrupted()) {
+        throw new InterruptedException();
+      }
+      remainingNanos = deadline - System.nanoTime();
+    }
+    return !closed;
+  }
+
+  private boolean awaitElements() throws InterruptedException {
+    long remainingNanos = timeOutNanos;
+    final long deadline = System.nanoTime() + remainingNanos;
+    while (head.get() == tail.get()) {
+      if (closed) {
+        // An element may have been published right before the queue was closed.
+        return head.get() != tail.get();
+      }
+      if (remainingNanos <= 0) {
+        return false;
+      }
+      waitingConsumer = Thread.currentThread();
+      if (!closed && head.get() == tail.get()) {
+        LockSupport.parkNanos(this, remainingNanos);
+      }
+      waitingConsumer = null;
+      if (Thread.interrupted()) {
+        throw new InterruptedException();
+      }
+      remainingNanos = deadline - System.nanoTime();
+    }
+    return true;
+  }
+
+  private void publish(final long newTail, final long publishedSizeInBytes) {
+    // The size is accounted for before the elements are visible so that the consumer never releases
+    // more than what was added.
+    sizeInBytes.addAndGet(publishedSizeInBytes);
+    tail.set(newTail);
+    final Thread consumer = waitingConsumer;
+    if (consumer != null) {
+      LockSupport.unpark(consumer);
+    }
+  }
+
+  private void release(final long newHead, final long releasedSizeInBytes) {
+    head.set(newHead);
+    sizeInBytes.addAndGet(-releasedSizeInBytes);
+    final Thread producer = waitingProducer;
+    if (producer != null) {
+      LockSupport.unpark(producer);
+    }
+  }
+
+}
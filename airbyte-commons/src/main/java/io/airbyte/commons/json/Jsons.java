@@ -7,6 +7,8 @@ package io.airbyte.commons.json;
 import static java.util.Collections.singletonMap;
 import static java.util.stream.Collectors.toMap;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.StreamReadConstraints;
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -17,7 +19,6 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.node.TextNode;
 import com.google.common.base.Charsets;
@@ -25,6 +26,9 @@ import com.google.common.base.Preconditions;
 import io.airbyte.commons.jackson.MoreMappers;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -71,6 +75,11 @@ public class Jsons {
 
   private static final ObjectWriter OBJECT_WRITER = OBJECT_MAPPER.writer(new JsonPrettyPrinter());
 
+  /**
+   * Plain ObjectMapper used for canonical serialization, its output must not change as it is hashed.
+   */
+  private static final ObjectMapper CANONICAL_OBJECT_MAPPER = new ObjectMapper();
+
   /**
    * Serialize an object to a JSON string.
    *
@@ -195,6 +204,25 @@ public class Jsons {
     }
   }
 
+  /**
+   * Deserialize UTF-8 encoded JSON to an object using the exact ObjectMapper. The bytes are parsed
+   * directly, without being decoded to a String first.
+   *
+   * @param jsonBytes buffer containing the json to deserialize.
+   * @param offset offset of the json in the buffer.
+   * @param length length of the json in the buffer.
+   * @param klass to deserialize to.
+   * @param <T> type of input object.
+   * @return optional as type T.
+   */
+  public static <T> Optional<T> tryDeserializeExact(final byte[] jsonBytes, final int offset, final int length, final Class<T> klass) {
+    try {
+      return Optional.of(OBJECT_MAPPER_EXACT.readValue(jsonBytes, offset, length, klass));
+    } catch (final Throwable e) {
+      return Optional.empty();
+    }
+  }
+
   /**
    * Convert an object to {@link JsonNode}.
    *
@@ -320,9 +348,99 @@ public class Jsons {
    * the string to byte[] and use the length of the byte[]. However, this conversion is expensive in
    * memory consumption. Given that the byte size of the serialized JSON is already an estimation of
    * the actual size of the JSON object, using a cheap operation seems an acceptable compromise.
+   * <p>
+   * The length is computed by walking the tree rather than serializing it, which avoids building the
+   * serialized string on the hot path of the replication.
    */
   public static int getEstimatedByteSize(final JsonNode jsonNode) {
-    return serialize(jsonNode).length();
+    return (int) Math.min(Integer.MAX_VALUE, getEstimatedSerializedLength(jsonNode));
+  }
+
+  /**
+   * Compute the length of the compact serialization of a {@link JsonNode} without serializing it.
+   */
+  private static long getEstimatedSerializedLength(final JsonNode jsonNode) {
+    switch (jsonNode.getNodeType()) {
+      case OBJECT -> {
+        // opening and closing braces
+        long size = 2;
+        int fieldCount = 0;
+        final Iterator<Entry<String, JsonNode>> fields = jsonNode.fields();
+        while (fields.hasNext()) {
+          final Entry<String, JsonNode> field = fields.next();
+          // key, colon and value
+          size += getEstimatedQuotedStringLength(field.getKey()) + 1 + getEstimatedSerializedLength(field.getValue());
+          fieldCount++;
+        }
+        // separating commas
+        return size + Math.max(0, fieldCount - 1);
+      }
+      case ARRAY -> {
+        // opening and closing brackets
+        long size = 2;
+        for (final JsonNode element : jsonNode) {
+          size += getEstimatedSerializedLength(element);
+        }
+        // separating commas
+        return size + Math.max(0, jsonNode.size() - 1);
+      }
+      case STRING -> {
+        return getEstimatedQuotedStringLength(jsonNode.textValue());
+      }
+      case NUMBER -> {
+        if (jsonNode.isInt() || jsonNode.isLong() || jsonNode.isShort()) {
+          return getDecimalLength(jsonNode.longValue());
+        } else if (jsonNode.isBigDecimal()) {
+          // Our mappers are configured with WRITE_BIGDECIMAL_AS_PLAIN.
+          return jsonNode.decimalValue().toPlainString().length();
+        } else {
+          return jsonNode.asText().length();
+        }
+      }
+      case BOOLEAN -> {
+        return jsonNode.booleanValue() ? 4 : 5;
+      }
+      case NULL -> {
+        return 4;
+      }
+      default -> {
+        // Binary, POJO and missing nodes are rare enough that we can afford the serialization.
+        return serialize(jsonNode).length();
+      }
+    }
+  }
+
+  /**
+   * Length of a string once quoted and escaped the way Jackson does by default.
+   */
+  private static long getEstimatedQuotedStringLength(final String value) {
+    // opening and closing quotes
+    long size = 2;
+    for (int i = 0; i < value.length(); i++) {
+      final char c = value.charAt(i);
+      if (c == '"' || c == '\\' || c == '\b' || c == '\t' || c == '\n' || c == '\f' || c == '\r') {
+        size += 2;
+      } else if (c < 0x20) {
+        // other control characters are written as six character unicode escape sequences
+        size += 6;
+      } else {
+        size += 1;
+      }
+    }
+    return size;
+  }
+
+  private static int getDecimalLength(final long value) {
+    if (value == Long.MIN_VALUE) {
+      return 20;
+    }
+    long absolute = Math.abs(value);
+    int length = value < 0 ? 2 : 1;
+    while (absolute >= 10) {
+      absolute /= 10;
+      length++;
+    }
+    return length;
   }
 
   /**
@@ -762,30 +880,51 @@ public class Jsons {
    * @throws IOException if there is an error serializing the object
    */
   public static String canonicalJsonSerialize(final Object object) throws IOException {
-    final ObjectMapper mapper = new ObjectMapper();
-    final ObjectNode objectNode = mapper.valueToTree(object);
-    final ObjectNode sortedObjectNode = (ObjectNode) sortProperties(objectNode);
-    return mapper.writer().writeValueAsString(sortedObjectNode);
+    final StringWriter writer = new StringWriter();
+    try (final JsonGenerator generator = CANONICAL_OBJECT_MAPPER.getFactory().createGenerator(writer)) {
+      writeCanonical(CANONICAL_OBJECT_MAPPER.valueToTree(object), generator);
+    }
+    return writer.toString();
   }
 
-  private static JsonNode sortProperties(final JsonNode jsonNode) {
-    if (jsonNode.isObject()) {
-      final ObjectNode objectNode = (ObjectNode) jsonNode;
-      final ObjectNode sortedObjectNode = JsonNodeFactory.instance.objectNode();
-
-      StreamSupport.stream(Spliterators.spliteratorUnknownSize(objectNode.fields(), Spliterator.ORDERED), false)
-          .sorted(Map.Entry.comparingByKey())
-          .forEachOrdered(entry -> sortedObjectNode.set(entry.getKey(), sortProperties(entry.getValue())));
+  /**
+   * Writes the UTF-8 bytes of {@link #canonicalJsonSerialize(Object)} to the output stream without
+   * building the JSON string, e.g. to hash it. The output stream is not closed.
+   *
+   * @param object the object to serialize
+   * @param outputStream the stream to write to
+   * @throws IOException if there is an error serializing the object
+   */
+  public static void canonicalJsonSerialize(final Object object, final OutputStream outputStream) throws IOException {
+    try (final JsonGenerator generator = CANONICAL_OBJECT_MAPPER.getFactory().createGenerator(outputStream, JsonEncoding.UTF8)) {
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      writeCanonical(CANONICAL_OBJECT_MAPPER.valueToTree(object), generator);
+    }
+  }
 
-      return sortedObjectNode;
+  /**
+   * Writes the node with the fields of each object in alphabetical order, without copying the tree.
+   */
+  private static void writeCanonical(final JsonNode jsonNode, final JsonGenerator generator) throws IOException {
+    if (jsonNode.isObject()) {
+      final List<String> fieldNames = new ArrayList<>(jsonNode.size());
+      jsonNode.fieldNames().forEachRemaining(fieldNames::add);
+      Collections.sort(fieldNames);
+
+      generator.writeStartObject();
+      for (final String fieldName : fieldNames) {
+        generator.writeFieldName(fieldName);
+        writeCanonical(jsonNode.get(fieldName), generator);
+      }
+      generator.writeEndObject();
     } else if (jsonNode.isArray()) {
-      final ArrayNode arrayNode = (ArrayNode) jsonNode;
-      final ArrayNode sortedArrayNode = JsonNodeFactory.instance.arrayNode();
-      arrayNode.forEach(node -> sortedArrayNode.add(sortProperties(node)));
-
-      return sortedArrayNode;
+      generator.writeStartArray();
+      for (final JsonNode element : jsonNode) {
+        writeCanonical(element, generator);
+      }
+      generator.writeEndArray();
     } else {
-      return jsonNode;
+      generator.writeTree(jsonNode);
     }
   }
 
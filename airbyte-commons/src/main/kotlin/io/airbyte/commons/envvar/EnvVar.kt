@@ -20,6 +20,8 @@ enum class EnvVar {
 
   CDK_ENTRYPOINT,
   CDK_PYTHON,
+  CLOUD_STORAGE_APPENDER_BUFFER_SIZE,
+  CLOUD_STORAGE_APPENDER_COMPRESSED_CHUNKS,
   CLOUD_STORAGE_APPENDER_THREADS,
   CONFIG_ROOT,
   CONNECTION_ID,
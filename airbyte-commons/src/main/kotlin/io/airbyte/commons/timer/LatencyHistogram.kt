@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+package io.airbyte.commons.timer
+
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.AtomicLongArray
+import kotlin.math.ceil
+
+/**
+ * Lock-free histogram of durations in nanoseconds with a fixed memory footprint.
+ *
+ * Values are counted in log-linear buckets in the spirit of HdrHistogram: every power of two is split
+ * in 2^subBucketBits buckets of the same width. The default of [SUB_BUCKET_COUNT] buckets bounds the
+ * relative error of the reported percentiles to about 3% for about 9KB, [COARSE_SUB_BUCKET_BITS] bounds
+ * it to about 12% for about 2.5KB for when many histograms are kept. Recording a value is a single
+ * atomic increment, the maximum is tracked exactly. Durations above [MAX_TRACKABLE_VALUE_IN_NANOS] are
+ * counted in the last bucket.
+ */
+class LatencyHistogram(
+  private val subBucketBits: Int = DEFAULT_SUB_BUCKET_BITS,
+) {
+  /**
+   * Percentiles of the recorded durations in nanoseconds, 0 when nothing was recorded.
+   */
+  data class Percentiles(
+    val p50InNanos: Long,
+    val p99InNanos: Long,
+    val p999InNanos: Long,
+    val maxInNanos: Long,
+  )
+
+  private val bucketCount = bucketIndex(MAX_TRACKABLE_VALUE_IN_NANOS, subBucketBits) + 1
+  private val counts = AtomicLongArray(bucketCount)
+  private val maxValueInNanos = AtomicLong()
+
+  fun record(valueInNanos: Long) {
+    val value = valueInNanos.coerceIn(0, MAX_TRACKABLE_VALUE_IN_NANOS)
+    counts.incrementAndGet(bucketIndex(value, subBucketBits))
+    // Reading first avoids a write on the hot path once the maximum is established.
+    if (valueInNanos > maxValueInNanos.get()) {
+      maxValueInNanos.accumulateAndGet(valueInNanos) { a, b -> maxOf(a, b) }
+    }
+  }
+
+  /**
+   * Add the values recorded by another histogram to this one. The values of a histogram with a
+   * different precision are counted as the highest value of their bucket.
+   */
+  fun add(other: LatencyHistogram) {
+    for (i in 0 until other.bucketCount) {
+      val count = other.counts.get(i)
+      if (count > 0) {
+        val index = if (other.subBucketBits == subBucketBits) i else bucketIndex(highestValueInBucket(i, other.subBucketBits), subBucketBits)
+        counts.addAndGet(index, count)
+      }
+    }
+    maxValueInNanos.accumulateAndGet(other.getMaxInNanos()) { a, b -> maxOf(a, b) }
+  }
+
+  fun getCount(): Long {
+    var count = 0L
+    for (i in 0 until bucketCount) {
+      count += counts.get(i)
+    }
+    return count
+  }
+
+  fun getMaxInNanos(): Long = maxValueInNanos.get()
+
+  /**
+   * Return the highest value of the bucket holding the given percentile, capped by the maximum.
+   */
+  fun getValueAtPercentile(percentile: Double): Long {
+    val snapshot = LongArray(bucketCount) { counts.get(it) }
+    return valueAtPercentile(snapshot, snapshot.sum(), percentile)
+  }
+
+  fun getPercentiles(): Percentiles {
+    val snapshot = LongArray(bucketCount) { counts.get(it) }
+    val total = snapshot.sum()
+    return Percentiles(
+      p50InNanos = valueAtPercentile(snapshot, total, 50.0),
+      p99InNanos = valueAtPercentile(snapshot, total, 99.0),
+      p999InNanos = valueAtPercentile(snapshot, total, 99.9),
+      maxInNanos = getMaxInNanos(),
+    )
+  }
+
+  private fun valueAtPercentile(
+    snapshot: LongArray,
+    total: Long,
+    percentile: Double,
+  ): Long {
+    if (total == 0L) {
+      return 0
+    }
+    val target = ceil(percentile.coerceIn(0.0, 100.0) / 100.0 * total).toLong().coerceAtLeast(1)
+    var cumulated = 0L
+    for (i in snapshot.indices) {
+      cumulated += snapshot[i]
+      if (cumulated >= target) {
+        return minOf(highestValueInBucket(i, subBucketBits), getMaxInNanos())
+      }
+    }
+    return getMaxInNanos()
+  }
+
+  companion object {
+    const val DEFAULT_SUB_BUCKET_BITS = 5
+    const val COARSE_SUB_BUCKET_BITS = 3
+    const val SUB_BUCKET_COUNT = 1 shl DEFAULT_SUB_BUCKET_BITS
+    private const val MAX_EXPONENT = 40
+
+    // About 18 minutes, longer durations are only reflected by the maximum.
+    const val MAX_TRACKABLE_VALUE_IN_NANOS = (1L shl MAX_EXPONENT) - 1
+
+    /**
+     * Values below 2^subBucketBits have their own bucket, the others are grouped by the position of
+     * their highest bit and the subBucketBits bits that follow it.
+     */
+    internal fun bucketIndex(
+      value: Long,
+      subBucketBits: Int = DEFAULT_SUB_BUCKET_BITS,
+    ): Int {
+      val subBucketCount = 1 shl subBucketBits
+      if (value < subBucketCount) {
+        return value.toInt()
+      }
+      val exponent = 63 - java.lang.Long.numberOfLeadingZeros(value)
+      val subBucket = (value ushr (exponent - subBucketBits)).toInt() and (subBucketCount - 1)
+      return (exponent - subBucketBits + 1) * subBucketCount + subBucket
+    }
+
+    internal fun highestValueInBucket(
+      index: Int,
+      subBucketBits: Int = DEFAULT_SUB_BUCKET_BITS,
+    ): Long {
+      val subBucketCount = 1 shl subBucketBits
+      if (index < subBucketCount) {
+        return index.toLong()
+      }
+      val shift = index / subBucketCount - 1
+      val lowestValue = (subBucketCount + (index % subBucketCount)).toLong() shl shift
+      return lowestValue + (1L shl shift) - 1
+    }
+  }
+}
@@ -10,7 +10,8 @@ import java.util.concurrent.atomic.AtomicLong
  *
  *
  * This stopwatch will track both time spent and number of executions in a thread-safe
- * implementation. The best use case is within a try-with-resources block.
+ * implementation, along with a [LatencyHistogram] of the executions to report their percentiles. The
+ * best use case is within a try-with-resources block.
  *
  * <pre>
  * var sw = new Stopwatch();
@@ -23,7 +24,9 @@ import java.util.concurrent.atomic.AtomicLong
  * System.out.println(sw); // print the summary
 </pre> *
  */
-class Stopwatch {
+class Stopwatch(
+  latencySubBucketBits: Int = LatencyHistogram.DEFAULT_SUB_BUCKET_BITS,
+) {
   /**
    * Represents an instance of stopwatch start/stop. This record log the start time, and will report
    * it back upon close.
@@ -36,7 +39,10 @@ class Stopwatch {
   }
 
   private val elapsedTimeInNanos = AtomicLong()
-  private val executionCount = AtomicLong()
+
+  // The number of executions is the number of values in the histogram, which keeps a single atomic
+  // update per stop on top of the elapsed time.
+  private val latencies = LatencyHistogram(latencySubBucketBits)
 
   fun <T> time(block: () -> T): T = start().use { block() }
 
@@ -47,25 +53,46 @@ class Stopwatch {
     return StopwatchInstance(this, currentTime())
   }
 
+  /**
+   * Add the executions tracked by another stopwatch to this one.
+   */
+  fun add(other: Stopwatch) {
+    elapsedTimeInNanos.addAndGet(other.getElapsedTimeInNanos())
+    latencies.add(other.latencies)
+  }
+
   fun getElapsedTimeInNanos(): Long {
     return elapsedTimeInNanos.get()
   }
 
   fun getExecutionCount(): Long {
-    return executionCount.get()
+    return latencies.getCount()
+  }
+
+  fun getLatencies(): LatencyHistogram.Percentiles {
+    return latencies.getPercentiles()
   }
 
   val avgExecTimeInNanos: Double
     get() = getElapsedTimeInNanos().toDouble() / getExecutionCount()
 
   override fun toString(): String {
+    val percentiles = getLatencies()
     return String.format(
-      "%.02f %s/exec (total: %.02f%s, %s executions)",
+      "%.02f %s/exec (total: %.02f%s, %s executions, p50: %d%s, p99: %d%s, p999: %d%s, max: %d%s)",
       avgExecTimeInNanos,
       "ns",
       getElapsedTimeInNanos() / 1000000000.0,
       "s",
       getExecutionCount(),
+      percentiles.p50InNanos,
+      "ns",
+      percentiles.p99InNanos,
+      "ns",
+      percentiles.p999InNanos,
+      "ns",
+      percentiles.maxInNanos,
+      "ns",
     )
   }
 
@@ -75,7 +102,7 @@ class Stopwatch {
 
   private fun stop(t: StopwatchInstance) {
     val delta = currentTime() - t.startTime
-    executionCount.incrementAndGet()
+    latencies.record(delta)
     elapsedTimeInNanos.addAndGet(delta)
   }
 }
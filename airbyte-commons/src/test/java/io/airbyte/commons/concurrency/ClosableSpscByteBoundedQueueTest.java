@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+class ClosableSpscByteBoundedQueueTest {
+
+  private static ClosableSpscByteBoundedQueue<String> newQueue(final int maxQueueSize, final long maxSizeInBytes, final int timeOut) {
+    return new ClosableSpscByteBoundedQueue<>(maxQueueSize, maxSizeInBytes, String::length, timeOut);
+  }
+
+  @Test
+  void testAddAndPollInOrder() throws InterruptedException {
+    final var queue = newQueue(10, 100, 0);
+
+    assertTrue(queue.add("a"));
+    assertTrue(queue.add("bb"));
+
+    assertEquals(2, queue.size());
+    assertEquals(3, queue.sizeInBytes());
+    assertEquals("a", queue.poll());
+    assertEquals("bb", queue.poll());
+    assertNull(queue.poll());
+    assertEquals(0, queue.sizeInBytes());
+  }
+
+  @Test
+  void testBoundedByNumberOfElements() throws InterruptedException {
+    final var queue = newQueue(2, 100, 0);
+
+    assertTrue(queue.add("a"));
+    assertTrue(queue.add("b"));
+    assertFalse(queue.add("c"));
+
+    queue.poll();
+    assertTrue(queue.add("c"));
+  }
+
+  @Test
+  void testBoundedBySizeInBytes() throws InterruptedException {
+    final var queue = newQueue(10, 5, 0);
+
+    assertTrue(queue.add("abc"));
+    assertFalse(queue.add("abc"));
+    assertTrue(queue.add("ab"));
+
+    queue.poll();
+    assertTrue(queue.add("abc"));
+  }
+
+  @Test
+  void testAddWithAKnownSize() throws InterruptedException {
+    final var queue = newQueue(10, 5, 0);
+
+    assertTrue(queue.add("a", 4));
+    assertEquals(4, queue.sizeInBytes());
+    assertFalse(queue.add("b", 2));
+    assertTrue(queue.add("b"));
+
+    assertEquals("a", queue.poll());
+    assertEquals(1, queue.sizeInBytes());
+  }
+
+  @Test
+  void testElementLargerThanTheLimitIsAcceptedWhenEmpty() throws InterruptedException {
+    final var queue = newQueue(10, 5, 0);
+
+    assertTrue(queue.add("abcdefgh"));
+    assertFalse(queue.add("a"));
+    assertEquals("abcdefgh", queue.poll());
+  }
+
+  @Test
+  void testBatches() throws InterruptedException {
+    final var queue = newQueue(4, 100, 0);
+
+    assertEquals(4, queue.addAll(List.of("a", "b", "c", "d", "e")));
+
+    final List<String> drained = new ArrayList<>();
+    assertEquals(3, queue.drainTo(drained, 3));
+    assertEquals(List.of("a", "b", "c"), drained);
+    assertEquals(1, queue.size());
+    assertEquals(1, queue.sizeInBytes());
+  }
+
+  @Test
+  void testClose() throws InterruptedException {
+    final var queue = newQueue(10, 100, 0);
+    assertTrue(queue.add("a"));
+
+    queue.close();
+
+    assertTrue(queue.isClosed());
+    assertFalse(queue.isDone());
+    assertFalse(queue.add("b"));
+    assertEquals("a", queue.poll());
+    assertTrue(queue.isDone());
+  }
+
+  @Test
+  @Timeout(value = 10, unit = TimeUnit.SECONDS)
+  void testCloseWakesUpTheWaitingConsumer() throws Exception {
+    final var queue = newQueue(10, 100, 60);
+
+    final CompletableFuture<String> polled = CompletableFuture.supplyAsync(() -> {
+      try {
+        return queue.poll();
+      } catch (final InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+    });
+    queue.close();
+
+    assertNull(polled.get());
+  }
+
+  @Test
+  @Timeout(value = 30, unit = TimeUnit.SECONDS)
+  void testProducerAndConsumerThreads() throws Exception {
+    final var queue = newQueue(16, 64, 60);
+    final int count = 100_000;
+
+    final CompletableFuture<Void> producer = CompletableFuture.runAsync(() -> {
+      try {
+        for (int i = 0; i < count; i++) {
+          assertTrue(queue.add(String.valueOf(i)));
+        }
+      } catch (final InterruptedException e) {
+        throw new RuntimeException(e);
+      } finally {
+        queue.close();
+      }
+    });
+
+    final List<String> consumed = new ArrayList<>(count);
+    while (!queue.isDone()) {
+      queue.drainTo(consumed, 10);
+    }
+    producer.get();
+
+    assertEquals(IntStream.range(0, count).mapToObj(String::valueOf).toList(), consumed);
+  }
+
+}
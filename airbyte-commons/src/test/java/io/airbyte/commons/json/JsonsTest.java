@@ -24,6 +24,7 @@ import io.airbyte.protocol.models.AirbyteCatalog;
 import io.airbyte.protocol.models.CatalogHelpers;
 import io.airbyte.protocol.models.Field;
 import io.airbyte.protocol.models.JsonSchemaType;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
@@ -264,6 +265,14 @@ class JsonsTest {
     assertEquals(Jsons.toBytes(json).length, Jsons.getEstimatedByteSize(json));
   }
 
+  @Test
+  void testGetEstimatedByteSizeMatchesSerializedLength() {
+    final JsonNode json = Jsons.deserialize(
+        "{\"int\":-1234,\"long\":12345678901234,\"double\":1.5,\"bool\":false,\"null\":null,\"empty_object\":{},\"empty_array\":[],"
+            + "\"escaped\":\"quote \\\" backslash \\\\ newline \\n control \\u0001\",\"nested\":[{\"a\":[1,2,3]},true]}");
+    assertEquals(Jsons.serialize(json).length(), Jsons.getEstimatedByteSize(json));
+  }
+
   @Test
   void testFlatten__noArrays() {
     final JsonNode json = Jsons.deserialize("{ \"abc\": { \"def\": \"ghi\" }, \"jkl\": true, \"pqr\": 1 }");
@@ -459,6 +468,17 @@ class JsonsTest {
     assertEquals(expectedJson, actualJson);
   }
 
+  @Test
+  void testCanonicalJsonSerializeToStream() throws IOException {
+    final JsonNode json = Jsons.deserialize("{\"b\":[{\"z\":1,\"y\":\"\u00e9t\u00e9\"}],\"a\":{\"d\":null,\"c\":2.5}}");
+    final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    Jsons.canonicalJsonSerialize(json, outputStream);
+
+    assertEquals("{\"a\":{\"c\":2.5,\"d\":null},\"b\":[{\"y\":\"\u00e9t\u00e9\",\"z\":1}]}", Jsons.canonicalJsonSerialize(json));
+    assertArrayEquals(Jsons.canonicalJsonSerialize(json).getBytes(StandardCharsets.UTF_8), outputStream.toByteArray());
+  }
+
   @Test
   void testDeserializeIfTextOnTextNode() {
     final TextNode textNode = TextNode.valueOf("{\"key1\": \"value1\"}");
@@ -0,0 +1,101 @@
+package io.airbyte.commons.timer
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.params.ParameterizedTest
+import org.junit.jupiter.params.provider.ValueSource
+import kotlin.math.abs
+
+class LatencyHistogramTest {
+  @ParameterizedTest
+  @ValueSource(longs = [0, 1, 31, 32, 33, 63, 64, 1000, 123_456_789, LatencyHistogram.MAX_TRACKABLE_VALUE_IN_NANOS])
+  fun `values fall in a bucket that contains them`(value: Long) {
+    val index = LatencyHistogram.bucketIndex(value)
+    assertTrue(LatencyHistogram.highestValueInBucket(index) >= value)
+    assertTrue(index == 0 || LatencyHistogram.highestValueInBucket(index - 1) < value)
+  }
+
+  @Test
+  fun `percentiles are within the bucket precision`() {
+    val histogram = LatencyHistogram()
+    (1L..10_000L).forEach { histogram.record(it * 1_000) }
+
+    assertEquals(10_000, histogram.getCount())
+    assertWithinPrecision(5_000_000, histogram.getValueAtPercentile(50.0))
+    assertWithinPrecision(9_900_000, histogram.getValueAtPercentile(99.0))
+    assertWithinPrecision(9_990_000, histogram.getValueAtPercentile(99.9))
+    assertEquals(10_000_000, histogram.getMaxInNanos())
+  }
+
+  @Test
+  fun `a few stalls show up in the tail but not in the median`() {
+    val histogram = LatencyHistogram()
+    repeat(9_980) { histogram.record(1_000) }
+    repeat(20) { histogram.record(30_000_000_000) }
+
+    val percentiles = histogram.getPercentiles()
+    assertWithinPrecision(1_000, percentiles.p50InNanos)
+    assertWithinPrecision(1_000, percentiles.p99InNanos)
+    assertWithinPrecision(30_000_000_000, percentiles.p999InNanos)
+    assertEquals(30_000_000_000, percentiles.maxInNanos)
+  }
+
+  @Test
+  fun `values above the trackable range only affect the maximum`() {
+    val histogram = LatencyHistogram()
+    histogram.record(LatencyHistogram.MAX_TRACKABLE_VALUE_IN_NANOS * 4)
+
+    assertEquals(1, histogram.getCount())
+    assertEquals(LatencyHistogram.MAX_TRACKABLE_VALUE_IN_NANOS * 4, histogram.getMaxInNanos())
+  }
+
+  @Test
+  fun `empty histograms report zeros`() {
+    assertEquals(LatencyHistogram.Percentiles(0, 0, 0, 0), LatencyHistogram().getPercentiles())
+  }
+
+  @Test
+  fun `histograms can be added`() {
+    val first = LatencyHistogram().apply { record(10) }
+    val second = LatencyHistogram().apply { record(20_000) }
+
+    first.add(second)
+
+    assertEquals(2, first.getCount())
+    assertEquals(20_000, first.getMaxInNanos())
+  }
+
+  @Test
+  fun `coarse histograms are within their bucket precision`() {
+    val histogram = LatencyHistogram(LatencyHistogram.COARSE_SUB_BUCKET_BITS)
+    (1L..10_000L).forEach { histogram.record(it * 1_000) }
+
+    assertEquals(10_000, histogram.getCount())
+    assertWithinPrecision(5_000_000, histogram.getValueAtPercentile(50.0), 1 shl LatencyHistogram.COARSE_SUB_BUCKET_BITS)
+    assertWithinPrecision(9_900_000, histogram.getValueAtPercentile(99.0), 1 shl LatencyHistogram.COARSE_SUB_BUCKET_BITS)
+    assertEquals(10_000_000, histogram.getMaxInNanos())
+  }
+
+  @Test
+  fun `histograms of different precisions can be added`() {
+    val total = LatencyHistogram()
+    val coarse = LatencyHistogram(LatencyHistogram.COARSE_SUB_BUCKET_BITS)
+    repeat(100) { coarse.record(1_000) }
+    coarse.record(20_000)
+
+    total.add(coarse)
+
+    assertEquals(101, total.getCount())
+    assertWithinPrecision(1_000, total.getValueAtPercentile(50.0), 1 shl LatencyHistogram.COARSE_SUB_BUCKET_BITS)
+    assertEquals(20_000, total.getMaxInNanos())
+  }
+
+  private fun assertWithinPrecision(
+    expected: Long,
+    actual: Long,
+    subBucketCount: Int = LatencyHistogram.SUB_BUCKET_COUNT,
+  ) {
+    assertTrue(abs(actual - expected) <= expected / subBucketCount, "expected $expected but was $actual")
+  }
+}
@@ -20,6 +20,12 @@ interface AirbyteRecord {
 
   fun get(fieldName: String): Value
 
+  /**
+   * Returns the value of the field or null if the record doesn't have it, in a single lookup where
+   * the implementation allows it.
+   */
+  fun getOrNull(fieldName: String): Value? = if (has(fieldName)) get(fieldName) else null
+
   fun remove(fieldName: String)
 
   fun rename(
@@ -49,4 +55,15 @@ interface Value {
   fun asNumber(): Number
 
   fun asString(): String
+
+  /**
+   * Returns the value as a Long if it is an integral number that fits in one, null otherwise. Lets
+   * callers compare integers without converting them to a String first.
+   */
+  fun asLongOrNull(): Long? = null
+
+  /**
+   * Returns the value as a Double if it is a number or a String holding one, null otherwise.
+   */
+  fun asDoubleOrNull(): Double? = asString().toDoubleOrNull()
 }
@@ -17,6 +17,15 @@ class JsonValueAdapter(private val node: JsonNode) : Value {
   override fun asNumber(): Number = node.asDouble()
 
   override fun asString(): String = node.asText()
+
+  override fun asLongOrNull(): Long? = if (node.isIntegralNumber && node.canConvertToLong()) node.longValue() else null
+
+  override fun asDoubleOrNull(): Double? =
+    when {
+      node.isNumber -> node.doubleValue()
+      node.isTextual -> node.textValue().toDoubleOrNull()
+      else -> null
+    }
 }
 
 data class AirbyteJsonRecordAdapter(private val message: AirbyteMessage) : AirbyteRecord {
@@ -32,6 +41,8 @@ data class AirbyteJsonRecordAdapter(private val message: AirbyteMessage) : Airby
 
   override fun get(fieldName: String): Value = JsonValueAdapter(data[fieldName])
 
+  override fun getOrNull(fieldName: String): Value? = data[fieldName]?.let { JsonValueAdapter(it) }
+
   override fun remove(fieldName: String) {
     data.remove(fieldName)
   }
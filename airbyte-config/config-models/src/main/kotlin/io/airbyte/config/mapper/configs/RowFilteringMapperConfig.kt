@@ -19,6 +19,8 @@ import java.util.UUID
   JsonSubTypes.Type(value = OrOperation::class, names = ["OR", "or"]),
   JsonSubTypes.Type(value = EqualOperation::class, names = ["EQUAL", "equal"]),
   JsonSubTypes.Type(value = NotOperation::class, names = ["NOT", "not"]),
+  JsonSubTypes.Type(value = InOperation::class, names = ["IN", "in"]),
+  JsonSubTypes.Type(value = RangeOperation::class, names = ["RANGE", "range"]),
 )
 sealed class Operation {
   abstract val type: String
@@ -66,6 +68,58 @@ data class EqualOperation(
   }
 }
 
+data class InOperation(
+  @JsonProperty("type")
+  @field:NotNull
+  @field:SchemaConstant("IN")
+  override val type: String = "IN",
+  @JsonProperty("fieldName")
+  @field:NotNull
+  @field:SchemaTitle("Field Name")
+  @field:SchemaDescription("The name of the field to apply the operation on.")
+  val fieldName: String,
+  @JsonProperty("comparisonValues")
+  @field:NotNull
+  @field:SchemaTitle("Comparison Values")
+  @field:SchemaDescription("The values to compare the field against, the field must be equal to one of them.")
+  val comparisonValues: List<String>,
+) : Operation() {
+  override fun eval(record: AirbyteRecord): Boolean {
+    if (record.has(fieldName)) {
+      return record.get(fieldName).asString() in comparisonValues
+    }
+    return false
+  }
+}
+
+data class RangeOperation(
+  @JsonProperty("type")
+  @field:NotNull
+  @field:SchemaConstant("RANGE")
+  override val type: String = "RANGE",
+  @JsonProperty("fieldName")
+  @field:NotNull
+  @field:SchemaTitle("Field Name")
+  @field:SchemaDescription("The name of the field to apply the operation on.")
+  val fieldName: String,
+  @JsonProperty("lowerBound")
+  @field:SchemaTitle("Lower Bound")
+  @field:SchemaDescription("The smallest value the field may have, inclusive. No lower bound if not set.")
+  val lowerBound: Double? = null,
+  @JsonProperty("upperBound")
+  @field:SchemaTitle("Upper Bound")
+  @field:SchemaDescription("The largest value the field may have, inclusive. No upper bound if not set.")
+  val upperBound: Double? = null,
+) : Operation() {
+  override fun eval(record: AirbyteRecord): Boolean {
+    if (record.has(fieldName)) {
+      val value = record.get(fieldName).asDoubleOrNull() ?: return false
+      return (lowerBound == null || value >= lowerBound) && (upperBound == null || value <= upperBound)
+    }
+    return false
+  }
+}
+
 data class OrOperation(
   @JsonProperty("type")
   @field:NotNull
@@ -5,6 +5,7 @@ import io.airbyte.config.StreamDescriptor
 import io.airbyte.protocol.models.AirbyteMessage
 import io.airbyte.protocol.models.AirbyteRecordMessageMetaChange
 import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNull
 import org.junit.jupiter.api.Test
 
 class JsonRecordAdapterTest {
@@ -118,6 +119,26 @@ class JsonRecordAdapterTest {
     assertEquals("overridden", adapter.get(BOOLEAN_FIELD).asString())
   }
 
+  @Test
+  fun `typed reads`() {
+    val adapter = getAdapterFromRecord(jsonRecordString)
+
+    assertNull(adapter.getOrNull("missing-field"))
+    assertEquals("bar", adapter.getOrNull(STRING_FIELD)?.asString())
+
+    assertEquals(42L, adapter.get(INT_FIELD).asLongOrNull())
+    assertNull(adapter.get(NUMBER_FIELD).asLongOrNull())
+    assertNull(adapter.get(STRING_FIELD).asLongOrNull())
+
+    assertEquals(4.2, adapter.get(NUMBER_FIELD).asDoubleOrNull())
+    assertEquals(42.0, adapter.get(INT_FIELD).asDoubleOrNull())
+    assertNull(adapter.get(STRING_FIELD).asDoubleOrNull())
+    assertNull(adapter.get(BOOLEAN_FIELD).asDoubleOrNull())
+
+    adapter.set(STRING_FIELD, "1.5")
+    assertEquals(1.5, adapter.get(STRING_FIELD).asDoubleOrNull())
+  }
+
   fun getAdapterFromRecord(jsonString: String) = AirbyteJsonRecordAdapter(getRecord(jsonString))
 
   fun getRecord(jsonString: String): AirbyteMessage = Jsons.deserialize(jsonString, AirbyteMessage::class.java)
@@ -36,6 +36,8 @@ dependencies {
   implementation(libs.bundles.micronaut.kotlin)
   implementation(libs.bundles.datadog)
 
+  testAnnotationProcessor(libs.jmh.annotations)
+
   testImplementation(libs.hamcrest.all)
   testImplementation(libs.platform.testcontainers.postgresql)
   testImplementation(libs.bundles.flyway)
@@ -46,6 +48,8 @@ dependencies {
   testImplementation(libs.junit.pioneer)
   testImplementation(libs.bundles.micronaut.test)
   testImplementation(libs.mockk)
+  testImplementation(libs.jmh.core)
+  testImplementation(libs.jmh.annotations)
 
   kspTest(platform(libs.micronaut.platform))
   kspTest(libs.bundles.micronaut.test.annotation.processor)
@@ -65,7 +65,7 @@ public class StatePersistence {
       return Optional.empty();
     }
 
-    return switch (getStateType(connectionId, records)) {
+    return switch (getStateType(connectionId, records.stream().map(StateRecord::type).toList())) {
       case GLOBAL -> Optional.of(buildGlobalState(records));
       case STREAM -> Optional.of(buildStreamState(records));
       default -> Optional.of(buildLegacyState(records));
@@ -85,29 +85,42 @@ public class StatePersistence {
    */
   public void updateOrCreateState(final UUID connectionId, final StateWrapper state)
       throws IOException {
-    final Optional<StateWrapper> previousState = getCurrentState(connectionId);
     final StateType currentStateType = state.getStateType();
-    final boolean isMigration = StateMessageHelper.isMigration(currentStateType, previousState);
-
-    // The only case where we allow a state migration is moving from LEGACY.
-    // We expect any other migration to go through an explicit reset.
-    if (!isMigration && previousState.isPresent() && previousState.get().getStateType() != currentStateType) {
-      throw new IllegalStateException("Unexpected type migration from '" + previousState.get().getStateType() + "' to '" + currentStateType
-          + "'. Migration of StateType need to go through an explicit reset.");
-    }
 
     this.database.transaction(ctx -> {
+      // Only the keys and types of the existing records are needed to decide between an insert and an
+      // update, there is no need to load the states themselves.
+      final List<StateRecordKey> existingRecords = getStateRecordKeys(ctx, connectionId);
+      final StateType previousStateType = existingRecords.isEmpty()
+          ? null
+          : Enums.convertTo(getStateType(connectionId, existingRecords.stream().map(StateRecordKey::type).toList()), StateType.class);
+      final boolean isMigration = StateMessageHelper.isMigration(currentStateType, previousStateType);
+
+      // The only case where we allow a state migration is moving from LEGACY.
+      // We expect any other migration to go through an explicit reset.
+      if (!isMigration && previousStateType != null && previousStateType != currentStateType) {
+        throw new IllegalStateException("Unexpected type migration from '" + previousStateType + "' to '" + currentStateType
+            + "'. Migration of StateType need to go through an explicit reset.");
+      }
+
+      final Set<StreamKey> existingStreams;
       if (isMigration) {
         clearLegacyState(ctx, connectionId);
+        // A legacy state is a single record, nothing is left once it is cleared.
+        existingStreams = Set.of();
+      } else {
+        existingStreams = existingRecords.stream().map(r -> new StreamKey(r.streamName(), r.namespace())).collect(Collectors.toSet());
       }
+      final StateUpdateBatch stateUpdateBatch = new StateUpdateBatch();
       switch (state.getStateType()) {
-        case GLOBAL -> saveGlobalState(ctx, connectionId, state.getGlobal().getGlobal());
-        case STREAM -> saveStreamState(ctx, connectionId, state.getStateMessages());
-        case LEGACY -> saveLegacyState(ctx, connectionId, state.getLegacyState());
+        case GLOBAL -> saveGlobalState(ctx, connectionId, state.getGlobal().getGlobal(), existingStreams, stateUpdateBatch);
+        case STREAM -> saveStreamState(ctx, connectionId, state.getStateMessages(), existingStreams, stateUpdateBatch);
+        case LEGACY -> saveLegacyState(ctx, connectionId, state.getLegacyState(), existingStreams, stateUpdateBatch);
         default -> {
           // no op
         }
       }
+      stateUpdateBatch.save(ctx);
       return null;
     });
   }
@@ -161,14 +174,19 @@ public class StatePersistence {
   }
 
   private static void clearLegacyState(final DSLContext ctx, final UUID connectionId) {
+    // The legacy record must be gone before the new state is written, the shared part of a global state
+    // is stored under the same key.
     final StateUpdateBatch stateUpdateBatch = new StateUpdateBatch();
-    writeStateToDb(ctx, connectionId, null, null, StateType.LEGACY, null, stateUpdateBatch);
+    writeStateToDb(ctx, connectionId, null, null, StateType.LEGACY, null, Set.of(), stateUpdateBatch);
     stateUpdateBatch.save(ctx);
   }
 
-  private static void saveGlobalState(final DSLContext ctx, final UUID connectionId, final AirbyteGlobalState globalState) {
-    final StateUpdateBatch stateUpdateBatch = new StateUpdateBatch();
-    writeStateToDb(ctx, connectionId, null, null, StateType.GLOBAL, globalState.getSharedState(), stateUpdateBatch);
+  private static void saveGlobalState(final DSLContext ctx,
+                                      final UUID connectionId,
+                                      final AirbyteGlobalState globalState,
+                                      final Set<StreamKey> existingStreams,
+                                      final StateUpdateBatch stateUpdateBatch) {
+    writeStateToDb(ctx, connectionId, null, null, StateType.GLOBAL, globalState.getSharedState(), existingStreams, stateUpdateBatch);
     for (final AirbyteStreamState streamState : globalState.getStreamStates()) {
       writeStateToDb(ctx,
           connectionId,
@@ -176,13 +194,16 @@ public class StatePersistence {
           streamState.getStreamDescriptor().getNamespace(),
           StateType.GLOBAL,
           streamState.getStreamState(),
+          existingStreams,
           stateUpdateBatch);
     }
-    stateUpdateBatch.save(ctx);
   }
 
-  private static void saveStreamState(final DSLContext ctx, final UUID connectionId, final List<AirbyteStateMessage> stateMessages) {
-    final StateUpdateBatch stateUpdateBatch = new StateUpdateBatch();
+  private static void saveStreamState(final DSLContext ctx,
+                                      final UUID connectionId,
+                                      final List<AirbyteStateMessage> stateMessages,
+                                      final Set<StreamKey> existingStreams,
+                                      final StateUpdateBatch stateUpdateBatch) {
     for (final AirbyteStateMessage stateMessage : stateMessages) {
       final AirbyteStreamState streamState = stateMessage.getStream();
       writeStateToDb(ctx,
@@ -191,21 +212,25 @@ public class StatePersistence {
           streamState.getStreamDescriptor().getNamespace(),
           StateType.STREAM,
           streamState.getStreamState(),
+          existingStreams,
           stateUpdateBatch);
     }
-    stateUpdateBatch.save(ctx);
   }
 
-  private static void saveLegacyState(final DSLContext ctx, final UUID connectionId, final JsonNode state) {
-    final StateUpdateBatch stateUpdateBatch = new StateUpdateBatch();
-    writeStateToDb(ctx, connectionId, null, null, StateType.LEGACY, state, stateUpdateBatch);
-    stateUpdateBatch.save(ctx);
+  private static void saveLegacyState(final DSLContext ctx,
+                                      final UUID connectionId,
+                                      final JsonNode state,
+                                      final Set<StreamKey> existingStreams,
+                                      final StateUpdateBatch stateUpdateBatch) {
+    writeStateToDb(ctx, connectionId, null, null, StateType.LEGACY, state, existingStreams, stateUpdateBatch);
   }
 
   /**
-   * Performs the actual SQL operation depending on the state.
+   * Adds the SQL operation depending on the state to the batch.
    *
-   * If the state is null, it will delete the row, otherwise do an insert or update on conflict
+   * If the state is null, it will delete the row, otherwise do an insert or an update depending on
+   * whether the stream is part of existingStreams. Updates leave the row untouched when the stored
+   * state is equal to the new one.
    */
   static void writeStateToDb(final DSLContext ctx,
                              final UUID connectionId,
@@ -213,12 +238,10 @@ public class StatePersistence {
                              final String namespace,
                              final StateType stateType,
                              final JsonNode state,
+                             final Set<StreamKey> existingStreams,
                              final StateUpdateBatch stateUpdateBatch) {
     if (state != null) {
-      final boolean hasState = ctx.fetchExists(STATE,
-          STATE.CONNECTION_ID.eq(connectionId),
-          PersistenceHelpers.isNullOrEquals(STATE.STREAM_NAME, streamName),
-          PersistenceHelpers.isNullOrEquals(STATE.NAMESPACE, namespace));
+      final boolean hasState = existingStreams.contains(new StreamKey(streamName, namespace));
 
       // NOTE: the legacy code was storing a State object instead of just the State data field. We kept
       // the same behavior for consistency.
@@ -248,6 +271,8 @@ public class StatePersistence {
                     Enums.convertTo(stateType, io.airbyte.db.instance.configs.jooq.generated.enums.StateType.class)));
 
       } else {
+        // jsonb equality doesn't depend on the formatting or the order of the keys, unchanged states are
+        // compared by the database without being sent back to us.
         stateUpdateBatch.getUpdatedStreamStates().add(
             ctx.update(STATE)
                 .set(STATE.UPDATED_AT, now)
@@ -255,7 +280,8 @@ public class StatePersistence {
                 .where(
                     STATE.CONNECTION_ID.eq(connectionId),
                     PersistenceHelpers.isNullOrEquals(STATE.STREAM_NAME, streamName),
-                    PersistenceHelpers.isNullOrEquals(STATE.NAMESPACE, namespace)));
+                    PersistenceHelpers.isNullOrEquals(STATE.NAMESPACE, namespace),
+                    STATE.STATE_.isDistinctFrom(jsonbState)));
       }
 
     } else {
@@ -274,16 +300,15 @@ public class StatePersistence {
    *
    * @param connectionId The connectionId of the records, used to add more debugging context if an
    *        error is detected
-   * @param records The list of StateRecords to process, must not be empty
+   * @param recordTypes The types of the StateRecords to process, must not be empty
    * @return the StateType of the records
    * @throws IllegalStateException If StateRecords have inconsistent types
    */
   @SuppressWarnings("PMD.AvoidLiteralsInIfCondition")
   private static io.airbyte.db.instance.configs.jooq.generated.enums.StateType getStateType(
                                                                                             final UUID connectionId,
-                                                                                            final List<StateRecord> records) {
-    final Set<io.airbyte.db.instance.configs.jooq.generated.enums.StateType> types =
-        records.stream().map(r -> r.type).collect(Collectors.toSet());
+                                                                                            final List<io.airbyte.db.instance.configs.jooq.generated.enums.StateType> recordTypes) {
+    final Set<io.airbyte.db.instance.configs.jooq.generated.enums.StateType> types = Set.copyOf(recordTypes);
     if (types.size() == 1) {
       return types.stream().findFirst().get();
     }
@@ -307,6 +332,20 @@ public class StatePersistence {
         .stream().toList();
   }
 
+  /**
+   * Get the type and stream of the state records from the DB, without their states.
+   *
+   * @param ctx A valid DSL context to use for the query
+   * @param connectionId the ID of the connection
+   * @return The keys of the StateRecords for the connectionId
+   */
+  private static List<StateRecordKey> getStateRecordKeys(final DSLContext ctx, final UUID connectionId) {
+    return ctx.select(STATE.TYPE, STATE.STREAM_NAME, STATE.NAMESPACE)
+        .from(STATE)
+        .where(STATE.CONNECTION_ID.eq(connectionId))
+        .fetch(record -> new StateRecordKey(record.value1(), record.value2(), record.value3()));
+  }
+
   /**
    * Delete all connection state records from the DB.
    *
@@ -387,6 +426,16 @@ public class StatePersistence {
         Jsons.deserialize(record.get(STATE.STATE_).data()));
   }
 
+  /**
+   * The stream a state record belongs to, streamName and namespace are null for the legacy state and
+   * the shared part of a global state.
+   */
+  record StreamKey(String streamName, String namespace) {}
+
+  private record StateRecordKey(io.airbyte.db.instance.configs.jooq.generated.enums.StateType type,
+                                String streamName,
+                                String namespace) {}
+
   private record StateRecord(
                              io.airbyte.db.instance.configs.jooq.generated.enums.StateType type,
                              String streamName,
@@ -16,9 +16,14 @@ class StateUpdateBatch {
   private final List<Query> deletedStreamStates = new ArrayList<>();
 
   void save(final DSLContext ctx) {
-    ctx.batch(updatedStreamStates).execute();
-    ctx.batch(createdStreamStates).execute();
-    ctx.batch(deletedStreamStates).execute();
+    // A single batch so that a flush costs one round trip to the database.
+    final List<Query> queries = new ArrayList<>(updatedStreamStates.size() + createdStreamStates.size() + deletedStreamStates.size());
+    queries.addAll(updatedStreamStates);
+    queries.addAll(createdStreamStates);
+    queries.addAll(deletedStreamStates);
+    if (!queries.isEmpty()) {
+      ctx.batch(queries).execute();
+    }
   }
 
   public List<Query> getDeletedStreamStates() {
@@ -20,6 +20,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.when;
 
+import com.google.common.hash.Hashing;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.config.ActorCatalog;
 import io.airbyte.config.ActorCatalogFetchEvent;
@@ -53,6 +54,7 @@ import io.airbyte.data.services.SecretPersistenceConfigService;
 import io.airbyte.data.services.SourceService;
 import io.airbyte.data.services.WorkspaceService;
 import io.airbyte.data.services.impls.jooq.ActorDefinitionServiceJooqImpl;
+import io.airbyte.data.services.impls.jooq.CatalogHashes;
 import io.airbyte.data.services.impls.jooq.CatalogServiceJooqImpl;
 import io.airbyte.data.services.impls.jooq.ConnectionServiceJooqImpl;
 import io.airbyte.data.services.impls.jooq.DestinationServiceJooqImpl;
@@ -76,6 +78,7 @@ import io.airbyte.protocol.models.JsonSchemaType;
 import io.airbyte.test.utils.BaseConfigDatabaseTest;
 import io.airbyte.validation.json.JsonValidationException;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
 import java.time.OffsetDateTime;
 import java.util.Collections;
@@ -349,10 +352,51 @@ class ConfigRepositoryE2EReadWriteTest extends BaseConfigDatabaseTest {
 
     final Optional<ActorCatalog> catalogResult = catalogService.getActorCatalog(source.getSourceId(), DOCKER_IMAGE_TAG, CONFIG_HASH);
     assertTrue(catalogResult.isPresent());
-    assertEquals(catalogResult.get().getCatalogHash(), canonicalConfigHash);
+    assertEquals(Hashing.sha256().hashString(expectedCatalog, StandardCharsets.UTF_8).toString(), catalogResult.get().getCatalogHash());
+    assertEquals(canonicalConfigHash, CatalogHashes.of(firstCatalog).legacyCanonicalHash());
     assertEquals(expectedCatalog, Jsons.canonicalJsonSerialize(catalogResult.get().getCatalog()));
   }
 
+  @Test
+  void testLegacyHashActorCatalogIsReusedAndRekeyed() throws IOException, JsonValidationException, SQLException {
+    final StandardWorkspace workspace = MockData.standardWorkspaces().get(0);
+
+    final StandardSourceDefinition sourceDefinition = new StandardSourceDefinition()
+        .withSourceDefinitionId(UUID.randomUUID())
+        .withSourceType(SourceType.DATABASE)
+        .withName("sourceDefinition");
+    final ActorDefinitionVersion actorDefinitionVersion = MockData.actorDefinitionVersion()
+        .withActorDefinitionId(sourceDefinition.getSourceDefinitionId())
+        .withVersionId(sourceDefinition.getDefaultVersionId());
+    sourceService.writeConnectorMetadata(sourceDefinition, actorDefinitionVersion, Collections.emptyList());
+
+    final SourceConnection source = new SourceConnection()
+        .withSourceDefinitionId(sourceDefinition.getSourceDefinitionId())
+        .withSourceId(UUID.randomUUID())
+        .withName("SomeConnector")
+        .withWorkspaceId(workspace.getWorkspaceId())
+        .withConfiguration(Jsons.deserialize("{}"));
+    sourceService.writeSourceConnectionNoSecrets(source);
+
+    final AirbyteCatalog catalog = CatalogHelpers.createAirbyteCatalog("product",
+        Field.of("label", JsonSchemaType.STRING), Field.of("size", JsonSchemaType.NUMBER));
+    final CatalogHashes catalogHashes = CatalogHashes.of(catalog);
+    final UUID legacyCatalogId = UUID.randomUUID();
+    writeActorCatalog(database, List.of(new ActorCatalog()
+        .withId(legacyCatalogId)
+        .withCatalog(Jsons.jsonNode(catalog))
+        .withCatalogHash(catalogHashes.legacyCanonicalHash())));
+
+    catalogService.writeActorCatalogFetchEvent(catalog, source.getSourceId(), DOCKER_IMAGE_TAG, CONFIG_HASH);
+    catalogService.writeActorCatalogFetchEvent(catalog, source.getSourceId(), DOCKER_IMAGE_TAG, CONFIG_HASH);
+
+    final Optional<ActorCatalog> catalogResult = catalogService.getActorCatalog(source.getSourceId(), DOCKER_IMAGE_TAG, CONFIG_HASH);
+    assertTrue(catalogResult.isPresent());
+    assertEquals(legacyCatalogId, catalogResult.get().getId());
+    assertEquals(catalogHashes.digest(), catalogResult.get().getCatalogHash());
+    assertEquals(1, database.query(ctx -> ctx.selectCount().from(ACTOR_CATALOG)).fetchOne().into(int.class));
+  }
+
   @Test
   void testSimpleInsertActorCatalog() throws IOException, SQLException {
     final String otherConfigHash = "OtherConfigHash";
@@ -387,6 +431,13 @@ class ConfigRepositoryE2EReadWriteTest extends BaseConfigDatabaseTest {
     assertFalse(catalogService.getActorCatalog(source.getSourceId(), "1.3.0", CONFIG_HASH).isPresent());
     assertFalse(catalogService.getActorCatalog(source.getSourceId(), DOCKER_IMAGE_TAG, otherConfigHash).isPresent());
 
+    final Optional<ActorCatalogFetchEvent> fetchEvent =
+        catalogService.getMostRecentActorCatalogFetchEvent(source.getSourceId(), DOCKER_IMAGE_TAG, CONFIG_HASH);
+    assertTrue(fetchEvent.isPresent());
+    assertEquals(catalog.get().getId(), fetchEvent.get().getActorCatalogId());
+    assertFalse(catalogService.getMostRecentActorCatalogFetchEvent(source.getSourceId(), "1.3.0", CONFIG_HASH).isPresent());
+    assertFalse(catalogService.getMostRecentActorCatalogFetchEvent(source.getSourceId(), DOCKER_IMAGE_TAG, otherConfigHash).isPresent());
+
     catalogService.writeActorCatalogFetchEvent(actorCatalog, source.getSourceId(), "1.3.0", CONFIG_HASH);
     final Optional<ActorCatalog> catalogNewConnectorVersion =
         catalogService.getActorCatalog(source.getSourceId(), "1.3.0", CONFIG_HASH);
@@ -12,6 +12,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
@@ -403,6 +404,44 @@ class StandardSyncPersistenceTest extends BaseConfigDatabaseTest {
     assertEquals(activeSyncsForDestination1.get(0), sync1.getConnectionId());
   }
 
+  @Test
+  void testListWorkspaceStandardSyncSummaries() throws JsonValidationException, IOException {
+    createBaseObjects();
+
+    final StandardSync sync1 = createStandardSync(source1, destination1);
+    final StandardSync sync1Deprecated = createStandardSync(source1, destination2);
+    standardSyncPersistence.writeStandardSync(sync1Deprecated.withStatus(Status.DEPRECATED));
+    final StandardSync sync2 = createStandardSync(source2, destination2);
+
+    final StandardSyncQuery query = new StandardSyncQuery(workspaceId, null, null, false);
+    final List<StandardSync> summaries = connectionService.listWorkspaceStandardSyncSummaries(query);
+    final List<StandardSync> fullSyncs = connectionService.listWorkspaceStandardSyncs(query);
+    assertThat(summaries).extracting(StandardSync::getConnectionId)
+        .containsExactlyInAnyOrder(sync1.getConnectionId(), sync2.getConnectionId());
+
+    for (final StandardSync summary : summaries) {
+      final StandardSync fullSync = fullSyncs.stream()
+          .filter(s -> s.getConnectionId().equals(summary.getConnectionId()))
+          .findFirst()
+          .orElseThrow();
+      assertEquals(fullSync.getSourceId(), summary.getSourceId());
+      assertEquals(fullSync.getDestinationId(), summary.getDestinationId());
+      assertEquals(fullSync.getName(), summary.getName());
+      assertEquals(fullSync.getStatus(), summary.getStatus());
+      assertEquals(fullSync.getManual(), summary.getManual());
+      assertEquals(fullSync.getScheduleType(), summary.getScheduleType());
+      assertEquals(fullSync.getSourceCatalogId(), summary.getSourceCatalogId());
+      assertEquals(fullSync.getBreakingChange(), summary.getBreakingChange());
+      assertEquals(fullSync.getCreatedAt(), summary.getCreatedAt());
+      // The catalog is not fetched
+      assertNull(summary.getCatalog());
+    }
+
+    final List<StandardSync> summariesBySource =
+        connectionService.listWorkspaceStandardSyncSummaries(new StandardSyncQuery(workspaceId, List.of(source2.getSourceId()), null, true));
+    assertThat(summariesBySource).extracting(StandardSync::getConnectionId).containsExactly(sync2.getConnectionId());
+  }
+
   @Test
   void testDisableConnectionsById() throws IOException, JsonValidationException, ConfigNotFoundException {
     createBaseObjects();
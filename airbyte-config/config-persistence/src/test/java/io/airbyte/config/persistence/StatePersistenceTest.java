@@ -37,6 +37,7 @@ import io.airbyte.data.services.impls.jooq.DestinationServiceJooqImpl;
 import io.airbyte.data.services.impls.jooq.OrganizationServiceJooqImpl;
 import io.airbyte.data.services.impls.jooq.SourceServiceJooqImpl;
 import io.airbyte.data.services.impls.jooq.WorkspaceServiceJooqImpl;
+import io.airbyte.db.Database;
 import io.airbyte.db.init.DatabaseInitializationException;
 import io.airbyte.featureflag.TestClient;
 import io.airbyte.protocol.models.AirbyteGlobalState;
@@ -48,17 +49,26 @@ import io.airbyte.test.utils.BaseConfigDatabaseTest;
 import io.airbyte.validation.json.JsonValidationException;
 import java.io.IOException;
 import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 import org.jooq.JSONB;
+import org.jooq.impl.CallbackExecuteListener;
 import org.jooq.impl.DSL;
+import org.jooq.impl.DefaultExecuteListenerProvider;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 @SuppressWarnings("PMD.AvoidDuplicateLiterals")
 class StatePersistenceTest extends BaseConfigDatabaseTest {
@@ -940,6 +950,72 @@ class StatePersistenceTest extends BaseConfigDatabaseTest {
     return sync.getConnectionId();
   }
 
+  @Test
+  void testUnchangedStatesAreNotRewritten() throws IOException, SQLException {
+    statePersistence.updateOrCreateState(connectionId, buildStreamState(2, "1"));
+    final Map<String, OffsetDateTime> initialUpdates = getUpdatedAtPerStream();
+
+    // Only the state of the second stream changes.
+    final StateWrapper newState = buildStreamState(2, "1");
+    newState.getStateMessages().get(1).getStream().setStreamState(Jsons.deserialize("{\"cursor\": \"2\"}"));
+    statePersistence.updateOrCreateState(connectionId, newState);
+    final Map<String, OffsetDateTime> updates = getUpdatedAtPerStream();
+
+    Assertions.assertEquals(initialUpdates.get("stream-0"), updates.get("stream-0"));
+    Assertions.assertTrue(updates.get("stream-1").isAfter(initialUpdates.get("stream-1")));
+    assertEquals(newState, statePersistence.getCurrentState(connectionId).orElseThrow());
+  }
+
+  /**
+   * A flush must cost the same number of statements whatever the number of streams: a flush inserting
+   * all the streams, a flush updating all of them and a flush where nothing changed are counted.
+   */
+  @ParameterizedTest
+  @ValueSource(ints = {10, 1_000})
+  void testStatementsPerFlushDoNotDependOnTheNumberOfStreams(final int streamCount) throws IOException, SQLException {
+    final List<Integer> singleStreamStatements = countStatementsPerFlush(1);
+    final List<Integer> statements = countStatementsPerFlush(streamCount);
+
+    Assertions.assertEquals(singleStreamStatements, statements);
+    Assertions.assertEquals(streamCount, statePersistence.getCurrentState(connectionId).orElseThrow().getStateMessages().size());
+  }
+
+  private List<Integer> countStatementsPerFlush(final int streamCount) throws IOException, SQLException {
+    database.query(ctx -> ctx.deleteFrom(DSL.table(STATE)).where(DSL.field("connection_id").eq(connectionId)).execute());
+    final AtomicInteger statements = new AtomicInteger();
+    final StatePersistence countingStatePersistence = new StatePersistence(new Database(database.query(ctx -> ctx.configuration()
+        .derive(new DefaultExecuteListenerProvider(new CallbackExecuteListener().onExecuteStart(c -> statements.incrementAndGet())))
+        .dsl())));
+
+    final List<Integer> statementsPerFlush = new ArrayList<>();
+    for (final StateWrapper state : List.of(buildStreamState(streamCount, "1"), buildStreamState(streamCount, "2"),
+        buildStreamState(streamCount, "2"))) {
+      statements.set(0);
+      countingStatePersistence.updateOrCreateState(connectionId, state);
+      statementsPerFlush.add(statements.get());
+    }
+    return statementsPerFlush;
+  }
+
+  private static StateWrapper buildStreamState(final int streamCount, final String cursor) {
+    return new StateWrapper()
+        .withStateType(StateType.STREAM)
+        .withStateMessages(IntStream.range(0, streamCount)
+            .mapToObj(i -> new AirbyteStateMessage()
+                .withType(AirbyteStateType.STREAM)
+                .withStream(new AirbyteStreamState()
+                    .withStreamDescriptor(new StreamDescriptor().withName("stream-" + i))
+                    .withStreamState(Jsons.jsonNode(Map.of("cursor", cursor)))))
+            .toList());
+  }
+
+  private Map<String, OffsetDateTime> getUpdatedAtPerStream() throws SQLException {
+    return database.query(ctx -> ctx.select(DSL.field("stream_name", String.class), DSL.field("updated_at", OffsetDateTime.class))
+        .from(DSL.table(STATE))
+        .where(DSL.field("connection_id").eq(connectionId))
+        .fetchMap(r -> r.value1(), r -> r.value2()));
+  }
+
   private StateWrapper clone(final StateWrapper state) {
     return switch (state.getStateType()) {
       case LEGACY -> new StateWrapper()
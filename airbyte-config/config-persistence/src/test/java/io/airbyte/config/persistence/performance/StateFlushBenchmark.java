@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.config.persistence.performance;
+
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.config.StateType;
+import io.airbyte.config.StateWrapper;
+import io.airbyte.config.persistence.StatePersistence;
+import io.airbyte.db.Database;
+import io.airbyte.db.factory.DSLContextFactory;
+import io.airbyte.db.factory.DataSourceFactory;
+import io.airbyte.db.instance.DatabaseConstants;
+import io.airbyte.db.instance.test.TestDatabaseProviders;
+import io.airbyte.protocol.models.AirbyteStateMessage;
+import io.airbyte.protocol.models.AirbyteStateMessage.AirbyteStateType;
+import io.airbyte.protocol.models.AirbyteStreamState;
+import io.airbyte.protocol.models.StreamDescriptor;
+import io.airbyte.test.utils.Databases;
+import java.io.IOException;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import javax.sql.DataSource;
+import org.jooq.SQLDialect;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Measures the latency of a state flush of a connection against a Postgres container, once the
+ * states of its streams have been written at least once. {@link #updateAllStreams} flushes a state
+ * in which the cursor of every stream changed, {@link #writeUnchangedState} one in which nothing
+ * changed.
+ *
+ * The number of statements of a flush is checked by StatePersistenceTest, this benchmark is about
+ * the time they take with many streams. Requires docker, run the main method.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StateFlushBenchmark {
+
+  private static final UUID CONNECTION_ID = UUID.randomUUID();
+
+  @Param({"10", "1000", "10000"})
+  public int streamCount;
+
+  private PostgreSQLContainer<?> container;
+  private DataSource dataSource;
+  private StatePersistence statePersistence;
+  private StateWrapper[] states;
+  private int flushCount;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    container = new PostgreSQLContainer<>(DatabaseConstants.DEFAULT_DATABASE_VERSION)
+        .withDatabaseName("airbyte")
+        .withUsername("docker")
+        .withPassword("docker");
+    container.start();
+
+    dataSource = Databases.createDataSource(container);
+    final Database configDatabase =
+        new TestDatabaseProviders(dataSource, DSLContextFactory.create(dataSource, SQLDialect.POSTGRES)).createNewConfigsDatabase();
+    // The states are the only rows the benchmark writes, it doesn't set up the connection they belong to.
+    configDatabase.query(ctx -> ctx.execute("ALTER TABLE state DROP CONSTRAINT state_connection_id_fkey"));
+    statePersistence = new StatePersistence(configDatabase);
+
+    // Built once so that the flushes only measure the database work
+    states = new StateWrapper[] {buildStreamState(streamCount, "1"), buildStreamState(streamCount, "2")};
+    statePersistence.updateOrCreateState(CONNECTION_ID, states[0]);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    DataSourceFactory.close(dataSource);
+    container.close();
+  }
+
+  @Benchmark
+  public void updateAllStreams() throws IOException {
+    flushCount++;
+    statePersistence.updateOrCreateState(CONNECTION_ID, states[flushCount % 2]);
+  }
+
+  @Benchmark
+  public void writeUnchangedState() throws IOException {
+    statePersistence.updateOrCreateState(CONNECTION_ID, states[0]);
+  }
+
+  private static StateWrapper buildStreamState(final int streamCount, final String cursor) {
+    return new StateWrapper()
+        .withStateType(StateType.STREAM)
+        .withStateMessages(IntStream.range(0, streamCount)
+            .mapToObj(i -> new AirbyteStateMessage()
+                .withType(AirbyteStateType.STREAM)
+                .withStream(new AirbyteStreamState()
+                    .withStreamDescriptor(new StreamDescriptor().withName("stream-" + i))
+                    .withStreamState(Jsons.jsonNode(Map.of("cursor", cursor)))))
+            .toList());
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(StateFlushBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+
+}
@@ -36,6 +36,8 @@ dependencies {
   implementation(libs.bundles.keycloak.client)
   implementation(libs.micronaut.security.jwt)
 
+  testAnnotationProcessor(libs.jmh.annotations)
+
   testImplementation(libs.assertj.core)
   testImplementation(libs.bundles.micronaut.test)
   testImplementation(libs.postgresql)
@@ -44,6 +46,8 @@ dependencies {
   testImplementation(project(":oss:airbyte-test-utils"))
   testImplementation(libs.bundles.junit)
   testImplementation(libs.bundles.kotest)
+  testImplementation(libs.jmh.core)
+  testImplementation(libs.jmh.annotations)
 
   // TODO: flip this import - MockData should live in airbyte-data's testFixtures
   // and be imported in this manner by config-persistence
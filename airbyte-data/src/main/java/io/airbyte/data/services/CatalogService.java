@@ -30,6 +30,8 @@ public interface CatalogService {
 
   Optional<ActorCatalogFetchEvent> getMostRecentActorCatalogFetchEventForSource(UUID sourceId) throws IOException;
 
+  Optional<ActorCatalogFetchEvent> getMostRecentActorCatalogFetchEvent(UUID actorId, String actorVersion, String configHash) throws IOException;
+
   UUID writeActorCatalogFetchEvent(AirbyteCatalog catalog, UUID actorId, String connectorVersion, String configurationHash) throws IOException;
 
   Map<UUID, ActorCatalogFetchEvent> getMostRecentActorCatalogFetchEventForSources(final List<UUID> sourceIds) throws IOException;
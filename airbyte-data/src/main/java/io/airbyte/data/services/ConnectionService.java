@@ -37,6 +37,8 @@ public interface ConnectionService {
 
   List<StandardSync> listWorkspaceStandardSyncs(StandardSyncQuery standardSyncQuery) throws IOException;
 
+  List<StandardSync> listWorkspaceStandardSyncSummaries(StandardSyncQuery standardSyncQuery) throws IOException;
+
   Map<UUID, List<StandardSync>> listWorkspaceStandardSyncsPaginated(List<UUID> workspaceIds, boolean includeDeleted, int pageSize, int rowOffset)
       throws IOException;
 
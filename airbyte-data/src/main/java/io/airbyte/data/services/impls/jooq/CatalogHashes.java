@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.data.services.impls.jooq;
+
+import com.google.common.base.Charsets;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.protocol.models.AirbyteCatalog;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * The hashes actor catalogs are stored under.
+ * <p>
+ * Catalogs are keyed by the SHA-256 digest of their canonical JSON. Two catalogs with the same
+ * digest have the same content, so a catalog can be looked up by digest without reading the stored
+ * candidates. Catalogs stored before the digest was introduced are keyed by a 32-bit murmur3 hash of
+ * either their canonical or their plain JSON, which can collide and requires comparing the
+ * candidates.
+ *
+ * @param digest hex SHA-256 digest of the canonical JSON
+ * @param legacyCanonicalHash hex murmur3_32 hash of the canonical JSON
+ */
+public record CatalogHashes(String digest, String legacyCanonicalHash) {
+
+  /**
+   * Hash the catalog, serializing it to canonical JSON once and streaming it through both hashes.
+   */
+  public static CatalogHashes of(final AirbyteCatalog airbyteCatalog) throws IOException {
+    final Hasher digest = Hashing.sha256().newHasher();
+    final Hasher legacyCanonicalHash = Hashing.murmur3_32_fixed().newHasher();
+    Jsons.canonicalJsonSerialize(airbyteCatalog, new OutputStream() {
+
+      @Override
+      public void write(final int b) {
+        digest.putByte((byte) b);
+        legacyCanonicalHash.putByte((byte) b);
+      }
+
+      @Override
+      public void write(final byte[] bytes, final int offset, final int length) {
+        digest.putBytes(bytes, offset, length);
+        legacyCanonicalHash.putBytes(bytes, offset, length);
+      }
+
+    });
+    return new CatalogHashes(digest.hash().toString(), legacyCanonicalHash.hash().toString());
+  }
+
+  /**
+   * Hash of the plain JSON of the catalog, used to key catalogs before canonical JSON was introduced.
+   */
+  public static String legacyHash(final AirbyteCatalog airbyteCatalog) {
+    return Hashing.murmur3_32_fixed().hashBytes(Jsons.serialize(airbyteCatalog).getBytes(Charsets.UTF_8)).toString();
+  }
+
+}
@@ -8,9 +8,6 @@ import static io.airbyte.db.instance.configs.jooq.generated.Tables.ACTOR_CATALOG
 import static io.airbyte.db.instance.configs.jooq.generated.Tables.ACTOR_CATALOG_FETCH_EVENT;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.base.Charsets;
-import com.google.common.hash.HashFunction;
-import com.google.common.hash.Hashing;
 import datadog.trace.api.Trace;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.config.ActorCatalog;
@@ -154,6 +151,29 @@ public class CatalogServiceJooqImpl implements CatalogService {
     return records.stream().findFirst().map(DbConverter::buildActorCatalogFetchEvent);
   }
 
+  /**
+   * Get the most recent catalog fetch event of an actor for a connector version and configuration.
+   *
+   * @param actorId actor id
+   * @param actorVersion version of the connector the catalog was fetched with
+   * @param configHash hash of the configuration the catalog was fetched with
+   * @return last actor catalog fetch event for the version and configuration
+   * @throws IOException - error while interacting with db
+   */
+  @Override
+  public Optional<ActorCatalogFetchEvent> getMostRecentActorCatalogFetchEvent(final UUID actorId,
+                                                                             final String actorVersion,
+                                                                             final String configHash)
+      throws IOException {
+    final Result<Record> records = database.query(ctx -> ctx.select(ACTOR_CATALOG_FETCH_EVENT.asterisk())
+        .from(ACTOR_CATALOG_FETCH_EVENT)
+        .where(ACTOR_CATALOG_FETCH_EVENT.ACTOR_ID.eq(actorId))
+        .and(ACTOR_CATALOG_FETCH_EVENT.ACTOR_VERSION.eq(actorVersion))
+        .and(ACTOR_CATALOG_FETCH_EVENT.CONFIG_HASH.eq(configHash))
+        .orderBy(ACTOR_CATALOG_FETCH_EVENT.CREATED_AT.desc()).limit(1).fetch());
+    return records.stream().findFirst().map(DbConverter::buildActorCatalogFetchEvent);
+  }
+
   /**
    * Stores source catalog information.
    * <p>
@@ -241,26 +261,35 @@ public class CatalogServiceJooqImpl implements CatalogService {
                                        final DSLContext context,
                                        final OffsetDateTime timestamp) {
 
-    final String canonicalCatalogHash = generateCanonicalHash(airbyteCatalog);
-    UUID catalogId = lookupCatalogId(canonicalCatalogHash, airbyteCatalog, context);
-    if (catalogId != null) {
-      return catalogId;
+    final CatalogHashes catalogHashes = generateCatalogHashes(airbyteCatalog);
+    if (catalogHashes != null) {
+      final UUID catalogId = findCatalogIdByDigest(catalogHashes.digest(), context);
+      if (catalogId != null) {
+        return catalogId;
+      }
     }
 
-    final String oldCatalogHash = generateOldHash(airbyteCatalog);
-    catalogId = lookupCatalogId(oldCatalogHash, airbyteCatalog, context);
+    // Catalogs stored before the digest was introduced are keyed by a hash that can collide. Once found
+    // they are re-keyed by their digest so that the next lookup finds them directly.
+    final String legacyCanonicalHash = catalogHashes != null ? catalogHashes.legacyCanonicalHash() : null;
+    UUID catalogId = lookupCatalogId(legacyCanonicalHash, airbyteCatalog, context);
+    if (catalogId == null) {
+      catalogId = lookupCatalogId(CatalogHashes.legacyHash(airbyteCatalog), airbyteCatalog, context);
+    }
     if (catalogId != null) {
+      if (catalogHashes != null) {
+        updateCatalogHash(catalogId, catalogHashes.digest(), context);
+      }
       return catalogId;
     }
 
-    return insertCatalog(airbyteCatalog, canonicalCatalogHash, context, timestamp);
+    return insertCatalog(airbyteCatalog, catalogHashes != null ? catalogHashes.digest() : CatalogHashes.legacyHash(airbyteCatalog), context,
+        timestamp);
   }
 
-  private String generateCanonicalHash(final AirbyteCatalog airbyteCatalog) {
-    final HashFunction hashFunction = Hashing.murmur3_32_fixed();
+  private CatalogHashes generateCatalogHashes(final AirbyteCatalog airbyteCatalog) {
     try {
-      return hashFunction.hashBytes(Jsons.canonicalJsonSerialize(airbyteCatalog)
-          .getBytes(Charsets.UTF_8)).toString();
+      return CatalogHashes.of(airbyteCatalog);
     } catch (final IOException e) {
       LOGGER.error("Failed to serialize AirbyteCatalog to canonical JSON", e);
       return null;
@@ -274,9 +303,19 @@ public class CatalogServiceJooqImpl implements CatalogService {
     return findAndReturnCatalogId(catalogHash, airbyteCatalog, context);
   }
 
-  private String generateOldHash(final AirbyteCatalog airbyteCatalog) {
-    final HashFunction hashFunction = Hashing.murmur3_32_fixed();
-    return hashFunction.hashBytes(Jsons.serialize(airbyteCatalog).getBytes(Charsets.UTF_8)).toString();
+  private UUID findCatalogIdByDigest(final String catalogDigest, final DSLContext context) {
+    return context.select(ACTOR_CATALOG.ID)
+        .from(ACTOR_CATALOG)
+        .where(ACTOR_CATALOG.CATALOG_HASH.eq(catalogDigest))
+        .limit(1)
+        .fetchOne(ACTOR_CATALOG.ID);
+  }
+
+  private void updateCatalogHash(final UUID catalogId, final String catalogHash, final DSLContext context) {
+    context.update(ACTOR_CATALOG)
+        .set(ACTOR_CATALOG.CATALOG_HASH, catalogHash)
+        .where(ACTOR_CATALOG.ID.eq(catalogId))
+        .execute();
   }
 
   private UUID insertCatalog(final AirbyteCatalog airbyteCatalog,
@@ -62,6 +62,7 @@ import java.util.UUID;
 import java.util.stream.Collectors;
 import org.jooq.Condition;
 import org.jooq.DSLContext;
+import org.jooq.Field;
 import org.jooq.JSONB;
 import org.jooq.Record;
 import org.jooq.Result;
@@ -74,6 +75,20 @@ public class ConnectionServiceJooqImpl implements ConnectionService {
 
   private static final String OPERATION_IDS_AGG_DELIMITER = ",";
   private static final String OPERATION_IDS_AGG_FIELD = "operation_ids_agg";
+  // Columns needed to list connections, the catalog of a connection can be large and is left out.
+  static final List<Field<?>> CONNECTION_SUMMARY_FIELDS = List.of(
+      CONNECTION.ID,
+      CONNECTION.SOURCE_ID,
+      CONNECTION.DESTINATION_ID,
+      CONNECTION.NAME,
+      CONNECTION.STATUS,
+      CONNECTION.SCHEDULE,
+      CONNECTION.MANUAL,
+      CONNECTION.SCHEDULE_TYPE,
+      CONNECTION.SCHEDULE_DATA,
+      CONNECTION.SOURCE_CATALOG_ID,
+      CONNECTION.BREAKING_CHANGE,
+      CONNECTION.CREATED_AT);
 
   private final ExceptionWrappingDatabase database;
 
@@ -241,6 +256,36 @@ public class ConnectionServiceJooqImpl implements ConnectionService {
     return getStandardSyncsFromResult(connectionAndOperationIdsResult, getNotificationConfigurationByConnectionIds(connectionIds));
   }
 
+  /**
+   * List connection summaries for workspace via a query. Unlike
+   * {@link #listWorkspaceStandardSyncs(StandardSyncQuery)}, the catalog, operations, notification
+   * settings and schema management settings of the connections are neither fetched nor populated.
+   *
+   * @param standardSyncQuery query
+   * @return list of connection summaries
+   * @throws IOException if there is an issue while interacting with db.
+   */
+  @Override
+  @Trace
+  public List<StandardSync> listWorkspaceStandardSyncSummaries(final StandardSyncQuery standardSyncQuery) throws IOException {
+    final Result<Record> connectionSummaryResult = database.query(ctx -> ctx
+        .select(CONNECTION_SUMMARY_FIELDS)
+        .from(CONNECTION)
+        // join with source actors so that we can filter by workspaceId
+        .join(ACTOR).on(CONNECTION.SOURCE_ID.eq(ACTOR.ID))
+        .where(ACTOR.WORKSPACE_ID.eq(standardSyncQuery.workspaceId())
+            .and(standardSyncQuery.destinationId() == null || standardSyncQuery.destinationId().isEmpty() ? noCondition()
+                : CONNECTION.DESTINATION_ID.in(standardSyncQuery.destinationId()))
+            .and(standardSyncQuery.sourceId() == null || standardSyncQuery.sourceId().isEmpty() ? noCondition()
+                : CONNECTION.SOURCE_ID.in(standardSyncQuery.sourceId()))
+            .and(standardSyncQuery.includeDeleted() ? noCondition()
+                : CONNECTION.STATUS.notEqual(
+                    StatusType.deprecated))))
+        .fetch();
+
+    return connectionSummaryResult.map(DbConverter::buildStandardSyncSummary);
+  }
+
   /**
    * List connections. Paginated.
    */
@@ -954,6 +999,8 @@ public class ConnectionServiceJooqImpl implements ConnectionService {
   private List<StandardSync> getStandardSyncsFromResult(final Result<Record> connectionAndOperationIdsResult,
                                                         final List<NotificationConfigurationRecord> allNeededNotificationConfigurations) {
     final List<StandardSync> standardSyncs = new ArrayList<>();
+    final Map<UUID, List<NotificationConfigurationRecord>> notificationConfigurationsByConnectionId =
+        groupByConnectionId(allNeededNotificationConfigurations);
 
     for (final Record record : connectionAndOperationIdsResult) {
       final String operationIdsFromRecord = record.get(OPERATION_IDS_AGG_FIELD, String.class);
@@ -964,15 +1011,19 @@ public class ConnectionServiceJooqImpl implements ConnectionService {
           : Arrays.stream(operationIdsFromRecord.split(OPERATION_IDS_AGG_DELIMITER)).map(UUID::fromString).toList();
 
       final UUID connectionId = record.get(CONNECTION.ID);
-      final List<NotificationConfigurationRecord> notificationConfigurationsForConnection = allNeededNotificationConfigurations.stream()
-          .filter(notificationConfiguration -> notificationConfiguration.getConnectionId().equals(connectionId))
-          .toList();
+      final List<NotificationConfigurationRecord> notificationConfigurationsForConnection =
+          notificationConfigurationsByConnectionId.getOrDefault(connectionId, Collections.emptyList());
       standardSyncs.add(DbConverter.buildStandardSync(record, operationIds, notificationConfigurationsForConnection));
     }
 
     return standardSyncs;
   }
 
+  private static Map<UUID, List<NotificationConfigurationRecord>> groupByConnectionId(
+                                                                                    final List<NotificationConfigurationRecord> notificationConfigurations) {
+    return notificationConfigurations.stream().collect(Collectors.groupingBy(NotificationConfigurationRecord::getConnectionId));
+  }
+
   private List<NotificationConfigurationRecord> getNotificationConfigurationByConnectionIds(final List<UUID> connectionIds) throws IOException {
     return database.query(ctx -> ctx.selectFrom(NOTIFICATION_CONFIGURATION)
         .where(NOTIFICATION_CONFIGURATION.CONNECTION_ID.in(connectionIds))
@@ -983,6 +1034,8 @@ public class ConnectionServiceJooqImpl implements ConnectionService {
   private Map<UUID, List<StandardSync>> getWorkspaceIdToStandardSyncsFromResult(final Result<Record> connectionAndOperationIdsResult,
                                                                                 final List<NotificationConfigurationRecord> allNeededNotificationConfigurations) {
     final Map<UUID, List<StandardSync>> workspaceIdToStandardSync = new HashMap<>();
+    final Map<UUID, List<NotificationConfigurationRecord>> notificationConfigurationsByConnectionId =
+        groupByConnectionId(allNeededNotificationConfigurations);
 
     for (final Record record : connectionAndOperationIdsResult) {
       final String operationIdsFromRecord = record.get(OPERATION_IDS_AGG_FIELD, String.class);
@@ -993,9 +1046,8 @@ public class ConnectionServiceJooqImpl implements ConnectionService {
           : Arrays.stream(operationIdsFromRecord.split(OPERATION_IDS_AGG_DELIMITER)).map(UUID::fromString).toList();
 
       final UUID connectionId = record.get(CONNECTION.ID);
-      final List<NotificationConfigurationRecord> notificationConfigurationsForConnection = allNeededNotificationConfigurations.stream()
-          .filter(notificationConfiguration -> notificationConfiguration.getConnectionId().equals(connectionId))
-          .toList();
+      final List<NotificationConfigurationRecord> notificationConfigurationsForConnection =
+          notificationConfigurationsByConnectionId.getOrDefault(connectionId, Collections.emptyList());
       workspaceIdToStandardSync.computeIfAbsent(
           record.get(ACTOR.WORKSPACE_ID), v -> new ArrayList<>())
           .add(DbConverter.buildStandardSync(record, operationIds, notificationConfigurationsForConnection));
@@ -151,6 +151,35 @@ public class DbConverter {
                 StandardSync.BackfillPreference.class).orElseThrow());
   }
 
+  /**
+   * Build a connection summary from db record. Only the fields needed to list connections are
+   * populated, the catalog, operations, notifications and schema management settings are not.
+   *
+   * @param record db record selecting the columns of
+   *        {@link io.airbyte.data.services.impls.jooq.ConnectionServiceJooqImpl#CONNECTION_SUMMARY_FIELDS}
+   * @return connection summary
+   */
+  public static StandardSync buildStandardSyncSummary(final Record record) {
+    return new StandardSync()
+        .withConnectionId(record.get(CONNECTION.ID))
+        .withSourceId(record.get(CONNECTION.SOURCE_ID))
+        .withDestinationId(record.get(CONNECTION.DESTINATION_ID))
+        .withName(record.get(CONNECTION.NAME))
+        .withStatus(
+            record.get(CONNECTION.STATUS) == null ? null
+                : Enums.toEnum(record.get(CONNECTION.STATUS, String.class), Status.class).orElseThrow())
+        .withSchedule(Jsons.deserialize(record.get(CONNECTION.SCHEDULE).data(), Schedule.class))
+        .withManual(record.get(CONNECTION.MANUAL))
+        .withScheduleType(record.get(CONNECTION.SCHEDULE_TYPE) == null ? null
+            : Enums.toEnum(record.get(CONNECTION.SCHEDULE_TYPE, String.class), ScheduleType.class).orElseThrow())
+        .withScheduleData(
+            record.get(CONNECTION.SCHEDULE_DATA) == null ? null
+                : Jsons.deserialize(record.get(CONNECTION.SCHEDULE_DATA).data(), ScheduleData.class))
+        .withSourceCatalogId(record.get(CONNECTION.SOURCE_CATALOG_ID))
+        .withBreakingChange(record.get(CONNECTION.BREAKING_CHANGE))
+        .withCreatedAt(record.get(CONNECTION.CREATED_AT, OffsetDateTime.class).toEpochSecond());
+  }
+
   private static ConfiguredAirbyteCatalog parseConfiguredAirbyteCatalog(final String configuredAirbyteCatalogString) {
     return Jsons.deserialize(configuredAirbyteCatalogString, ConfiguredAirbyteCatalog.class);
   }
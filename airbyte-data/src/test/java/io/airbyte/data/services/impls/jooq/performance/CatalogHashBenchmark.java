@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.data.services.impls.jooq.performance;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.base.Charsets;
+import com.google.common.hash.Hashing;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.data.services.impls.jooq.CatalogHashes;
+import io.airbyte.protocol.models.AirbyteCatalog;
+import io.airbyte.protocol.models.AirbyteStream;
+import io.airbyte.protocol.models.CatalogHelpers;
+import io.airbyte.protocol.models.Field;
+import io.airbyte.protocol.models.JsonSchemaType;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the cost of looking up an existing actor catalog by hash.
+ *
+ * The legacy lookup builds a sorted copy of the catalog tree with a new ObjectMapper, hashes the
+ * resulting string with murmur3_32 and deserializes the stored candidate to rule out a collision.
+ * The digest lookup streams the canonical JSON through SHA-256 and compares nothing. Run the main
+ * method.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CatalogHashBenchmark {
+
+  private static final int FIELDS_PER_STREAM = 20;
+
+  @Param({"10", "1000", "20000"})
+  public int streamCount;
+
+  private AirbyteCatalog catalog;
+  private String storedCatalog;
+
+  @Setup
+  public void setup() {
+    final List<AirbyteStream> streams = new ArrayList<>(streamCount);
+    for (int i = 0; i < streamCount; i++) {
+      final Field[] fields = new Field[FIELDS_PER_STREAM];
+      for (int j = 0; j < FIELDS_PER_STREAM; j++) {
+        fields[j] = Field.of("field_" + j, j % 2 == 0 ? JsonSchemaType.STRING : JsonSchemaType.NUMBER);
+      }
+      streams.add(CatalogHelpers.createAirbyteStream("stream_" + i, fields));
+    }
+    catalog = new AirbyteCatalog().withStreams(streams);
+    storedCatalog = Jsons.serialize(catalog);
+  }
+
+  @Benchmark
+  public boolean legacyHashLookup() throws IOException {
+    final ObjectMapper mapper = new ObjectMapper();
+    final ObjectNode sorted = (ObjectNode) sortProperties(mapper.valueToTree(catalog));
+    final String hash = Hashing.murmur3_32_fixed().hashBytes(mapper.writer().writeValueAsString(sorted).getBytes(Charsets.UTF_8)).toString();
+    return !hash.isEmpty() && Jsons.deserialize(storedCatalog, AirbyteCatalog.class).equals(catalog);
+  }
+
+  @Benchmark
+  public String digestLookup() throws IOException {
+    return CatalogHashes.of(catalog).digest();
+  }
+
+  /**
+   * The sorting canonical serialization used before the digest.
+   */
+  private static JsonNode sortProperties(final JsonNode jsonNode) {
+    if (jsonNode.isObject()) {
+      final ObjectNode sortedObjectNode = JsonNodeFactory.instance.objectNode();
+      final List<Map.Entry<String, JsonNode>> fields = new ArrayList<>();
+      jsonNode.fields().forEachRemaining(fields::add);
+      fields.sort(Map.Entry.comparingByKey());
+      fields.forEach(entry -> sortedObjectNode.set(entry.getKey(), sortProperties(entry.getValue())));
+      return sortedObjectNode;
+    } else if (jsonNode.isArray()) {
+      final ArrayNode sortedArrayNode = JsonNodeFactory.instance.arrayNode();
+      jsonNode.forEach(node -> sortedArrayNode.add(sortProperties(node)));
+      return sortedArrayNode;
+    } else {
+      return jsonNode;
+    }
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(CatalogHashBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.db.instance.configs.migrations;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Widens actor_catalog.catalog_hash to fit the hex SHA-256 digest catalogs are now keyed by. Rows
+ * keyed by the previous 32-bit hash are kept and re-keyed when their catalog is next written.
+ */
+public class V1_1_1_002__WidenActorCatalogHash extends BaseJavaMigration {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(V1_1_1_002__WidenActorCatalogHash.class);
+  private static final String ACTOR_CATALOG = "actor_catalog";
+  private static final String CATALOG_HASH = "catalog_hash";
+
+  @Override
+  public void migrate(final Context context) throws Exception {
+    LOGGER.info("Running migration: {}", this.getClass().getSimpleName());
+
+    // Warning: please do not use any jOOQ generated code to write a migration.
+    // As database schema changes, the generated jOOQ code can be deprecated. So
+    // old migration may not compile if there is any generated code.
+    final DSLContext ctx = DSL.using(context.getConnection());
+
+    widenCatalogHash(ctx);
+  }
+
+  static void widenCatalogHash(final DSLContext ctx) {
+    // Increasing the length of a varchar doesn't rewrite the table.
+    ctx.alterTable(ACTOR_CATALOG)
+        .alterColumn(CATALOG_HASH)
+        .set(SQLDataType.VARCHAR(64))
+        .execute();
+  }
+
+}
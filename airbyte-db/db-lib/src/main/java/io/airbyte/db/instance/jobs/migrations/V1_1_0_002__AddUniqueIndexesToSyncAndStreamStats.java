@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.db.instance.jobs.migrations;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.impl.DSL;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Make the sync stats unique per attempt and the stream stats unique per attempt and stream, so
+ * that they can be written with upserts instead of checking which rows exist first.
+ */
+public class V1_1_0_002__AddUniqueIndexesToSyncAndStreamStats extends BaseJavaMigration {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(V1_1_0_002__AddUniqueIndexesToSyncAndStreamStats.class);
+
+  private static final String SYNC_STATS = "sync_stats";
+  private static final String STREAM_STATS = "stream_stats";
+
+  private static final Field<Object> ATTEMPT_ID = DSL.field("attempt_id");
+  private static final Field<Object> STREAM_NAME = DSL.field("stream_name");
+  private static final Field<Object> STREAM_NAMESPACE = DSL.field("stream_namespace");
+
+  @Override
+  public void migrate(final Context context) throws Exception {
+    LOGGER.info("Running migration: {}", this.getClass().getSimpleName());
+
+    // Warning: please do not use any jOOQ generated code to write a migration.
+    // As database schema changes, the generated jOOQ code can be deprecated. So
+    // old migration may not compile if there is any generated code.
+    final DSLContext ctx = DSL.using(context.getConnection());
+    migrate(ctx);
+  }
+
+  @VisibleForTesting
+  public static void migrate(final DSLContext ctx) {
+    addSyncStatsUniqueIndex(ctx);
+    addStreamStatsUniqueIndexes(ctx);
+  }
+
+  private static void addSyncStatsUniqueIndex(final DSLContext ctx) {
+    // Keep the last updated stats of the attempts that have several
+    ctx.execute("""
+                DELETE FROM sync_stats WHERE id IN (
+                  SELECT id FROM (
+                    SELECT id, row_number() OVER (PARTITION BY attempt_id ORDER BY updated_at DESC, id DESC) AS rank
+                    FROM sync_stats
+                  ) ranked WHERE rank > 1
+                );
+                """);
+
+    ctx.createUniqueIndexIfNotExists("sync_stats__attempt_id_idx")
+        .on(SYNC_STATS, ATTEMPT_ID.getName())
+        .execute();
+    // Covered by the unique index
+    ctx.dropIndexIfExists("attempt_id_idx").execute();
+  }
+
+  private static void addStreamStatsUniqueIndexes(final DSLContext ctx) {
+    // The uniq_stream_attempt constraint doesn't apply to the streams without a namespace, keep the last
+    // updated stats of the ones that have several
+    ctx.execute("""
+                DELETE FROM stream_stats WHERE id IN (
+                  SELECT id FROM (
+                    SELECT id, row_number() OVER (PARTITION BY attempt_id, stream_name ORDER BY updated_at DESC, id DESC) AS rank
+                    FROM stream_stats
+                    WHERE stream_namespace IS NULL
+                  ) ranked WHERE rank > 1
+                );
+                """);
+
+    ctx.createUniqueIndexIfNotExists("stream_stats__attempt_id_name_namespace_idx")
+        .on(STREAM_STATS, ATTEMPT_ID.getName(), STREAM_NAMESPACE.getName(), STREAM_NAME.getName())
+        .where(STREAM_NAMESPACE.isNotNull())
+        .execute();
+
+    // Workaround for namespace being null and pg dropping null values from indexes
+    ctx.createUniqueIndexIfNotExists("stream_stats__attempt_id_name_idx")
+        .on(STREAM_STATS, ATTEMPT_ID.getName(), STREAM_NAME.getName())
+        .where(STREAM_NAMESPACE.isNull())
+        .execute();
+
+    // Replaced by the unique index on the streams with a namespace
+    ctx.alterTable(STREAM_STATS).dropConstraintIfExists("uniq_stream_attempt").execute();
+  }
+
+}
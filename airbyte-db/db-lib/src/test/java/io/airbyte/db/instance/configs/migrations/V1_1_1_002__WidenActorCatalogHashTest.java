@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.db.instance.configs.migrations;
+
+import io.airbyte.db.factory.FlywayFactory;
+import io.airbyte.db.instance.configs.AbstractConfigsDatabaseTest;
+import io.airbyte.db.instance.configs.ConfigsDatabaseMigrator;
+import io.airbyte.db.instance.development.DevDatabaseMigrator;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.jooq.DSLContext;
+import org.jooq.JSONB;
+import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class V1_1_1_002__WidenActorCatalogHashTest extends AbstractConfigsDatabaseTest {
+
+  private static final String ACTOR_CATALOG = "actor_catalog";
+  private static final String LEGACY_HASH = "8ad32981";
+  private static final String DIGEST = "c".repeat(64);
+
+  @BeforeEach
+  void beforeEach() {
+    final Flyway flyway =
+        FlywayFactory.create(dataSource, "V1_1_1_002__WidenActorCatalogHashTest", ConfigsDatabaseMigrator.DB_IDENTIFIER,
+            ConfigsDatabaseMigrator.MIGRATION_FILE_LOCATION);
+    final ConfigsDatabaseMigrator configsDbMigrator = new ConfigsDatabaseMigrator(database, flyway);
+
+    final BaseJavaMigration previousMigration = new V1_1_1_001__AddResourceRequirementsToActor();
+    final DevDatabaseMigrator devConfigsDbMigrator = new DevDatabaseMigrator(configsDbMigrator, previousMigration.getVersion());
+    devConfigsDbMigrator.createBaseline();
+  }
+
+  @Test
+  void testCatalogHashFitsDigests() {
+    final DSLContext context = getDslContext();
+    final UUID legacyCatalogId = UUID.randomUUID();
+    insertCatalog(context, legacyCatalogId, LEGACY_HASH);
+    Assertions.assertThrows(DataAccessException.class, () -> insertCatalog(context, UUID.randomUUID(), DIGEST));
+
+    V1_1_1_002__WidenActorCatalogHash.widenCatalogHash(context);
+
+    insertCatalog(context, UUID.randomUUID(), DIGEST);
+    Assertions.assertEquals(LEGACY_HASH, context.select(DSL.field("catalog_hash", String.class))
+        .from(DSL.table(ACTOR_CATALOG))
+        .where(DSL.field("id").eq(legacyCatalogId))
+        .fetchOne(DSL.field("catalog_hash", String.class)));
+    Assertions.assertThrows(DataAccessException.class, () -> insertCatalog(context, UUID.randomUUID(), null));
+  }
+
+  private static void insertCatalog(final DSLContext context, final UUID id, final String catalogHash) {
+    context.insertInto(DSL.table(ACTOR_CATALOG))
+        .columns(
+            DSL.field("id"),
+            DSL.field("catalog"),
+            DSL.field("catalog_hash"),
+            DSL.field("created_at"))
+        .values(
+            id,
+            JSONB.valueOf("{}"),
+            catalogHash,
+            OffsetDateTime.now())
+        .execute();
+  }
+
+}
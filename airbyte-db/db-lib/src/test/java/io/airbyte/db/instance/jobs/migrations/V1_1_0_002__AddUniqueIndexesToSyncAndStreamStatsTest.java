@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.db.instance.jobs.migrations;
+
+import static org.jooq.impl.DSL.field;
+import static org.jooq.impl.DSL.table;
+
+import io.airbyte.db.factory.FlywayFactory;
+import io.airbyte.db.instance.development.DevDatabaseMigrator;
+import io.airbyte.db.instance.jobs.AbstractJobsDatabaseTest;
+import io.airbyte.db.instance.jobs.JobsDatabaseMigrator;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.jooq.DSLContext;
+import org.jooq.exception.DataAccessException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class V1_1_0_002__AddUniqueIndexesToSyncAndStreamStatsTest extends AbstractJobsDatabaseTest {
+
+  private static final long ATTEMPT_ID = 1L;
+  private static final OffsetDateTime NOW = OffsetDateTime.now();
+
+  @BeforeEach
+  void beforeEach() {
+    final Flyway flyway =
+        FlywayFactory.create(dataSource, "V1_1_0_001__AddIsScheduledToJobTable", JobsDatabaseMigrator.DB_IDENTIFIER,
+            JobsDatabaseMigrator.MIGRATION_FILE_LOCATION);
+    final JobsDatabaseMigrator jobsDatabaseMigrator = new JobsDatabaseMigrator(database, flyway);
+
+    final BaseJavaMigration previousMigration = new V1_1_0_001__AddIsScheduledToJobTable();
+    final DevDatabaseMigrator devConfigsDbMigrator = new DevDatabaseMigrator(jobsDatabaseMigrator, previousMigration.getVersion());
+    devConfigsDbMigrator.createBaseline();
+  }
+
+  @Test
+  void testDuplicatesAreRemovedAndPrevented() {
+    final DSLContext context = getDslContext();
+    context.insertInto(table("jobs"), field("id")).values(1L).execute();
+    context.insertInto(table("attempts"), field("id"), field("job_id"), field("attempt_number")).values(ATTEMPT_ID, 1L, 0).execute();
+
+    insertSyncStats(context, 1L, NOW.minusMinutes(1));
+    insertSyncStats(context, 2L, NOW);
+    insertStreamStats(context, "stream", null, 1L, NOW.minusMinutes(1));
+    insertStreamStats(context, "stream", null, 2L, NOW);
+    insertStreamStats(context, "stream", "namespace", 3L, NOW.minusMinutes(1));
+
+    V1_1_0_002__AddUniqueIndexesToSyncAndStreamStats.migrate(context);
+
+    // The last updated stats are kept
+    Assertions.assertEquals(List.of(2L), context.select(field("records_emitted", Long.class)).from(table("sync_stats")).fetch().getValues(0));
+    Assertions.assertEquals(List.of(2L, 3L), context.select(field("records_emitted", Long.class)).from(table("stream_stats"))
+        .orderBy(field("records_emitted")).fetch().getValues(0));
+
+    Assertions.assertThrows(DataAccessException.class, () -> insertSyncStats(context, 4L, NOW));
+    Assertions.assertThrows(DataAccessException.class, () -> insertStreamStats(context, "stream", null, 4L, NOW));
+    Assertions.assertThrows(DataAccessException.class, () -> insertStreamStats(context, "stream", "namespace", 4L, NOW));
+    Assertions.assertDoesNotThrow(() -> insertStreamStats(context, "stream", "other_namespace", 4L, NOW));
+  }
+
+  private static void insertSyncStats(final DSLContext ctx, final long recordsEmitted, final OffsetDateTime updatedAt) {
+    ctx.insertInto(table("sync_stats"), field("id"), field("attempt_id"), field("records_emitted"), field("updated_at"))
+        .values(UUID.randomUUID(), ATTEMPT_ID, recordsEmitted, updatedAt)
+        .execute();
+  }
+
+  private static void insertStreamStats(final DSLContext ctx,
+                                        final String streamName,
+                                        final String streamNamespace,
+                                        final long recordsEmitted,
+                                        final OffsetDateTime updatedAt) {
+    ctx.insertInto(table("stream_stats"), field("id"), field("attempt_id"), field("stream_name"), field("stream_namespace"),
+        field("records_emitted"), field("updated_at"))
+        .values(UUID.randomUUID(), ATTEMPT_ID, streamName, streamNamespace, recordsEmitted, updatedAt)
+        .execute();
+  }
+
+}
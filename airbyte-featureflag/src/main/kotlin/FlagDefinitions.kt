@@ -51,6 +51,12 @@ object UseBreakingChangeScopes : Temporary<Boolean>(key = "connectors.useBreakin
 
 object RefreshSchemaPeriod : Temporary<Int>(key = "refreshSchema.period.hours", default = 24)
 
+/**
+ * How long, in minutes, a sync reuses the catalog discovered for the same source configuration and connector version instead of
+ * running a discover. 0 disables the cache.
+ */
+object DiscoverCacheTtlMinutes : Temporary<Int>(key = "platform.discover-cache-ttl-minutes", default = 0)
+
 object ConcurrentSourceStreamRead : Temporary<Boolean>(key = "concurrent.source.stream.read", default = false)
 
 object UseResourceRequirementsVariant : Permanent<String>(key = "platform.resource-requirements-variant", default = "default")
@@ -183,3 +189,15 @@ object AllowSpotInstances : Temporary<Boolean>(key = "platform.allow-spot-instan
 object HydrateLimits : Temporary<Boolean>(key = "platform.hydrate.limits", default = false)
 
 object OnlyUseScheduledForGetTime : Temporary<Boolean>(key = "platform.only-use-scheduled", default = true)
+
+object UseByteChannelStreamFactory : Temporary<Boolean>(key = "platform.use-byte-channel-stream-factory", default = false)
+
+object UseRecordPassthrough : Temporary<Boolean>(key = "platform.use-record-passthrough", default = false)
+
+object ReplicationProcessingParallelism : Temporary<Int>(key = "platform.replication-processing-parallelism", default = 1)
+
+object SchemaValidationThreads : Temporary<Int>(key = "platform.schema-validation-threads", default = 1)
+
+object SchemaValidationSampleRate : Temporary<Int>(key = "platform.schema-validation-sample-rate", default = 1)
+
+object SchemaValidationShedding : Temporary<Boolean>(key = "platform.schema-validation-shedding", default = false)
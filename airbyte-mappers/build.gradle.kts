@@ -21,9 +21,13 @@ dependencies {
   implementation(libs.guava)
   implementation(libs.kotlin.logging)
 
+  testAnnotationProcessor(libs.jmh.annotations)
+
   testImplementation(project(":oss:airbyte-commons"))
   testImplementation(libs.airbyte.protocol)
   testImplementation(libs.mockito.core)
   testImplementation(libs.mockk)
   testImplementation(libs.bundles.micronaut.test)
+  testImplementation(libs.jmh.core)
+  testImplementation(libs.jmh.annotations)
 }
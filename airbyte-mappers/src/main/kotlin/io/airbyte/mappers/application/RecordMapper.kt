@@ -4,6 +4,7 @@ import io.airbyte.commons.timer.Stopwatch
 import io.airbyte.config.MapperConfig
 import io.airbyte.config.adapters.AirbyteRecord
 import io.airbyte.mappers.transformations.Mapper
+import io.airbyte.mappers.transformations.PreparedMapper
 import io.github.oshai.kotlinlogging.KotlinLogging
 import jakarta.inject.Singleton
 
@@ -15,27 +16,48 @@ class RecordMapper(mappers: List<Mapper<out MapperConfig>>) {
 
   private val mappersByName: Map<String, MapperStopwatch> = mappers.map { MapperStopwatch(it) }.associateBy { it.mapper.name }
 
-  @Suppress("UNCHECKED_CAST")
   fun <T : MapperConfig> applyMappers(
     record: AirbyteRecord,
     configuredMappers: List<T>,
   ) {
-    try {
-      configuredMappers.fold(record) { acc, mapperConfig ->
+    compile(configuredMappers).apply(record)
+  }
+
+  /**
+   * Resolve and prepare the mappers of a stream once so that applying them to a record doesn't have to
+   * look them up or rebuild their state. Configs referring to an unknown mapper are skipped.
+   */
+  @Suppress("UNCHECKED_CAST")
+  fun <T : MapperConfig> compile(configuredMappers: List<T>): CompiledMappers =
+    CompiledMappers(
+      configuredMappers.mapNotNull { mapperConfig ->
         mappersByName[mapperConfig.name()]?.let { (mapper, stopwatch) ->
-          stopwatch.time {
-            (mapper as Mapper<T>).map(mapperConfig, acc)
-          }
+          CompiledMappers.Step((mapper as Mapper<T>).prepare(mapperConfig), stopwatch)
         }
-        acc
-      }
-    } catch (e: Exception) {
-      log.debug { "Error applying mappers: ${e.message}" }
-    }
-  }
+      },
+    )
 
   fun collectStopwatches(): Map<String, Stopwatch> =
     mappersByName
       .filterValues { it.stopwatch.getExecutionCount() > 0 }
       .map { Pair(it.key, it.value.stopwatch) }.toMap()
 }
+
+/**
+ * The prepared mappers of a stream, in the order they apply, see [RecordMapper.compile].
+ */
+class CompiledMappers internal constructor(private val steps: List<Step>) {
+  internal data class Step(val mapper: PreparedMapper, val stopwatch: Stopwatch)
+
+  fun isEmpty(): Boolean = steps.isEmpty()
+
+  fun apply(record: AirbyteRecord) {
+    try {
+      for (step in steps) {
+        step.stopwatch.time { step.mapper.map(record) }
+      }
+    } catch (e: Exception) {
+      log.debug { "Error applying mappers: ${e.message}" }
+    }
+  }
+}
@@ -62,20 +62,42 @@ class EncryptionMapper : FilteredRecordsMapper<EncryptionMapperConfig>() {
     config: EncryptionMapperConfig,
     record: AirbyteRecord,
   ) {
-    if (record.has(config.config.targetField)) {
-      val outputFieldName = getOutputFieldName(config)
+    encryptField(record, config.config.targetField, getOutputFieldName(config)) { data -> encrypt(data, config.config) }
+  }
+
+  override fun prepareForNonDiscardedRecords(config: EncryptionMapperConfig): PreparedMapper {
+    val encryptor =
+      try {
+        prepareEncryptor(config.config)
+      } catch (e: Exception) {
+        // Every record will fail the same way, let the regular path track the errors.
+        return super.prepareForNonDiscardedRecords(config)
+      }
+
+    val targetField = config.config.targetField
+    val outputFieldName = getOutputFieldName(config)
+    return PreparedMapper { record -> encryptField(record, targetField, outputFieldName, encryptor) }
+  }
+
+  private fun encryptField(
+    record: AirbyteRecord,
+    targetField: String,
+    outputFieldName: String,
+    encrypt: (ByteArray) -> String,
+  ) {
+    if (record.has(targetField)) {
       var failed = false
       try {
-        val data = record.get(config.config.targetField).asString()
-        val encryptedData = encrypt(data.toByteArray(Charsets.UTF_8), config.config)
+        val data = record.get(targetField).asString()
+        val encryptedData = encrypt(data.toByteArray(Charsets.UTF_8))
         record.set(outputFieldName, encryptedData)
       } catch (e: Exception) {
         // TODO We should use a more precise Reason once available in the protocol
         record.trackFieldError(outputFieldName, AirbyteRecord.Change.NULLED, AirbyteRecord.Reason.PLATFORM_SERIALIZATION_ERROR)
         failed = true
       } finally {
-        if (failed || outputFieldName != config.config.targetField) {
-          record.remove(config.config.targetField)
+        if (failed || outputFieldName != targetField) {
+          record.remove(targetField)
         }
       }
     }
@@ -141,4 +163,55 @@ class EncryptionMapper : FilteredRecordsMapper<EncryptionMapperConfig>() {
     cipher.init(Cipher.ENCRYPT_MODE, keyFactory.generatePublic(keySpec))
     return cipher.doFinal(data).toHexString()
   }
+
+  private fun prepareEncryptor(config: EncryptionConfig): (ByteArray) -> String {
+    return when (config) {
+      is AesEncryptionConfig -> prepareAES(config)
+      is RsaEncryptionConfig -> prepareRSA(config)
+    }
+  }
+
+  /**
+   * Same as [encryptAES] with the key decoded once. Ciphers and random generators aren't thread safe,
+   * each thread gets its own.
+   */
+  @OptIn(ExperimentalStdlibApi::class)
+  private fun prepareAES(config: AesEncryptionConfig): (ByteArray) -> String {
+    val key = config.key as? AirbyteSecret.Hydrated ?: throw MissingSecretValueException("key hasn't been hydrated")
+    val keySpec = SecretKeySpec(key.value.hexToByteArray(), config.algorithm)
+    val cipher = ThreadLocal.withInitial { getCipher(config) }
+    val secureRandom = ThreadLocal.withInitial { SecureRandom() }
+    // Fail early if the cipher cannot be instantiated.
+    cipher.get()
+
+    return { data ->
+      val iv = ByteArray(16)
+      secureRandom.get().nextBytes(iv)
+      val threadCipher = cipher.get()
+      threadCipher.init(Cipher.ENCRYPT_MODE, keySpec, IvParameterSpec(iv))
+      (iv + threadCipher.doFinal(data)).toHexString()
+    }
+  }
+
+  /**
+   * Same as [encryptRSA] with the public key decoded once. The ciphers are initialized once per thread
+   * since doFinal resets them to their initialized state.
+   */
+  @OptIn(ExperimentalStdlibApi::class)
+  private fun prepareRSA(config: RsaEncryptionConfig): (ByteArray) -> String {
+    val publicKey = KeyFactory.getInstance(config.algorithm).generatePublic(X509EncodedKeySpec(config.publicKey.hexToByteArray()))
+    val cipher = ThreadLocal.withInitial { getCipher(config).apply { init(Cipher.ENCRYPT_MODE, publicKey) } }
+    // Fail early if the cipher cannot be initialized with the key.
+    cipher.get()
+
+    return { data ->
+      try {
+        cipher.get().doFinal(data).toHexString()
+      } catch (e: Exception) {
+        // Don't reuse a cipher that may have been left in an unknown state.
+        cipher.remove()
+        throw e
+      }
+    }
+  }
 }
@@ -14,8 +14,19 @@ abstract class FilteredRecordsMapper<T : MapperConfig> : Mapper<T> {
     mapForNonDiscardedRecords(config, record)
   }
 
+  final override fun prepare(config: T): PreparedMapper {
+    val preparedMapper = prepareForNonDiscardedRecords(config)
+    return PreparedMapper { record ->
+      if (record.shouldInclude()) {
+        preparedMapper.map(record)
+      }
+    }
+  }
+
   abstract fun mapForNonDiscardedRecords(
     config: T,
     record: AirbyteRecord,
   )
+
+  open fun prepareForNonDiscardedRecords(config: T): PreparedMapper = PreparedMapper { record -> mapForNonDiscardedRecords(config, record) }
 }
@@ -56,17 +56,44 @@ class HashingMapper : FilteredRecordsMapper<HashingMapperConfig>() {
   ) {
     val outputFieldName = "${config.config.targetField}${config.config.fieldNameSuffix}"
 
-    if (record.has(config.config.targetField)) {
+    hashField(record, config.config.targetField, outputFieldName) { data -> hashAndEncodeData(config.config.method.value, data) }
+  }
+
+  override fun prepareForNonDiscardedRecords(config: HashingMapperConfig): PreparedMapper {
+    val method = config.config.method.value
+    if (supportedMethods.contains(method).not()) {
+      // Every record will fail the same way, let the regular path track the errors.
+      return super.prepareForNonDiscardedRecords(config)
+    }
+
+    val targetField = config.config.targetField
+    val outputFieldName = "${targetField}${config.config.fieldNameSuffix}"
+    // MessageDigest isn't thread safe, each thread mapping records gets its own.
+    val messageDigest = ThreadLocal.withInitial { MessageDigest.getInstance(method) }
+    val hexFormat = HexFormat.of()
+
+    return PreparedMapper { record ->
+      hashField(record, targetField, outputFieldName) { data -> hexFormat.formatHex(messageDigest.get().digest(data)) }
+    }
+  }
+
+  private fun hashField(
+    record: AirbyteRecord,
+    targetField: String,
+    outputFieldName: String,
+    hashAndEncode: (ByteArray) -> String,
+  ) {
+    if (record.has(targetField)) {
       try {
-        val data = record.get(config.config.targetField).asString().toByteArray()
+        val data = record.get(targetField).asString().toByteArray()
 
-        val hashedAndEncodeValue: String = hashAndEncodeData(config.config.method.value, data)
+        val hashedAndEncodeValue: String = hashAndEncode(data)
         record.set(outputFieldName, hashedAndEncodeValue)
       } catch (e: Exception) {
         // TODO We should use a more precise Reason once available in the protocol
         record.trackFieldError(outputFieldName, AirbyteRecord.Change.NULLED, AirbyteRecord.Reason.PLATFORM_SERIALIZATION_ERROR)
       } finally {
-        record.remove(config.config.targetField)
+        record.remove(targetField)
       }
     }
   }
@@ -17,4 +17,20 @@ interface Mapper<T : MapperConfig> {
     config: T,
     record: AirbyteRecord,
   )
+
+  /**
+   * Bind the mapper to a config ahead of time.
+   *
+   * Mappers that need to derive expensive state from their config (ciphers, digests, keys...) should
+   * override this to compute it once instead of for every record. The returned [PreparedMapper] may be
+   * used from several threads.
+   */
+  fun prepare(config: T): PreparedMapper = PreparedMapper { record -> map(config, record) }
+}
+
+/**
+ * A mapper bound to its config, see [Mapper.prepare].
+ */
+fun interface PreparedMapper {
+  fun map(record: AirbyteRecord)
 }
@@ -0,0 +1,146 @@
+package io.airbyte.mappers.transformations
+
+import io.airbyte.config.adapters.AirbyteRecord
+import io.airbyte.config.mapper.configs.AndOperation
+import io.airbyte.config.mapper.configs.EqualOperation
+import io.airbyte.config.mapper.configs.InOperation
+import io.airbyte.config.mapper.configs.NotOperation
+import io.airbyte.config.mapper.configs.Operation
+import io.airbyte.config.mapper.configs.OrOperation
+import io.airbyte.config.mapper.configs.RangeOperation
+
+/**
+ * A row filtering condition compiled by [RowFilterCompiler].
+ */
+fun interface RowPredicate {
+  fun test(record: AirbyteRecord): Boolean
+}
+
+/**
+ * Compiles a row filtering [Operation] tree once per stream into a [RowPredicate] that evaluates to
+ * the same result as [Operation.eval] for every record, with less work per record:
+ * - nested AND/OR are flattened and their conditions evaluated in a plain loop, the cheapest first,
+ * - EQUAL/IN conditions OR-ed together on the same field are merged into a single set lookup,
+ * - each field is looked up once per condition instead of once to check it exists and once to read it,
+ * - integral values are compared as longs instead of being converted to a String.
+ *
+ * The compiled predicate holds no mutable state and can be shared by the threads mapping records.
+ */
+internal object RowFilterCompiler {
+  private val ALWAYS_TRUE = Compiled(0) { true }
+  private val ALWAYS_FALSE = Compiled(0) { false }
+
+  private class Compiled(val cost: Int, val predicate: RowPredicate)
+
+  fun compile(operation: Operation): RowPredicate = compileOperation(operation).predicate
+
+  private fun compileOperation(operation: Operation): Compiled =
+    when (operation) {
+      is EqualOperation -> compileValueMatch(operation.fieldName, listOf(operation.comparisonValue))
+      is InOperation -> compileValueMatch(operation.fieldName, operation.comparisonValues)
+      is RangeOperation -> compileRange(operation)
+      // NOT is true when none of its conditions is, which is the negation of their OR
+      is NotOperation -> compileOr(operation.conditions).let { or -> Compiled(or.cost) { record -> !or.predicate.test(record) } }
+      is OrOperation -> compileOr(operation.conditions)
+      is AndOperation -> compileAnd(operation.conditions)
+    }
+
+  private fun compileAnd(conditions: List<Operation>): Compiled {
+    val flattened = flatten(conditions) { (it as? AndOperation)?.conditions }
+    val compiled = flattened.map { compileOperation(it) }.sortedBy { it.cost }
+    return when (compiled.size) {
+      0 -> ALWAYS_TRUE
+      1 -> compiled[0]
+      else -> {
+        val predicates = compiled.map { it.predicate }.toTypedArray()
+        Compiled(compiled.sumOf { it.cost }) all@{ record ->
+          for (predicate in predicates) {
+            if (!predicate.test(record)) {
+              return@all false
+            }
+          }
+          true
+        }
+      }
+    }
+  }
+
+  private fun compileOr(conditions: List<Operation>): Compiled {
+    val flattened = flatten(conditions) { (it as? OrOperation)?.conditions }
+
+    // Matching any of several values of a field is a single set lookup, whether it was written as an IN or as OR-ed EQUALs
+    val valuesByField = linkedMapOf<String, MutableList<String>>()
+    val others = mutableListOf<Operation>()
+    flattened.forEach {
+      when (it) {
+        is EqualOperation -> valuesByField.getOrPut(it.fieldName) { mutableListOf() }.add(it.comparisonValue)
+        is InOperation -> valuesByField.getOrPut(it.fieldName) { mutableListOf() }.addAll(it.comparisonValues)
+        else -> others.add(it)
+      }
+    }
+
+    val compiled =
+      (valuesByField.map { (fieldName, values) -> compileValueMatch(fieldName, values) } + others.map { compileOperation(it) })
+        .sortedBy { it.cost }
+    return when (compiled.size) {
+      0 -> ALWAYS_FALSE
+      1 -> compiled[0]
+      else -> {
+        val predicates = compiled.map { it.predicate }.toTypedArray()
+        Compiled(compiled.sumOf { it.cost }) any@{ record ->
+          for (predicate in predicates) {
+            if (predicate.test(record)) {
+              return@any true
+            }
+          }
+          false
+        }
+      }
+    }
+  }
+
+  /**
+   * Matches a field against a list of values the way [EqualOperation] does, the value of the field
+   * converted to a String must be one of them. Values that are the canonical form of a long are also
+   * kept as longs so that integral fields can be matched without being converted.
+   */
+  private fun compileValueMatch(
+    fieldName: String,
+    values: List<String>,
+  ): Compiled {
+    val distinctValues = values.toSet()
+    val longValues = distinctValues.mapNotNull { value -> value.toLongOrNull()?.takeIf { it.toString() == value } }.sorted().toLongArray()
+
+    if (distinctValues.size == 1) {
+      val expected = distinctValues.first()
+      val expectedLong = longValues.singleOrNull()
+      return Compiled(1) equal@{ record ->
+        val value = record.getOrNull(fieldName) ?: return@equal false
+        val longValue = value.asLongOrNull()
+        if (longValue != null) longValue == expectedLong else value.asString() == expected
+      }
+    }
+
+    return Compiled(1) anyOf@{ record ->
+      val value = record.getOrNull(fieldName) ?: return@anyOf false
+      val longValue = value.asLongOrNull()
+      if (longValue != null) longValues.binarySearch(longValue) >= 0 else value.asString() in distinctValues
+    }
+  }
+
+  private fun compileRange(operation: RangeOperation): Compiled {
+    val fieldName = operation.fieldName
+    val lowerBound = operation.lowerBound
+    val upperBound = operation.upperBound
+    return Compiled(1) range@{ record ->
+      val value = record.getOrNull(fieldName)?.asDoubleOrNull() ?: return@range false
+      (lowerBound == null || value >= lowerBound) && (upperBound == null || value <= upperBound)
+    }
+  }
+
+  // Returns the conditions with the ones [children] can open, nested ANDs in an AND or nested ORs in an OR, replaced by their own conditions
+  private fun flatten(
+    conditions: List<Operation>,
+    children: (Operation) -> List<Operation>?,
+  ): List<Operation> = conditions.flatMap { condition -> children(condition)?.let { flatten(it, children) } ?: listOf(condition) }
+}
@@ -110,6 +110,9 @@ class RowFilterMapperConfigSpecGenerator {
 //            We want to hide the AND/OR operation from the end user for the first iteration, uncomment this when we want to expose them
 //            generateSchemaForClass(AndOperation::class.java),
 //            generateSchemaForClass(OrOperation::class.java),
+//            Same for the IN/RANGE operations, the mapper already evaluates them
+//            generateSchemaForClass(InOperation::class.java),
+//            generateSchemaForClass(RangeOperation::class.java),
             generateSchemaForClass(EqualOperation::class.java),
             generateSchemaForClass(NotOperation::class.java),
           )
@@ -31,4 +31,9 @@ class RowFilteringMapper : FilteredRecordsMapper<RowFilteringMapperConfig>() {
     val conditionEvalResult = config.config.conditions.eval(record)
     record.setInclude(conditionEvalResult)
   }
+
+  override fun prepareForNonDiscardedRecords(config: RowFilteringMapperConfig): PreparedMapper {
+    val predicate = RowFilterCompiler.compile(config.config.conditions)
+    return PreparedMapper { record -> record.setInclude(predicate.test(record)) }
+  }
 }
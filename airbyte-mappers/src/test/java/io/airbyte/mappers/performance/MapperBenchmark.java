@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.mappers.performance;
+
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.config.AirbyteSecret;
+import io.airbyte.config.MapperConfig;
+import io.airbyte.config.MapperOperationName;
+import io.airbyte.config.adapters.AirbyteJsonRecordAdapter;
+import io.airbyte.config.mapper.configs.AesEncryptionConfig;
+import io.airbyte.config.mapper.configs.AesMode;
+import io.airbyte.config.mapper.configs.AesPadding;
+import io.airbyte.config.mapper.configs.EncryptionConfig;
+import io.airbyte.config.mapper.configs.EncryptionMapperConfig;
+import io.airbyte.config.mapper.configs.HashingConfig;
+import io.airbyte.config.mapper.configs.HashingMapperConfig;
+import io.airbyte.config.mapper.configs.HashingMethods;
+import io.airbyte.config.mapper.configs.RsaEncryptionConfig;
+import io.airbyte.mappers.application.CompiledMappers;
+import io.airbyte.mappers.application.RecordMapper;
+import io.airbyte.mappers.transformations.EncryptionMapper;
+import io.airbyte.mappers.transformations.HashingMapper;
+import io.airbyte.mappers.transformations.Mapper;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteRecordMessage;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the number of records per second each mapper type can process, either by applying the
+ * configs to every record through {@link RecordMapper#applyMappers} or by compiling them once through
+ * {@link RecordMapper#compile} like the replication does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MapperBenchmark {
+
+  private static final String TARGET_FIELD = "email";
+
+  @Param({"hashing", "aes", "rsa"})
+  public String mapperType;
+
+  private RecordMapper recordMapper;
+  private List<MapperConfig> configuredMappers;
+  private CompiledMappers compiledMappers;
+
+  @Setup
+  public void setup() throws NoSuchAlgorithmException {
+    recordMapper = new RecordMapper(List.<Mapper<? extends MapperConfig>>of(new HashingMapper(), new EncryptionMapper()));
+    configuredMappers = List.of(buildConfig(mapperType));
+    compiledMappers = recordMapper.compile(configuredMappers);
+  }
+
+  @Benchmark
+  public void applyMappers(final Blackhole blackhole) {
+    final AirbyteJsonRecordAdapter record = buildRecord();
+    recordMapper.applyMappers(record, configuredMappers);
+    blackhole.consume(record);
+  }
+
+  @Benchmark
+  public void compiledMappers(final Blackhole blackhole) {
+    final AirbyteJsonRecordAdapter record = buildRecord();
+    compiledMappers.apply(record);
+    blackhole.consume(record);
+  }
+
+  private static AirbyteJsonRecordAdapter buildRecord() {
+    return new AirbyteJsonRecordAdapter(new AirbyteMessage()
+        .withType(AirbyteMessage.Type.RECORD)
+        .withRecord(new AirbyteRecordMessage()
+            .withStream("users")
+            .withData(Jsons.jsonNode(Map.of("id", 42, TARGET_FIELD, "someone@example.com", "name", "Someone")))));
+  }
+
+  private static MapperConfig buildConfig(final String mapperType) throws NoSuchAlgorithmException {
+    return switch (mapperType) {
+      case "hashing" -> new HashingMapperConfig(MapperOperationName.HASHING, null,
+          new HashingConfig(TARGET_FIELD, HashingMethods.SHA256, "_hashed"), null);
+      case "aes" -> {
+        final byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        yield new EncryptionMapperConfig(MapperOperationName.ENCRYPTION, null,
+            new AesEncryptionConfig(EncryptionConfig.ALGO_AES, TARGET_FIELD, "_encrypted", AesMode.CBC, AesPadding.PKCS5Padding,
+                new AirbyteSecret.Hydrated(HexFormat.of().formatHex(key))),
+            null);
+      }
+      case "rsa" -> {
+        final KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance(EncryptionConfig.ALGO_RSA);
+        keyPairGenerator.initialize(2048);
+        final String publicKey = HexFormat.of().formatHex(keyPairGenerator.generateKeyPair().getPublic().getEncoded());
+        yield new EncryptionMapperConfig(MapperOperationName.ENCRYPTION, null,
+            new RsaEncryptionConfig(EncryptionConfig.ALGO_RSA, TARGET_FIELD, "_encrypted", publicKey), null);
+      }
+      default -> throw new IllegalArgumentException("Unknown mapper type: " + mapperType);
+    };
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(MapperBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+
+}
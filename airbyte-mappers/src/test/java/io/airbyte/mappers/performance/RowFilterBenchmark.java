@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.mappers.performance;
+
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.config.MapperOperationName;
+import io.airbyte.config.adapters.AirbyteJsonRecordAdapter;
+import io.airbyte.config.mapper.configs.AndOperation;
+import io.airbyte.config.mapper.configs.EqualOperation;
+import io.airbyte.config.mapper.configs.NotOperation;
+import io.airbyte.config.mapper.configs.Operation;
+import io.airbyte.config.mapper.configs.OrOperation;
+import io.airbyte.config.mapper.configs.RowFilteringConfig;
+import io.airbyte.config.mapper.configs.RowFilteringMapperConfig;
+import io.airbyte.mappers.transformations.PreparedMapper;
+import io.airbyte.mappers.transformations.RowFilteringMapper;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteRecordMessage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the number of records per second the {@link RowFilteringMapper} can filter with a
+ * condition tree of 50 conditions, either by interpreting the tree for every record through
+ * {@link RowFilteringMapper#map} or by compiling it once through {@link RowFilteringMapper#prepare}
+ * like the replication does.
+ *
+ * The "orOfEquals" tree matches a field against 50 values as nested ORs of EQUALs, the "mixed" tree
+ * ANDs conditions on several fields. Both match the records on their last condition. Run the main
+ * method.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RowFilterBenchmark {
+
+  private static final int CONDITION_COUNT = 50;
+
+  @Param({"orOfEquals", "mixed"})
+  public String treeShape;
+
+  private RowFilteringMapper mapper;
+  private RowFilteringMapperConfig config;
+  private PreparedMapper preparedMapper;
+  private AirbyteJsonRecordAdapter record;
+
+  @Setup
+  public void setup() {
+    mapper = new RowFilteringMapper();
+    config = new RowFilteringMapperConfig(MapperOperationName.ROW_FILTERING, null, new RowFilteringConfig(buildTree(treeShape)), null);
+    preparedMapper = mapper.prepare(config);
+    record = new AirbyteJsonRecordAdapter(new AirbyteMessage()
+        .withType(AirbyteMessage.Type.RECORD)
+        .withRecord(new AirbyteRecordMessage()
+            .withStream("users")
+            .withData(Jsons.jsonNode(Map.of("id", CONDITION_COUNT - 1, "status", "active", "region", "us", "name", "Someone")))));
+  }
+
+  @Benchmark
+  public boolean interpreted() {
+    record.setInclude(true);
+    mapper.map(config, record);
+    return record.shouldInclude();
+  }
+
+  @Benchmark
+  public boolean compiled() {
+    record.setInclude(true);
+    preparedMapper.map(record);
+    return record.shouldInclude();
+  }
+
+  private static Operation buildTree(final String treeShape) {
+    return switch (treeShape) {
+      case "orOfEquals" -> {
+        // Nested the way the AND/OR operations end up being built, one pair at a time
+        Operation tree = equal("id", 0);
+        for (int i = 1; i < CONDITION_COUNT; i++) {
+          tree = new OrOperation("OR", List.of(tree, equal("id", i)));
+        }
+        yield tree;
+      }
+      case "mixed" -> {
+        final List<Operation> conditions = new ArrayList<>();
+        for (int i = 0; i < CONDITION_COUNT - 2; i++) {
+          conditions.add(new NotOperation("NOT", List.of(equal("name", i))));
+        }
+        conditions.add(new OrOperation("OR", List.of(equal("region", "eu"), equal("region", "us"))));
+        conditions.add(equal("status", "active"));
+        yield new AndOperation("AND", conditions);
+      }
+      default -> throw new IllegalArgumentException("Unknown tree shape: " + treeShape);
+    };
+  }
+
+  private static Operation equal(final String fieldName, final Object value) {
+    return new EqualOperation("EQUAL", fieldName, value.toString());
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(RowFilterBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+
+}
@@ -10,7 +10,9 @@ import io.airbyte.mappers.mocks.TestMapper
 import io.airbyte.protocol.models.AirbyteMessage
 import io.airbyte.protocol.models.AirbyteRecordMessage
 import io.mockk.spyk
+import io.mockk.verify
 import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
 import org.junit.jupiter.api.Test
 
 class RecordMapperTest {
@@ -44,6 +46,37 @@ class RecordMapperTest {
     assertEquals(expectedRecord, testRecord)
   }
 
+  @Test
+  fun testCompiledMappers() {
+    val compiledMappers =
+      recordMapper.compile(
+        listOf(
+          TestMapperConfig(TEST_MAPPER_NAME, null, null, TestConfig("field1", TestEnums.ONE, "field2")),
+          TestMapperConfig("unknown mapper", null, null, TestConfig("field1", TestEnums.ONE, "field2")),
+        ),
+      )
+
+    listOf("value1", "value2").forEach { value ->
+      val testRecord = createRecord(mapOf("field1" to value))
+      compiledMappers.apply(testRecord)
+      assertEquals(createRecord(mapOf("field1_test" to value)), testRecord)
+    }
+    // The mapper is only prepared once for all the records.
+    verify(exactly = 1) { mapper.prepare(any()) }
+    assertEquals(2, recordMapper.collectStopwatches()[TEST_MAPPER_NAME]?.getExecutionCount())
+  }
+
+  @Test
+  fun testCompiledMappersNoConfig() {
+    val compiledMappers = recordMapper.compile(listOf<TestMapperConfig>())
+    val testRecord = sampleRecord.deepCopy()
+
+    compiledMappers.apply(testRecord)
+
+    assertTrue(compiledMappers.isEmpty())
+    assertEquals(sampleRecord, testRecord)
+  }
+
   fun createRecord(data: Map<String, String>) =
     AirbyteJsonRecordAdapter(
       AirbyteMessage()
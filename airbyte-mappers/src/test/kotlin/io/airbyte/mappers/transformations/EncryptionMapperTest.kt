@@ -19,6 +19,7 @@ import io.airbyte.protocol.models.AirbyteRecordMessageMetaChange
 import io.github.oshai.kotlinlogging.KotlinLogging
 import org.junit.jupiter.api.Assertions.assertEquals
 import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertNotEquals
 import org.junit.jupiter.api.Assertions.assertTrue
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
@@ -325,6 +326,93 @@ class EncryptionMapperTest {
     }
   }
 
+  @Test
+  fun `testing prepared aes encryption`() {
+    val keyFactory = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256")
+    val key = keyFactory.generateSecret(PBEKeySpec("my secret".toCharArray(), "salt".toByteArray(), 65536, 256))
+    val aesConfig =
+      AesEncryptionConfig(
+        algorithm = "AES",
+        targetField = "testField",
+        fieldNameSuffix = "_encrypted",
+        mode = AesMode.CBC,
+        padding = AesPadding.PKCS5Padding,
+        key = AirbyteSecret.Hydrated(key.encoded.toHexString()),
+      )
+    val preparedMapper = encryptionMapper.prepare(EncryptionMapperConfig(config = aesConfig))
+
+    val firstRecord = createRecord("testField", "something")
+    val secondRecord = createRecord("testField", "something")
+    preparedMapper.map(firstRecord)
+    preparedMapper.map(secondRecord)
+
+    listOf(firstRecord, secondRecord).forEach { record ->
+      verifyRecordInvariant(record).also {
+        assertFalse(it.has("testField"))
+        assertEquals("something", decryptAES(it.get("testField_encrypted").asString(), aesConfig, key))
+      }
+    }
+    // Each record must get its own IV.
+    assertNotEquals(firstRecord.get("testField_encrypted").asString(), secondRecord.get("testField_encrypted").asString())
+  }
+
+  @Test
+  fun `testing prepared rsa encryption`() {
+    val keyGenerator = KeyPairGenerator.getInstance("RSA")
+    keyGenerator.initialize(2048)
+    val keyPair = keyGenerator.generateKeyPair()
+    val rsaConfig =
+      RsaEncryptionConfig(
+        algorithm = "RSA",
+        targetField = "testRsa",
+        fieldNameSuffix = "_encrypted",
+        publicKey = keyPair.public.encoded.toHexString(),
+      )
+    val preparedMapper = encryptionMapper.prepare(EncryptionMapperConfig(config = rsaConfig))
+
+    listOf("to encrypt", "to encrypt again").forEach { value ->
+      val testRecord = createRecord("testRsa", value)
+      preparedMapper.map(testRecord)
+
+      verifyRecordInvariant(testRecord).also {
+        assertFalse(it.has("testRsa"))
+        assertEquals(value, decryptRSA(it.get("testRsa_encrypted").asString(), rsaConfig, keyPair.private))
+      }
+    }
+  }
+
+  @Test
+  fun `test prepared mapper nulls out fields when the config is invalid`() {
+    val nullTestFieldName = "nulltest"
+    val config =
+      EncryptionMapperConfig(
+        config =
+          AesEncryptionConfig(
+            algorithm = "something that will fail",
+            targetField = nullTestFieldName,
+            fieldNameSuffix = null,
+            mode = AesMode.CBC,
+            padding = AesPadding.NoPadding,
+            key = AirbyteSecret.Hydrated("magic"),
+          ),
+      )
+
+    val testRecord = createRecord(nullTestFieldName, nullTestFieldName)
+    encryptionMapper.prepare(config).map(testRecord)
+
+    verifyRecordInvariant(testRecord).also {
+      assertFalse(it.has(nullTestFieldName))
+      assertTrue(
+        it.asProtocol.record.meta.changes.contains(
+          AirbyteRecordMessageMetaChange()
+            .withField(nullTestFieldName)
+            .withChange(AirbyteRecordMessageMetaChange.Change.NULLED)
+            .withReason(AirbyteRecordMessageMetaChange.Reason.PLATFORM_SERIALIZATION_ERROR),
+        ),
+      )
+    }
+  }
+
   @Test
   fun `testing rsa encryption schema rejects config with invalid key`() {
     val rsaConfig =
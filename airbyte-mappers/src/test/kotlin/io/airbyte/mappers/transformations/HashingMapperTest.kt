@@ -98,6 +98,39 @@ class HashingMapperTest {
     assertEquals("value2", record.get("field2").asString())
   }
 
+  @ParameterizedTest
+  @ValueSource(
+    strings = [
+      HashingMapper.MD5,
+      HashingMapper.SHA256,
+      HashingMapper.SHA512,
+    ],
+  )
+  fun preparedMapperHashesLikeMap(hashingMethod: String) {
+    val config =
+      HashingMapperConfig(
+        MAPPER_NAME,
+        null,
+        HashingConfig(
+          "field1",
+          HashingMethods.fromValue(hashingMethod)!!,
+          "_hashed",
+        ),
+      )
+    val preparedMapper = hashingMapper.prepare(config)
+
+    listOf("value1", "value2").forEach { value ->
+      val expectedRecord = TestRecordAdapter(StreamDescriptor().withName("stream"), mapOf("field1" to value, "field2" to "value2"))
+      hashingMapper.map(config, expectedRecord)
+
+      val record = TestRecordAdapter(StreamDescriptor().withName("stream"), mapOf("field1" to value, "field2" to "value2"))
+      preparedMapper.map(record)
+
+      assertFalse(record.has("field1"))
+      assertEquals(expectedRecord.get("field1_hashed").asString(), record.get("field1_hashed").asString())
+    }
+  }
+
   @Test
   fun testAllMethodAreSupported() {
     val messageDigestAlgorithms = Security.getAlgorithms("MessageDigest")
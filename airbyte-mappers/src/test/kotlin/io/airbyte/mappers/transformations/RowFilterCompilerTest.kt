@@ -0,0 +1,154 @@
+package io.airbyte.mappers.transformations
+
+import io.airbyte.commons.json.Jsons
+import io.airbyte.config.adapters.AirbyteJsonRecordAdapter
+import io.airbyte.config.adapters.AirbyteRecord
+import io.airbyte.config.mapper.configs.AndOperation
+import io.airbyte.config.mapper.configs.EqualOperation
+import io.airbyte.config.mapper.configs.InOperation
+import io.airbyte.config.mapper.configs.NotOperation
+import io.airbyte.config.mapper.configs.OrOperation
+import io.airbyte.config.mapper.configs.RangeOperation
+import io.airbyte.config.mapper.configs.RowFilteringConfig
+import io.airbyte.config.mapper.configs.RowFilteringMapperConfig
+import io.airbyte.protocol.models.AirbyteMessage
+import io.airbyte.protocol.models.AirbyteRecordMessage
+import io.mockk.spyk
+import io.mockk.verify
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+
+class RowFilterCompilerTest {
+  private val records =
+    listOf(
+      mapOf("status" to "active", "region" to "us", "id" to 1, "score" to 4.5),
+      mapOf("status" to "inactive", "region" to "eu", "id" to 42, "score" to "7"),
+      mapOf("status" to "active", "region" to "asia", "id" to 9_000_000_000L, "score" to true),
+      mapOf("status" to "deleted", "id" to "42", "score" to -1),
+      mapOf("region" to "eu", "id" to 1.0),
+      mapOf("status" to 1, "region" to false),
+      mapOf<String, Any>(),
+    )
+
+  private val operations =
+    listOf(
+      EqualOperation(fieldName = "status", comparisonValue = "active"),
+      EqualOperation(fieldName = "id", comparisonValue = "42"),
+      EqualOperation(fieldName = "id", comparisonValue = "042"),
+      EqualOperation(fieldName = "id", comparisonValue = "9000000000"),
+      EqualOperation(fieldName = "id", comparisonValue = "1.0"),
+      EqualOperation(fieldName = "region", comparisonValue = "false"),
+      InOperation(fieldName = "region", comparisonValues = listOf("us", "eu")),
+      InOperation(fieldName = "id", comparisonValues = listOf("1", "42", "not a number")),
+      InOperation(fieldName = "id", comparisonValues = listOf()),
+      RangeOperation(fieldName = "score", lowerBound = 0.0, upperBound = 5.0),
+      RangeOperation(fieldName = "score", lowerBound = 5.0),
+      RangeOperation(fieldName = "id", upperBound = 42.0),
+      NotOperation(conditions = listOf(EqualOperation(fieldName = "status", comparisonValue = "active"))),
+      NotOperation(conditions = listOf()),
+      AndOperation(conditions = listOf()),
+      OrOperation(conditions = listOf()),
+      OrOperation(
+        conditions =
+          listOf(
+            EqualOperation(fieldName = "region", comparisonValue = "us"),
+            AndOperation(
+              conditions =
+                listOf(
+                  EqualOperation(fieldName = "status", comparisonValue = "inactive"),
+                  AndOperation(conditions = listOf(EqualOperation(fieldName = "region", comparisonValue = "eu"))),
+                ),
+            ),
+            OrOperation(conditions = listOf(EqualOperation(fieldName = "region", comparisonValue = "asia"))),
+            InOperation(fieldName = "id", comparisonValues = listOf("42")),
+            EqualOperation(fieldName = "id", comparisonValue = "1"),
+          ),
+      ),
+      NotOperation(
+        conditions =
+          listOf(
+            EqualOperation(fieldName = "status", comparisonValue = "deleted"),
+            AndOperation(
+              conditions =
+                listOf(
+                  RangeOperation(fieldName = "score", lowerBound = 0.0),
+                  NotOperation(conditions = listOf(InOperation(fieldName = "region", comparisonValues = listOf("us", "asia")))),
+                ),
+            ),
+          ),
+      ),
+    )
+
+  @Test
+  fun `compiled conditions evaluate like the interpreted ones`() {
+    operations.forEach { operation ->
+      val predicate = RowFilterCompiler.compile(operation)
+      records.forEach { data ->
+        val record = getRecord(data)
+        assertEquals(operation.eval(record), predicate.test(record), "$operation on $data")
+      }
+    }
+  }
+
+  @Test
+  fun `OR-ed equal conditions on a field are matched with a single lookup`() {
+    val operation =
+      OrOperation(
+        conditions = (1..50).map { EqualOperation(fieldName = "id", comparisonValue = it.toString()) },
+      )
+    val record = spyk(getRecord(mapOf("id" to 50)))
+
+    assertTrue(RowFilterCompiler.compile(operation).test(record))
+    verify(exactly = 1) { record.getOrNull("id") }
+    verify(exactly = 0) { record.has(any()) }
+  }
+
+  @Test
+  fun `cheap conditions are evaluated first`() {
+    val operation =
+      AndOperation(
+        conditions =
+          listOf(
+            OrOperation(
+              conditions =
+                listOf(
+                  EqualOperation(fieldName = "region", comparisonValue = "us"),
+                  RangeOperation(fieldName = "score", lowerBound = 0.0),
+                ),
+            ),
+            EqualOperation(fieldName = "status", comparisonValue = "active"),
+          ),
+      )
+    val record = spyk(getRecord(mapOf("status" to "inactive", "region" to "us")))
+
+    assertFalse(RowFilterCompiler.compile(operation).test(record))
+    verify(exactly = 1) { record.getOrNull("status") }
+    verify(exactly = 0) { record.getOrNull("region") }
+  }
+
+  @Test
+  fun `the prepared mapper applies the compiled conditions`() {
+    val config =
+      RowFilteringMapperConfig(
+        config = RowFilteringConfig(conditions = InOperation(fieldName = "region", comparisonValues = listOf("us", "eu"))),
+      )
+    val preparedMapper = RowFilteringMapper().prepare(config)
+
+    val included = getRecord(mapOf("region" to "eu"))
+    preparedMapper.map(included)
+    assertTrue(included.shouldInclude())
+
+    val excluded = getRecord(mapOf("region" to "asia"))
+    preparedMapper.map(excluded)
+    assertFalse(excluded.shouldInclude())
+  }
+
+  private fun getRecord(data: Map<String, Any>): AirbyteRecord =
+    AirbyteJsonRecordAdapter(
+      AirbyteMessage()
+        .withType(AirbyteMessage.Type.RECORD)
+        .withRecord(AirbyteRecordMessage().withStream("stream").withData(Jsons.jsonNode(data))),
+    )
+}
@@ -56,7 +56,9 @@ public class MetricTags {
   public static final String MIN_CONNECTOR_RELEASE_STATE = "min_connector_release_stage";
   public static final String NOTIFICATION_TRIGGER = "notification_trigger";
   public static final String NOTIFICATION_CLIENT = "notification_client";
+  public static final String PERCENTILE = "percentile"; // p50|p99|p999|max
   public static final String RELEASE_STAGE = "release_stage";
+  public static final String REPLICATION_STAGE = "stage";
   public static final String SOURCE_ID = "source_id";
   public static final String SOURCE_DEFINITION_ID = "source_definition_id";
   public static final String SOURCE_IMAGE = "source_image";
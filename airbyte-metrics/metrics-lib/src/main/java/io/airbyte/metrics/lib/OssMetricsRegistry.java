@@ -231,6 +231,12 @@ public enum OssMetricsRegistry implements MetricsRegistry {
   NUM_UNEXPECTED_FIELDS_IN_STREAMS(MetricEmittingApps.WORKER,
       "schemas_unexpected_fields",
       "number of unexpected (top level) fields for a given stream"),
+  SCHEMA_VALIDATION_DROPPED_RECORDS(MetricEmittingApps.WORKER,
+      "record_schema_validation_dropped_records",
+      "number of records of a given stream which were not validated because the validation was lagging behind the sync"),
+  SCHEMA_VALIDATION_LAG(MetricEmittingApps.WORKER,
+      "record_schema_validation_lag_ms",
+      "time records waited before being validated against their schema"),
   NUM_TOTAL_SCHEDULED_SYNCS_IN_LAST_DAY(
       MetricEmittingApps.METRICS_REPORTER,
       "num_total_scheduled_syncs_last_day",
@@ -274,6 +280,9 @@ public enum OssMetricsRegistry implements MetricsRegistry {
   REPLICATION_WORKER_CREATED(MetricEmittingApps.WORKER,
       "replication_worker_created",
       "number of replication worker created"),
+  REPLICATION_STAGE_LATENCY_MICROS(MetricEmittingApps.WORKER,
+      "replication_stage_latency_micros",
+      "latency percentiles of each stage of the replication in microseconds, tagged by stage and percentile"),
   REPLICATION_WORKER_EXECUTOR_SHUTDOWN_ERROR(MetricEmittingApps.WORKER,
       "replication_worker_executor_shutdown_error",
       "number of failure to shutdown executors"),
@@ -519,6 +528,18 @@ public enum OssMetricsRegistry implements MetricsRegistry {
       "discover_catalog_run_time",
       "Time to run a discover catalog before a replication."),
 
+  DISCOVER_CACHE_HIT(MetricEmittingApps.WORKER,
+      "discover_cache_hit",
+      "Count of syncs that reused a recently discovered catalog instead of running a discover."),
+
+  DISCOVER_CACHE_MISS(MetricEmittingApps.WORKER,
+      "discover_cache_miss",
+      "Count of syncs with the discover cache enabled that had to run a discover."),
+
+  DISCOVER_CACHE_POD_SECONDS_SAVED(MetricEmittingApps.WORKER,
+      "discover_cache_pod_seconds_saved",
+      "Estimated discover pod seconds saved by reusing a recently discovered catalog, based on the last discover of the connection."),
+
   REPLICATION_RUN_TIME(MetricEmittingApps.ORCHESTRATOR,
       "replication_run_time",
       "Time to run a replication withing a sync."),
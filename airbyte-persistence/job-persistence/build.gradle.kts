@@ -46,12 +46,16 @@ dependencies {
   implementation(libs.bundles.micronaut.data.jdbc)
   implementation(libs.bundles.micronaut.kotlin)
 
+  testAnnotationProcessor(libs.jmh.annotations)
+
   testImplementation(project(":oss:airbyte-config:config-persistence"))
   testImplementation(project(":oss:airbyte-test-utils"))
   testImplementation(libs.platform.testcontainers.postgresql)
   testRuntimeOnly(libs.junit.jupiter.engine)
   testImplementation(libs.bundles.junit)
   testImplementation(libs.assertj.core)
+  testImplementation(libs.jmh.core)
+  testImplementation(libs.jmh.annotations)
 
   testImplementation(libs.junit.pioneer)
 }
@@ -17,7 +17,6 @@ import com.google.common.collect.Sets;
 import datadog.trace.api.Trace;
 import io.airbyte.commons.enums.Enums;
 import io.airbyte.commons.json.Jsons;
-import io.airbyte.commons.resources.MoreResources;
 import io.airbyte.commons.text.Names;
 import io.airbyte.commons.timer.Stopwatch;
 import io.airbyte.commons.version.AirbyteProtocolVersion;
@@ -39,11 +38,11 @@ import io.airbyte.config.JobWithStatusAndTimestamp;
 import io.airbyte.config.JobsRecordsCommitted;
 import io.airbyte.config.StreamSyncStats;
 import io.airbyte.config.SyncStats;
-import io.airbyte.config.persistence.PersistenceHelpers;
 import io.airbyte.db.Database;
 import io.airbyte.db.ExceptionWrappingDatabase;
 import io.airbyte.db.instance.configs.jooq.generated.Tables;
 import io.airbyte.db.instance.jobs.jooq.generated.tables.records.JobsRecord;
+import io.airbyte.db.instance.jobs.jooq.generated.tables.records.StreamStatsRecord;
 import io.airbyte.metrics.lib.ApmTraceUtils;
 import io.airbyte.protocol.models.v0.StreamDescriptor;
 import java.io.IOException;
@@ -61,6 +60,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -71,8 +71,10 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 import org.apache.commons.collections4.CollectionUtils;
+import org.jooq.Condition;
 import org.jooq.DSLContext;
 import org.jooq.Field;
+import org.jooq.InsertSetMoreStep;
 import org.jooq.JSONB;
 import org.jooq.Query;
 import org.jooq.Record;
@@ -129,10 +131,8 @@ public class DefaultJobPersistence implements JobPersistence {
   static final String BASE_JOB_SELECT_AND_JOIN = jobSelectAndJoin("jobs");
   private static final String ATTEMPT_SELECT =
       "SELECT job_id," + ATTEMPT_FIELDS + "FROM attempts WHERE job_id = ? AND attempt_number = ?";
-  // not static because job history test case manipulates these.
-  private final int jobHistoryMinimumAgeInDays;
-  private final int jobHistoryMinimumRecency;
-  private final int jobHistoryExcessiveNumberOfJobs;
+  // not static because job history test case manipulates its settings.
+  private final JobHistoryPurger jobHistoryPurger;
   private final ExceptionWrappingDatabase jobDatabase;
   private final Supplier<Instant> timeSupplier;
 
@@ -144,9 +144,8 @@ public class DefaultJobPersistence implements JobPersistence {
                         final int minimumRecencyCount) {
     this.jobDatabase = new ExceptionWrappingDatabase(jobDatabase);
     this.timeSupplier = timeSupplier;
-    jobHistoryMinimumAgeInDays = minimumAgeInDays;
-    jobHistoryExcessiveNumberOfJobs = excessiveNumberOfJobs;
-    jobHistoryMinimumRecency = minimumRecencyCount;
+    jobHistoryPurger = new JobHistoryPurger(this.jobDatabase, minimumAgeInDays, excessiveNumberOfJobs, minimumRecencyCount,
+        JobHistoryPurger.DEFAULT_BATCH_SIZE, JobHistoryPurger.DEFAULT_MAX_ROWS_DELETED_PER_SECOND);
   }
 
   public DefaultJobPersistence(final Database jobDatabase) {
@@ -169,30 +168,6 @@ public class DefaultJobPersistence implements JobPersistence {
   }
 
   private static void saveToSyncStatsTable(final OffsetDateTime now, final SyncStats syncStats, final Long attemptId, final DSLContext ctx) {
-    // Although JOOQ supports upsert using the onConflict statement, we cannot use it as the table
-    // currently has duplicate records and also doesn't contain the unique constraint on the attempt_id
-    // column JOOQ requires. We are forced to check for existence.
-    final var isExisting = ctx.fetchExists(SYNC_STATS, SYNC_STATS.ATTEMPT_ID.eq(attemptId));
-    if (isExisting) {
-      ctx.update(SYNC_STATS)
-          .set(SYNC_STATS.UPDATED_AT, now)
-          .set(SYNC_STATS.BYTES_EMITTED, syncStats.getBytesEmitted())
-          .set(SYNC_STATS.RECORDS_EMITTED, syncStats.getRecordsEmitted())
-          .set(SYNC_STATS.ESTIMATED_RECORDS, syncStats.getEstimatedRecords())
-          .set(SYNC_STATS.ESTIMATED_BYTES, syncStats.getEstimatedBytes())
-          .set(SYNC_STATS.RECORDS_COMMITTED, syncStats.getRecordsCommitted())
-          .set(SYNC_STATS.BYTES_COMMITTED, syncStats.getBytesCommitted())
-          .set(SYNC_STATS.SOURCE_STATE_MESSAGES_EMITTED, syncStats.getSourceStateMessagesEmitted())
-          .set(SYNC_STATS.DESTINATION_STATE_MESSAGES_EMITTED, syncStats.getDestinationStateMessagesEmitted())
-          .set(SYNC_STATS.MAX_SECONDS_BEFORE_SOURCE_STATE_MESSAGE_EMITTED, syncStats.getMaxSecondsBeforeSourceStateMessageEmitted())
-          .set(SYNC_STATS.MEAN_SECONDS_BEFORE_SOURCE_STATE_MESSAGE_EMITTED, syncStats.getMeanSecondsBeforeSourceStateMessageEmitted())
-          .set(SYNC_STATS.MAX_SECONDS_BETWEEN_STATE_MESSAGE_EMITTED_AND_COMMITTED, syncStats.getMaxSecondsBetweenStateMessageEmittedandCommitted())
-          .set(SYNC_STATS.MEAN_SECONDS_BETWEEN_STATE_MESSAGE_EMITTED_AND_COMMITTED, syncStats.getMeanSecondsBetweenStateMessageEmittedandCommitted())
-          .where(SYNC_STATS.ATTEMPT_ID.eq(attemptId))
-          .execute();
-      return;
-    }
-
     ctx.insertInto(SYNC_STATS)
         .set(SYNC_STATS.ID, UUID.randomUUID())
         .set(SYNC_STATS.CREATED_AT, now)
@@ -210,6 +185,23 @@ public class DefaultJobPersistence implements JobPersistence {
         .set(SYNC_STATS.MEAN_SECONDS_BEFORE_SOURCE_STATE_MESSAGE_EMITTED, syncStats.getMeanSecondsBeforeSourceStateMessageEmitted())
         .set(SYNC_STATS.MAX_SECONDS_BETWEEN_STATE_MESSAGE_EMITTED_AND_COMMITTED, syncStats.getMaxSecondsBetweenStateMessageEmittedandCommitted())
         .set(SYNC_STATS.MEAN_SECONDS_BETWEEN_STATE_MESSAGE_EMITTED_AND_COMMITTED, syncStats.getMeanSecondsBetweenStateMessageEmittedandCommitted())
+        .onConflict(SYNC_STATS.ATTEMPT_ID)
+        .doUpdate()
+        .set(SYNC_STATS.UPDATED_AT, DSL.excluded(SYNC_STATS.UPDATED_AT))
+        .set(SYNC_STATS.BYTES_EMITTED, DSL.excluded(SYNC_STATS.BYTES_EMITTED))
+        .set(SYNC_STATS.RECORDS_EMITTED, DSL.excluded(SYNC_STATS.RECORDS_EMITTED))
+        .set(SYNC_STATS.ESTIMATED_RECORDS, DSL.excluded(SYNC_STATS.ESTIMATED_RECORDS))
+        .set(SYNC_STATS.ESTIMATED_BYTES, DSL.excluded(SYNC_STATS.ESTIMATED_BYTES))
+        .set(SYNC_STATS.RECORDS_COMMITTED, DSL.excluded(SYNC_STATS.RECORDS_COMMITTED))
+        .set(SYNC_STATS.BYTES_COMMITTED, DSL.excluded(SYNC_STATS.BYTES_COMMITTED))
+        .set(SYNC_STATS.SOURCE_STATE_MESSAGES_EMITTED, DSL.excluded(SYNC_STATS.SOURCE_STATE_MESSAGES_EMITTED))
+        .set(SYNC_STATS.DESTINATION_STATE_MESSAGES_EMITTED, DSL.excluded(SYNC_STATS.DESTINATION_STATE_MESSAGES_EMITTED))
+        .set(SYNC_STATS.MAX_SECONDS_BEFORE_SOURCE_STATE_MESSAGE_EMITTED, DSL.excluded(SYNC_STATS.MAX_SECONDS_BEFORE_SOURCE_STATE_MESSAGE_EMITTED))
+        .set(SYNC_STATS.MEAN_SECONDS_BEFORE_SOURCE_STATE_MESSAGE_EMITTED, DSL.excluded(SYNC_STATS.MEAN_SECONDS_BEFORE_SOURCE_STATE_MESSAGE_EMITTED))
+        .set(SYNC_STATS.MAX_SECONDS_BETWEEN_STATE_MESSAGE_EMITTED_AND_COMMITTED,
+            DSL.excluded(SYNC_STATS.MAX_SECONDS_BETWEEN_STATE_MESSAGE_EMITTED_AND_COMMITTED))
+        .set(SYNC_STATS.MEAN_SECONDS_BETWEEN_STATE_MESSAGE_EMITTED_AND_COMMITTED,
+            DSL.excluded(SYNC_STATS.MEAN_SECONDS_BETWEEN_STATE_MESSAGE_EMITTED_AND_COMMITTED))
         .execute();
   }
 
@@ -218,59 +210,74 @@ public class DefaultJobPersistence implements JobPersistence {
                                                   final Long attemptId,
                                                   final UUID connectionId,
                                                   final DSLContext ctx) {
-    final List<Query> queries = new ArrayList<>();
-
-    // Upserts require the onConflict statement that does not work as the table currently has duplicate
-    // records on the null
-    // namespace value. This is a valid state and not a bug.
-    // Upserts are possible if we upgrade to Postgres 15. However this requires downtime. A simpler
-    // solution to prevent O(N) existence checks, where N in the
-    // number of streams, is to fetch all streams for the attempt. Existence checks are in memory,
-    // letting us do only 2 queries in total.
-    final Set<StreamDescriptor> existingStreams = ctx.select(STREAM_STATS.STREAM_NAME, STREAM_STATS.STREAM_NAMESPACE)
-        .from(STREAM_STATS)
-        .where(STREAM_STATS.ATTEMPT_ID.eq(attemptId))
-        .fetchSet(r -> new StreamDescriptor().withName(r.get(STREAM_STATS.STREAM_NAME)).withNamespace(r.get(STREAM_STATS.STREAM_NAMESPACE)));
-
+    // A row can only be upserted once per statement, keep the last stats of each stream.
+    final Map<StreamDescriptor, StreamStatsRecord> recordsByStream = new LinkedHashMap<>();
     Optional.ofNullable(perStreamStats).orElse(Collections.emptyList()).forEach(
         streamStats -> {
-          final var isExisting =
-              existingStreams.contains(new StreamDescriptor().withName(streamStats.getStreamName()).withNamespace(streamStats.getStreamNamespace()));
           final var stats = streamStats.getStats();
-          if (isExisting) {
-            queries.add(
-                ctx.update(STREAM_STATS)
-                    .set(STREAM_STATS.UPDATED_AT, now)
-                    .set(STREAM_STATS.BYTES_EMITTED, stats.getBytesEmitted())
-                    .set(STREAM_STATS.RECORDS_EMITTED, stats.getRecordsEmitted())
-                    .set(STREAM_STATS.ESTIMATED_RECORDS, stats.getEstimatedRecords())
-                    .set(STREAM_STATS.ESTIMATED_BYTES, stats.getEstimatedBytes())
-                    .set(STREAM_STATS.BYTES_COMMITTED, stats.getBytesCommitted())
-                    .set(STREAM_STATS.RECORDS_COMMITTED, stats.getRecordsCommitted())
-                    .where(
-                        STREAM_STATS.ATTEMPT_ID.eq(attemptId),
-                        PersistenceHelpers.isNullOrEquals(STREAM_STATS.STREAM_NAME, streamStats.getStreamName()),
-                        PersistenceHelpers.isNullOrEquals(STREAM_STATS.STREAM_NAMESPACE, streamStats.getStreamNamespace())));
-          } else {
-            queries.add(
-                ctx.insertInto(STREAM_STATS)
-                    .set(STREAM_STATS.ID, UUID.randomUUID())
-                    .set(STREAM_STATS.ATTEMPT_ID, attemptId)
-                    .set(STREAM_STATS.CONNECTION_ID, connectionId)
-                    .set(STREAM_STATS.STREAM_NAME, streamStats.getStreamName())
-                    .set(STREAM_STATS.STREAM_NAMESPACE, streamStats.getStreamNamespace())
-                    .set(STREAM_STATS.CREATED_AT, now)
-                    .set(STREAM_STATS.UPDATED_AT, now)
-                    .set(STREAM_STATS.BYTES_EMITTED, stats.getBytesEmitted())
-                    .set(STREAM_STATS.RECORDS_EMITTED, stats.getRecordsEmitted())
-                    .set(STREAM_STATS.ESTIMATED_RECORDS, stats.getEstimatedRecords())
-                    .set(STREAM_STATS.ESTIMATED_BYTES, stats.getEstimatedBytes())
-                    .set(STREAM_STATS.BYTES_COMMITTED, stats.getBytesCommitted())
-                    .set(STREAM_STATS.RECORDS_COMMITTED, stats.getRecordsCommitted()));
-          }
+          final StreamStatsRecord record = ctx.newRecord(STREAM_STATS);
+          record.setId(UUID.randomUUID());
+          record.setAttemptId(attemptId);
+          record.setConnectionId(connectionId);
+          record.setStreamName(streamStats.getStreamName());
+          record.setStreamNamespace(streamStats.getStreamNamespace());
+          record.setCreatedAt(now);
+          record.setUpdatedAt(now);
+          record.setBytesEmitted(stats.getBytesEmitted());
+          record.setRecordsEmitted(stats.getRecordsEmitted());
+          record.setEstimatedRecords(stats.getEstimatedRecords());
+          record.setEstimatedBytes(stats.getEstimatedBytes());
+          record.setBytesCommitted(stats.getBytesCommitted());
+          record.setRecordsCommitted(stats.getRecordsCommitted());
+          recordsByStream.put(new StreamDescriptor().withName(streamStats.getStreamName()).withNamespace(streamStats.getStreamNamespace()), record);
         });
 
-    ctx.batch(queries).execute();
+    // The streams with and without a namespace are unique through different partial indexes, each needs
+    // its own statement.
+    final Map<Boolean, List<StreamStatsRecord>> recordsByHasNamespace = recordsByStream.values().stream()
+        .collect(Collectors.partitioningBy(record -> record.getStreamNamespace() != null));
+    final List<Query> queries = new ArrayList<>();
+    if (!recordsByHasNamespace.get(true).isEmpty()) {
+      queries.add(upsertStreamStats(recordsByHasNamespace.get(true),
+          List.of(STREAM_STATS.ATTEMPT_ID, STREAM_STATS.STREAM_NAMESPACE, STREAM_STATS.STREAM_NAME),
+          STREAM_STATS.STREAM_NAMESPACE.isNotNull(),
+          ctx));
+    }
+    if (!recordsByHasNamespace.get(false).isEmpty()) {
+      queries.add(upsertStreamStats(recordsByHasNamespace.get(false),
+          List.of(STREAM_STATS.ATTEMPT_ID, STREAM_STATS.STREAM_NAME),
+          STREAM_STATS.STREAM_NAMESPACE.isNull(),
+          ctx));
+    }
+
+    if (!queries.isEmpty()) {
+      ctx.batch(queries).execute();
+    }
+  }
+
+  /**
+   * Upsert all the given stream stats in a single statement, the conflict fields and index predicate
+   * identify the unique index the streams conflict on.
+   */
+  private static Query upsertStreamStats(final List<StreamStatsRecord> records,
+                                         final List<Field<?>> conflictFields,
+                                         final Condition indexPredicate,
+                                         final DSLContext ctx) {
+    InsertSetMoreStep<StreamStatsRecord> insert = ctx.insertInto(STREAM_STATS).set(records.get(0));
+    for (final StreamStatsRecord record : records.subList(1, records.size())) {
+      insert = insert.newRecord().set(record);
+    }
+    return insert
+        .onConflict(conflictFields)
+        .where(indexPredicate)
+        .doUpdate()
+        .set(STREAM_STATS.UPDATED_AT, DSL.excluded(STREAM_STATS.UPDATED_AT))
+        .set(STREAM_STATS.BYTES_EMITTED, DSL.excluded(STREAM_STATS.BYTES_EMITTED))
+        .set(STREAM_STATS.RECORDS_EMITTED, DSL.excluded(STREAM_STATS.RECORDS_EMITTED))
+        .set(STREAM_STATS.ESTIMATED_RECORDS, DSL.excluded(STREAM_STATS.ESTIMATED_RECORDS))
+        .set(STREAM_STATS.ESTIMATED_BYTES, DSL.excluded(STREAM_STATS.ESTIMATED_BYTES))
+        .set(STREAM_STATS.BYTES_COMMITTED, DSL.excluded(STREAM_STATS.BYTES_COMMITTED))
+        .set(STREAM_STATS.RECORDS_COMMITTED, DSL.excluded(STREAM_STATS.RECORDS_COMMITTED));
   }
 
   private static Map<JobAttemptPair, AttemptStats> hydrateSyncStats(final String jobIdsStr, final DSLContext ctx) {
@@ -909,6 +916,30 @@ public class DefaultJobPersistence implements JobPersistence {
     return getJobFromResult(ctx.fetch(BASE_JOB_SELECT_AND_JOIN + "WHERE jobs.id = ?", jobId));
   }
 
+  /**
+   * Load the given jobs along with their attempts in a single query rather than one query per job.
+   *
+   * @return the jobs that exist, in the order of the given ids
+   */
+  private static List<Job> getJobsWithAttempts(final DSLContext ctx, final List<Long> jobIds) {
+    if (jobIds.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    final String jobIdsStr = jobIds.stream()
+        .map(Object::toString)
+        .collect(Collectors.joining(","));
+    // the rows of a job need to be contiguous to be grouped by getJobsFromResult
+    final Map<Long, Job> jobsById = getJobsFromResult(ctx.fetch(BASE_JOB_SELECT_AND_JOIN + WHERE + "jobs.id IN (" + jobIdsStr + ") "
+        + "ORDER BY jobs.id, attempts.created_at ASC, attempts.id ASC"))
+            .stream()
+            .collect(Collectors.toMap(Job::getId, job -> job));
+    return jobIds.stream()
+        .filter(jobsById::containsKey)
+        .map(jobsById::get)
+        .toList();
+  }
+
   @Override
   public Long getJobCount(final Set<ConfigType> configTypes,
                           final String connectionId,
@@ -1421,14 +1452,36 @@ public class DefaultJobPersistence implements JobPersistence {
       return Collections.emptyList();
     }
 
+    return jobDatabase.query(ctx -> getJobsWithAttempts(ctx, ctx
+        .fetch("SELECT DISTINCT ON (scope) jobs.scope, jobs.created_at, jobs.id FROM jobs "
+            + WHERE + "CAST(jobs.config_type AS VARCHAR) in " + toSqlInFragment(Job.SYNC_REPLICATION_TYPES)
+            + AND + scopeInList(connectionIds)
+            + AND + JOB_STATUS_IS_NON_TERMINAL
+            + "ORDER BY scope, created_at DESC")
+        .map(r -> r.get("id", Long.class))));
+  }
+
+  /**
+   * For each connection ID in the input, find that connection's most recent non-terminal sync job and
+   * return a status summary if one exists. Unlike
+   * {@link DefaultJobPersistence#getRunningSyncJobForConnections(List)}, neither the job config nor
+   * the attempts are loaded.
+   */
+  @Override
+  public List<JobStatusSummary> getRunningSyncJobStatusForConnections(final List<UUID> connectionIds) throws IOException {
+    if (connectionIds.isEmpty()) {
+      return Collections.emptyList();
+    }
+
     return jobDatabase.query(ctx -> ctx
-        .fetch("SELECT DISTINCT ON (scope) * FROM jobs "
+        .fetch("SELECT DISTINCT ON (scope) jobs.scope, jobs.created_at, jobs.status FROM jobs "
             + WHERE + "CAST(jobs.config_type AS VARCHAR) in " + toSqlInFragment(Job.SYNC_REPLICATION_TYPES)
             + AND + scopeInList(connectionIds)
             + AND + JOB_STATUS_IS_NON_TERMINAL
             + "ORDER BY scope, created_at DESC")
         .stream()
-        .flatMap(r -> getJobOptional(ctx, r.get("id", Long.class)).stream())
+        .map(r -> new JobStatusSummary(UUID.fromString(r.get("scope", String.class)), getEpoch(r, "created_at"),
+            JobStatus.valueOf(r.get("status", String.class).toUpperCase())))
         .collect(Collectors.toList()));
   }
 
@@ -1439,15 +1492,13 @@ public class DefaultJobPersistence implements JobPersistence {
   @Override
   public List<Job> getRunningJobForConnection(final UUID connectionId) throws IOException {
 
-    return jobDatabase.query(ctx -> ctx
-        .fetch("SELECT DISTINCT ON (scope) * FROM jobs "
+    return jobDatabase.query(ctx -> getJobsWithAttempts(ctx, ctx
+        .fetch("SELECT DISTINCT ON (scope) jobs.scope, jobs.created_at, jobs.id FROM jobs "
             + WHERE + "CAST(jobs.config_type AS VARCHAR) in " + toSqlInFragment(Job.REPLICATION_TYPES)
             + AND + "jobs.scope = '" + connectionId + "'"
             + AND + JOB_STATUS_IS_NON_TERMINAL
             + "ORDER BY scope, created_at DESC LIMIT 1")
-        .stream()
-        .flatMap(r -> getJobOptional(ctx, r.get("id", Long.class)).stream())
-        .collect(Collectors.toList()));
+        .map(r -> r.get("id", Long.class))));
   }
 
   private String scopeInList(final Collection<UUID> connectionIds) {
@@ -1643,20 +1694,14 @@ public class DefaultJobPersistence implements JobPersistence {
 
   /**
    * Purge job history from N days before a given date. Only purge jobs that are not the last job for
-   * the connection.
+   * the connection. The jobs are purged in throttled batches, see {@link JobHistoryPurger}.
    *
    * @param asOfDate date to purge before
    */
   @VisibleForTesting
   public void purgeJobHistory(final LocalDateTime asOfDate) {
     try {
-      final String jobHistoryPurgeSql = MoreResources.readResource("job_history_purge.sql");
-      // interval '?' days cannot use a ? bind, so we're using %d instead.
-      final String sql = String.format(jobHistoryPurgeSql, (jobHistoryMinimumAgeInDays - 1));
-      jobDatabase.query(ctx -> ctx.execute(sql,
-          asOfDate.format(DateTimeFormatter.ofPattern("YYYY-MM-dd")),
-          jobHistoryExcessiveNumberOfJobs,
-          jobHistoryMinimumRecency));
+      jobHistoryPurger.purge(asOfDate);
     } catch (final IOException e) {
       throw new RuntimeException(e);
     }
@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.persistence.job;
+
+import static io.airbyte.db.instance.jobs.jooq.generated.Tables.ATTEMPTS;
+import static io.airbyte.db.instance.jobs.jooq.generated.Tables.JOBS;
+import static io.airbyte.db.instance.jobs.jooq.generated.Tables.NORMALIZATION_SUMMARIES;
+import static io.airbyte.db.instance.jobs.jooq.generated.Tables.RETRY_STATES;
+import static io.airbyte.db.instance.jobs.jooq.generated.Tables.STREAM_ATTEMPT_METADATA;
+import static io.airbyte.db.instance.jobs.jooq.generated.Tables.STREAM_STATS;
+import static io.airbyte.db.instance.jobs.jooq.generated.Tables.STREAM_STATUSES;
+import static io.airbyte.db.instance.jobs.jooq.generated.Tables.SYNC_STATS;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.airbyte.commons.resources.MoreResources;
+import io.airbyte.db.ExceptionWrappingDatabase;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.jooq.DSLContext;
+import org.jooq.Record1;
+import org.jooq.Record3;
+import org.jooq.Result;
+import org.jooq.Select;
+import org.jooq.impl.DSL;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Purges the job history in batches of consecutive job ids rather than in a single statement, so
+ * that no transaction holds locks on or writes the WAL for more than a batch of jobs.
+ *
+ * A job is purged along with its attempts and their stats if it is older than the minimum age or its
+ * connection has an excessive number of jobs, unless it is one of the most recent jobs of its
+ * connection or its most recent job with a saved state. Each batch is deleted in a transaction that
+ * also saves the last job id it went over, a purge interrupted by a restart resumes after it. The
+ * batches are throttled so that the rows deleted per second stay under a limit.
+ */
+public class JobHistoryPurger {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(JobHistoryPurger.class);
+
+  @VisibleForTesting
+  static final String CHECKPOINT_KEY = "job_history_purge_checkpoint";
+  @VisibleForTesting
+  static final int DEFAULT_BATCH_SIZE = 500;
+  @VisibleForTesting
+  static final double DEFAULT_MAX_ROWS_DELETED_PER_SECOND = 10_000;
+
+  private static final String METADATA_TABLE = "airbyte_metadata";
+  private static final String METADATA_KEY_COL = "key";
+  private static final String METADATA_VAL_COL = "value";
+
+  /**
+   * What a purge deleted.
+   *
+   * @param jobsDeleted number of jobs deleted
+   * @param rowsDeleted number of rows deleted across the jobs and their dependent tables
+   * @param duration time the purge took, including the pauses between batches
+   */
+  public record PurgeResult(long jobsDeleted, long rowsDeleted, Duration duration) {
+
+    public double rowsDeletedPerSecond() {
+      return duration.isZero() ? rowsDeleted : rowsDeleted * 1000.0 / duration.toMillis();
+    }
+
+  }
+
+  private final ExceptionWrappingDatabase jobDatabase;
+  private final int minimumAgeInDays;
+  private final int excessiveNumberOfJobs;
+  private final int minimumRecencyCount;
+  private final int batchSize;
+  private final double maxRowsDeletedPerSecond;
+  private final String protectedJobsSql;
+
+  /**
+   * Create a purger.
+   *
+   * @param jobDatabase the jobs database
+   * @param minimumAgeInDays age after which a job is purged
+   * @param excessiveNumberOfJobs number of jobs of a connection after which its jobs are purged
+   *        whatever their age
+   * @param minimumRecencyCount number of most recent jobs of a connection that are never purged
+   * @param batchSize number of consecutive job ids to go over per batch
+   * @param maxRowsDeletedPerSecond maximum rate of rows deleted, no limit if not positive
+   */
+  public JobHistoryPurger(final ExceptionWrappingDatabase jobDatabase,
+                          final int minimumAgeInDays,
+                          final int excessiveNumberOfJobs,
+                          final int minimumRecencyCount,
+                          final int batchSize,
+                          final double maxRowsDeletedPerSecond) {
+    this.jobDatabase = jobDatabase;
+    this.minimumAgeInDays = minimumAgeInDays;
+    this.excessiveNumberOfJobs = excessiveNumberOfJobs;
+    this.minimumRecencyCount = minimumRecencyCount;
+    this.batchSize = batchSize;
+    this.maxRowsDeletedPerSecond = maxRowsDeletedPerSecond;
+    try {
+      this.protectedJobsSql = MoreResources.readResource("job_history_purge_protected_jobs.sql");
+    } catch (final IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Purge the jobs expired as of the given date, resuming after the last batch of an interrupted
+   * purge.
+   *
+   * @param asOfDate date to purge before
+   * @return what was deleted
+   * @throws IOException exception when accessing the db
+   */
+  public PurgeResult purge(final LocalDateTime asOfDate) throws IOException {
+    final long start = System.nanoTime();
+    // The interval was computed by the database from the date alone, days included
+    final OffsetDateTime createdBefore = asOfDate.toLocalDate().atStartOfDay().minusDays(minimumAgeInDays - 1).atOffset(ZoneOffset.UTC);
+    // Counted once for the whole purge, as the batches purging the jobs of a connection lower its count
+    final Set<String> scopesWithExcessiveJobs = jobDatabase.query(ctx -> ctx.select(JOBS.SCOPE)
+        .from(JOBS)
+        .groupBy(JOBS.SCOPE)
+        .having(DSL.count().gt(excessiveNumberOfJobs))
+        .fetchSet(JOBS.SCOPE));
+    // Computed once as well, the purge never deletes them so they stay the most recent jobs of their connection
+    final Set<Long> protectedJobIds = jobDatabase.query(ctx -> ctx.fetch(protectedJobsSql, minimumRecencyCount)
+        .stream()
+        .map(record -> record.get(0, Long.class))
+        .collect(Collectors.toSet()));
+    // The walk stops at the last job that can expire rather than going over every job, which also leaves
+    // out the jobs created during the purge
+    final long lastExpiringJobId = Optional.ofNullable(jobDatabase.query(ctx -> ctx.select(DSL.max(JOBS.ID))
+        .from(JOBS)
+        .where(JOBS.CREATED_AT.lt(createdBefore).or(JOBS.SCOPE.in(scopesWithExcessiveJobs)))
+        .fetchOne(0, Long.class))).orElse(0L);
+
+    long lastJobId = readCheckpoint().orElse(0L);
+    if (lastJobId > 0) {
+      LOGGER.info("Resuming the job history purge after job {}", lastJobId);
+    }
+
+    long jobsDeleted = 0;
+    long rowsDeleted = 0;
+    while (true) {
+      final long batchStart = System.nanoTime();
+      final long after = lastJobId;
+      final Result<Record3<Long, String, OffsetDateTime>> batch = jobDatabase.query(ctx -> ctx.select(JOBS.ID, JOBS.SCOPE, JOBS.CREATED_AT)
+          .from(JOBS)
+          .where(JOBS.ID.gt(after).and(JOBS.ID.le(lastExpiringJobId)))
+          .orderBy(JOBS.ID)
+          .limit(batchSize)
+          .fetch());
+      if (batch.isEmpty()) {
+        // Went over all the jobs that can expire, the next purge starts over
+        jobDatabase.query(ctx -> ctx.deleteFrom(DSL.table(METADATA_TABLE)).where(DSL.field(METADATA_KEY_COL).eq(CHECKPOINT_KEY)).execute());
+        break;
+      }
+
+      final List<Long> expiredJobIds = findExpiredJobIds(batch, createdBefore, scopesWithExcessiveJobs, protectedJobIds);
+      final long batchLastJobId = batch.get(batch.size() - 1).value1();
+      final long batchRowsDeleted = jobDatabase.transaction(ctx -> {
+        final long deleted = deleteJobs(expiredJobIds, ctx);
+        saveCheckpoint(batchLastJobId, ctx);
+        return deleted;
+      });
+      jobsDeleted += expiredJobIds.size();
+      rowsDeleted += batchRowsDeleted;
+      lastJobId = batchLastJobId;
+      LOGGER.debug("Purged {} jobs and {} rows up to job {}", expiredJobIds.size(), batchRowsDeleted, batchLastJobId);
+
+      if (!throttle(batchRowsDeleted, Duration.ofNanos(System.nanoTime() - batchStart))) {
+        LOGGER.info("Job history purge interrupted after job {}", lastJobId);
+        break;
+      }
+    }
+
+    final PurgeResult result = new PurgeResult(jobsDeleted, rowsDeleted, Duration.ofNanos(System.nanoTime() - start));
+    LOGGER.info("Job history purge deleted {} jobs and {} rows in {} ms ({} rows/s)", result.jobsDeleted(), result.rowsDeleted(),
+        result.duration().toMillis(), String.format("%.1f", result.rowsDeletedPerSecond()));
+    return result;
+  }
+
+  private static List<Long> findExpiredJobIds(final Result<Record3<Long, String, OffsetDateTime>> batch,
+                                              final OffsetDateTime createdBefore,
+                                              final Set<String> scopesWithExcessiveJobs,
+                                              final Set<Long> protectedJobIds) {
+    return batch.stream()
+        .filter(job -> (job.value3() != null && job.value3().isBefore(createdBefore)) || scopesWithExcessiveJobs.contains(job.value2()))
+        .map(Record3::value1)
+        .filter(id -> !protectedJobIds.contains(id))
+        .toList();
+  }
+
+  /**
+   * Delete the jobs along with the rows that depend on them, dependents first. The tables that cascade
+   * on delete are deleted from explicitly as well so that every deleted row is counted.
+   */
+  private static long deleteJobs(final List<Long> jobIds, final DSLContext ctx) {
+    if (jobIds.isEmpty()) {
+      return 0;
+    }
+
+    final Select<Record1<Long>> attemptIds = DSL.select(ATTEMPTS.ID).from(ATTEMPTS).where(ATTEMPTS.JOB_ID.in(jobIds));
+    long deleted = 0;
+    deleted += ctx.deleteFrom(STREAM_STATS).where(STREAM_STATS.ATTEMPT_ID.in(attemptIds)).execute();
+    deleted += ctx.deleteFrom(SYNC_STATS).where(SYNC_STATS.ATTEMPT_ID.in(attemptIds)).execute();
+    deleted += ctx.deleteFrom(NORMALIZATION_SUMMARIES).where(NORMALIZATION_SUMMARIES.ATTEMPT_ID.in(attemptIds)).execute();
+    deleted += ctx.deleteFrom(STREAM_ATTEMPT_METADATA).where(STREAM_ATTEMPT_METADATA.ATTEMPT_ID.in(attemptIds)).execute();
+    deleted += ctx.deleteFrom(ATTEMPTS).where(ATTEMPTS.JOB_ID.in(jobIds)).execute();
+    deleted += ctx.deleteFrom(STREAM_STATUSES).where(STREAM_STATUSES.JOB_ID.in(jobIds)).execute();
+    deleted += ctx.deleteFrom(RETRY_STATES).where(RETRY_STATES.JOB_ID.in(jobIds)).execute();
+    deleted += ctx.deleteFrom(JOBS).where(JOBS.ID.in(jobIds)).execute();
+    return deleted;
+  }
+
+  /**
+   * Pause for as long as deleting the rows of the batch should have taken at the maximum rate.
+   *
+   * @return false if interrupted
+   */
+  private boolean throttle(final long rowsDeleted, final Duration batchDuration) {
+    if (maxRowsDeletedPerSecond <= 0) {
+      return true;
+    }
+    final long pauseMillis = (long) (rowsDeleted * 1000 / maxRowsDeletedPerSecond) - batchDuration.toMillis();
+    if (pauseMillis <= 0) {
+      return true;
+    }
+    try {
+      Thread.sleep(pauseMillis);
+      return true;
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  @VisibleForTesting
+  Optional<Long> readCheckpoint() throws IOException {
+    return jobDatabase.query(ctx -> ctx.select(DSL.field(METADATA_VAL_COL, String.class))
+        .from(DSL.table(METADATA_TABLE))
+        .where(DSL.field(METADATA_KEY_COL).eq(CHECKPOINT_KEY))
+        .fetchOptional(DSL.field(METADATA_VAL_COL, String.class)))
+        .map(Long::parseLong);
+  }
+
+  @VisibleForTesting
+  static void saveCheckpoint(final long lastJobId, final DSLContext ctx) {
+    ctx.insertInto(DSL.table(METADATA_TABLE))
+        .columns(DSL.field(METADATA_KEY_COL), DSL.field(METADATA_VAL_COL))
+        .values(CHECKPOINT_KEY, String.valueOf(lastJobId))
+        .onConflict(DSL.field(METADATA_KEY_COL))
+        .doUpdate()
+        .set(DSL.field(METADATA_VAL_COL), String.valueOf(lastJobId))
+        .execute();
+  }
+
+}
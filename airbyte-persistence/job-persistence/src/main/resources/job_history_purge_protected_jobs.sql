@@ -0,0 +1,40 @@
+/* jobs that must be kept whatever their age */
+SELECT
+    id
+FROM
+    (
+        /* cannot be one of the last MINIMUM_RECENCY jobs for that connection/scope */
+        SELECT
+            jobs.id,
+            ROW_NUMBER() OVER(
+                PARTITION BY jobs.scope
+            ORDER BY
+                jobs.created_at DESC,
+                jobs.id DESC
+            ) AS recency
+        FROM
+            jobs
+    ) jobs_by_recency
+WHERE
+    recency <=?
+UNION SELECT
+    id
+FROM
+    (
+        /* cannot be the most recent job with saved state */
+        SELECT
+            DISTINCT ON
+            (
+                jobs.scope
+            ) jobs.id
+        FROM
+            jobs
+        JOIN attempts ON
+            jobs.id = attempts.job_id
+        WHERE
+            attempts."output" -> 'sync' -> 'state' -> 'state' IS NOT NULL
+        ORDER BY
+            jobs.scope,
+            jobs.created_at DESC,
+            jobs.id DESC
+    ) latest_jobs_with_state
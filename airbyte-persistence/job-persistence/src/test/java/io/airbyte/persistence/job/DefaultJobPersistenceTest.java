@@ -865,6 +865,39 @@ class DefaultJobPersistenceTest {
       assertEquals(streamStats, actStreamStats);
     }
 
+    @Test
+    @DisplayName("Writing the stats of streams with and without namespace in one flush should upsert a single row per stream")
+    void testWriteStatsUpsertMixedNamespaces() throws IOException {
+      final long jobId = jobPersistence.enqueueJob(SCOPE, SPEC_JOB_CONFIG).orElseThrow();
+      final int attemptNumber = jobPersistence.createAttempt(jobId, LOG_PATH);
+
+      final var firstStreamStats = List.of(
+          new StreamSyncStats().withStreamName("name1").withStreamNamespace("ns")
+              .withStats(new SyncStats().withBytesEmitted(100L).withRecordsEmitted(10L)),
+          new StreamSyncStats().withStreamName("name1")
+              .withStats(new SyncStats().withBytesEmitted(200L).withRecordsEmitted(20L)));
+      jobPersistence.writeStats(jobId, attemptNumber, null, null, 30L, 300L, null, null, CONNECTION_ID, firstStreamStats);
+
+      // The same stream twice in a flush keeps its last stats
+      final var secondStreamStats = List.of(
+          new StreamSyncStats().withStreamName("name1").withStreamNamespace("ns")
+              .withStats(new SyncStats().withBytesEmitted(150L).withRecordsEmitted(15L)),
+          new StreamSyncStats().withStreamName("name1")
+              .withStats(new SyncStats().withBytesEmitted(250L).withRecordsEmitted(25L)),
+          new StreamSyncStats().withStreamName("name1")
+              .withStats(new SyncStats().withBytesEmitted(300L).withRecordsEmitted(30L)),
+          new StreamSyncStats().withStreamName("name2")
+              .withStats(new SyncStats().withBytesEmitted(400L).withRecordsEmitted(40L)));
+      jobPersistence.writeStats(jobId, attemptNumber, null, null, 85L, 850L, null, null, CONNECTION_ID, secondStreamStats);
+
+      final AttemptStats stats = jobPersistence.getAttemptStats(jobId, attemptNumber);
+      assertEquals(85L, stats.combinedStats().getRecordsEmitted());
+      assertEquals(850L, stats.combinedStats().getBytesEmitted());
+      assertEquals(
+          Set.of(secondStreamStats.get(0), secondStreamStats.get(2), secondStreamStats.get(3)),
+          Set.copyOf(stats.perStreamStats()));
+    }
+
     @Test
     @DisplayName("Writing multiple stats a stream with null namespace should write correctly without exceptions")
     void testGetStatsNoResult() throws IOException {
@@ -1686,6 +1719,46 @@ class DefaultJobPersistenceTest {
       assertTrue(expected.size() == actual.size() && expected.containsAll(actual) && actual.containsAll(expected));
     }
 
+    @Test
+    @DisplayName("Should return the running sync jobs with all their attempts")
+    void testGetRunningSyncJobsForConnectionsWithSeveralAttempts() throws IOException {
+      final long scope1Job = jobPersistence.enqueueJob(SCOPE_1, SYNC_JOB_CONFIG).orElseThrow();
+      jobPersistence.failAttempt(scope1Job, jobPersistence.createAttempt(scope1Job, LOG_PATH));
+      jobPersistence.createAttempt(scope1Job, LOG_PATH);
+      final long scope2Job = jobPersistence.enqueueJob(SCOPE_2, SYNC_JOB_CONFIG).orElseThrow();
+      jobPersistence.createAttempt(scope2Job, LOG_PATH);
+
+      final List<Job> expected = List.of(jobPersistence.getJob(scope1Job), jobPersistence.getJob(scope2Job));
+      final List<Job> actual = jobPersistence.getRunningSyncJobForConnections(CONNECTION_IDS);
+
+      assertEquals(2, actual.stream().filter(job -> job.getId() == scope1Job).findFirst().orElseThrow().getAttempts().size());
+      assertTrue(expected.size() == actual.size() && expected.containsAll(actual) && actual.containsAll(expected));
+    }
+
+    @Test
+    @DisplayName("Should return the status of the last running sync job for each connection")
+    void testGetRunningSyncJobStatusForConnections() throws IOException {
+      // succeeded jobs should not be present in the result
+      final long scope1Job1 = jobPersistence.enqueueJob(SCOPE_1, SYNC_JOB_CONFIG).orElseThrow();
+      jobPersistence.succeedAttempt(scope1Job1, jobPersistence.createAttempt(scope1Job1, LOG_PATH));
+
+      // pending jobs should be present in the result
+      jobPersistence.enqueueJob(SCOPE_3, SYNC_JOB_CONFIG).orElseThrow();
+
+      final Instant afterNow = NOW.plusSeconds(1000);
+      when(timeSupplier.get()).thenReturn(afterNow);
+
+      final long scope2Job1 = jobPersistence.enqueueJob(SCOPE_2, SYNC_JOB_CONFIG).orElseThrow();
+      jobPersistence.createAttempt(scope2Job1, LOG_PATH);
+
+      final List<JobStatusSummary> expected = List.of(
+          new JobStatusSummary(CONNECTION_ID_2, afterNow.getEpochSecond(), JobStatus.RUNNING),
+          new JobStatusSummary(CONNECTION_ID_3, NOW.getEpochSecond(), JobStatus.PENDING));
+
+      final List<JobStatusSummary> actual = jobPersistence.getRunningSyncJobStatusForConnections(CONNECTION_IDS);
+      assertTrue(expected.size() == actual.size() && expected.containsAll(actual) && actual.containsAll(expected));
+    }
+
     @Test
     @DisplayName("Should return nothing if only a running reset job exists")
     void testGetRunningSyncJobsForConnectionsEmptyBecauseOnlyReset() throws IOException {
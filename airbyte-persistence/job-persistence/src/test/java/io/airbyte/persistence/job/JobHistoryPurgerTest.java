@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.persistence.job;
+
+import static io.airbyte.db.instance.jobs.jooq.generated.Tables.AIRBYTE_METADATA;
+import static io.airbyte.db.instance.jobs.jooq.generated.Tables.ATTEMPTS;
+import static io.airbyte.db.instance.jobs.jooq.generated.Tables.JOBS;
+import static io.airbyte.db.instance.jobs.jooq.generated.Tables.STREAM_STATS;
+import static io.airbyte.db.instance.jobs.jooq.generated.Tables.SYNC_STATS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.airbyte.db.Database;
+import io.airbyte.db.ExceptionWrappingDatabase;
+import io.airbyte.db.factory.DSLContextFactory;
+import io.airbyte.db.factory.DataSourceFactory;
+import io.airbyte.db.instance.DatabaseConstants;
+import io.airbyte.db.instance.test.TestDatabaseProviders;
+import io.airbyte.persistence.job.JobHistoryPurger.PurgeResult;
+import io.airbyte.test.utils.Databases;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+class JobHistoryPurgerTest {
+
+  private static final LocalDateTime NOW = LocalDateTime.of(2021, 6, 20, 0, 0);
+  private static final String SCOPE = UUID.randomUUID().toString();
+  private static final String STATE_OUTPUT = "{\"sync\": {\"state\": {\"state\": {\"bookmarks\": {}}}}}";
+
+  private static PostgreSQLContainer<?> container;
+  private DataSource dataSource;
+  private Database jobDatabase;
+
+  @BeforeAll
+  static void dbSetup() {
+    container = new PostgreSQLContainer<>(DatabaseConstants.DEFAULT_DATABASE_VERSION)
+        .withDatabaseName("airbyte")
+        .withUsername("docker")
+        .withPassword("docker");
+    container.start();
+  }
+
+  @AfterAll
+  static void dbDown() {
+    container.close();
+  }
+
+  @BeforeEach
+  void setup() throws Exception {
+    dataSource = Databases.createDataSource(container);
+    final DSLContext dslContext = DSLContextFactory.create(dataSource, SQLDialect.POSTGRES);
+    jobDatabase = new TestDatabaseProviders(dataSource, dslContext).createNewJobsDatabase();
+    jobDatabase.query(ctx -> ctx.truncateTable(JOBS).cascade().execute());
+    jobDatabase.query(ctx -> ctx.truncateTable(ATTEMPTS).cascade().execute());
+    jobDatabase.query(ctx -> ctx.truncateTable(AIRBYTE_METADATA).cascade().execute());
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    DataSourceFactory.close(dataSource);
+  }
+
+  @Test
+  void testPurgeInBatchesDeletesTheJobsAndTheirAttempts() throws Exception {
+    // Created 0 to 9 days ago, the ones created 5 days ago or more are expired
+    final List<Long> jobIds = persistJobs(SCOPE, 10);
+    // The most recent job with state is kept, even though expired
+    addAttempt(jobIds.get(7), STATE_OUTPUT);
+    addAttempt(jobIds.get(9), STATE_OUTPUT);
+
+    final PurgeResult result = purger(5, 100, 2, 3).purge(NOW);
+
+    assertEquals(Set.of(jobIds.get(0), jobIds.get(1), jobIds.get(2), jobIds.get(3), jobIds.get(4), jobIds.get(7)), jobIdsLeft());
+    assertEquals(4, result.jobsDeleted());
+    // Each job with its attempt, sync stats and stream stats, plus the attempt with state of the last one
+    assertEquals(4 * 4 + 1, result.rowsDeleted());
+    assertEquals(Set.of(jobIds.get(0), jobIds.get(1), jobIds.get(2), jobIds.get(3), jobIds.get(4), jobIds.get(7)),
+        jobDatabase.query(ctx -> ctx.selectDistinct(ATTEMPTS.JOB_ID).from(ATTEMPTS).fetchSet(ATTEMPTS.JOB_ID)));
+    assertEquals(6, jobDatabase.query(ctx -> ctx.fetchCount(SYNC_STATS)));
+    assertEquals(6, jobDatabase.query(ctx -> ctx.fetchCount(STREAM_STATS)));
+    // A completed purge starts over the next time
+    assertTrue(purger(5, 100, 2, 3).readCheckpoint().isEmpty());
+  }
+
+  @Test
+  void testPurgeResumesAfterTheCheckpoint() throws Exception {
+    final List<Long> jobIds = persistJobs(SCOPE, 10);
+    jobDatabase.query(ctx -> {
+      JobHistoryPurger.saveCheckpoint(jobIds.get(6), ctx);
+      return null;
+    });
+
+    final PurgeResult result = purger(5, 100, 2, 3).purge(NOW);
+
+    // The expired jobs up to the checkpoint were gone over by the interrupted purge
+    assertEquals(3, result.jobsDeleted());
+    assertEquals(Set.copyOf(jobIds.subList(0, 7)), jobIdsLeft());
+  }
+
+  @Test
+  void testPurgeJobsOfConnectionsWithExcessiveJobs() throws Exception {
+    final String otherScope = UUID.randomUUID().toString();
+    final List<Long> jobIds = persistJobs(SCOPE, 6);
+    final List<Long> otherJobIds = persistJobs(otherScope, 5);
+
+    // One job per batch, the jobs of the connection are counted once for the whole purge
+    final PurgeResult result = purger(30, 5, 2, 1).purge(NOW);
+
+    assertEquals(4, result.jobsDeleted());
+    final Set<Long> expectedJobIdsLeft = new HashSet<>(otherJobIds);
+    expectedJobIdsLeft.addAll(jobIds.subList(0, 2));
+    assertEquals(expectedJobIdsLeft, jobIdsLeft());
+  }
+
+  private JobHistoryPurger purger(final int minimumAgeInDays, final int excessiveNumberOfJobs, final int minimumRecencyCount, final int batchSize) {
+    return new JobHistoryPurger(new ExceptionWrappingDatabase(jobDatabase), minimumAgeInDays, excessiveNumberOfJobs, minimumRecencyCount,
+        batchSize, 0);
+  }
+
+  /**
+   * Persist jobs created 0 to count - 1 days ago, each with an attempt without state and its stats.
+   */
+  private List<Long> persistJobs(final String scope, final int count) throws Exception {
+    final List<Long> jobIds = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      final var createdAt = NOW.minusDays(i).atOffset(ZoneOffset.UTC);
+      final long jobId = jobDatabase.query(ctx -> ctx.insertInto(JOBS)
+          .set(JOBS.SCOPE, scope)
+          .set(JOBS.CREATED_AT, createdAt)
+          .set(JOBS.UPDATED_AT, createdAt)
+          .returning(JOBS.ID)
+          .fetchOne(JOBS.ID));
+      final long attemptId = addAttempt(jobId, "{\"sync\": {}}");
+      jobDatabase.query(ctx -> ctx.insertInto(SYNC_STATS)
+          .set(SYNC_STATS.ID, UUID.randomUUID())
+          .set(SYNC_STATS.ATTEMPT_ID, attemptId)
+          .execute());
+      jobDatabase.query(ctx -> ctx.insertInto(STREAM_STATS)
+          .set(STREAM_STATS.ID, UUID.randomUUID())
+          .set(STREAM_STATS.ATTEMPT_ID, attemptId)
+          .set(STREAM_STATS.STREAM_NAME, "stream")
+          .execute());
+      jobIds.add(jobId);
+    }
+    return jobIds;
+  }
+
+  private long addAttempt(final long jobId, final String output) throws Exception {
+    return jobDatabase.query(ctx -> ctx.fetchOne(
+        "INSERT INTO attempts(job_id, attempt_number, output) "
+            + "VALUES(?, (SELECT COUNT(*) FROM attempts WHERE job_id = ?), CAST(? as JSONB)) RETURNING id",
+        jobId, jobId, output)
+        .get(0, Long.class));
+  }
+
+  private Set<Long> jobIdsLeft() throws Exception {
+    return jobDatabase.query(ctx -> ctx.select(JOBS.ID).from(JOBS).fetchSet(JOBS.ID));
+  }
+
+}
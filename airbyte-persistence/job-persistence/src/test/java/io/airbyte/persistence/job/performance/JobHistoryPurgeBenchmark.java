@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.persistence.job.performance;
+
+import static io.airbyte.db.instance.jobs.jooq.generated.Tables.AIRBYTE_METADATA;
+import static io.airbyte.db.instance.jobs.jooq.generated.Tables.ATTEMPTS;
+import static io.airbyte.db.instance.jobs.jooq.generated.Tables.JOBS;
+
+import io.airbyte.db.Database;
+import io.airbyte.db.ExceptionWrappingDatabase;
+import io.airbyte.db.factory.DSLContextFactory;
+import io.airbyte.db.factory.DataSourceFactory;
+import io.airbyte.db.instance.DatabaseConstants;
+import io.airbyte.db.instance.test.TestDatabaseProviders;
+import io.airbyte.persistence.job.JobHistoryPurger;
+import io.airbyte.persistence.job.JobHistoryPurger.PurgeResult;
+import io.airbyte.test.utils.Databases;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Measures a full purge of a synthetic job history against a Postgres container: jobs of a number
+ * of connections created over the last 180 days, each with an attempt, its sync stats and the stats
+ * of its streams. The history is loaded again before each iteration, the purge is not throttled.
+ *
+ * The jobs and rows deleted and the rows deleted per second are reported as secondary results.
+ * Requires docker, run the main method.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class JobHistoryPurgeBenchmark {
+
+  private static final int CONNECTION_COUNT = 50;
+  private static final int STREAMS_PER_ATTEMPT = 10;
+  private static final int HISTORY_DAYS = 180;
+  private static final LocalDateTime NOW = LocalDateTime.now();
+
+  @Param({"20000"})
+  public int jobCount;
+
+  @Param({"100", "500", "2000"})
+  public int batchSize;
+
+  private PostgreSQLContainer<?> container;
+  private DataSource dataSource;
+  private Database jobDatabase;
+  private JobHistoryPurger purger;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    container = new PostgreSQLContainer<>(DatabaseConstants.DEFAULT_DATABASE_VERSION)
+        .withDatabaseName("airbyte")
+        .withUsername("docker")
+        .withPassword("docker");
+    container.start();
+
+    dataSource = Databases.createDataSource(container);
+    final DSLContext dslContext = DSLContextFactory.create(dataSource, SQLDialect.POSTGRES);
+    jobDatabase = new TestDatabaseProviders(dataSource, dslContext).createNewJobsDatabase();
+    // The defaults of the purge, apart from the throttling
+    purger = new JobHistoryPurger(new ExceptionWrappingDatabase(jobDatabase), 30, 500, 10, batchSize, 0);
+  }
+
+  @Setup(Level.Iteration)
+  public void loadHistory() throws Exception {
+    jobDatabase.query(ctx -> {
+      ctx.truncateTable(JOBS).cascade().execute();
+      ctx.truncateTable(ATTEMPTS).cascade().execute();
+      ctx.truncateTable(AIRBYTE_METADATA).cascade().execute();
+      // Job ids grow with their creation date, as they do in an instance
+      ctx.execute("""
+                  INSERT INTO jobs(scope, config_type, status, created_at, updated_at)
+                  SELECT 'connection_' || (i % ?), 'sync', 'succeeded', created_at, created_at
+                  FROM generate_series(1, ?) AS i,
+                    LATERAL (SELECT ?::timestamptz - (? - i) * (? * INTERVAL '1 day' / ?) AS created_at) AS t
+                  ORDER BY i;
+                  """, CONNECTION_COUNT, jobCount, NOW, jobCount, HISTORY_DAYS, jobCount);
+      ctx.execute("""
+                  INSERT INTO attempts(job_id, attempt_number, status, output, created_at, updated_at)
+                  SELECT id, 0, 'succeeded', '{"sync": {"state": {"state": {"cursor": 1}}}}'::jsonb, created_at, created_at
+                  FROM jobs;
+                  """);
+      ctx.execute("""
+                  INSERT INTO sync_stats(id, attempt_id, records_emitted, records_committed)
+                  SELECT gen_random_uuid(), id, 1000, 1000
+                  FROM attempts;
+                  """);
+      ctx.execute("""
+                  INSERT INTO stream_stats(id, attempt_id, stream_namespace, stream_name, records_emitted, records_committed)
+                  SELECT gen_random_uuid(), a.id, 'public', 'stream_' || s, 100, 100
+                  FROM attempts a, generate_series(1, ?) AS s;
+                  """, STREAMS_PER_ATTEMPT);
+      ctx.execute("ANALYZE;");
+      return null;
+    });
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    DataSourceFactory.close(dataSource);
+    container.close();
+  }
+
+  /**
+   * The outcome of the purge of the iteration.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class PurgeCounters {
+
+    public long jobsDeleted;
+    public long rowsDeleted;
+    public double rowsDeletedPerSecond;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      jobsDeleted = 0;
+      rowsDeleted = 0;
+      rowsDeletedPerSecond = 0;
+    }
+
+  }
+
+  @Benchmark
+  public PurgeResult purge(final PurgeCounters counters) throws IOException {
+    final PurgeResult result = purger.purge(NOW);
+    counters.jobsDeleted = result.jobsDeleted();
+    counters.rowsDeleted = result.rowsDeleted();
+    counters.rowsDeletedPerSecond = result.rowsDeletedPerSecond();
+    return result;
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(JobHistoryPurgeBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+
+}
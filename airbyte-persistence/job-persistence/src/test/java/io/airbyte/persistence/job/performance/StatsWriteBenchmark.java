@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.persistence.job.performance;
+
+import static io.airbyte.db.instance.jobs.jooq.generated.Tables.ATTEMPTS;
+import static io.airbyte.db.instance.jobs.jooq.generated.Tables.STREAM_STATS;
+import static io.airbyte.db.instance.jobs.jooq.generated.Tables.SYNC_STATS;
+
+import io.airbyte.config.JobConfig;
+import io.airbyte.config.JobConfig.ConfigType;
+import io.airbyte.config.JobSyncConfig;
+import io.airbyte.config.StreamSyncStats;
+import io.airbyte.config.SyncStats;
+import io.airbyte.db.Database;
+import io.airbyte.db.factory.DSLContextFactory;
+import io.airbyte.db.factory.DataSourceFactory;
+import io.airbyte.db.instance.DatabaseConstants;
+import io.airbyte.db.instance.test.TestDatabaseProviders;
+import io.airbyte.persistence.job.DefaultJobPersistence;
+import io.airbyte.protocol.models.v0.StreamDescriptor;
+import io.airbyte.test.utils.Databases;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.sql.DataSource;
+import org.jooq.DSLContext;
+import org.jooq.Query;
+import org.jooq.SQLDialect;
+import org.jooq.impl.CallbackExecuteListener;
+import org.jooq.impl.DefaultExecuteListenerProvider;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Measures the cost of a stats flush of a running sync against a Postgres container, once the stats
+ * of its streams have been written at least once. {@link #upsert} writes them like
+ * {@link DefaultJobPersistence#writeStats} does, {@link #checkExistenceThenWrite} the way it did
+ * before the stats tables had unique indexes: check which rows exist, then update or insert each row.
+ *
+ * The number of calls to the database per flush, a JDBC batch being one call, is reported as a
+ * secondary result. Requires docker, run the main method.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StatsWriteBenchmark {
+
+  private static final UUID CONNECTION_ID = UUID.randomUUID();
+
+  @Param({"10", "500"})
+  public int streamCount;
+
+  private final LongAdder statements = new LongAdder();
+  private final LongAdder flushes = new LongAdder();
+
+  private PostgreSQLContainer<?> container;
+  private DataSource dataSource;
+  private Database jobDatabase;
+  private DefaultJobPersistence jobPersistence;
+  private long jobId;
+  private int attemptNumber;
+  private long attemptId;
+  private List<StreamSyncStats> streamStats;
+  private long recordCount;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    container = new PostgreSQLContainer<>(DatabaseConstants.DEFAULT_DATABASE_VERSION)
+        .withDatabaseName("airbyte")
+        .withUsername("docker")
+        .withPassword("docker");
+    container.start();
+
+    dataSource = Databases.createDataSource(container);
+    final DSLContext dslContext = DSLContextFactory.create(dataSource, SQLDialect.POSTGRES);
+    // Count the calls to the database of the flushes
+    final DSLContext countingDslContext = dslContext.configuration()
+        .derive(new DefaultExecuteListenerProvider(new CallbackExecuteListener().onExecuteStart(ctx -> statements.increment())))
+        .dsl();
+    jobDatabase = new TestDatabaseProviders(dataSource, countingDslContext).createNewJobsDatabase();
+    jobPersistence = new DefaultJobPersistence(jobDatabase);
+
+    final JobConfig jobConfig = new JobConfig().withConfigType(ConfigType.SYNC).withSync(new JobSyncConfig());
+    jobId = jobPersistence.enqueueJob(CONNECTION_ID.toString(), jobConfig, true).orElseThrow();
+    attemptNumber = jobPersistence.createAttempt(jobId, Path.of("/tmp/logs"));
+    attemptId = jobDatabase.query(ctx -> ctx.select(ATTEMPTS.ID)
+        .from(ATTEMPTS)
+        .where(ATTEMPTS.JOB_ID.eq(jobId), ATTEMPTS.ATTEMPT_NUMBER.eq(attemptNumber))
+        .fetchOne(ATTEMPTS.ID));
+
+    streamStats = new ArrayList<>();
+    for (int i = 0; i < streamCount; i++) {
+      // A few streams without a namespace, as they are written by their own statement
+      streamStats.add(new StreamSyncStats()
+          .withStreamName("stream_" + i)
+          .withStreamNamespace(i % 10 == 0 ? null : "public")
+          .withStats(new SyncStats()));
+    }
+    // The first flush of the sync inserts the rows, the following ones update them
+    writeStats();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    DataSourceFactory.close(dataSource);
+    container.close();
+  }
+
+  /**
+   * The calls to the database per flush of the iteration, read by JMH once the iteration is over.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class DatabaseCalls {
+
+    private LongAdder statements;
+    private LongAdder flushes;
+
+    @Setup(Level.Iteration)
+    public void reset(final StatsWriteBenchmark benchmark) {
+      statements = benchmark.statements;
+      flushes = benchmark.flushes;
+      statements.reset();
+      flushes.reset();
+    }
+
+    public double databaseCallsPerFlush() {
+      return statements.doubleValue() / flushes.doubleValue();
+    }
+
+  }
+
+  @Benchmark
+  public void upsert(final DatabaseCalls databaseCalls) throws IOException {
+    writeStats();
+  }
+
+  @Benchmark
+  public void checkExistenceThenWrite(final DatabaseCalls databaseCalls) throws IOException {
+    checkExistenceThenWriteStats();
+  }
+
+  private void writeStats() throws IOException {
+    nextStats();
+    jobPersistence.writeStats(jobId, attemptNumber, recordCount, recordCount, recordCount, recordCount, recordCount, recordCount,
+        CONNECTION_ID, streamStats);
+  }
+
+  private void checkExistenceThenWriteStats() throws IOException {
+    nextStats();
+    final OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+    jobDatabase.transaction(ctx -> {
+      if (ctx.fetchExists(SYNC_STATS, SYNC_STATS.ATTEMPT_ID.eq(attemptId))) {
+        ctx.update(SYNC_STATS)
+            .set(SYNC_STATS.UPDATED_AT, now)
+            .set(SYNC_STATS.RECORDS_EMITTED, recordCount)
+            .set(SYNC_STATS.RECORDS_COMMITTED, recordCount)
+            .where(SYNC_STATS.ATTEMPT_ID.eq(attemptId))
+            .execute();
+      } else {
+        ctx.insertInto(SYNC_STATS)
+            .set(SYNC_STATS.ID, UUID.randomUUID())
+            .set(SYNC_STATS.ATTEMPT_ID, attemptId)
+            .set(SYNC_STATS.CREATED_AT, now)
+            .set(SYNC_STATS.UPDATED_AT, now)
+            .set(SYNC_STATS.RECORDS_EMITTED, recordCount)
+            .set(SYNC_STATS.RECORDS_COMMITTED, recordCount)
+            .execute();
+      }
+
+      final Set<StreamDescriptor> existingStreams = ctx.select(STREAM_STATS.STREAM_NAME, STREAM_STATS.STREAM_NAMESPACE)
+          .from(STREAM_STATS)
+          .where(STREAM_STATS.ATTEMPT_ID.eq(attemptId))
+          .fetchSet(r -> new StreamDescriptor().withName(r.get(STREAM_STATS.STREAM_NAME)).withNamespace(r.get(STREAM_STATS.STREAM_NAMESPACE)));
+      final List<Query> queries = new ArrayList<>();
+      for (final StreamSyncStats stats : streamStats) {
+        if (existingStreams.contains(new StreamDescriptor().withName(stats.getStreamName()).withNamespace(stats.getStreamNamespace()))) {
+          queries.add(ctx.update(STREAM_STATS)
+              .set(STREAM_STATS.UPDATED_AT, now)
+              .set(STREAM_STATS.RECORDS_EMITTED, stats.getStats().getRecordsEmitted())
+              .set(STREAM_STATS.RECORDS_COMMITTED, stats.getStats().getRecordsCommitted())
+              .where(STREAM_STATS.ATTEMPT_ID.eq(attemptId),
+                  STREAM_STATS.STREAM_NAME.eq(stats.getStreamName()),
+                  stats.getStreamNamespace() == null ? STREAM_STATS.STREAM_NAMESPACE.isNull()
+                      : STREAM_STATS.STREAM_NAMESPACE.eq(stats.getStreamNamespace())));
+        } else {
+          queries.add(ctx.insertInto(STREAM_STATS)
+              .set(STREAM_STATS.ID, UUID.randomUUID())
+              .set(STREAM_STATS.ATTEMPT_ID, attemptId)
+              .set(STREAM_STATS.CONNECTION_ID, CONNECTION_ID)
+              .set(STREAM_STATS.STREAM_NAME, stats.getStreamName())
+              .set(STREAM_STATS.STREAM_NAMESPACE, stats.getStreamNamespace())
+              .set(STREAM_STATS.CREATED_AT, now)
+              .set(STREAM_STATS.UPDATED_AT, now)
+              .set(STREAM_STATS.RECORDS_EMITTED, stats.getStats().getRecordsEmitted())
+              .set(STREAM_STATS.RECORDS_COMMITTED, stats.getStats().getRecordsCommitted()));
+        }
+      }
+      ctx.batch(queries).execute();
+      return null;
+    });
+  }
+
+  private void nextStats() {
+    flushes.increment();
+    recordCount++;
+    streamStats.forEach(stats -> stats.getStats().withRecordsEmitted(recordCount).withRecordsCommitted(recordCount));
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(StatsWriteBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+
+}
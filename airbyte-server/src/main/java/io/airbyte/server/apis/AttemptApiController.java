@@ -46,7 +46,8 @@ public class AttemptApiController implements AttemptApi {
   @Secured({WORKSPACE_READER, ORGANIZATION_READER})
   public AttemptInfoRead getAttemptForJob(@Body final GetAttemptStatsRequestBody requestBody) {
     return ApiHelper
-        .execute(() -> attemptHandler.getAttemptForJob(requestBody.getJobId(), requestBody.getAttemptNumber()));
+        .execute(() -> attemptHandler.getAttemptForJob(requestBody.getJobId(), requestBody.getAttemptNumber(),
+            requestBody.getLogOffset() == null ? 0 : requestBody.getLogOffset()));
   }
 
   @Override
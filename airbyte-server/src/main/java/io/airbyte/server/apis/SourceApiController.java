@@ -17,6 +17,8 @@ import io.airbyte.api.model.generated.DiscoverCatalogResult;
 import io.airbyte.api.model.generated.ListResourcesForWorkspacesRequestBody;
 import io.airbyte.api.model.generated.PartialSourceUpdate;
 import io.airbyte.api.model.generated.SourceAutoPropagateChange;
+import io.airbyte.api.model.generated.SourceCachedCatalogRead;
+import io.airbyte.api.model.generated.SourceCachedCatalogRequestBody;
 import io.airbyte.api.model.generated.SourceCloneRequestBody;
 import io.airbyte.api.model.generated.SourceCreate;
 import io.airbyte.api.model.generated.SourceDiscoverSchemaRead;
@@ -134,6 +136,14 @@ public class SourceApiController implements SourceApi {
     return ApiHelper.execute(() -> sourceHandler.getMostRecentSourceActorCatalogWithUpdatedAt(sourceIdRequestBody));
   }
 
+  @Post("/get_cached_catalog")
+  @Secured({WORKSPACE_READER, ORGANIZATION_READER})
+  @ExecuteOn(AirbyteTaskExecutors.IO)
+  @Override
+  public SourceCachedCatalogRead getCachedSourceCatalog(@Body final SourceCachedCatalogRequestBody sourceCachedCatalogRequestBody) {
+    return ApiHelper.execute(() -> sourceHandler.getCachedSourceCatalog(sourceCachedCatalogRequestBody));
+  }
+
   @Post("/list")
   @Secured({WORKSPACE_READER, ORGANIZATION_READER})
   @ExecuteOn(AirbyteTaskExecutors.IO)
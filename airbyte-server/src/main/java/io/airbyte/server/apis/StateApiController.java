@@ -16,9 +16,11 @@ import io.airbyte.api.model.generated.ConnectionState;
 import io.airbyte.api.model.generated.ConnectionStateCreateOrUpdate;
 import io.airbyte.commons.server.handlers.StateHandler;
 import io.airbyte.commons.server.scheduling.AirbyteTaskExecutors;
+import io.micronaut.http.HttpStatus;
 import io.micronaut.http.annotation.Body;
 import io.micronaut.http.annotation.Controller;
 import io.micronaut.http.annotation.Post;
+import io.micronaut.http.annotation.Status;
 import io.micronaut.scheduling.annotation.ExecuteOn;
 import io.micronaut.security.annotation.Secured;
 import io.micronaut.security.rules.SecurityRule;
@@ -41,6 +43,18 @@ public class StateApiController implements StateApi {
     return ApiHelper.execute(() -> stateHandler.createOrUpdateState(connectionStateCreateOrUpdate));
   }
 
+  @Post("/create_or_update_streams")
+  @Secured({ADMIN})
+  @ExecuteOn(AirbyteTaskExecutors.IO)
+  @Status(HttpStatus.NO_CONTENT)
+  @Override
+  public void createOrUpdateStateStreams(@Body final ConnectionStateCreateOrUpdate connectionStateCreateOrUpdate) {
+    ApiHelper.execute(() -> {
+      stateHandler.createOrUpdateStateStreams(connectionStateCreateOrUpdate);
+      return null;
+    });
+  }
+
   @Post("/create_or_update_safe")
   @Secured({WORKSPACE_EDITOR, ORGANIZATION_EDITOR})
   @ExecuteOn(AirbyteTaskExecutors.IO)
@@ -6,6 +6,8 @@ package io.airbyte.server.apis.controllers
 import io.airbyte.api.model.generated.ActorCatalogWithUpdatedAt
 import io.airbyte.api.model.generated.CheckConnectionRead
 import io.airbyte.api.model.generated.DiscoverCatalogResult
+import io.airbyte.api.model.generated.SourceCachedCatalogRead
+import io.airbyte.api.model.generated.SourceCachedCatalogRequestBody
 import io.airbyte.api.model.generated.SourceCloneRequestBody
 import io.airbyte.api.model.generated.SourceCreate
 import io.airbyte.api.model.generated.SourceDiscoverSchemaRead
@@ -124,6 +126,14 @@ internal class SourceApiControllerTest {
     assertStatus(HttpStatus.OK, client.status(HttpRequest.POST(path, SourceIdRequestBody())))
   }
 
+  @Test
+  fun testGetCachedSourceCatalog() {
+    every { sourceHandler.getCachedSourceCatalog(any()) } returns SourceCachedCatalogRead()
+
+    val path = "/api/v1/sources/get_cached_catalog"
+    assertStatus(HttpStatus.OK, client.status(HttpRequest.POST(path, SourceCachedCatalogRequestBody())))
+  }
+
   @Test
   fun testListSourcesForWorkspace() {
     every { sourceHandler.listSourcesForWorkspace(any()) } returns SourceReadList() andThenThrows ConfigNotFoundException("", "")
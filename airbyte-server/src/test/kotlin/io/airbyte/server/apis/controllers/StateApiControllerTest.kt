@@ -39,6 +39,14 @@ internal class StateApiControllerTest {
     assertStatus(HttpStatus.OK, client.status(HttpRequest.POST(path, ConnectionStateCreateOrUpdate())))
   }
 
+  @Test
+  fun testCreateOrUpdateStateStreams() {
+    every { stateHandler.createOrUpdateStateStreams(any()) } returns Unit
+
+    val path = "/api/v1/state/create_or_update_streams"
+    assertStatus(HttpStatus.NO_CONTENT, client.status(HttpRequest.POST(path, ConnectionStateCreateOrUpdate())))
+  }
+
   @Test
   fun testGetState() {
     every { stateHandler.getState(any()) } returns ConnectionState()
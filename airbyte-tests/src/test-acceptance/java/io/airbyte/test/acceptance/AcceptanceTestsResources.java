@@ -302,7 +302,7 @@ public class AcceptanceTestsResources {
     final var jobId = connectionSyncRead1.getJob().getId();
     final var attemptId = connectionSyncRead1.getAttempts().size() - 1;
     final var attempt = testHarness.getApiClient().getAttemptApi().getAttemptForJob(
-        new GetAttemptStatsRequestBody(jobId, attemptId));
+        new GetAttemptStatsRequestBody(jobId, attemptId, null));
     // Structured logs should exist
     assertEquals(LogFormatType.STRUCTURED, attempt.getLogType());
     assertFalse(attempt.getLogs().getEvents().isEmpty());
@@ -45,7 +45,7 @@ public class ProgressChecker {
   }
 
   private Optional<AttemptStats> fetchAttemptStats(final long jobId, final int attemptNo) throws RetryableException {
-    final var req = new GetAttemptStatsRequestBody(jobId, attemptNo);
+    final var req = new GetAttemptStatsRequestBody(jobId, attemptNo, null);
 
     AttemptStats resp;
 
@@ -4,6 +4,8 @@
 
 package io.airbyte.workers.temporal.discover.catalog;
 
+import io.airbyte.workers.models.DiscoverCacheInput;
+import io.airbyte.workers.models.DiscoverCacheOutput;
 import io.airbyte.workers.models.PostprocessCatalogInput;
 import io.airbyte.workers.models.PostprocessCatalogOutput;
 import io.temporal.activity.ActivityInterface;
@@ -19,4 +21,11 @@ public interface DiscoverCatalogHelperActivity {
   @ActivityMethod
   PostprocessCatalogOutput postprocess(final PostprocessCatalogInput input);
 
+  /**
+   * Find a catalog discovered recently enough for the same source configuration and connector
+   * version that the sync can use instead of running a discover.
+   */
+  @ActivityMethod
+  DiscoverCacheOutput findCachedCatalog(final DiscoverCacheInput input);
+
 }
@@ -4,23 +4,48 @@
 
 package io.airbyte.workers.temporal.discover.catalog;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.airbyte.api.client.AirbyteApiClient;
 import io.airbyte.api.client.model.generated.PostprocessDiscoveredCatalogRequestBody;
 import io.airbyte.api.client.model.generated.PostprocessDiscoveredCatalogResult;
+import io.airbyte.api.client.model.generated.SourceCachedCatalogRead;
+import io.airbyte.api.client.model.generated.SourceCachedCatalogRequestBody;
+import io.airbyte.featureflag.Connection;
+import io.airbyte.featureflag.DiscoverCacheTtlMinutes;
 import io.airbyte.featureflag.FeatureFlagClient;
+import io.airbyte.featureflag.Multi;
+import io.airbyte.featureflag.Workspace;
+import io.airbyte.metrics.lib.MetricAttribute;
 import io.airbyte.metrics.lib.MetricClient;
+import io.airbyte.metrics.lib.MetricTags;
+import io.airbyte.metrics.lib.OssMetricsRegistry;
 import io.airbyte.workers.helper.CatalogDiffConverter;
+import io.airbyte.workers.models.DiscoverCacheInput;
+import io.airbyte.workers.models.DiscoverCacheOutput;
 import io.airbyte.workers.models.PostprocessCatalogInput;
 import io.airbyte.workers.models.PostprocessCatalogOutput;
 import jakarta.inject.Singleton;
+import java.time.Duration;
+import java.util.List;
 import java.util.Objects;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 @Singleton
 public class DiscoverCatalogHelperActivityImpl implements DiscoverCatalogHelperActivity {
 
+  private static final Logger LOGGER = LoggerFactory.getLogger(DiscoverCatalogHelperActivityImpl.class);
+
+  private static final int MAX_TRACKED_CONNECTIONS = 10_000;
+
   private final AirbyteApiClient airbyteApiClient;
   private final FeatureFlagClient featureFlagClient;
   private final MetricClient metricClient;
+  // Run time of the last discover this worker ran for each connection, to estimate what a cache hit
+  // saves.
+  private final Cache<UUID, Long> lastDiscoverRunTimes = CacheBuilder.newBuilder().maximumSize(MAX_TRACKED_CONNECTIONS).build();
 
   public DiscoverCatalogHelperActivityImpl(AirbyteApiClient airbyteApiClient, FeatureFlagClient featureFlagClient, MetricClient metricClient) {
     this.airbyteApiClient = airbyteApiClient;
@@ -33,6 +58,10 @@ public class DiscoverCatalogHelperActivityImpl implements DiscoverCatalogHelperA
     try {
       Objects.requireNonNull(input.getConnectionId());
 
+      if (input.getDiscoverRunTimeMillis() != null) {
+        lastDiscoverRunTimes.put(input.getConnectionId(), input.getDiscoverRunTimeMillis());
+      }
+
       if (input.getCatalogId() == null) {
         return PostprocessCatalogOutput.Companion.success(null);
       }
@@ -51,4 +80,42 @@ public class DiscoverCatalogHelperActivityImpl implements DiscoverCatalogHelperA
     }
   }
 
+  @Override
+  public DiscoverCacheOutput findCachedCatalog(final DiscoverCacheInput input) {
+    final int ttlMinutes = featureFlagClient.intVariation(DiscoverCacheTtlMinutes.INSTANCE,
+        new Multi(List.of(new Connection(input.getConnectionId()), new Workspace(input.getWorkspaceId()))));
+    if (ttlMinutes <= 0) {
+      return new DiscoverCacheOutput(null);
+    }
+
+    final MetricAttribute connectionTag = new MetricAttribute(MetricTags.CONNECTION_ID, input.getConnectionId().toString());
+    final SourceCachedCatalogRead cachedCatalog;
+    try {
+      cachedCatalog = airbyteApiClient.getSourceApi().getCachedSourceCatalog(new SourceCachedCatalogRequestBody(
+          input.getSourceId(),
+          input.getConnectorVersion(),
+          input.getConfigHash(),
+          Duration.ofMinutes(ttlMinutes).toSeconds()));
+    } catch (final Exception e) {
+      // Running the discover is always correct, only slower.
+      LOGGER.warn("Failed to look up the cached catalog of source {}, running a discover.", input.getSourceId(), e);
+      metricClient.count(OssMetricsRegistry.DISCOVER_CACHE_MISS, 1, connectionTag);
+      return new DiscoverCacheOutput(null);
+    }
+
+    if (cachedCatalog.getCatalogId() == null) {
+      metricClient.count(OssMetricsRegistry.DISCOVER_CACHE_MISS, 1, connectionTag);
+      return new DiscoverCacheOutput(null);
+    }
+
+    LOGGER.info("Reusing catalog {} discovered at {} for source {}.", cachedCatalog.getCatalogId(), cachedCatalog.getFetchedAt(),
+        input.getSourceId());
+    metricClient.count(OssMetricsRegistry.DISCOVER_CACHE_HIT, 1, connectionTag);
+    final Long lastDiscoverRunTime = lastDiscoverRunTimes.getIfPresent(input.getConnectionId());
+    if (lastDiscoverRunTime != null) {
+      metricClient.count(OssMetricsRegistry.DISCOVER_CACHE_POD_SECONDS_SAVED, Duration.ofMillis(lastDiscoverRunTime).toSeconds(), connectionTag);
+    }
+    return new DiscoverCacheOutput(cachedCatalog.getCatalogId());
+  }
+
 }
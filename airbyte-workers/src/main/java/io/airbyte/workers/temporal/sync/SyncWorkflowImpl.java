@@ -41,6 +41,8 @@ import io.airbyte.config.WorkloadPriority;
 import io.airbyte.metrics.lib.ApmTraceUtils;
 import io.airbyte.persistence.job.models.IntegrationLauncherConfig;
 import io.airbyte.persistence.job.models.JobRunConfig;
+import io.airbyte.workers.models.DiscoverCacheInput;
+import io.airbyte.workers.models.DiscoverCacheOutput;
 import io.airbyte.workers.models.PostprocessCatalogInput;
 import io.airbyte.workers.models.PostprocessCatalogOutput;
 import io.airbyte.workers.models.RefreshSchemaActivityOutput;
@@ -72,6 +74,8 @@ public class SyncWorkflowImpl implements SyncWorkflow {
 
   private static final HashFunction HASH_FUNCTION = Hashing.md5();
 
+  private static final Duration WORKLOAD_STATUS_POLL_INTERVAL = Duration.ofMinutes(15);
+
   @TemporalActivityStub(activityOptionsBeanName = "shortActivityOptions")
   private ConfigFetchActivity configFetchActivity;
   @TemporalActivityStub(activityOptionsBeanName = "shortActivityOptions")
@@ -87,10 +91,14 @@ public class SyncWorkflowImpl implements SyncWorkflow {
 
   private Boolean shouldBlock;
 
+  // Number of workload status signals received, used to tell whether one arrived while the status was being checked.
+  private int workloadStatusSignalCount = 0;
+
   @Trace(operationName = WORKFLOW_TRACE_OPERATION_NAME)
   @Override
   public void checkAsyncActivityStatus() {
     this.shouldBlock = false;
+    this.workloadStatusSignalCount++;
   }
 
   @Trace(operationName = WORKFLOW_TRACE_OPERATION_NAME)
@@ -143,10 +151,15 @@ public class SyncWorkflowImpl implements SyncWorkflow {
     final String workloadId = asyncReplicationActivity.startReplication(replicationActivityInput);
 
     try {
-      shouldBlock = !workloadStatusCheckActivity.isTerminal(workloadId);
-      while (shouldBlock) {
-        Workflow.await(Duration.ofMinutes(15), () -> !shouldBlock);
+      final int waitOnSignalCountVersion = Workflow.getVersion("WAIT_ON_WORKLOAD_STATUS_SIGNAL_COUNT", DEFAULT_VERSION, 1);
+      if (waitOnSignalCountVersion != DEFAULT_VERSION) {
+        waitForTerminalWorkload(workloadId);
+      } else {
         shouldBlock = !workloadStatusCheckActivity.isTerminal(workloadId);
+        while (shouldBlock) {
+          Workflow.await(WORKLOAD_STATUS_POLL_INTERVAL, () -> !shouldBlock);
+          shouldBlock = !workloadStatusCheckActivity.isTerminal(workloadId);
+        }
       }
     } catch (final CanceledFailure | ActivityFailure cf) {
       if (workloadId != null) {
@@ -188,6 +201,22 @@ public class SyncWorkflowImpl implements SyncWorkflow {
     return syncOutput;
   }
 
+  /**
+   * Blocks until the workload is terminal. The workload API signals the workflow when the workload
+   * reaches a terminal status, the status is polled on a long interval in case a signal is lost.
+   * Signals are counted rather than flagged so that a signal received while the status check is
+   * running wakes up the next wait instead of being overwritten by the result of the check.
+   */
+  private void waitForTerminalWorkload(final String workloadId) {
+    while (true) {
+      final int signalCountBeforeCheck = workloadStatusSignalCount;
+      if (workloadStatusCheckActivity.isTerminal(workloadId)) {
+        return;
+      }
+      Workflow.await(WORKLOAD_STATUS_POLL_INTERVAL, () -> workloadStatusSignalCount != signalCountBeforeCheck);
+    }
+  }
+
   private Optional<UUID> getSourceId(final StandardSyncInput syncInput) {
     final int shouldGetSourceFromSyncInput = Workflow.getVersion("SHOULD_GET_SOURCE_FROM_SYNC_INPUT", DEFAULT_VERSION, 1);
     if (shouldGetSourceFromSyncInput != DEFAULT_VERSION) {
@@ -202,6 +231,21 @@ public class SyncWorkflowImpl implements SyncWorkflow {
                                                                 final StandardSyncInput syncInput,
                                                                 final JsonNode sourceConfig) {
     try {
+      final String configHash = HASH_FUNCTION.hashBytes(Jsons.serialize(sourceConfig).getBytes(Charsets.UTF_8)).toString();
+      final String connectorVersion = DockerImageName.INSTANCE.extractTag(sourceLauncherConfig.getDockerImage());
+      // The flag is evaluated when the job input is created, the lookup activity isn't scheduled for the
+      // connections it is disabled for
+      if (shouldUseDiscoverCache() && Boolean.TRUE.equals(syncInput.getUseDiscoverCache())) {
+        final DiscoverCacheOutput cachedCatalog = discoverCatalogHelperActivity.findCachedCatalog(new DiscoverCacheInput(
+            syncInput.getSourceId(), sourceLauncherConfig.getConnectionId(), syncInput.getWorkspaceId(), connectorVersion, configHash));
+        if (cachedCatalog.getCatalogId() != null) {
+          final PostprocessCatalogOutput postprocessCatalogOutput = discoverCatalogHelperActivity
+              .postprocess(new PostprocessCatalogInput(cachedCatalog.getCatalogId(), sourceLauncherConfig.getConnectionId(), null));
+          return new RefreshSchemaActivityOutput(postprocessCatalogOutput.getDiff());
+        }
+      }
+
+      final long discoverStartTime = Workflow.currentTimeMillis();
       final StandardDiscoverCatalogInput discoverCatalogInput = new StandardDiscoverCatalogInput()
           .withActorContext(new ActorContext()
               .withActorDefinitionId(syncInput.getConnectionContext().getSourceDefinitionId())
@@ -211,9 +255,8 @@ public class SyncWorkflowImpl implements SyncWorkflow {
               .withOrganizationId(syncInput.getConnectionContext().getOrganizationId()))
           .withConnectionConfiguration(syncInput.getSourceConfiguration())
           .withSourceId(syncInput.getSourceId().toString())
-          .withConfigHash(HASH_FUNCTION.hashBytes(Jsons.serialize(sourceConfig).getBytes(
-              Charsets.UTF_8)).toString())
-          .withConnectorVersion(DockerImageName.INSTANCE.extractTag(sourceLauncherConfig.getDockerImage()))
+          .withConfigHash(configHash)
+          .withConnectorVersion(connectorVersion)
           .withManual(false);
       final ConnectorCommandWorkflow childDiscoverWorkflow = Workflow.newChildWorkflowStub(
           ConnectorCommandWorkflow.class,
@@ -224,7 +267,8 @@ public class SyncWorkflowImpl implements SyncWorkflow {
           new DiscoverCatalogInput(jobRunConfig, sourceLauncherConfig.withPriority(WorkloadPriority.DEFAULT), discoverCatalogInput)));
 
       final PostprocessCatalogOutput postprocessCatalogOutput = discoverCatalogHelperActivity
-          .postprocess(new PostprocessCatalogInput(discoverOutput.getDiscoverCatalogId(), sourceLauncherConfig.getConnectionId()));
+          .postprocess(new PostprocessCatalogInput(discoverOutput.getDiscoverCatalogId(), sourceLauncherConfig.getConnectionId(),
+              Workflow.currentTimeMillis() - discoverStartTime));
       return new RefreshSchemaActivityOutput(postprocessCatalogOutput.getDiff());
     } catch (Exception e) {
       LOGGER.error("error", e);
@@ -232,6 +276,12 @@ public class SyncWorkflowImpl implements SyncWorkflow {
     }
   }
 
+  private boolean shouldUseDiscoverCache() {
+    final int useDiscoverCacheVersion = Workflow.getVersion("USE_DISCOVER_CACHE", DEFAULT_VERSION, 1);
+
+    return useDiscoverCacheVersion != DEFAULT_VERSION;
+  }
+
   private boolean shouldReportRuntime() {
     final int shouldReportRuntimeVersion = Workflow.getVersion("SHOULD_REPORT_RUNTIME", DEFAULT_VERSION, 1);
 
@@ -6,12 +6,16 @@ package io.airbyte.workers.temporal.sync;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
@@ -37,6 +41,7 @@ import io.airbyte.config.WorkloadPriority;
 import io.airbyte.micronaut.temporal.TemporalProxyHelper;
 import io.airbyte.persistence.job.models.IntegrationLauncherConfig;
 import io.airbyte.persistence.job.models.JobRunConfig;
+import io.airbyte.workers.models.DiscoverCacheOutput;
 import io.airbyte.workers.models.PostprocessCatalogOutput;
 import io.airbyte.workers.temporal.discover.catalog.DiscoverCatalogHelperActivity;
 import io.airbyte.workers.temporal.discover.catalog.DiscoverCatalogHelperActivityImpl;
@@ -57,6 +62,7 @@ import io.temporal.common.RetryOptions;
 import io.temporal.testing.TestWorkflowEnvironment;
 import io.temporal.worker.Worker;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -148,6 +154,7 @@ class SyncWorkflowTest {
     reportRunTimeActivity = mock(ReportRunTimeActivityImpl.class);
 
     when(discoverCatalogHelperActivity.postprocess(any())).thenReturn(PostprocessCatalogOutput.Companion.success(null));
+    when(discoverCatalogHelperActivity.findCachedCatalog(any())).thenReturn(new DiscoverCacheOutput(null));
 
     when(configFetchActivity.getSourceId(sync.getConnectionId())).thenReturn(Optional.of(SOURCE_ID));
     when(configFetchActivity.getStatus(sync.getConnectionId())).thenReturn(Optional.of(ConnectionStatus.ACTIVE));
@@ -283,6 +290,48 @@ class SyncWorkflowTest {
     return in;
   }
 
+  @Test
+  void testWorkloadStatusSignalReceivedDuringStatusCheckIsNotLost() throws Exception {
+    final String workloadId = "my-signalled-workload";
+    final List<Long> statusCheckTimes = new ArrayList<>();
+    doReturn(workloadId).when(asyncReplicationActivity).startReplication(any());
+    doAnswer(ignored -> {
+      statusCheckTimes.add(testEnv.currentTimeMillis());
+      if (statusCheckTimes.size() == 1) {
+        // The workload completes while its status is being checked.
+        signalWorkloadStatus();
+        return false;
+      }
+      return true;
+    }).when(workloadStatusCheckActivity).isTerminal(eq(workloadId));
+    doReturn(replicationSuccessOutput).when(asyncReplicationActivity).getReplicationOutput(any(), eq(workloadId));
+
+    final StandardSyncOutput actualOutput = execute();
+
+    assertEquals(
+        replicationSuccessOutput.getStandardSyncSummary(),
+        removeRefreshTime(actualOutput.getStandardSyncSummary()));
+    assertEquals(2, statusCheckTimes.size());
+    assertTrue(statusCheckTimes.get(1) - statusCheckTimes.get(0) < Duration.ofMinutes(1).toMillis());
+  }
+
+  @Test
+  void testWorkloadStatusIsPolledWithoutSignal() throws Exception {
+    final String workloadId = "my-unsignalled-workload";
+    final List<Long> statusCheckTimes = new ArrayList<>();
+    doReturn(workloadId).when(asyncReplicationActivity).startReplication(any());
+    doAnswer(ignored -> {
+      statusCheckTimes.add(testEnv.currentTimeMillis());
+      return statusCheckTimes.size() > 1;
+    }).when(workloadStatusCheckActivity).isTerminal(eq(workloadId));
+    doReturn(replicationSuccessOutput).when(asyncReplicationActivity).getReplicationOutput(any(), eq(workloadId));
+
+    execute();
+
+    assertEquals(2, statusCheckTimes.size());
+    assertTrue(statusCheckTimes.get(1) - statusCheckTimes.get(0) >= Duration.ofMinutes(15).toMillis());
+  }
+
   @Test
   void testCancelDuringReplication() throws Exception {
     final String workloadId = "my-cancelled-workload";
@@ -336,6 +385,57 @@ class SyncWorkflowTest {
     assertEquals(FailureType.REFRESH_SCHEMA, output.getFailures().get(0).getFailureType());
   }
 
+  private void signalWorkloadStatus() {
+    final WorkflowServiceBlockingStub temporalService = testEnv.getWorkflowService().blockingStub();
+    // there should only be one execution running.
+    final String workflowId = temporalService.listOpenWorkflowExecutions(null).getExecutionsList().get(0).getExecution().getWorkflowId();
+    client.newWorkflowStub(SyncWorkflow.class, workflowId).checkAsyncActivityStatus();
+  }
+
+  @Test
+  void testCachedCatalogIsPostprocessedInsteadOfDiscovering() throws Exception {
+    final String workloadId = "my-successful-workload";
+    final UUID cachedCatalogId = UUID.randomUUID();
+    doReturn(workloadId).when(asyncReplicationActivity).startReplication(any());
+    doReturn(true).when(workloadStatusCheckActivity).isTerminal(workloadId);
+    doReturn(replicationSuccessOutput).when(asyncReplicationActivity).getReplicationOutput(any(), eq(workloadId));
+    when(discoverCatalogHelperActivity.findCachedCatalog(any())).thenReturn(new DiscoverCacheOutput(cachedCatalogId));
+    syncInput.withUseDiscoverCache(true);
+
+    execute();
+
+    verify(discoverCatalogHelperActivity).findCachedCatalog(argThat(input -> SOURCE_ID.equals(input.getSourceId())));
+    verify(discoverCatalogHelperActivity).postprocess(argThat(input -> cachedCatalogId.equals(input.getCatalogId())
+        && input.getDiscoverRunTimeMillis() == null));
+  }
+
+  @Test
+  void testDiscoverRunsWithoutCachedCatalog() throws Exception {
+    final String workloadId = "my-successful-workload";
+    doReturn(workloadId).when(asyncReplicationActivity).startReplication(any());
+    doReturn(true).when(workloadStatusCheckActivity).isTerminal(workloadId);
+    doReturn(replicationSuccessOutput).when(asyncReplicationActivity).getReplicationOutput(any(), eq(workloadId));
+
+    syncInput.withUseDiscoverCache(true);
+
+    execute();
+
+    verify(discoverCatalogHelperActivity).postprocess(argThat(input -> input.getDiscoverRunTimeMillis() != null));
+  }
+
+  @Test
+  void testCachedCatalogIsNotLookedUpWhenTheCacheIsDisabled() throws Exception {
+    final String workloadId = "my-successful-workload";
+    doReturn(workloadId).when(asyncReplicationActivity).startReplication(any());
+    doReturn(true).when(workloadStatusCheckActivity).isTerminal(workloadId);
+    doReturn(replicationSuccessOutput).when(asyncReplicationActivity).getReplicationOutput(any(), eq(workloadId));
+
+    execute();
+
+    verify(discoverCatalogHelperActivity, never()).findCachedCatalog(any());
+    verify(discoverCatalogHelperActivity).postprocess(argThat(input -> input.getDiscoverRunTimeMillis() != null));
+  }
+
   @SuppressWarnings("ResultOfMethodCallIgnored")
   private void cancelWorkflow() {
     final WorkflowServiceBlockingStub temporalService = testEnv.getWorkflowService().blockingStub();
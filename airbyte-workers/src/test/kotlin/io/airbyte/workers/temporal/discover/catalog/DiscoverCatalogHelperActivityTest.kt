@@ -2,13 +2,19 @@ package io.airbyte.workers.temporal.discover.catalog
 
 import io.airbyte.api.client.AirbyteApiClient
 import io.airbyte.api.client.generated.ConnectionApi
+import io.airbyte.api.client.generated.SourceApi
 import io.airbyte.api.client.model.generated.CatalogDiff
 import io.airbyte.api.client.model.generated.PostprocessDiscoveredCatalogRequestBody
 import io.airbyte.api.client.model.generated.PostprocessDiscoveredCatalogResult
+import io.airbyte.api.client.model.generated.SourceCachedCatalogRead
+import io.airbyte.api.client.model.generated.SourceCachedCatalogRequestBody
+import io.airbyte.featureflag.DiscoverCacheTtlMinutes
 import io.airbyte.featureflag.FeatureFlagClient
 import io.airbyte.featureflag.TestClient
 import io.airbyte.metrics.lib.MetricClient
+import io.airbyte.metrics.lib.OssMetricsRegistry
 import io.airbyte.workers.helper.CatalogDiffConverter
+import io.airbyte.workers.models.DiscoverCacheInput
 import io.airbyte.workers.models.PostprocessCatalogInput
 import io.airbyte.workers.models.PostprocessCatalogOutput
 import io.mockk.every
@@ -26,11 +32,15 @@ class DiscoverCatalogHelperActivityTest {
   private val featureFlagClient: FeatureFlagClient = spyk(TestClient())
   private val airbyteApiClient: AirbyteApiClient = mockk()
   private val connectionApi: ConnectionApi = mockk()
+  private val sourceApi: SourceApi = mockk()
+  private val cacheInput = DiscoverCacheInput(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), "1.0.0", "config-hash")
   private lateinit var discoverCatalogReportActivity: DiscoverCatalogHelperActivityImpl
 
   @BeforeEach
   fun init() {
     every { airbyteApiClient.connectionApi }.returns(connectionApi)
+    every { airbyteApiClient.sourceApi }.returns(sourceApi)
+    every { metricClient.count(any(), any(), *anyVararg()) } returns Unit
     discoverCatalogReportActivity =
       spyk(
         DiscoverCatalogHelperActivityImpl(
@@ -88,4 +98,55 @@ class DiscoverCatalogHelperActivityTest {
     Assertions.assertFalse(result.isSuccess)
     Assertions.assertTrue(result.isFailure)
   }
+
+  @Test
+  fun findCachedCatalogDisabled() {
+    val result = discoverCatalogReportActivity.findCachedCatalog(cacheInput)
+
+    Assertions.assertNull(result.catalogId)
+    verify(exactly = 0) { sourceApi.getCachedSourceCatalog(any()) }
+  }
+
+  @Test
+  fun findCachedCatalogHit() {
+    val catalogId = UUID.randomUUID()
+    every { featureFlagClient.intVariation(DiscoverCacheTtlMinutes, any()) } returns 60
+    every { sourceApi.getCachedSourceCatalog(any()) } returns SourceCachedCatalogRead(catalogId, 0L)
+    every { connectionApi.postprocessDiscoveredCatalogForConnection(any()) } returns mockk { every { appliedDiff } returns null }
+
+    // A discover ran for the connection before, the cache hit saves about as long.
+    discoverCatalogReportActivity.postprocess(PostprocessCatalogInput(UUID.randomUUID(), cacheInput.connectionId, 90_000L))
+    val result = discoverCatalogReportActivity.findCachedCatalog(cacheInput)
+
+    Assertions.assertEquals(catalogId, result.catalogId)
+    verify {
+      sourceApi.getCachedSourceCatalog(
+        SourceCachedCatalogRequestBody(cacheInput.sourceId!!, cacheInput.connectorVersion!!, cacheInput.configHash!!, 3600L),
+      )
+    }
+    verify { metricClient.count(OssMetricsRegistry.DISCOVER_CACHE_HIT, 1, *anyVararg()) }
+    verify { metricClient.count(OssMetricsRegistry.DISCOVER_CACHE_POD_SECONDS_SAVED, 90, *anyVararg()) }
+  }
+
+  @Test
+  fun findCachedCatalogMiss() {
+    every { featureFlagClient.intVariation(DiscoverCacheTtlMinutes, any()) } returns 60
+    every { sourceApi.getCachedSourceCatalog(any()) } returns SourceCachedCatalogRead()
+
+    val result = discoverCatalogReportActivity.findCachedCatalog(cacheInput)
+
+    Assertions.assertNull(result.catalogId)
+    verify { metricClient.count(OssMetricsRegistry.DISCOVER_CACHE_MISS, 1, *anyVararg()) }
+  }
+
+  @Test
+  fun findCachedCatalogFailureRunsTheDiscover() {
+    every { featureFlagClient.intVariation(DiscoverCacheTtlMinutes, any()) } returns 60
+    every { sourceApi.getCachedSourceCatalog(any()) } throws IOException("not happy")
+
+    val result = discoverCatalogReportActivity.findCachedCatalog(cacheInput)
+
+    Assertions.assertNull(result.catalogId)
+    verify { metricClient.count(OssMetricsRegistry.DISCOVER_CACHE_MISS, 1, *anyVararg()) }
+  }
 }
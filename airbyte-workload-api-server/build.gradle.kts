@@ -57,6 +57,7 @@ dependencies {
   kspTest(libs.bundles.micronaut.test.annotation.processor)
   testAnnotationProcessor(platform(libs.micronaut.platform))
   testAnnotationProcessor(libs.bundles.micronaut.test.annotation.processor)
+  testAnnotationProcessor(libs.jmh.annotations)
 
   testImplementation(project(":oss:airbyte-test-utils"))
   testImplementation(libs.bundles.micronaut.test)
@@ -66,6 +67,8 @@ dependencies {
   testImplementation(libs.mockito.inline)
   testImplementation(libs.reactor.test)
   testImplementation(libs.mockk)
+  testImplementation(libs.jmh.core)
+  testImplementation(libs.jmh.annotations)
 }
 
 airbyte {
@@ -0,0 +1,45 @@
+package io.airbyte.workload.handler
+
+import io.micronaut.context.annotation.Property
+import jakarta.inject.Singleton
+import java.time.Duration
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Merges the heartbeats a workload sends within a short window into a single write.
+ *
+ * A heartbeat only needs to move the deadline when the previous write is older than the window: the
+ * deadline is several minutes long, so it being a few seconds older doesn't change the outcome. The
+ * heartbeats within the window still check the status of the workload, so that a workload that stopped
+ * in the meantime is told right away.
+ */
+@Singleton
+class HeartbeatCoalescer(
+  @Property(name = "airbyte.workload-api.heartbeat.coalescing-window", defaultValue = "5s") private val window: Duration,
+) {
+  companion object {
+    private const val MAX_TRACKED_WORKLOADS = 10_000
+  }
+
+  private val lastWrites = ConcurrentHashMap<String, Long>()
+
+  fun shouldWrite(workloadId: String): Boolean {
+    val lastWrite = lastWrites[workloadId] ?: return true
+    return System.nanoTime() - lastWrite >= window.toNanos()
+  }
+
+  fun written(workloadId: String) {
+    if (window.isZero) {
+      return
+    }
+    if (lastWrites.size >= MAX_TRACKED_WORKLOADS) {
+      val now = System.nanoTime()
+      lastWrites.values.removeIf { now - it >= window.toNanos() }
+    }
+    lastWrites[workloadId] = System.nanoTime()
+  }
+
+  fun forget(workloadId: String) {
+    lastWrites.remove(workloadId)
+  }
+}
@@ -15,6 +15,7 @@ import io.airbyte.workload.errors.NotFoundException
 import io.airbyte.workload.metrics.CustomMetricPublisher
 import io.airbyte.workload.repository.WorkloadRepository
 import io.airbyte.workload.repository.domain.WorkloadStatus
+import io.airbyte.workload.repository.domain.WorkloadSummary
 import io.github.oshai.kotlinlogging.KotlinLogging
 import jakarta.inject.Singleton
 import java.time.OffsetDateTime
@@ -25,16 +26,22 @@ private val logger = KotlinLogging.logger {}
 
 /**
  * Interface layer between the API and Persistence layers.
+ *
+ * Status transitions are conditional updates: the workload is only updated if its status allows the
+ * transition, which keeps concurrent calls from both succeeding. The workload is only read when the
+ * update didn't apply, to tell a noop from an invalid transition, and without its input payload.
  */
 @Singleton
 class WorkloadHandlerImpl(
   private val workloadRepository: WorkloadRepository,
   private val airbyteApi: AirbyteApiClient,
   private val metricClient: CustomMetricPublisher,
+  private val heartbeatCoalescer: HeartbeatCoalescer,
 ) : WorkloadHandler {
   companion object {
     val ACTIVE_STATUSES: List<WorkloadStatus> =
       listOf(WorkloadStatus.PENDING, WorkloadStatus.CLAIMED, WorkloadStatus.LAUNCHED, WorkloadStatus.RUNNING)
+    private val SUCCEEDABLE_STATUSES: List<WorkloadStatus> = listOf(WorkloadStatus.CLAIMED, WorkloadStatus.LAUNCHED, WorkloadStatus.RUNNING)
   }
 
   override fun getWorkload(workloadId: String): ApiWorkload {
@@ -46,6 +53,11 @@ class WorkloadHandlerImpl(
       .orElseThrow { NotFoundException("Could not find workload with id: $workloadId") }
   }
 
+  private fun getWorkloadSummary(workloadId: String): WorkloadSummary {
+    return workloadRepository.findSummaryById(workloadId)
+      .orElseThrow { NotFoundException("Could not find workload with id: $workloadId") }
+  }
+
   override fun getWorkloads(
     dataplaneId: List<String>?,
     workloadStatus: List<ApiWorkloadStatus>?,
@@ -104,7 +116,7 @@ class WorkloadHandlerImpl(
     if (mutexKey != null) {
       // Keep the most recent workload by creation date with mutexKey, fail the others.
       workloadRepository
-        .searchByMutexKeyAndStatusInList(mutexKey, statuses = ACTIVE_STATUSES)
+        .searchSummariesByMutexKeyAndStatusInList(mutexKey, statuses = ACTIVE_STATUSES)
         .sortedByDescending { it.createdAt }
         .drop(1)
         .forEach {
@@ -125,20 +137,19 @@ class WorkloadHandlerImpl(
     dataplaneId: String,
     deadline: OffsetDateTime,
   ): Boolean {
-    val workload = getDomainWorkload(workloadId)
+    if (workloadRepository.claim(workloadId, dataplaneId, deadline) > 0) {
+      return true
+    }
+
+    val workload = getWorkloadSummary(workloadId)
 
     if (workload.dataplaneId != null && !workload.dataplaneId.equals(dataplaneId)) {
       return false
     }
 
     when (workload.status) {
-      WorkloadStatus.PENDING ->
-        workloadRepository.update(
-          workloadId,
-          dataplaneId,
-          WorkloadStatus.CLAIMED,
-          deadline,
-        )
+      // The claim only misses a pending workload of this dataplane if another claim won the race.
+      WorkloadStatus.PENDING -> return false
       WorkloadStatus.CLAIMED -> {}
       else -> throw InvalidStatusTransitionException(
         "Tried to claim a workload that is not pending. Workload id: $workloadId has status: ${workload.status}",
@@ -153,19 +164,16 @@ class WorkloadHandlerImpl(
     source: String?,
     reason: String?,
   ) {
-    val workload = getDomainWorkload(workloadId)
+    if (workloadRepository.terminateIfIn(workloadId, WorkloadStatus.CANCELLED, source, reason, ACTIVE_STATUSES) > 0) {
+      onTerminated(workloadId)
+      return
+    }
+
+    val workload = getWorkloadSummary(workloadId)
 
     when (workload.status) {
-      WorkloadStatus.PENDING, WorkloadStatus.LAUNCHED, WorkloadStatus.CLAIMED, WorkloadStatus.RUNNING -> {
-        workloadRepository.update(
-          workloadId,
-          WorkloadStatus.CANCELLED,
-          source,
-          reason,
-          null,
-        )
-        sendSignal(workload.type, workload.signalInput)
-      }
+      WorkloadStatus.PENDING, WorkloadStatus.LAUNCHED, WorkloadStatus.CLAIMED, WorkloadStatus.RUNNING ->
+        throw ConflictException("Workload $workloadId changed status while being cancelled, it is now ${workload.status}")
       WorkloadStatus.CANCELLED -> logger.info { "Workload $workloadId is already cancelled. Cancelling an already cancelled workload is a noop" }
       else -> throw InvalidStatusTransitionException(
         "Cannot cancel a workload in either success or failure status. Workload id: $workloadId has status: ${workload.status}",
@@ -178,19 +186,16 @@ class WorkloadHandlerImpl(
     source: String?,
     reason: String?,
   ) {
-    val workload = getDomainWorkload(workloadId)
+    if (workloadRepository.terminateIfIn(workloadId, WorkloadStatus.FAILURE, source, reason, ACTIVE_STATUSES) > 0) {
+      onTerminated(workloadId)
+      return
+    }
+
+    val workload = getWorkloadSummary(workloadId)
 
     when (workload.status) {
-      WorkloadStatus.PENDING, WorkloadStatus.CLAIMED, WorkloadStatus.LAUNCHED, WorkloadStatus.RUNNING -> {
-        workloadRepository.update(
-          workloadId,
-          WorkloadStatus.FAILURE,
-          source,
-          reason,
-          null,
-        )
-        sendSignal(workload.type, workload.signalInput)
-      }
+      WorkloadStatus.PENDING, WorkloadStatus.CLAIMED, WorkloadStatus.LAUNCHED, WorkloadStatus.RUNNING ->
+        throw ConflictException("Workload $workloadId changed status while being failed, it is now ${workload.status}")
       WorkloadStatus.FAILURE -> logger.info { "Workload $workloadId is already marked as failed. Failing an already failed workload is a noop" }
       else -> throw InvalidStatusTransitionException(
         "Tried to fail a workload that is not active. Workload id: $workloadId has status: ${workload.status}",
@@ -199,17 +204,16 @@ class WorkloadHandlerImpl(
   }
 
   override fun succeedWorkload(workloadId: String) {
-    val workload = getDomainWorkload(workloadId)
+    if (workloadRepository.updateStatusIfIn(workloadId, WorkloadStatus.SUCCESS, null, SUCCEEDABLE_STATUSES) > 0) {
+      onTerminated(workloadId)
+      return
+    }
+
+    val workload = getWorkloadSummary(workloadId)
 
     when (workload.status) {
-      WorkloadStatus.CLAIMED, WorkloadStatus.LAUNCHED, WorkloadStatus.RUNNING -> {
-        workloadRepository.update(
-          workloadId,
-          WorkloadStatus.SUCCESS,
-          null,
-        )
-        sendSignal(workload.type, workload.signalInput)
-      }
+      WorkloadStatus.CLAIMED, WorkloadStatus.LAUNCHED, WorkloadStatus.RUNNING ->
+        throw ConflictException("Workload $workloadId changed status while being succeeded, it is now ${workload.status}")
       WorkloadStatus.SUCCESS ->
         logger.info { "Workload $workloadId is already marked as succeeded. Succeeding an already succeeded workload is a noop" }
       else -> throw InvalidStatusTransitionException(
@@ -222,16 +226,16 @@ class WorkloadHandlerImpl(
     workloadId: String,
     deadline: OffsetDateTime,
   ) {
-    val workload = getDomainWorkload(workloadId)
+    val expectedStatuses = listOf(WorkloadStatus.CLAIMED, WorkloadStatus.LAUNCHED)
+    if (workloadRepository.updateStatusIfIn(workloadId, WorkloadStatus.RUNNING, deadline, expectedStatuses) > 0) {
+      return
+    }
+
+    val workload = getWorkloadSummary(workloadId)
 
     when (workload.status) {
-      WorkloadStatus.CLAIMED, WorkloadStatus.LAUNCHED -> {
-        workloadRepository.update(
-          workloadId,
-          WorkloadStatus.RUNNING,
-          deadline,
-        )
-      }
+      WorkloadStatus.CLAIMED, WorkloadStatus.LAUNCHED ->
+        throw ConflictException("Workload $workloadId changed status while being set to running, it is now ${workload.status}")
       WorkloadStatus.RUNNING -> logger.info { "Workload $workloadId is already marked as running. Skipping..." }
       WorkloadStatus.CANCELLED, WorkloadStatus.FAILURE, WorkloadStatus.SUCCESS -> throw InvalidStatusTransitionException(
         "Heartbeat a workload in a terminal state",
@@ -246,16 +250,15 @@ class WorkloadHandlerImpl(
     workloadId: String,
     deadline: OffsetDateTime,
   ) {
-    val workload = getDomainWorkload(workloadId)
+    if (workloadRepository.updateStatusIfIn(workloadId, WorkloadStatus.LAUNCHED, deadline, listOf(WorkloadStatus.CLAIMED)) > 0) {
+      return
+    }
+
+    val workload = getWorkloadSummary(workloadId)
 
     when (workload.status) {
-      WorkloadStatus.CLAIMED -> {
-        workloadRepository.update(
-          workloadId,
-          WorkloadStatus.LAUNCHED,
-          deadline,
-        )
-      }
+      WorkloadStatus.CLAIMED ->
+        throw ConflictException("Workload $workloadId changed status while being set to launched, it is now ${workload.status}")
       WorkloadStatus.LAUNCHED -> logger.info { "Workload $workloadId is already marked as launched. Skipping..." }
       WorkloadStatus.RUNNING -> logger.info { "Workload $workloadId is already marked as running. Skipping..." }
       WorkloadStatus.CANCELLED, WorkloadStatus.FAILURE, WorkloadStatus.SUCCESS -> throw InvalidStatusTransitionException(
@@ -271,17 +274,20 @@ class WorkloadHandlerImpl(
     workloadId: String,
     deadline: OffsetDateTime,
   ) {
-    val workload: DomainWorkload = getDomainWorkload(workloadId)
+    // Within the coalescing window, a running workload only has its status read instead of its deadline moved
+    if (!heartbeatCoalescer.shouldWrite(workloadId) && getWorkloadSummary(workloadId).status == WorkloadStatus.RUNNING) {
+      return
+    }
+    if (workloadRepository.heartbeat(workloadId, offsetDateTime(), deadline) > 0) {
+      heartbeatCoalescer.written(workloadId)
+      return
+    }
+
+    val workload = getWorkloadSummary(workloadId)
 
     when (workload.status) {
-      WorkloadStatus.CLAIMED, WorkloadStatus.LAUNCHED, WorkloadStatus.RUNNING -> {
-        workloadRepository.update(
-          workloadId,
-          WorkloadStatus.RUNNING,
-          offsetDateTime(),
-          deadline,
-        )
-      }
+      WorkloadStatus.CLAIMED, WorkloadStatus.LAUNCHED, WorkloadStatus.RUNNING ->
+        throw ConflictException("Workload $workloadId changed status while heartbeating, it is now ${workload.status}")
       WorkloadStatus.CANCELLED, WorkloadStatus.FAILURE, WorkloadStatus.SUCCESS -> throw InvalidStatusTransitionException(
         "Heartbeat a workload in a terminal state",
       )
@@ -322,6 +328,15 @@ class WorkloadHandlerImpl(
     return domainWorkloads.map { it.toApi() }
   }
 
+  /**
+   * Signal the workflow waiting on a workload that reached a terminal status.
+   */
+  private fun onTerminated(workloadId: String) {
+    heartbeatCoalescer.forget(workloadId)
+    val workload = getWorkloadSummary(workloadId)
+    sendSignal(workload.type, workload.signalInput)
+  }
+
   private fun sendSignal(
     workloadType: DomainWorkloadType,
     signalPayload: String?,
@@ -2,6 +2,7 @@ package io.airbyte.workload.repository
 
 import io.airbyte.workload.repository.domain.Workload
 import io.airbyte.workload.repository.domain.WorkloadStatus
+import io.airbyte.workload.repository.domain.WorkloadSummary
 import io.airbyte.workload.repository.domain.WorkloadType
 import io.micronaut.data.annotation.Expandable
 import io.micronaut.data.annotation.Id
@@ -20,6 +21,9 @@ interface WorkloadRepository : PageableRepository<Workload, String> {
     @Id id: String,
   ): Optional<Workload>
 
+  /**
+   * Search workloads with their input payload, which the launcher needs to resume the claimed ones.
+   */
   @Query(
     """
       SELECT * FROM workload
@@ -34,9 +38,15 @@ interface WorkloadRepository : PageableRepository<Workload, String> {
     updatedBefore: OffsetDateTime?,
   ): List<Workload>
 
+  /**
+   * Search the workloads past their deadline. The workloads are only read to be failed, so they are
+   * returned with an empty input payload.
+   */
   @Query(
     """
-      SELECT * FROM workload
+      SELECT id, dataplane_id, status, created_at, updated_at, last_heartbeat_at, '' AS input_payload, log_path, mutex_key, type,
+        termination_source, termination_reason, deadline, auto_id, signal_input
+      FROM workload
       WHERE ((:dataplaneIds) IS NULL OR dataplane_id IN (:dataplaneIds))
       AND ((:statuses) IS NULL OR status = ANY(CAST(ARRAY[:statuses] AS workload_status[])))
       AND (deadline < CAST(:deadline AS timestamptz))
@@ -55,7 +65,33 @@ interface WorkloadRepository : PageableRepository<Workload, String> {
 
   @Query(
     """
-      SELECT * FROM workload
+      SELECT id, dataplane_id, status, type, created_at, signal_input FROM workload
+      WHERE id = :id
+      """,
+  )
+  fun findSummaryById(id: String): Optional<WorkloadSummary>
+
+  @Query(
+    """
+      SELECT id, dataplane_id, status, type, created_at, signal_input FROM workload
+      WHERE mutex_key = :mutexKey
+      AND status = ANY(CAST(ARRAY[:statuses] AS workload_status[]))
+      """,
+  )
+  fun searchSummariesByMutexKeyAndStatusInList(
+    mutexKey: String,
+    @Expandable statuses: List<WorkloadStatus>,
+  ): List<WorkloadSummary>
+
+  /**
+   * Search the workloads created before a date. The workloads are only read to be failed, so they are
+   * returned with an empty input payload.
+   */
+  @Query(
+    """
+      SELECT id, dataplane_id, status, created_at, updated_at, last_heartbeat_at, '' AS input_payload, log_path, mutex_key, type,
+        termination_source, termination_reason, deadline, auto_id, signal_input
+      FROM workload
       WHERE ((:dataplaneIds) IS NULL OR dataplane_id IN (:dataplaneIds))
       AND ((:statuses) IS NULL OR status = ANY(CAST(ARRAY[:statuses] AS workload_status[])))
       AND ((:types) IS NULL OR type = ANY(CAST(ARRAY[:types] AS workload_type[])))
@@ -69,6 +105,90 @@ interface WorkloadRepository : PageableRepository<Workload, String> {
     createdBefore: OffsetDateTime?,
   ): List<Workload>
 
+  /**
+   * Claim a pending workload for a dataplane in a single statement. Concurrent claims are serialized
+   * by the row lock, only the first one updates the workload.
+   *
+   * @return the number of updated workloads, 0 if the workload isn't pending or belongs to another
+   * dataplane.
+   */
+  @Query(
+    """
+      UPDATE workload
+      SET dataplane_id = :dataplaneId, status = 'claimed', deadline = CAST(:deadline AS timestamptz), updated_at = now()
+      WHERE id = :id
+      AND status = 'pending'
+      AND (dataplane_id IS NULL OR dataplane_id = :dataplaneId)
+      """,
+  )
+  fun claim(
+    id: String,
+    dataplaneId: String,
+    deadline: OffsetDateTime,
+  ): Int
+
+  /**
+   * Set the status of a workload only if its current status is one of the expected ones.
+   *
+   * @return the number of updated workloads, 0 if the workload isn't in an expected status.
+   */
+  @Query(
+    """
+      UPDATE workload
+      SET status = CAST(:status AS workload_status), deadline = CAST(:deadline AS timestamptz), updated_at = now()
+      WHERE id = :id
+      AND status = ANY(CAST(ARRAY[:expectedStatuses] AS workload_status[]))
+      """,
+  )
+  fun updateStatusIfIn(
+    id: String,
+    status: WorkloadStatus,
+    deadline: OffsetDateTime?,
+    @Expandable expectedStatuses: List<WorkloadStatus>,
+  ): Int
+
+  /**
+   * Move a workload to a terminal status only if its current status is one of the expected ones.
+   *
+   * @return the number of updated workloads, 0 if the workload isn't in an expected status.
+   */
+  @Query(
+    """
+      UPDATE workload
+      SET status = CAST(:status AS workload_status), termination_source = :terminationSource,
+        termination_reason = :terminationReason, deadline = NULL, updated_at = now()
+      WHERE id = :id
+      AND status = ANY(CAST(ARRAY[:expectedStatuses] AS workload_status[]))
+      """,
+  )
+  fun terminateIfIn(
+    id: String,
+    status: WorkloadStatus,
+    terminationSource: String?,
+    terminationReason: String?,
+    @Expandable expectedStatuses: List<WorkloadStatus>,
+  ): Int
+
+  /**
+   * Record a heartbeat of a claimed, launched or running workload and mark it as running.
+   *
+   * @return the number of updated workloads, 0 if the workload isn't in a status that can heartbeat.
+   */
+  @Query(
+    """
+      UPDATE workload
+      SET status = 'running', last_heartbeat_at = CAST(:lastHeartbeatAt AS timestamptz), deadline = CAST(:deadline AS timestamptz),
+        updated_at = now()
+      WHERE id = :id
+      AND status IN ('claimed', 'launched', 'running')
+      """,
+  )
+  fun heartbeat(
+    id: String,
+    lastHeartbeatAt: OffsetDateTime,
+    deadline: OffsetDateTime,
+  ): Int
+
   fun update(
     @Id id: String,
     status: WorkloadStatus,
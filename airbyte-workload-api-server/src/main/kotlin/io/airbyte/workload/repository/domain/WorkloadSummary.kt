@@ -0,0 +1,26 @@
+package io.airbyte.workload.repository.domain
+
+import io.micronaut.core.annotation.Introspected
+import io.micronaut.core.annotation.Nullable
+import io.micronaut.data.annotation.TypeDef
+import io.micronaut.data.model.DataType
+import java.time.OffsetDateTime
+
+/**
+ * The columns of a workload needed to check and signal its status transitions. It leaves out the
+ * input payload, which can be hundreds of KB, and the labels.
+ */
+@Introspected
+data class WorkloadSummary(
+  val id: String,
+  @Nullable
+  val dataplaneId: String?,
+  @field:TypeDef(type = DataType.OBJECT)
+  val status: WorkloadStatus,
+  @field:TypeDef(type = DataType.OBJECT)
+  val type: WorkloadType,
+  @Nullable
+  val createdAt: OffsetDateTime?,
+  @Nullable
+  val signalInput: String?,
+)
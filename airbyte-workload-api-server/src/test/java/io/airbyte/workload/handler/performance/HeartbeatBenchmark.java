@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workload.handler.performance;
+
+import static org.mockito.Mockito.mock;
+
+import io.airbyte.api.client.AirbyteApiClient;
+import io.airbyte.workload.handler.HeartbeatCoalescer;
+import io.airbyte.workload.handler.WorkloadHandlerImpl;
+import io.airbyte.workload.metrics.CustomMetricPublisher;
+import io.airbyte.workload.repository.WorkloadRepository;
+import io.airbyte.workload.repository.domain.WorkloadStatus;
+import io.airbyte.workload.repository.domain.WorkloadSummary;
+import io.airbyte.workload.repository.domain.WorkloadType;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the number of heartbeats the {@link WorkloadHandlerImpl} accepts per second from many
+ * workloads heartbeating concurrently, with and without a {@link HeartbeatCoalescer} window.
+ *
+ * The repository is replaced by one that burns a fixed amount of CPU for each write and, less, for
+ * each status read to stand in for the database round trips, the number of writes and reads it
+ * received are reported as secondary results alongside the throughput. Run the main method.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Threads(8)
+@Fork(1)
+public class HeartbeatBenchmark {
+
+  private static final long WRITE_COST_IN_TOKENS = 10_000;
+  private static final long READ_COST_IN_TOKENS = 2_500;
+
+  @Param({"0s", "5s"})
+  public String coalescingWindow;
+
+  @Param({"1000"})
+  public int workloadCount;
+
+  // The repository is shared by the benchmark threads, it counts the writes of each thread in its own
+  // counters.
+  private static final ThreadLocal<RepositoryWrites> REPOSITORY_WRITES = new ThreadLocal<>();
+
+  private String[] workloadIds;
+  private OffsetDateTime deadline;
+  private WorkloadHandlerImpl handler;
+
+  @Setup(Level.Iteration)
+  public void setup() {
+    workloadIds = new String[workloadCount];
+    for (int i = 0; i < workloadCount; i++) {
+      workloadIds[i] = "workload-" + i;
+    }
+    deadline = OffsetDateTime.now().plusMinutes(10);
+    handler = new WorkloadHandlerImpl(
+        repository(),
+        mock(AirbyteApiClient.class),
+        mock(CustomMetricPublisher.class),
+        new HeartbeatCoalescer(Duration.parse("PT" + coalescingWindow.toUpperCase())));
+  }
+
+  /**
+   * The writes and reads the repository received from a benchmark thread.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class RepositoryWrites {
+
+    public long writes;
+    public long reads;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      writes = 0;
+      reads = 0;
+      REPOSITORY_WRITES.set(this);
+    }
+
+  }
+
+  @Benchmark
+  public void heartbeat(final RepositoryWrites repositoryWrites) {
+    handler.heartbeat(workloadIds[ThreadLocalRandom.current().nextInt(workloadCount)], deadline);
+  }
+
+  /**
+   * A repository where every workload is running and can heartbeat.
+   */
+  private WorkloadRepository repository() {
+    return (WorkloadRepository) Proxy.newProxyInstance(
+        WorkloadRepository.class.getClassLoader(),
+        new Class<?>[] {WorkloadRepository.class},
+        (proxy, method, args) -> switch (method.getName()) {
+          case "heartbeat" -> {
+            REPOSITORY_WRITES.get().writes++;
+            Blackhole.consumeCPU(WRITE_COST_IN_TOKENS);
+            yield 1;
+          }
+          case "findSummaryById" -> {
+            REPOSITORY_WRITES.get().reads++;
+            Blackhole.consumeCPU(READ_COST_IN_TOKENS);
+            yield Optional.of(new WorkloadSummary((String) args[0], null, WorkloadStatus.RUNNING, WorkloadType.SYNC, null, null));
+          }
+          default -> throw new UnsupportedOperationException(method.getName());
+        });
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(HeartbeatBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+
+}
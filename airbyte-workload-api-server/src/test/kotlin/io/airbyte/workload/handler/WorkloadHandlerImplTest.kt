@@ -18,6 +18,7 @@ import io.airbyte.workload.handler.WorkloadHandlerImplTest.Fixtures.metricClient
 import io.airbyte.workload.handler.WorkloadHandlerImplTest.Fixtures.mockApi
 import io.airbyte.workload.handler.WorkloadHandlerImplTest.Fixtures.mockApiFailingSignal
 import io.airbyte.workload.handler.WorkloadHandlerImplTest.Fixtures.signalApi
+import io.airbyte.workload.handler.WorkloadHandlerImplTest.Fixtures.toSummary
 import io.airbyte.workload.handler.WorkloadHandlerImplTest.Fixtures.verifyApi
 import io.airbyte.workload.handler.WorkloadHandlerImplTest.Fixtures.verifyFailedSignal
 import io.airbyte.workload.handler.WorkloadHandlerImplTest.Fixtures.workloadHandler
@@ -26,12 +27,11 @@ import io.airbyte.workload.metrics.CustomMetricPublisher
 import io.airbyte.workload.repository.WorkloadRepository
 import io.airbyte.workload.repository.domain.Workload
 import io.airbyte.workload.repository.domain.WorkloadStatus
+import io.airbyte.workload.repository.domain.WorkloadSummary
 import io.airbyte.workload.repository.domain.WorkloadType
 import io.mockk.Called
-import io.mockk.Runs
 import io.mockk.clearAllMocks
 import io.mockk.every
-import io.mockk.just
 import io.mockk.mockk
 import io.mockk.spyk
 import io.mockk.verify
@@ -43,6 +43,7 @@ import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.assertThrows
 import org.junit.jupiter.params.ParameterizedTest
 import org.junit.jupiter.params.provider.EnumSource
+import java.time.Duration
 import java.time.OffsetDateTime
 import java.util.Optional
 import java.util.UUID
@@ -55,6 +56,7 @@ class WorkloadHandlerImplTest {
   fun reset() {
     clearAllMocks()
     every { workloadHandler.offsetDateTime() }.returns(now)
+    Fixtures.emulateConditionalUpdates()
   }
 
   @Test
@@ -102,7 +104,7 @@ class WorkloadHandlerImplTest {
     val workloadLabels = mutableListOf(workloadLabel1, workloadLabel2)
 
     every { workloadRepository.existsById(WORKLOAD_ID) }.returns(false)
-    every { workloadRepository.searchByMutexKeyAndStatusInList("mutex-this", WorkloadHandlerImpl.ACTIVE_STATUSES) }.returns(listOf())
+    every { workloadRepository.searchSummariesByMutexKeyAndStatusInList("mutex-this", WorkloadHandlerImpl.ACTIVE_STATUSES) }.returns(listOf())
     every { workloadRepository.save(any()) }.returns(
       Fixtures.workload(),
     )
@@ -153,8 +155,8 @@ class WorkloadHandlerImplTest {
     val workloadIdWithFailedFail = "workload-id-with-failed-fail"
     val duplWorkloads =
       listOf(
-        Fixtures.workload(workloadIdWithSuccessfulFail, createdAt = OffsetDateTime.now().minusSeconds(5)),
-        Fixtures.workload(workloadIdWithFailedFail, createdAt = OffsetDateTime.now().minusSeconds(10)),
+        Fixtures.workload(workloadIdWithSuccessfulFail, createdAt = OffsetDateTime.now().minusSeconds(5)).toSummary(),
+        Fixtures.workload(workloadIdWithFailedFail, createdAt = OffsetDateTime.now().minusSeconds(10)).toSummary(),
       )
     val newWorkload = Fixtures.workload(WORKLOAD_ID)
     every { workloadRepository.existsById(WORKLOAD_ID) }.returns(false)
@@ -166,11 +168,11 @@ class WorkloadHandlerImplTest {
     }.throws(InvalidStatusTransitionException(workloadIdWithFailedFail))
     every { workloadRepository.save(any()) }.returns(newWorkload)
     every {
-      workloadRepository.searchByMutexKeyAndStatusInList(
+      workloadRepository.searchSummariesByMutexKeyAndStatusInList(
         "mutex-this",
         WorkloadHandlerImpl.ACTIVE_STATUSES,
       )
-    }.returns(duplWorkloads + listOf(newWorkload))
+    }.returns(duplWorkloads + listOf(newWorkload.toSummary()))
 
     workloadHandler.createWorkload(WORKLOAD_ID, null, "", "", "mutex-this", io.airbyte.config.WorkloadType.SYNC, UUID.randomUUID(), now, "")
     verify {
@@ -218,9 +220,8 @@ class WorkloadHandlerImplTest {
         ),
       ),
     )
-    every { workloadRepository.update(eq(WORKLOAD_ID), any(), ofType(OffsetDateTime::class), eq(now.plusMinutes(10))) }.returns(Unit)
     workloadHandler.heartbeat(WORKLOAD_ID, now.plusMinutes(10))
-    verify { workloadRepository.update(eq(WORKLOAD_ID), eq(WorkloadStatus.RUNNING), any(), eq(now.plusMinutes(10))) }
+    verify { workloadRepository.heartbeat(WORKLOAD_ID, now, now.plusMinutes(10)) }
   }
 
   @ParameterizedTest
@@ -237,6 +238,68 @@ class WorkloadHandlerImplTest {
     assertThrows<InvalidStatusTransitionException> { workloadHandler.heartbeat(WORKLOAD_ID, now) }
   }
 
+  @Test
+  fun `test heartbeats within the coalescing window are written once`() {
+    val coalescingHandler =
+      WorkloadHandlerImpl(workloadRepository, mockk<AirbyteApiClient>(), metricClient, HeartbeatCoalescer(Duration.ofMinutes(1)))
+    every { workloadRepository.findById(WORKLOAD_ID) }.returns(
+      Optional.of(
+        Fixtures.workload(
+          id = WORKLOAD_ID,
+          status = WorkloadStatus.RUNNING,
+        ),
+      ),
+    )
+
+    repeat(3) { coalescingHandler.heartbeat(WORKLOAD_ID, now.plusMinutes(10)) }
+
+    verify(exactly = 1) { workloadRepository.heartbeat(WORKLOAD_ID, any(), now.plusMinutes(10)) }
+  }
+
+  @Test
+  fun `test heartbeat within the coalescing window of a workload that stopped fails`() {
+    val coalescingHandler =
+      WorkloadHandlerImpl(workloadRepository, mockk<AirbyteApiClient>(), metricClient, HeartbeatCoalescer(Duration.ofMinutes(1)))
+    every { workloadRepository.findById(WORKLOAD_ID) }.returns(
+      Optional.of(
+        Fixtures.workload(
+          id = WORKLOAD_ID,
+          status = WorkloadStatus.RUNNING,
+        ),
+      ),
+    )
+    coalescingHandler.heartbeat(WORKLOAD_ID, now.plusMinutes(10))
+
+    every { workloadRepository.findById(WORKLOAD_ID) }.returns(
+      Optional.of(
+        Fixtures.workload(
+          id = WORKLOAD_ID,
+          status = WorkloadStatus.CANCELLED,
+        ),
+      ),
+    )
+
+    assertThrows<InvalidStatusTransitionException> { coalescingHandler.heartbeat(WORKLOAD_ID, now.plusMinutes(10)) }
+  }
+
+  @Test
+  fun `test heartbeat of a workload that is no longer active is not coalesced`() {
+    val coalescingHandler =
+      WorkloadHandlerImpl(workloadRepository, mockk<AirbyteApiClient>(), metricClient, HeartbeatCoalescer(Duration.ofMinutes(1)))
+    every { workloadRepository.findById(WORKLOAD_ID) }.returns(
+      Optional.of(
+        Fixtures.workload(
+          id = WORKLOAD_ID,
+          status = WorkloadStatus.CANCELLED,
+        ),
+      ),
+    )
+
+    repeat(2) { assertThrows<InvalidStatusTransitionException> { coalescingHandler.heartbeat(WORKLOAD_ID, now.plusMinutes(10)) } }
+
+    verify(exactly = 2) { workloadRepository.heartbeat(WORKLOAD_ID, any(), now.plusMinutes(10)) }
+  }
+
   @Test
   fun `test workload not found when claiming workload`() {
     every { workloadRepository.findById(WORKLOAD_ID) }.returns(Optional.empty())
@@ -259,7 +322,6 @@ class WorkloadHandlerImplTest {
 
   @Test
   fun `test claiming pending workload has already been claimed by the same plane`() {
-    every { workloadRepository.update(WORKLOAD_ID, DATAPLANE_ID, WorkloadStatus.CLAIMED, eq(now.plusMinutes(20))) }.returns(Unit)
     every { workloadRepository.findById(WORKLOAD_ID) }.returns(
       Optional.of(
         Fixtures.workload(
@@ -325,11 +387,25 @@ class WorkloadHandlerImplTest {
       ),
     )
 
-    every { workloadRepository.update(any(), any(), ofType(WorkloadStatus::class), eq(now.plusMinutes(20))) } just Runs
-
     assertTrue(workloadHandler.claimWorkload(WORKLOAD_ID, DATAPLANE_ID, now.plusMinutes(20)))
 
-    verify { workloadRepository.update(WORKLOAD_ID, DATAPLANE_ID, WorkloadStatus.CLAIMED, eq(now.plusMinutes(20))) }
+    verify { workloadRepository.claim(WORKLOAD_ID, DATAPLANE_ID, now.plusMinutes(20)) }
+  }
+
+  @Test
+  fun `test claim lost to a concurrent claim`() {
+    every { workloadRepository.claim(WORKLOAD_ID, DATAPLANE_ID, any()) } returns 0
+    every { workloadRepository.findById(WORKLOAD_ID) }.returns(
+      Optional.of(
+        Fixtures.workload(
+          id = WORKLOAD_ID,
+          dataplaneId = null,
+          status = WorkloadStatus.PENDING,
+        ),
+      ),
+    )
+
+    assertFalse(workloadHandler.claimWorkload(WORKLOAD_ID, DATAPLANE_ID, now.plusMinutes(20)))
   }
 
   @Test
@@ -366,11 +442,10 @@ class WorkloadHandlerImplTest {
       ),
     )
 
-    every { workloadRepository.update(any(), ofType(WorkloadStatus::class), eq("test"), eq("test cancel"), null) } just Runs
     mockApi()
 
     workloadHandler.cancelWorkload(WORKLOAD_ID, "test", "test cancel")
-    verify { workloadRepository.update(eq(WORKLOAD_ID), eq(WorkloadStatus.CANCELLED), eq("test"), eq("test cancel"), null) }
+    verify { workloadRepository.terminateIfIn(WORKLOAD_ID, WorkloadStatus.CANCELLED, "test", "test cancel", WorkloadHandlerImpl.ACTIVE_STATUSES) }
     verifyApi()
   }
 
@@ -387,11 +462,10 @@ class WorkloadHandlerImplTest {
       ),
     )
 
-    every { workloadRepository.update(any(), ofType(WorkloadStatus::class), eq("test"), eq("test cancel"), null) } just Runs
     mockApi()
 
     workloadHandler.cancelWorkload(WORKLOAD_ID, "test", "test cancel")
-    verify { workloadRepository.update(eq(WORKLOAD_ID), eq(WorkloadStatus.CANCELLED), eq("test"), eq("test cancel"), null) }
+    verify { workloadRepository.terminateIfIn(WORKLOAD_ID, WorkloadStatus.CANCELLED, "test", "test cancel", WorkloadHandlerImpl.ACTIVE_STATUSES) }
     verify { signalApi wasNot Called }
   }
 
@@ -408,11 +482,10 @@ class WorkloadHandlerImplTest {
       ),
     )
 
-    every { workloadRepository.update(any(), ofType(WorkloadStatus::class), eq("test"), eq("test cancel"), null) } just Runs
     mockApiFailingSignal()
 
     workloadHandler.cancelWorkload(WORKLOAD_ID, "test", "test cancel")
-    verify { workloadRepository.update(eq(WORKLOAD_ID), eq(WorkloadStatus.CANCELLED), eq("test"), eq("test cancel"), null) }
+    verify { workloadRepository.terminateIfIn(WORKLOAD_ID, WorkloadStatus.CANCELLED, "test", "test cancel", WorkloadHandlerImpl.ACTIVE_STATUSES) }
     verifyFailedSignal()
   }
 
@@ -429,10 +502,9 @@ class WorkloadHandlerImplTest {
       ),
     )
 
-    every { workloadRepository.update(any(), ofType(WorkloadStatus::class), eq("test"), eq("test cancel"), null) } just Runs
     every { metricClient.count(OssMetricsRegistry.WORKLOADS_SIGNAL.metricName, any(), any()) } returns Unit
     workloadHandler.cancelWorkload(WORKLOAD_ID, "test", "test cancel")
-    verify { workloadRepository.update(eq(WORKLOAD_ID), eq(WorkloadStatus.CANCELLED), eq("test"), eq("test cancel"), null) }
+    verify { workloadRepository.terminateIfIn(WORKLOAD_ID, WorkloadStatus.CANCELLED, "test", "test cancel", WorkloadHandlerImpl.ACTIVE_STATUSES) }
     verify {
       metricClient.count(
         OssMetricsRegistry.WORKLOADS_SIGNAL.metricName,
@@ -454,7 +526,23 @@ class WorkloadHandlerImplTest {
     )
 
     workloadHandler.cancelWorkload(WORKLOAD_ID, "test", "test cancel again")
-    verify(exactly = 0) { workloadRepository.update(eq(WORKLOAD_ID), eq(WorkloadStatus.CANCELLED), "test", "test cancel again", null) }
+    verify(exactly = 0) { signalApi.signal(any()) }
+  }
+
+  @Test
+  fun `test cancel conflicting with a concurrent transition`() {
+    every { workloadRepository.terminateIfIn(WORKLOAD_ID, WorkloadStatus.CANCELLED, any(), any(), any()) } returns 0
+    every { workloadRepository.findById(WORKLOAD_ID) }.returns(
+      Optional.of(
+        Fixtures.workload(
+          id = WORKLOAD_ID,
+          status = WorkloadStatus.RUNNING,
+        ),
+      ),
+    )
+
+    assertThrows<ConflictException> { workloadHandler.cancelWorkload(WORKLOAD_ID, "test", "test cancel") }
+    verify(exactly = 0) { signalApi.signal(any()) }
   }
 
   @Test
@@ -491,11 +579,12 @@ class WorkloadHandlerImplTest {
       ),
     )
 
-    every { workloadRepository.update(any(), ofType(WorkloadStatus::class), eq("test"), eq("failing a workload"), null) } just Runs
     mockApi()
 
     workloadHandler.failWorkload(WORKLOAD_ID, "test", "failing a workload")
-    verify { workloadRepository.update(eq(WORKLOAD_ID), eq(WorkloadStatus.FAILURE), eq("test"), eq("failing a workload"), null) }
+    verify {
+      workloadRepository.terminateIfIn(WORKLOAD_ID, WorkloadStatus.FAILURE, "test", "failing a workload", WorkloadHandlerImpl.ACTIVE_STATUSES)
+    }
     verifyApi()
   }
 
@@ -511,7 +600,7 @@ class WorkloadHandlerImplTest {
     )
 
     workloadHandler.failWorkload(WORKLOAD_ID, "test", "noop")
-    verify(exactly = 0) { workloadRepository.update(eq(WORKLOAD_ID), eq(WorkloadStatus.FAILURE), eq("test"), eq("noop"), null) }
+    verify(exactly = 0) { signalApi.signal(any()) }
   }
 
   @Test
@@ -548,11 +637,10 @@ class WorkloadHandlerImplTest {
       ),
     )
 
-    every { workloadRepository.update(any(), ofType(WorkloadStatus::class), null) } just Runs
     mockApi()
 
     workloadHandler.succeedWorkload(WORKLOAD_ID)
-    verify { workloadRepository.update(eq(WORKLOAD_ID), eq(WorkloadStatus.SUCCESS), null) }
+    verify { workloadRepository.updateStatusIfIn(WORKLOAD_ID, WorkloadStatus.SUCCESS, null, any()) }
     verifyApi()
   }
 
@@ -568,7 +656,7 @@ class WorkloadHandlerImplTest {
     )
 
     workloadHandler.succeedWorkload(WORKLOAD_ID)
-    verify(exactly = 0) { workloadRepository.update(eq(WORKLOAD_ID), eq(WorkloadStatus.SUCCESS), null) }
+    verify(exactly = 0) { signalApi.signal(any()) }
   }
 
   @Test
@@ -619,10 +707,8 @@ class WorkloadHandlerImplTest {
       ),
     )
 
-    every { workloadRepository.update(any(), ofType(WorkloadStatus::class), any()) } just Runs
-
     workloadHandler.setWorkloadStatusToRunning(WORKLOAD_ID, now.plusMinutes(10))
-    verify { workloadRepository.update(eq(WORKLOAD_ID), eq(WorkloadStatus.RUNNING), eq(now.plusMinutes(10))) }
+    verify { workloadRepository.updateStatusIfIn(WORKLOAD_ID, WorkloadStatus.RUNNING, now.plusMinutes(10), any()) }
   }
 
   @Test
@@ -637,7 +723,8 @@ class WorkloadHandlerImplTest {
     )
 
     workloadHandler.setWorkloadStatusToRunning(WORKLOAD_ID, now.plusMinutes(10))
-    verify(exactly = 0) { workloadRepository.update(eq(WORKLOAD_ID), eq(WorkloadStatus.RUNNING), eq(now.plusMinutes(10))) }
+    verify(exactly = 1) { workloadRepository.updateStatusIfIn(WORKLOAD_ID, WorkloadStatus.RUNNING, now.plusMinutes(10), any()) }
+    verify(exactly = 1) { workloadRepository.findSummaryById(WORKLOAD_ID) }
   }
 
   @Test
@@ -672,10 +759,8 @@ class WorkloadHandlerImplTest {
       ),
     )
 
-    every { workloadRepository.update(any(), ofType(WorkloadStatus::class), any()) } just Runs
-
     workloadHandler.setWorkloadStatusToLaunched(WORKLOAD_ID, now.plusMinutes(10))
-    verify { workloadRepository.update(eq(WORKLOAD_ID), eq(WorkloadStatus.LAUNCHED), eq(now.plusMinutes(10))) }
+    verify { workloadRepository.updateStatusIfIn(WORKLOAD_ID, WorkloadStatus.LAUNCHED, now.plusMinutes(10), listOf(WorkloadStatus.CLAIMED)) }
   }
 
   @ParameterizedTest
@@ -690,10 +775,11 @@ class WorkloadHandlerImplTest {
       ),
     )
 
-    every { workloadRepository.update(any(), ofType(WorkloadStatus::class), any()) } just Runs
-
     workloadHandler.setWorkloadStatusToLaunched(WORKLOAD_ID, now.plusMinutes(10))
-    verify(exactly = 0) { workloadRepository.update(eq(WORKLOAD_ID), eq(WorkloadStatus.LAUNCHED), eq(now.plusMinutes(10))) }
+    verify(exactly = 1) {
+      workloadRepository.updateStatusIfIn(WORKLOAD_ID, WorkloadStatus.LAUNCHED, now.plusMinutes(10), listOf(WorkloadStatus.CLAIMED))
+    }
+    verify(exactly = 1) { workloadRepository.findSummaryById(WORKLOAD_ID) }
   }
 
   @Test
@@ -708,7 +794,10 @@ class WorkloadHandlerImplTest {
     )
 
     workloadHandler.setWorkloadStatusToLaunched(WORKLOAD_ID, now.plusMinutes(10))
-    verify(exactly = 0) { workloadRepository.update(eq(WORKLOAD_ID), eq(WorkloadStatus.LAUNCHED), eq(now.plusMinutes(10))) }
+    verify(exactly = 1) {
+      workloadRepository.updateStatusIfIn(WORKLOAD_ID, WorkloadStatus.LAUNCHED, now.plusMinutes(10), listOf(WorkloadStatus.CLAIMED))
+    }
+    verify(exactly = 1) { workloadRepository.findSummaryById(WORKLOAD_ID) }
   }
 
   @Test
@@ -733,7 +822,8 @@ class WorkloadHandlerImplTest {
 
   @Test
   fun `offsetDateTime method should always return current time`() {
-    val workloadHandlerImpl = WorkloadHandlerImpl(mockk<WorkloadRepository>(), mockk<AirbyteApiClient>(), mockk<CustomMetricPublisher>())
+    val workloadHandlerImpl =
+      WorkloadHandlerImpl(mockk<WorkloadRepository>(), mockk<AirbyteApiClient>(), mockk<CustomMetricPublisher>(), HeartbeatCoalescer(Duration.ZERO))
     val offsetDateTime = workloadHandlerImpl.offsetDateTime()
     Thread.sleep(10)
     val offsetDateTimeAfter10Ms = workloadHandlerImpl.offsetDateTime()
@@ -747,7 +837,7 @@ class WorkloadHandlerImplTest {
     val signalApi: SignalApi = mockk()
     const val WORKLOAD_ID = "test"
     const val DATAPLANE_ID = "dataplaneId"
-    val workloadHandler = spyk(WorkloadHandlerImpl(workloadRepository, airbyteApi, metricClient))
+    val workloadHandler = spyk(WorkloadHandlerImpl(workloadRepository, airbyteApi, metricClient, HeartbeatCoalescer(Duration.ZERO)))
 
     val configSignalInput =
       ConfigSignalInput(
@@ -761,6 +851,35 @@ class WorkloadHandlerImplTest {
         workflowId = configSignalInput.workflowId,
       )
 
+    /**
+     * Make the summary lookups and the conditional updates of the repository behave like the database
+     * would for the workload returned by findById, without changing it.
+     */
+    fun emulateConditionalUpdates() {
+      every { workloadRepository.findSummaryById(any()) } answers {
+        workloadRepository.findById(firstArg<String>()).map { it.toSummary() }
+      }
+      every { workloadRepository.claim(any(), any(), any()) } answers {
+        updatedIf(firstArg<String>()) { it.status == WorkloadStatus.PENDING && (it.dataplaneId == null || it.dataplaneId == secondArg<String>()) }
+      }
+      every { workloadRepository.heartbeat(any(), any(), any()) } answers {
+        updatedIf(firstArg<String>()) { it.status in listOf(WorkloadStatus.CLAIMED, WorkloadStatus.LAUNCHED, WorkloadStatus.RUNNING) }
+      }
+      every { workloadRepository.updateStatusIfIn(any(), any(), any(), any()) } answers {
+        updatedIf(firstArg<String>()) { it.status in arg<List<WorkloadStatus>>(3) }
+      }
+      every { workloadRepository.terminateIfIn(any(), any(), any(), any(), any()) } answers {
+        updatedIf(firstArg<String>()) { it.status in arg<List<WorkloadStatus>>(4) }
+      }
+    }
+
+    fun Workload.toSummary(): WorkloadSummary = WorkloadSummary(id, dataplaneId, status, type, createdAt, signalInput)
+
+    private fun updatedIf(
+      workloadId: String,
+      condition: (Workload) -> Boolean,
+    ): Int = workloadRepository.findById(workloadId).map { if (condition(it)) 1 else 0 }.orElse(0)
+
     fun mockApi() {
       every { airbyteApi.signalApi } returns signalApi
       every { signalApi.signal(signalInput) } returns Unit
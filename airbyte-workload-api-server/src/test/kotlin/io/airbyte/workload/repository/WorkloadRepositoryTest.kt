@@ -26,6 +26,10 @@ import org.junit.jupiter.api.Test
 import org.testcontainers.containers.PostgreSQLContainer
 import java.time.OffsetDateTime
 import java.time.temporal.ChronoUnit
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
 import javax.sql.DataSource
 
 @MicronautTest(environments = [Environment.TEST])
@@ -245,6 +249,121 @@ internal class WorkloadRepositoryTest {
     assertEquals("dataplaneId2", persistedWorkload.get().dataplaneId)
   }
 
+  @Test
+  fun `test only one of concurrent claims wins`() {
+    val workload =
+      Fixtures.workload(
+        id = WORKLOAD_ID,
+        dataplaneId = null,
+        status = WorkloadStatus.PENDING,
+      )
+    workloadRepo.save(workload)
+
+    val claimCount = 8
+    val start = CountDownLatch(1)
+    val executor = Executors.newFixedThreadPool(claimCount)
+    try {
+      val claims =
+        (1..claimCount).map { i ->
+          executor.submit(
+            Callable {
+              start.await()
+              workloadRepo.claim(WORKLOAD_ID, "dataplaneId$i", defaultDeadline)
+            },
+          )
+        }
+      start.countDown()
+
+      assertEquals(1, claims.sumOf { it.get(30, TimeUnit.SECONDS) })
+    } finally {
+      executor.shutdownNow()
+    }
+
+    val persistedWorkload = workloadRepo.findById(WORKLOAD_ID).get()
+    assertEquals(WorkloadStatus.CLAIMED, persistedWorkload.status)
+    assertNotNull(persistedWorkload.dataplaneId)
+    assertEquals(0, workloadRepo.claim(WORKLOAD_ID, persistedWorkload.dataplaneId!!, defaultDeadline))
+  }
+
+  @Test
+  fun `test claim of a workload of another dataplane`() {
+    val workload =
+      Fixtures.workload(
+        id = WORKLOAD_ID,
+        dataplaneId = "dataplaneId1",
+        status = WorkloadStatus.PENDING,
+      )
+    workloadRepo.save(workload)
+
+    assertEquals(0, workloadRepo.claim(WORKLOAD_ID, "dataplaneId2", defaultDeadline))
+    assertEquals(1, workloadRepo.claim(WORKLOAD_ID, "dataplaneId1", defaultDeadline))
+    assertEquals(WorkloadStatus.CLAIMED, workloadRepo.findById(WORKLOAD_ID).get().status)
+  }
+
+  @Test
+  fun `test conditional status update`() {
+    val workload =
+      Fixtures.workload(
+        id = WORKLOAD_ID,
+        dataplaneId = "dataplaneId",
+        status = WorkloadStatus.CLAIMED,
+      )
+    workloadRepo.save(workload)
+    val deadline = defaultDeadline.plusMinutes(10)
+
+    assertEquals(0, workloadRepo.updateStatusIfIn(WORKLOAD_ID, WorkloadStatus.RUNNING, deadline, listOf(WorkloadStatus.PENDING)))
+    assertEquals(WorkloadStatus.CLAIMED, workloadRepo.findById(WORKLOAD_ID).get().status)
+
+    val expectedStatuses = listOf(WorkloadStatus.CLAIMED, WorkloadStatus.LAUNCHED)
+    assertEquals(1, workloadRepo.updateStatusIfIn(WORKLOAD_ID, WorkloadStatus.LAUNCHED, deadline, expectedStatuses))
+    val persistedWorkload = workloadRepo.findById(WORKLOAD_ID).get()
+    assertEquals(WorkloadStatus.LAUNCHED, persistedWorkload.status)
+    assertEquals(deadline.toEpochSecond(), persistedWorkload.deadline?.toEpochSecond())
+  }
+
+  @Test
+  fun `test conditional termination`() {
+    val workload =
+      Fixtures.workload(
+        id = WORKLOAD_ID,
+        dataplaneId = "dataplaneId",
+        status = WorkloadStatus.RUNNING,
+      )
+    workloadRepo.save(workload)
+    val activeStatuses = listOf(WorkloadStatus.PENDING, WorkloadStatus.CLAIMED, WorkloadStatus.LAUNCHED, WorkloadStatus.RUNNING)
+
+    assertEquals(1, workloadRepo.terminateIfIn(WORKLOAD_ID, WorkloadStatus.FAILURE, "source", "reason", activeStatuses))
+    assertEquals(0, workloadRepo.terminateIfIn(WORKLOAD_ID, WorkloadStatus.CANCELLED, "other source", "other reason", activeStatuses))
+
+    val persistedWorkload = workloadRepo.findById(WORKLOAD_ID).get()
+    assertEquals(WorkloadStatus.FAILURE, persistedWorkload.status)
+    assertEquals("source", persistedWorkload.terminationSource)
+    assertEquals("reason", persistedWorkload.terminationReason)
+    assertNull(persistedWorkload.deadline)
+  }
+
+  @Test
+  fun `test conditional heartbeat`() {
+    val workload =
+      Fixtures.workload(
+        id = WORKLOAD_ID,
+        dataplaneId = null,
+        status = WorkloadStatus.PENDING,
+      )
+    workloadRepo.save(workload)
+    val now = OffsetDateTime.now()
+
+    assertEquals(0, workloadRepo.heartbeat(WORKLOAD_ID, now, now.plusMinutes(10)))
+    assertNull(workloadRepo.findById(WORKLOAD_ID).get().lastHeartbeatAt)
+
+    workloadRepo.claim(WORKLOAD_ID, "dataplaneId", defaultDeadline)
+    assertEquals(1, workloadRepo.heartbeat(WORKLOAD_ID, now, now.plusMinutes(10)))
+    val persistedWorkload = workloadRepo.findById(WORKLOAD_ID).get()
+    assertEquals(WorkloadStatus.RUNNING, persistedWorkload.status)
+    assertEquals(now.toEpochSecond(), persistedWorkload.lastHeartbeatAt?.toEpochSecond())
+    assertEquals(now.plusMinutes(10).toEpochSecond(), persistedWorkload.deadline?.toEpochSecond())
+  }
+
   @Test
   fun `test mutex search`() {
     val mutexKey = "mutex-search-test"
@@ -267,6 +386,48 @@ internal class WorkloadRepositoryTest {
     assertEquals(0, mutexMismatch.size)
   }
 
+  @Test
+  fun `test mutex summary search`() {
+    val mutexKey = "mutex-summary-search-test"
+    val workload1 =
+      Fixtures.workload(
+        id = "workload-mutex-summary-search-1",
+        status = WorkloadStatus.PENDING,
+        mutexKey = mutexKey,
+      )
+    workloadRepo.save(workload1)
+
+    val match = workloadRepo.searchSummariesByMutexKeyAndStatusInList(mutexKey, listOf(WorkloadStatus.PENDING, WorkloadStatus.RUNNING))
+    assertEquals(1, match.size)
+    assertEquals(workload1.id, match[0].id)
+    assertNotNull(match[0].createdAt)
+
+    val emptyResult = workloadRepo.searchSummariesByMutexKeyAndStatusInList(mutexKey, listOf(WorkloadStatus.CLAIMED, WorkloadStatus.RUNNING))
+    assertEquals(0, emptyResult.size)
+  }
+
+  @Test
+  fun `test find summary by id`() {
+    val workload =
+      Fixtures.workload(
+        id = WORKLOAD_ID,
+        dataplaneId = "dataplaneId",
+        status = WorkloadStatus.LAUNCHED,
+        inputPayload = "a large payload",
+        type = WorkloadType.DISCOVER,
+        signalInput = "signalInput",
+      )
+    workloadRepo.save(workload)
+
+    val summary = workloadRepo.findSummaryById(WORKLOAD_ID).get()
+    assertEquals(WORKLOAD_ID, summary.id)
+    assertEquals("dataplaneId", summary.dataplaneId)
+    assertEquals(WorkloadStatus.LAUNCHED, summary.status)
+    assertEquals(WorkloadType.DISCOVER, summary.type)
+    assertEquals("signalInput", summary.signalInput)
+    assertTrue(workloadRepo.findSummaryById("missing").isEmpty)
+  }
+
   @Test
   fun `test search`() {
     val workload1 =
@@ -351,6 +512,7 @@ internal class WorkloadRepositoryTest {
         status = WorkloadStatus.RUNNING,
         geography = "AUTO",
         type = WorkloadType.CHECK,
+        inputPayload = "a large payload",
       )
     val workload2 =
       Fixtures.workload(
@@ -367,6 +529,8 @@ internal class WorkloadRepositoryTest {
     assertEquals(2, resultSearch.size)
     assertEquals("workload1", resultSearch[0].id)
     assertEquals("workload2", resultSearch[1].id)
+    assertEquals("", resultSearch[0].inputPayload)
+    assertEquals(WorkloadStatus.RUNNING, resultSearch[0].status)
 
     resultSearch = sortedSearchByTypeStatusCreatedDate(null, null, listOf(WorkloadType.CHECK), now.plusDays(1))
     assertEquals(1, resultSearch.size)
@@ -400,6 +564,7 @@ internal class WorkloadRepositoryTest {
         geography = "AUTO",
         type = WorkloadType.CHECK,
         deadline = deadline,
+        inputPayload = "a large payload",
       )
     val workload2 =
       Fixtures.workload(
@@ -422,6 +587,8 @@ internal class WorkloadRepositoryTest {
     assertEquals(2, resultSearch.size)
     assertEquals("workload1", resultSearch[0].id)
     assertEquals("workload2", resultSearch[1].id)
+    assertEquals("", resultSearch[0].inputPayload)
+    assertEquals("dataplane1", resultSearch[0].dataplaneId)
 
     resultSearch = sortedSearchByExpiredDeadline(null, listOf(WorkloadStatus.RUNNING), deadline.minusDays(1))
     assertEquals(0, resultSearch.size)
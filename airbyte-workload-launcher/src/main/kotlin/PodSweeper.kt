@@ -9,8 +9,8 @@ import io.airbyte.workers.pod.PodLabeler.LabelKeys.SWEEPER_LABEL_KEY
 import io.airbyte.workers.pod.PodLabeler.LabelKeys.SWEEPER_LABEL_VALUE
 import io.airbyte.workload.launcher.pods.KubePodLauncher.Constants.KUBECTL_COMPLETED_VALUE
 import io.airbyte.workload.launcher.pods.KubePodLauncher.Constants.KUBECTL_RUNNING_VALUE
+import io.airbyte.workload.launcher.pods.LauncherPodCache
 import io.fabric8.kubernetes.api.model.Pod
-import io.fabric8.kubernetes.api.model.PodList
 import io.fabric8.kubernetes.client.KubernetesClient
 import io.github.oshai.kotlinlogging.KotlinLogging
 import io.micronaut.context.annotation.Value
@@ -30,6 +30,7 @@ import kotlin.time.toJavaDuration
  * @param runningTtl If non-null, running pods older than now - runningTtl will be deleted
  * @param succeededTtl If non-null, succeeded pods older than now - succeededTtl will be deleted
  * @param unsuccessfulTtl If non-null, failed/unknown pods older than now - unsuccessfulTtl will be deleted
+ * @param podCache If non-null, pods are listed from this cache once it is synced
  */
 private val logger = KotlinLogging.logger {}
 
@@ -43,6 +44,7 @@ class PodSweeper(
   @Value("\${airbyte.pod-sweeper.runningTtl}") private val runningTtl: Long? = null,
   @Value("\${airbyte.pod-sweeper.succeededTtl}") private val succeededTtl: Long? = null,
   @Value("\${airbyte.pod-sweeper.unsuccessfulTtl}") private val unsuccessfulTtl: Long? = null,
+  private val podCache: LauncherPodCache? = null,
 ) {
   @Scheduled(fixedRate = "\${airbyte.pod-sweeper.rate}")
   fun sweepPods() {
@@ -63,14 +65,19 @@ class PodSweeper(
       logger.info { "Will sweep unsuccessful pods older than $it (UTC)." }
     }
 
-    // List pods labeled 'airbyte=job-pod'
-    val podList: PodList =
-      kubernetesClient.pods()
-        .inNamespace(namespace)
-        .withLabel(SWEEPER_LABEL_KEY, SWEEPER_LABEL_VALUE)
-        .list()
+    // List pods labeled 'airbyte=job-pod', from the pod cache once it is synced
+    val pods: List<Pod> =
+      if (podCache?.isReady() == true) {
+        podCache.findByLabels(mapOf(SWEEPER_LABEL_KEY to SWEEPER_LABEL_VALUE))
+      } else {
+        kubernetesClient.pods()
+          .inNamespace(namespace)
+          .withLabel(SWEEPER_LABEL_KEY, SWEEPER_LABEL_VALUE)
+          .list()
+          .items
+      }
 
-    for (pod in podList.items) {
+    for (pod in pods) {
       val phase = pod.status?.phase
       if (phase == null) {
         // If there's no status or phase, skip
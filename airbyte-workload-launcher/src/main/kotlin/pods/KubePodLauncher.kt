@@ -46,6 +46,7 @@ class KubePodLauncher(
   @Named("kubernetesClientRetryPolicy") private val kubernetesClientRetryPolicy: RetryPolicy<Any>,
   private val featureFlagClient: FeatureFlagClient,
   @Property(name = "airbyte.data-plane-name") private val dataPlaneName: String?,
+  private val podCache: LauncherPodCache,
 ) {
   fun create(pod: Pod): Pod {
     return runKubeCommand(
@@ -77,18 +78,16 @@ class KubePodLauncher(
     val initializedPod =
       runKubeCommand(
         {
-          kubernetesClient
-            .resource(pod)
-            .waitUntilCondition(
-              { p: Pod? ->
-                p?.let {
-                  p.status.initContainerStatuses.isNotEmpty() &&
-                    p.status.initContainerStatuses[0].state.terminated != null
-                } ?: false
-              },
-              waitDuration.toMinutes(),
-              TimeUnit.MINUTES,
-            )
+          waitUntilCondition(
+            pod,
+            { p: Pod? ->
+              p?.let {
+                p.status.initContainerStatuses.isNotEmpty() &&
+                  p.status.initContainerStatuses[0].state.terminated != null
+              } ?: false
+            },
+            waitDuration,
+          )
         },
         "wait",
       )
@@ -135,15 +134,13 @@ class KubePodLauncher(
   ) {
     runKubeCommand(
       {
-        kubernetesClient
-          .resource(pod)
-          .waitUntilCondition(
-            { p: Pod ->
-              PodStatusUtil.isInitializing(p)
-            },
-            waitDuration.toMinutes(),
-            TimeUnit.MINUTES,
-          )
+        waitUntilCondition(
+          pod,
+          { p: Pod? ->
+            p != null && PodStatusUtil.isInitializing(p)
+          },
+          waitDuration,
+        )
       },
       "wait",
     )
@@ -156,18 +153,15 @@ class KubePodLauncher(
     val initializedPod =
       runKubeCommand(
         {
-          kubernetesClient
-            .resource(pod)
-            .waitUntilCondition(
-              { p: Pod ->
-                (
-                  p.status.initContainerStatuses.isNotEmpty() &&
-                    p.status.initContainerStatuses[0].state.waiting == null
-                )
-              },
-              waitDuration.toMinutes(),
-              TimeUnit.MINUTES,
-            )
+          waitUntilCondition(
+            pod,
+            { p: Pod? ->
+              p != null &&
+                p.status.initContainerStatuses.isNotEmpty() &&
+                p.status.initContainerStatuses[0].state.waiting == null
+            },
+            waitDuration,
+          )
         },
         "wait",
       )
@@ -214,16 +208,14 @@ class KubePodLauncher(
   ) {
     runKubeCommand(
       {
-        kubernetesClient
-          .resource(pod)
-          .waitUntilCondition(
-            { p: Pod? ->
-              Objects.nonNull(p) &&
-                (Readiness.getInstance().isReady(p) || isTerminal(p))
-            },
-            waitDuration.toMinutes(),
-            TimeUnit.MINUTES,
-          )
+        waitUntilCondition(
+          pod,
+          { p: Pod? ->
+            Objects.nonNull(p) &&
+              (Readiness.getInstance().isReady(p) || isTerminal(p))
+          },
+          waitDuration,
+        )
       },
       "wait",
     )
@@ -233,15 +225,8 @@ class KubePodLauncher(
     try {
       return runKubeCommand(
         {
-          kubernetesClient.pods()
-            .inNamespace(namespace)
-            .withLabels(labels)
-            .list()
-            .items
-            .stream()
-            .filter { kubePod: Pod -> !isTerminal(kubePod) && !PodStatusUtil.isInitializing(kubePod) }
-            .findAny()
-            .isPresent
+          listPods(labels)
+            .any { kubePod: Pod -> !isTerminal(kubePod) && !PodStatusUtil.isInitializing(kubePod) }
         },
         "list",
       )
@@ -254,10 +239,15 @@ class KubePodLauncher(
   fun deleteActivePods(labels: Map<String, String>): List<StatusDetails> {
     return runKubeCommand(
       {
+        val useCache = podCache.isReady()
+        val activePods =
+          if (useCache) {
+            podCache.findByLabels(labels).filter(::isActive)
+          } else {
+            listActivePods(labels).list().items
+          }
         val statuses =
-          listActivePods(labels)
-            .list()
-            .items
+          activePods
             .flatMap { p ->
               kubernetesClient.pods()
                 .inNamespace(namespace)
@@ -270,8 +260,12 @@ class KubePodLauncher(
           return@runKubeCommand statuses
         }
 
-        listActivePods(labels)
-          .waitUntilCondition(Objects::isNull, MAX_DELETION_TIMEOUT, TimeUnit.SECONDS)
+        if (useCache) {
+          podCache.awaitNone(labels, ::isActive, Duration.ofSeconds(MAX_DELETION_TIMEOUT))
+        } else {
+          listActivePods(labels)
+            .waitUntilCondition(Objects::isNull, MAX_DELETION_TIMEOUT, TimeUnit.SECONDS)
+        }
 
         statuses
       },
@@ -307,6 +301,36 @@ class KubePodLauncher(
     }
   }
 
+  /**
+   * Waits on the pod cache once it is synced rather than opening a watch on the pod.
+   */
+  private fun waitUntilCondition(
+    pod: Pod,
+    condition: (Pod?) -> Boolean,
+    waitDuration: Duration,
+  ): Pod {
+    if (podCache.isReady()) {
+      return podCache.awaitPod(pod, condition, Duration.ofMinutes(waitDuration.toMinutes()))
+    }
+    return kubernetesClient
+      .resource(pod)
+      .waitUntilCondition({ p: Pod? -> condition(p) }, waitDuration.toMinutes(), TimeUnit.MINUTES)
+  }
+
+  private fun listPods(labels: Map<String, String>): List<Pod> {
+    if (podCache.isReady()) {
+      return podCache.findByLabels(labels)
+    }
+    return kubernetesClient.pods()
+      .inNamespace(namespace)
+      .withLabels(labels)
+      .list()
+      .items
+  }
+
+  // Same as the field selector of listActivePods.
+  private fun isActive(pod: Pod): Boolean = pod.status?.phase != KUBECTL_COMPLETED_VALUE
+
   private fun listActivePods(labels: Map<String, String>): FilterWatchListDeletable<Pod, PodList, PodResource> {
     return kubernetesClient.pods()
       .inNamespace(namespace)
@@ -0,0 +1,170 @@
+package io.airbyte.workload.launcher.pods
+
+import io.airbyte.workers.pod.PodLabeler.LabelKeys.AUTO_ID
+import io.airbyte.workers.pod.PodLabeler.LabelKeys.MUTEX_KEY
+import io.airbyte.workers.pod.PodLabeler.LabelKeys.SWEEPER_LABEL_KEY
+import io.airbyte.workers.pod.PodLabeler.LabelKeys.SWEEPER_LABEL_VALUE
+import io.fabric8.kubernetes.api.model.Pod
+import io.fabric8.kubernetes.client.KubernetesClient
+import io.fabric8.kubernetes.client.KubernetesClientTimeoutException
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer
+import io.fabric8.kubernetes.client.informers.cache.Cache
+import io.github.oshai.kotlinlogging.KotlinLogging
+import io.micronaut.context.annotation.Value
+import jakarta.annotation.PreDestroy
+import jakarta.inject.Singleton
+import java.time.Duration
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.locks.ReentrantLock
+import java.util.function.Function
+import kotlin.concurrent.withLock
+
+private val logger = KotlinLogging.logger {}
+
+/**
+ * Local cache of the pods launched by the launcher, kept up to date by a single shared informer.
+ *
+ * Lookups and waits read from the cache instead of listing or watching pods on the Kube API for each
+ * call. Pods are indexed by their auto id and mutex key labels, the labels the launch pipeline looks
+ * pods up by. The informer is started on first use and callers should fall back to the Kube API until
+ * [isReady] returns true.
+ */
+@Singleton
+class LauncherPodCache(
+  private val kubernetesClient: KubernetesClient,
+  @Value("\${airbyte.worker.job.kube.namespace}") private val namespace: String?,
+) {
+  companion object {
+    private val INDEXED_LABELS = listOf(AUTO_ID, MUTEX_KEY)
+    private const val RESYNC_PERIOD_MILLIS = 0L
+  }
+
+  private val lock = ReentrantLock()
+  private val changed = lock.newCondition()
+
+  @Volatile
+  private var informer: SharedIndexInformer<Pod>? = null
+
+  /**
+   * Whether the cache holds the state of the cluster. Starts the informer if it isn't started yet.
+   */
+  fun isReady(): Boolean {
+    val current = informer ?: start()
+    return current.hasSynced()
+  }
+
+  /**
+   * The cached pods that have all the given labels.
+   */
+  fun findByLabels(labels: Map<String, String>): List<Pod> {
+    val current = informer ?: return listOf()
+    val indexed = labels.entries.firstOrNull { it.key in INDEXED_LABELS }
+    val candidates =
+      if (indexed != null) {
+        current.indexer.byIndex(indexed.key, indexed.value)
+      } else {
+        current.store.list()
+      }
+    return candidates.filter { pod -> labels.all { (key, value) -> pod.metadata?.labels?.get(key) == value } }
+  }
+
+  /**
+   * Wait until the cached version of the pod matches the condition and return it. The condition
+   * receives null while the pod isn't in the cache.
+   */
+  fun awaitPod(
+    pod: Pod,
+    condition: (Pod?) -> Boolean,
+    timeout: Duration,
+  ): Pod {
+    val key = Cache.namespaceKeyFunc(pod)
+    var matched: Pod? = null
+    awaitCondition(timeout, pod) {
+      matched = informer?.store?.getByKey(key)
+      condition(matched)
+    }
+    return matched ?: pod
+  }
+
+  /**
+   * Wait until none of the cached pods with the given labels matches the filter.
+   */
+  fun awaitNone(
+    labels: Map<String, String>,
+    filter: (Pod) -> Boolean,
+    timeout: Duration,
+  ) {
+    awaitCondition(timeout, null) { findByLabels(labels).none(filter) }
+  }
+
+  @PreDestroy
+  fun close() {
+    lock.withLock {
+      informer?.stop()
+      informer = null
+    }
+  }
+
+  private fun awaitCondition(
+    timeout: Duration,
+    pod: Pod?,
+    condition: () -> Boolean,
+  ) {
+    var remainingNanos = timeout.toNanos()
+    lock.withLock {
+      while (!condition()) {
+        if (remainingNanos <= 0) {
+          throw KubernetesClientTimeoutException(listOfNotNull(pod), timeout.toMillis(), TimeUnit.MILLISECONDS)
+        }
+        remainingNanos = changed.awaitNanos(remainingNanos)
+      }
+    }
+  }
+
+  private fun start(): SharedIndexInformer<Pod> =
+    lock.withLock {
+      informer ?: createInformer().also {
+        informer = it
+        it.start().whenComplete { _, e ->
+          if (e != null) {
+            logger.error(e) { "Failed to start the launcher pod informer." }
+          } else {
+            logger.info { "Launcher pod informer started." }
+          }
+        }
+      }
+    }
+
+  private fun createInformer(): SharedIndexInformer<Pod> {
+    val informer =
+      kubernetesClient.pods()
+        .inNamespace(namespace)
+        .withLabel(SWEEPER_LABEL_KEY, SWEEPER_LABEL_VALUE)
+        .runnableInformer(RESYNC_PERIOD_MILLIS)
+
+    informer.addIndexers(
+      INDEXED_LABELS.associateWith { label -> Function<Pod, List<String>> { pod -> listOfNotNull(pod.metadata?.labels?.get(label)) } },
+    )
+    informer.addEventHandler(
+      object : ResourceEventHandler<Pod> {
+        override fun onAdd(pod: Pod) = signalChange()
+
+        override fun onUpdate(
+          oldPod: Pod,
+          newPod: Pod,
+        ) = signalChange()
+
+        override fun onDelete(
+          pod: Pod,
+          deletedFinalStateUnknown: Boolean,
+        ) = signalChange()
+      },
+    )
+    return informer
+  }
+
+  private fun signalChange() {
+    lock.withLock { changed.signalAll() }
+  }
+}
@@ -5,9 +5,11 @@ import io.airbyte.metrics.lib.MetricAttribute
 import io.airbyte.metrics.lib.MetricClient
 import io.airbyte.metrics.lib.OssMetricsRegistry
 import io.airbyte.workload.launcher.config.ApplicationBeanFactory
+import io.fabric8.kubernetes.api.model.ContainerStateBuilder
 import io.fabric8.kubernetes.api.model.HasMetadata
 import io.fabric8.kubernetes.api.model.ObjectMeta
 import io.fabric8.kubernetes.api.model.Pod
+import io.fabric8.kubernetes.api.model.PodBuilder
 import io.fabric8.kubernetes.api.model.PodList
 import io.fabric8.kubernetes.client.KubernetesClient
 import io.fabric8.kubernetes.client.KubernetesClientException
@@ -25,6 +27,7 @@ import okhttp3.internal.http2.ErrorCode
 import okhttp3.internal.http2.StreamResetException
 import org.junit.jupiter.api.Assertions.assertEquals
 import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertTrue
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.assertThrows
@@ -44,6 +47,9 @@ class KubePodLauncherTest {
   @MockK
   private lateinit var metricClient: MetricClient
 
+  @MockK
+  private lateinit var podCache: LauncherPodCache
+
   private lateinit var kubePodLauncher: KubePodLauncher
 
   private lateinit var kubernetesClientRetryPolicy: RetryPolicy<Any>
@@ -59,11 +65,13 @@ class KubePodLauncherTest {
         kubernetesClientRetryPolicy,
         mockk(),
         null,
+        podCache,
       )
 
     every { kubernetesClient.pods() } throws IllegalStateException()
     every { kubernetesClient.resource(any<Pod>()) } throws IllegalStateException()
     every { metricClient.count(any(), any(), any()) } returns Unit
+    every { podCache.isReady() } returns false
   }
 
   @Test
@@ -151,6 +159,7 @@ class KubePodLauncherTest {
         kubernetesClientRetryPolicy,
         mockk(),
         null,
+        podCache,
       )
 
     assertThrows<KubernetesClientException> {
@@ -190,6 +199,7 @@ class KubePodLauncherTest {
         kubernetesClientRetryPolicy,
         mockk(),
         null,
+        podCache,
       )
 
     assertThrows<KubernetesClientException> {
@@ -232,6 +242,7 @@ class KubePodLauncherTest {
         kubernetesClientRetryPolicy,
         mockk(),
         null,
+        podCache,
       )
 
     assertThrows<KubernetesClientException> {
@@ -272,6 +283,7 @@ class KubePodLauncherTest {
         kubernetesClientRetryPolicy,
         mockk(),
         null,
+        podCache,
       )
 
     assertThrows<KubernetesClientException> {
@@ -314,6 +326,7 @@ class KubePodLauncherTest {
         kubernetesClientRetryPolicy,
         mockk(),
         null,
+        podCache,
       )
 
     assertThrows<RuntimeException> {
@@ -322,6 +335,62 @@ class KubePodLauncherTest {
     assertEquals(0, counter.get())
   }
 
+  @Test
+  fun `test pods running reads the synced pod cache`() {
+    val labels = mapOf("auto_id" to "autoId")
+    every { podCache.isReady() } returns true
+    every { podCache.findByLabels(labels) } returns listOf(pod("Running", terminated = false))
+
+    assertTrue(kubePodLauncher.podsRunning(labels))
+
+    verify(exactly = 0) { kubernetesClient.pods() }
+  }
+
+  @Test
+  fun `test pods running ignores terminated pods of the synced pod cache`() {
+    val labels = mapOf("auto_id" to "autoId")
+    every { podCache.isReady() } returns true
+    every { podCache.findByLabels(labels) } returns listOf(pod("Succeeded", terminated = true))
+
+    assertFalse(kubePodLauncher.podsRunning(labels))
+
+    verify(exactly = 0) { kubernetesClient.pods() }
+  }
+
+  @Test
+  fun `test wait for pod init complete waits on the synced pod cache`() {
+    val pod = pod("Running", terminated = false)
+    every { podCache.isReady() } returns true
+    every { podCache.awaitPod(pod, any(), any()) } returns pod
+
+    kubePodLauncher.waitForPodInitComplete(pod, Duration.ofMinutes(1))
+
+    verify { podCache.awaitPod(pod, any(), Duration.ofMinutes(1)) }
+    verify(exactly = 0) { kubernetesClient.resource(any<Pod>()) }
+  }
+
+  private fun pod(
+    phase: String,
+    terminated: Boolean,
+  ): Pod {
+    val state =
+      if (terminated) {
+        ContainerStateBuilder().withNewTerminated().withReason("Completed").endTerminated().build()
+      } else {
+        ContainerStateBuilder().withNewRunning().endRunning().build()
+      }
+    return PodBuilder()
+      .withNewMetadata().withName("pod").withNamespace("namespace").endMetadata()
+      .withNewStatus()
+      .withPhase(phase)
+      .addNewInitContainerStatus().withName("init").withState(
+        ContainerStateBuilder().withNewTerminated().withReason("Completed").endTerminated().build(),
+      ).endInitContainerStatus()
+      .addNewContainerStatus().withName("main").withState(state).endContainerStatus()
+      .endStatus()
+      .build()
+  }
+
   private fun checkMetricSend(tag: String) {
     val attributes: List<MetricAttribute> = listOf(MetricAttribute("operation", tag))
     val attributesArray = attributes.toTypedArray<MetricAttribute>()
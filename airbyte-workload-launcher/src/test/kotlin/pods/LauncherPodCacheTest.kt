@@ -0,0 +1,146 @@
+package io.airbyte.workload.launcher.pods
+
+import io.airbyte.workers.pod.PodLabeler.LabelKeys.AUTO_ID
+import io.airbyte.workers.pod.PodLabeler.LabelKeys.MUTEX_KEY
+import io.airbyte.workers.pod.PodLabeler.LabelKeys.SWEEPER_LABEL_KEY
+import io.airbyte.workers.pod.PodLabeler.LabelKeys.SWEEPER_LABEL_VALUE
+import io.fabric8.kubernetes.api.model.Pod
+import io.fabric8.kubernetes.api.model.PodBuilder
+import io.fabric8.kubernetes.client.KubernetesClient
+import io.fabric8.kubernetes.client.KubernetesClientTimeoutException
+import io.fabric8.kubernetes.client.server.mock.KubernetesServer
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.TimeUnit
+
+class LauncherPodCacheTest {
+  private val server: KubernetesServer = KubernetesServer(true, true)
+
+  private lateinit var client: KubernetesClient
+  private lateinit var podCache: LauncherPodCache
+
+  @BeforeEach
+  fun setup() {
+    server.before()
+    client = server.client
+    podCache = LauncherPodCache(client, NAMESPACE)
+  }
+
+  @AfterEach
+  fun tearDown() {
+    podCache.close()
+    server.after()
+  }
+
+  @Test
+  fun `lookups are served from the cache without calling the api`() {
+    createPod("pod-1", mapOf(AUTO_ID to "auto-id-1", MUTEX_KEY to "mutex-1"))
+    createPod("pod-2", mapOf(AUTO_ID to "auto-id-2", MUTEX_KEY to "mutex-1"))
+    awaitReady()
+
+    val requestsBeforeLookups = server.kubernetesMockServer.requestCount
+    repeat(LOOKUP_COUNT) {
+      assertEquals(listOf("pod-1"), podCache.findByLabels(mapOf(AUTO_ID to "auto-id-1")).map { it.metadata.name })
+      assertEquals(setOf("pod-1", "pod-2"), podCache.findByLabels(mapOf(MUTEX_KEY to "mutex-1")).map { it.metadata.name }.toSet())
+    }
+    assertEquals(requestsBeforeLookups, server.kubernetesMockServer.requestCount)
+
+    // The same lookups without the cache list the pods on the api every time.
+    repeat(LOOKUP_COUNT) {
+      client.pods().inNamespace(NAMESPACE).withLabels(mapOf(AUTO_ID to "auto-id-1")).list()
+    }
+    assertEquals(requestsBeforeLookups + LOOKUP_COUNT, server.kubernetesMockServer.requestCount)
+  }
+
+  @Test
+  fun `only launcher pods are cached`() {
+    createPod("launcher-pod", mapOf(AUTO_ID to "auto-id"))
+    client.pods().inNamespace(NAMESPACE).resource(
+      PodBuilder().withNewMetadata().withName("other-pod").addToLabels(AUTO_ID, "auto-id").endMetadata().build(),
+    ).create()
+    awaitReady()
+
+    assertEquals(listOf("launcher-pod"), podCache.findByLabels(mapOf(AUTO_ID to "auto-id")).map { it.metadata.name })
+  }
+
+  @Test
+  fun `lookups on labels that are not indexed filter the cached pods`() {
+    createPod("pod-1", mapOf(AUTO_ID to "auto-id-1", "other" to "a"))
+    createPod("pod-2", mapOf(AUTO_ID to "auto-id-2", "other" to "b"))
+    awaitReady()
+
+    assertEquals(listOf("pod-2"), podCache.findByLabels(mapOf("other" to "b")).map { it.metadata.name })
+    assertTrue(podCache.findByLabels(mapOf(AUTO_ID to "auto-id-1", "other" to "b")).isEmpty())
+  }
+
+  @Test
+  fun `await pod returns once the pod matches`() {
+    awaitReady()
+    val pod = launcherPod("pod-1", mapOf(AUTO_ID to "auto-id-1"))
+
+    val awaited = CompletableFuture.supplyAsync { podCache.awaitPod(pod, { it != null }, Duration.ofSeconds(10)) }
+    client.pods().inNamespace(NAMESPACE).resource(pod).create()
+
+    assertEquals("pod-1", awaited.get(10, TimeUnit.SECONDS).metadata.name)
+  }
+
+  @Test
+  fun `await none returns once the pods are deleted`() {
+    createPod("pod-1", mapOf(MUTEX_KEY to "mutex-1"))
+    awaitReady()
+    assertFalse(podCache.findByLabels(mapOf(MUTEX_KEY to "mutex-1")).isEmpty())
+
+    val awaited = CompletableFuture.runAsync { podCache.awaitNone(mapOf(MUTEX_KEY to "mutex-1"), { true }, Duration.ofSeconds(10)) }
+    client.pods().inNamespace(NAMESPACE).withName("pod-1").delete()
+
+    awaited.get(10, TimeUnit.SECONDS)
+    assertTrue(podCache.findByLabels(mapOf(MUTEX_KEY to "mutex-1")).isEmpty())
+  }
+
+  @Test
+  fun `await pod times out`() {
+    awaitReady()
+    val pod = launcherPod("missing-pod", mapOf())
+
+    assertThrows<KubernetesClientTimeoutException> { podCache.awaitPod(pod, { it != null }, Duration.ofMillis(100)) }
+  }
+
+  private fun awaitReady() {
+    val deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos()
+    while (!podCache.isReady()) {
+      assertTrue(System.nanoTime() < deadline, "The pod cache didn't sync in time")
+      Thread.sleep(10)
+    }
+  }
+
+  private fun createPod(
+    name: String,
+    labels: Map<String, String>,
+  ) {
+    client.pods().inNamespace(NAMESPACE).resource(launcherPod(name, labels)).create()
+  }
+
+  private fun launcherPod(
+    name: String,
+    labels: Map<String, String>,
+  ): Pod =
+    PodBuilder()
+      .withNewMetadata()
+      .withName(name)
+      .withNamespace(NAMESPACE)
+      .addToLabels(labels + (SWEEPER_LABEL_KEY to SWEEPER_LABEL_VALUE))
+      .endMetadata()
+      .build()
+
+  companion object {
+    private const val NAMESPACE = "jobs"
+    private const val LOOKUP_COUNT = 100
+  }
+}